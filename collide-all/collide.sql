@@ -177,6 +177,9 @@ CREATE TABLE `t_comment`  (
   `comment_type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '评论类型：COMMUNITY, VIDEO（社区、视频)',
   `target_id` bigint NOT NULL COMMENT '目标对象ID',
   `parent_comment_id` bigint NOT NULL DEFAULT 0 COMMENT '父评论ID，0表示根评论',
+  `root_comment_id` bigint NOT NULL DEFAULT 0 COMMENT '根评论ID（根评论为自身ID）',
+  `comment_path` varchar(700) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '' COMMENT '物化路径：各级评论ID的13位36进制编码，以/分隔',
+  `comment_level` int NOT NULL DEFAULT 0 COMMENT '评论层级，根评论为0',
   `content` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '评论内容',
   `user_id` bigint NOT NULL COMMENT '评论用户ID',
   `user_nickname` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '用户昵称（冗余）',
@@ -193,7 +196,12 @@ CREATE TABLE `t_comment`  (
   INDEX `idx_target_id`(`target_id` ASC) USING BTREE,
   INDEX `idx_user_id`(`user_id` ASC) USING BTREE,
   INDEX `idx_parent_comment_id`(`parent_comment_id` ASC) USING BTREE,
-  INDEX `idx_status`(`status` ASC) USING BTREE
+  INDEX `idx_root_path`(`root_comment_id` ASC, `comment_path` ASC) USING BTREE,
+  INDEX `idx_status`(`status` ASC) USING BTREE,
+  INDEX `idx_target_create_time`(`target_id` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_parent_create_time`(`parent_comment_id` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_user_type_status_create_time`(`user_id` ASC, `comment_type` ASC, `status` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_reply_user_status_create_time`(`reply_to_user_id` ASC, `status` ASC, `create_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 128 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '评论主表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -230,7 +238,9 @@ CREATE TABLE `t_content`  (
   INDEX `idx_category_id`(`category_id` ASC) USING BTREE,
   INDEX `idx_content_type`(`content_type` ASC) USING BTREE,
   INDEX `idx_status`(`status` ASC) USING BTREE,
-  INDEX `idx_publish_time`(`publish_time` ASC) USING BTREE
+  INDEX `idx_publish_time`(`publish_time` ASC) USING BTREE,
+  INDEX `idx_author_status_create_time`(`author_id` ASC, `status` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_status_create_time`(`status` ASC, `create_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 114 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '内容主表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -280,7 +290,8 @@ CREATE TABLE `t_content_payment`  (
   UNIQUE INDEX `uk_content_id`(`content_id` ASC) USING BTREE,
   INDEX `idx_payment_type`(`payment_type` ASC) USING BTREE,
   INDEX `idx_coin_price`(`coin_price` ASC) USING BTREE,
-  INDEX `idx_status`(`status` ASC) USING BTREE
+  INDEX `idx_status`(`status` ASC) USING BTREE,
+  INDEX `idx_update_time`(`update_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 31 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '内容付费配置表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -453,7 +464,9 @@ CREATE TABLE `t_like`  (
   INDEX `idx_target_id`(`target_id` ASC) USING BTREE,
   INDEX `idx_user_id`(`user_id` ASC) USING BTREE,
   INDEX `idx_like_type`(`like_type` ASC) USING BTREE,
-  INDEX `idx_status`(`status` ASC) USING BTREE
+  INDEX `idx_status`(`status` ASC) USING BTREE,
+  INDEX `idx_user_type_status_create_time`(`user_id` ASC, `like_type` ASC, `status` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_author_type_status_create_time`(`target_author_id` ASC, `like_type` ASC, `status` ASC, `create_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 121 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '点赞主表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -477,7 +490,9 @@ CREATE TABLE `t_message`  (
   INDEX `idx_sender_receiver`(`sender_id` ASC, `receiver_id` ASC) USING BTREE,
   INDEX `idx_receiver_status`(`receiver_id` ASC, `status` ASC) USING BTREE,
   INDEX `idx_create_time`(`create_time` ASC) USING BTREE,
-  INDEX `idx_reply_to`(`reply_to_id` ASC) USING BTREE
+  INDEX `idx_reply_to`(`reply_to_id` ASC) USING BTREE,
+  INDEX `idx_receiver_create_time`(`receiver_id` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_sender_create_time`(`sender_id` ASC, `create_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 2 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '私信消息表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -555,7 +570,10 @@ CREATE TABLE `t_order`  (
   INDEX `idx_payment_mode`(`payment_mode` ASC) USING BTREE,
   INDEX `idx_status`(`status` ASC) USING BTREE,
   INDEX `idx_pay_status`(`pay_status` ASC) USING BTREE,
-  INDEX `idx_content_id`(`content_id` ASC) USING BTREE
+  INDEX `idx_content_id`(`content_id` ASC) USING BTREE,
+  INDEX `idx_user_create_time`(`user_id` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_status_pay_create_time`(`status` ASC, `pay_status` ASC, `create_time` ASC) USING BTREE,
+  INDEX `idx_status_update_time`(`status` ASC, `update_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 17 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '订单主表（支持四种商品类型和双支付模式）' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -587,6 +605,32 @@ CREATE TABLE `t_payment`  (
   INDEX `idx_third_party_no`(`third_party_no` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 17 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '支付记录表' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for t_profile_change_outbox
+-- ----------------------------
+DROP TABLE IF EXISTS `t_profile_change_outbox`;
+CREATE TABLE `t_profile_change_outbox`  (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+  `user_id` bigint NOT NULL COMMENT '用户ID',
+  `nickname` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '新昵称（为空时不改写）',
+  `avatar` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '新头像（为空时不改写）',
+  `targets` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '需要改写的冗余字段组，逗号分隔，按顺序执行',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'PENDING' COMMENT '状态：PENDING、RUNNING、DONE、SUPERSEDED、FAILED',
+  `step_index` int NOT NULL DEFAULT 0 COMMENT '当前执行到的字段组下标',
+  `cursor_id` bigint NOT NULL DEFAULT 0 COMMENT '当前字段组已处理到的主键',
+  `rows_updated` bigint NOT NULL DEFAULT 0 COMMENT '已改写行数',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '失败次数',
+  `last_error` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '最近一次失败原因',
+  `owner` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '当前处理节点',
+  `lease_until` datetime NULL DEFAULT NULL COMMENT '处理租约到期时间',
+  `next_run_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '最早可处理时间',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_status_next_run_time`(`status` ASC, `next_run_time` ASC) USING BTREE,
+  INDEX `idx_user_status`(`user_id` ASC, `status` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '用户资料变更发件箱' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for t_role
 -- ----------------------------
@@ -613,6 +657,7 @@ CREATE TABLE `t_search_history`  (
   `result_count` int NOT NULL DEFAULT 0 COMMENT '搜索结果数量',
   `create_time` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`) USING BTREE,
+  UNIQUE INDEX `uk_user_keyword`(`user_id` ASC, `keyword` ASC) USING BTREE,
   INDEX `idx_user_id`(`user_id` ASC) USING BTREE,
   INDEX `idx_keyword`(`keyword` ASC) USING BTREE,
   INDEX `idx_search_type`(`search_type` ASC) USING BTREE,
@@ -938,6 +983,17 @@ CREATE TABLE `t_vip_power`  (
   INDEX `idx_create_time`(`create_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 15 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = 'VIP特权文案表' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for t_write_behind_batch
+-- ----------------------------
+DROP TABLE IF EXISTS `t_write_behind_batch`;
+CREATE TABLE `t_write_behind_batch`  (
+  `batch_id` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '子批次ID（取走批次ID:子批次序号）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '写回时间',
+  PRIMARY KEY (`batch_id`) USING BTREE,
+  INDEX `idx_create_time`(`create_time` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = 'Redis暂存写回批次登记表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Procedure structure for consume_coin
 -- ----------------------------
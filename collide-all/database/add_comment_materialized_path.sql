@@ -0,0 +1,46 @@
+-- 评论物化路径
+-- 说明：评论树改为 "根评论分页 + 每个根评论前 N 条回复 + 子树按需展开"，
+--       每条评论冗余所属根评论ID、物化路径与层级，子树查询走 (root_comment_id, comment_path) 索引范围扫描，不再递归加载整棵树。
+--       路径由各级祖先ID（含自身）的13位定长36进制编码以 '/' 连接，按路径字典序即为先序遍历顺序
+
+USE `collide`;
+
+-- 添加字段
+ALTER TABLE `t_comment`
+ADD COLUMN `root_comment_id` bigint NOT NULL DEFAULT 0 COMMENT '根评论ID（根评论为自身ID）' AFTER `parent_comment_id`,
+ADD COLUMN `comment_path` varchar(700) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '' COMMENT '物化路径：各级评论ID的13位36进制编码，以/分隔' AFTER `root_comment_id`,
+ADD COLUMN `comment_level` int NOT NULL DEFAULT 0 COMMENT '评论层级，根评论为0' AFTER `comment_path`;
+
+-- 回填存量评论（从根评论向下递归）
+UPDATE `t_comment` c
+INNER JOIN (
+    WITH RECURSIVE comment_tree AS (
+        SELECT id,
+               id AS root_id,
+               CAST(LPAD(CONV(id, 10, 36), 13, '0') AS CHAR(700) CHARACTER SET ascii) AS path,
+               0 AS level
+        FROM `t_comment`
+        WHERE parent_comment_id = 0
+
+        UNION ALL
+
+        SELECT child.id,
+               ct.root_id,
+               CONCAT(ct.path, '/', LPAD(CONV(child.id, 10, 36), 13, '0')),
+               ct.level + 1
+        FROM `t_comment` child
+        INNER JOIN comment_tree ct ON child.parent_comment_id = ct.id
+        WHERE ct.level < 49
+    )
+    SELECT id, root_id, path, level FROM comment_tree
+) tree ON c.id = tree.id
+SET c.root_comment_id = tree.root_id,
+    c.comment_path = tree.path,
+    c.comment_level = tree.level;
+
+-- 子树与根评论前 N 条回复：按根评论定位，按路径顺序读取
+ALTER TABLE `t_comment`
+ADD INDEX `idx_root_path` (`root_comment_id`, `comment_path`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_comment`;
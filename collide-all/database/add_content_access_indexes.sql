@@ -0,0 +1,11 @@
+-- 付费内容访问权限索引
+-- 说明：付费配置常驻内存索引，后台按 update_time 增量刷新；用户购买集合缓存未命中时按用户一次性加载有效购买记录
+
+USE `collide`;
+
+-- 付费配置增量刷新：update_time >= ?
+ALTER TABLE `t_content_payment`
+ADD INDEX `idx_update_time` (`update_time`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_content_payment`;
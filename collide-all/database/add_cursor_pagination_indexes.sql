@@ -0,0 +1,27 @@
+-- 游标分页索引
+-- 说明：列表游标分页按 (筛选列, 排序时间, id) 定位下一页，
+--       InnoDB 二级索引隐含主键，以下复合索引可直接满足 seek 条件与排序，避免 OFFSET 扫描与文件排序
+
+USE `collide`;
+
+-- 内容列表 / 关注时间线回源：按作者、状态筛选，按创建时间倒序
+ALTER TABLE `t_content`
+ADD INDEX `idx_author_status_create_time` (`author_id`, `status`, `create_time`),
+ADD INDEX `idx_status_create_time` (`status`, `create_time`);
+
+-- 评论列表：按目标对象、父评论筛选，按创建时间排序
+ALTER TABLE `t_comment`
+ADD INDEX `idx_target_create_time` (`target_id`, `create_time`),
+ADD INDEX `idx_parent_create_time` (`parent_comment_id`, `create_time`);
+
+-- 消息列表：按接收者、发送者筛选，按创建时间排序
+ALTER TABLE `t_message`
+ADD INDEX `idx_receiver_create_time` (`receiver_id`, `create_time`),
+ADD INDEX `idx_sender_create_time` (`sender_id`, `create_time`);
+
+-- 用户订单列表：按用户筛选，按创建时间倒序
+ALTER TABLE `t_order`
+ADD INDEX `idx_user_create_time` (`user_id`, `create_time`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_order`;
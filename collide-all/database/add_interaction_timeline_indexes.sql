@@ -0,0 +1,19 @@
+-- 用户互动时间线索引
+-- 说明：互动列表按来源（我点赞的、我收到的点赞、我发出的评论、回复我的）分别 seek 查询本页所需条数后归并，
+--       以下复合索引可直接满足各来源的筛选、时间定位与排序，避免按来源整体加载后在内存排序
+
+USE `collide`;
+
+-- 我点赞的内容/评论、我的评论收到的点赞：按用户或被点赞作者、点赞类型、状态筛选，按创建时间排序
+ALTER TABLE `t_like`
+ADD INDEX `idx_user_type_status_create_time` (`user_id`, `like_type`, `status`, `create_time`),
+ADD INDEX `idx_author_type_status_create_time` (`target_author_id`, `like_type`, `status`, `create_time`);
+
+-- 我发出的评论：按用户、评论类型、状态筛选；回复我的评论：按被回复用户、状态筛选，均按创建时间排序
+ALTER TABLE `t_comment`
+ADD INDEX `idx_user_type_status_create_time` (`user_id`, `comment_type`, `status`, `create_time`),
+ADD INDEX `idx_reply_user_status_create_time` (`reply_to_user_id`, `status`, `create_time`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_like`;
+SHOW INDEX FROM `t_comment`;
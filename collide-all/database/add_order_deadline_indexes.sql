@@ -0,0 +1,14 @@
+-- 订单到期处理索引
+-- 说明：订单超时取消、自动完成改为按截止时间逐单触发，数据库仅做低频兜底补偿与手动触发的分批处理，
+--       按 (状态, 时间) 分批取 LIMIT 条，以下复合索引使查询只扫描到期区间
+
+USE `collide`;
+
+-- 待支付超时订单：status = 'pending' AND pay_status = 'unpaid' AND create_time < ?
+-- 已发货待完成订单：status = 'shipped' AND update_time <= ?
+ALTER TABLE `t_order`
+ADD INDEX `idx_status_pay_create_time` (`status`, `pay_status`, `create_time`),
+ADD INDEX `idx_status_update_time` (`status`, `update_time`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_order`;
@@ -0,0 +1,30 @@
+-- 用户资料变更发件箱
+-- 说明：修改昵称/头像时在同一事务中写入一条变更事件，由后台任务按主键区间分块改写
+--       关注、评论、收藏、点赞、动态、内容表中的冗余昵称/头像，资料修改不再同步执行大范围 UPDATE
+
+USE `collide`;
+
+CREATE TABLE IF NOT EXISTS `t_profile_change_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+  `user_id` bigint NOT NULL COMMENT '用户ID',
+  `nickname` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '新昵称（为空时不改写）',
+  `avatar` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '新头像（为空时不改写）',
+  `targets` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '需要改写的冗余字段组，逗号分隔，按顺序执行',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'PENDING' COMMENT '状态：PENDING、RUNNING、DONE、SUPERSEDED、FAILED',
+  `step_index` int NOT NULL DEFAULT 0 COMMENT '当前执行到的字段组下标',
+  `cursor_id` bigint NOT NULL DEFAULT 0 COMMENT '当前字段组已处理到的主键',
+  `rows_updated` bigint NOT NULL DEFAULT 0 COMMENT '已改写行数',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '失败次数',
+  `last_error` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '最近一次失败原因',
+  `owner` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '当前处理节点',
+  `lease_until` datetime NULL DEFAULT NULL COMMENT '处理租约到期时间',
+  `next_run_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '最早可处理时间',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_status_next_run_time` (`status`, `next_run_time`) USING BTREE,
+  INDEX `idx_user_status` (`user_id`, `status`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '用户资料变更发件箱' ROW_FORMAT = DYNAMIC;
+
+-- 验证修改结果
+SHOW CREATE TABLE `t_profile_change_outbox`;
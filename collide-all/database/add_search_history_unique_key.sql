@@ -0,0 +1,19 @@
+-- 搜索历史唯一索引
+-- 说明：搜索事件改为异步合并写入，使用 INSERT ... ON DUPLICATE KEY UPDATE 批量写入，
+--       需要 (user_id, keyword) 唯一索引；执行前先清理重复记录，每组保留最新一条
+
+USE `collide`;
+
+-- 清理同一用户的重复关键词记录
+DELETE h1 FROM `t_search_history` h1
+INNER JOIN `t_search_history` h2
+    ON h1.user_id = h2.user_id
+    AND h1.keyword = h2.keyword
+    AND h1.id < h2.id;
+
+-- 添加唯一索引
+ALTER TABLE `t_search_history`
+ADD UNIQUE INDEX `uk_user_keyword` (`user_id`, `keyword`);
+
+-- 验证修改结果
+SHOW INDEX FROM `t_search_history`;
@@ -0,0 +1,15 @@
+-- Redis 暂存写回批次登记表
+-- 说明：点赞计数、用户计数等增量从 Redis 取走后按子批次写回，子批次ID与计数更新在同一事务中登记，
+--       写回中途进程退出后重试同一批次时，已提交的子批次不会再次累加
+
+USE `collide`;
+
+CREATE TABLE IF NOT EXISTS `t_write_behind_batch` (
+  `batch_id` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '子批次ID（取走批次ID:子批次序号）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '写回时间',
+  PRIMARY KEY (`batch_id`) USING BTREE,
+  INDEX `idx_create_time` (`create_time`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = 'Redis暂存写回批次登记表' ROW_FORMAT = DYNAMIC;
+
+-- 验证修改结果
+SHOW CREATE TABLE `t_write_behind_batch`;
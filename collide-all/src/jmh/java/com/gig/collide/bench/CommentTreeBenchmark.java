@@ -0,0 +1,167 @@
+package com.gig.collide.bench;
+
+import com.gig.collide.domain.Comment;
+import com.gig.collide.util.CommentPathUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论树首页组装基准
+ * 对比递归 CTE 整棵树加载后在内存分页，与按物化路径只加载首页根评论及其前 N 条回复两种方式在应用侧的耗时与分配
+ * （配合 -prof gc 查看每次请求的分配字节数；数据库侧的扫描行数由两种查询的 LIMIT 决定，需在 MySQL 上单独测量）
+ *
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.include=CommentTreeBenchmark
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CommentTreeBenchmark {
+
+    @Param({"100000"})
+    private int comments;
+
+    @Param({"20"})
+    private int pageSize;
+
+    @Param({"3"})
+    private int replyLimit;
+
+    /**
+     * 递归 CTE 返回的整棵树（按ID排序）
+     */
+    private List<Comment> thread;
+
+    /**
+     * 物化路径查询返回的首页根评论
+     */
+    private List<Comment> pageRoots;
+
+    /**
+     * 物化路径查询返回的首页根评论的前 N 条后代（先序）
+     */
+    private List<Comment> pageDescendants;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        thread = new ArrayList<>(comments);
+        int rootCount = Math.max(pageSize, comments / 10);
+        for (long id = 1; id <= comments; id++) {
+            Comment comment = new Comment();
+            comment.setId(id);
+            if (id <= rootCount) {
+                comment.setParentCommentId(0L);
+                comment.setRootCommentId(id);
+                comment.setCommentPath(CommentPathUtil.rootPath(id));
+            } else {
+                Comment parent = thread.get(random.nextInt(thread.size()));
+                comment.setParentCommentId(parent.getId());
+                comment.setRootCommentId(parent.getRootCommentId());
+                comment.setCommentPath(CommentPathUtil.childPath(parent.getCommentPath(), id));
+            }
+            thread.add(comment);
+        }
+
+        pageRoots = new ArrayList<>(thread.subList(0, pageSize));
+        Map<Long, List<Comment>> byRoot = new HashMap<>();
+        for (Comment comment : thread) {
+            if (comment.getParentCommentId() != 0L && comment.getRootCommentId() <= pageSize) {
+                byRoot.computeIfAbsent(comment.getRootCommentId(), k -> new ArrayList<>()).add(comment);
+            }
+        }
+        pageDescendants = new ArrayList<>();
+        for (Comment root : pageRoots) {
+            List<Comment> descendants = byRoot.getOrDefault(root.getId(), List.of());
+            descendants.sort(Comparator.comparing(Comment::getCommentPath));
+            pageDescendants.addAll(descendants.subList(0, Math.min(replyLimit, descendants.size())));
+        }
+    }
+
+    /**
+     * 旧方式：整棵树的行全部物化，按父评论ID建树后截取首页
+     */
+    @Benchmark
+    public List<Comment> recursiveThenPage() {
+        List<Comment> rows = copy(thread);
+        Map<Long, Comment> byId = new HashMap<>(rows.size() * 2);
+        List<Comment> roots = new ArrayList<>();
+        for (Comment row : rows) {
+            row.initChildren();
+            byId.put(row.getId(), row);
+        }
+        for (Comment row : rows) {
+            Comment parent = byId.get(row.getParentCommentId());
+            if (parent != null) {
+                parent.getChildren().add(row);
+            } else {
+                roots.add(row);
+            }
+        }
+        return new ArrayList<>(roots.subList(0, Math.min(pageSize, roots.size())));
+    }
+
+    /**
+     * 新方式：只物化首页根评论与各自前 N 条后代，按路径挂到最近的可见祖先下
+     */
+    @Benchmark
+    public List<Comment> pathPaged() {
+        List<Comment> roots = copy(pageRoots);
+        Map<Long, Comment> visible = new HashMap<>();
+        for (Comment root : roots) {
+            root.initChildren();
+            visible.put(root.getId(), root);
+        }
+        for (Comment descendant : copy(pageDescendants)) {
+            descendant.initChildren();
+            long[] ancestorIds = CommentPathUtil.ancestorIds(descendant.getCommentPath());
+            for (int i = ancestorIds.length - 1; i >= 0; i--) {
+                Comment ancestor = visible.get(ancestorIds[i]);
+                if (ancestor != null) {
+                    ancestor.getChildren().add(descendant);
+                    visible.put(descendant.getId(), descendant);
+                    break;
+                }
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 模拟结果集映射：每次请求重新创建实体
+     */
+    private static List<Comment> copy(List<Comment> rows) {
+        List<Comment> copies = new ArrayList<>(rows.size());
+        for (Comment row : rows) {
+            Comment copy = new Comment();
+            copy.setId(row.getId());
+            copy.setParentCommentId(row.getParentCommentId());
+            copy.setRootCommentId(row.getRootCommentId());
+            copy.setCommentPath(row.getCommentPath());
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,181 @@
+package com.gig.collide.bench;
+
+import com.alibaba.fastjson2.JSON;
+import com.gig.collide.config.SearchIndexConfig;
+import com.gig.collide.mapper.VideoSearchMapper;
+import com.gig.collide.search.ContentSearchIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * 内容搜索基准
+ * 在同一份语料上对比 ContentSearchIndex.search 与 VideoSearchMapper.searchVideosWithConditions 的等价查询逻辑
+ * （后者按 SQL 语义在内存中逐行执行：状态过滤、标题/简介 LIKE '%kw%'、标签 JSON_SEARCH、relevanceScore 公式、排序后取首页；
+ * 数据库侧的磁盘与网络开销不在此计入，实际差距只会更大）
+ *
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.include=ContentSearchBenchmark
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContentSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "旅行", "美食", "摄影", "编程", "健身", "音乐", "电影", "游戏", "读书", "绘画",
+            "手工", "宠物", "数码", "汽车", "家居", "穿搭", "美妆", "历史", "科学", "教育",
+            "城市", "乡村", "海边", "雪山", "咖啡", "烘焙", "露营", "骑行", "滑雪", "潜水"
+    };
+
+    @Param({"10000", "100000"})
+    private int documents;
+
+    /**
+     * 关键词：常见词命中较多文档，稀有组合命中较少
+     */
+    @Param({"旅行", "潜水摄影"})
+    private String keyword;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private List<Map<String, Object>> corpus;
+
+    private ContentSearchIndex index;
+
+    private ContentSearchIndex.Query query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        corpus = new ArrayList<>(documents);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (long id = 1; id <= documents; id++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("contentId", id);
+            row.put("title", phrase(random, 3));
+            row.put("description", phrase(random, 12));
+            row.put("tags", JSON.toJSONString(List.of(word(random), word(random))));
+            row.put("contentType", "VIDEO");
+            row.put("categoryId", (long) random.nextInt(20) + 1);
+            row.put("authorId", (long) random.nextInt(5000) + 1);
+            row.put("status", random.nextInt(10) == 0 ? "OFFLINE" : "PUBLISHED");
+            row.put("reviewStatus", "APPROVED");
+            row.put("viewCount", (long) random.nextInt(100000));
+            row.put("likeCount", (long) random.nextInt(5000));
+            row.put("favoriteCount", (long) random.nextInt(1000));
+            long scoreCount = random.nextInt(50);
+            row.put("scoreCount", scoreCount);
+            row.put("scoreTotal", scoreCount * (random.nextInt(5) + 1));
+            row.put("createTime", base.plusMinutes(id));
+            row.put("paymentType", "FREE");
+            row.put("price", 0L);
+            row.put("vipFree", 0);
+            row.put("vipOnly", 0);
+            row.put("trialEnabled", 0);
+            corpus.add(row);
+        }
+
+        VideoSearchMapper mapper = Mockito.mock(VideoSearchMapper.class);
+        when(mapper.selectIndexDocuments(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            int from = (int) Math.min(afterId, corpus.size());
+            return corpus.subList(from, Math.min(from + limit, corpus.size()));
+        });
+        index = new ContentSearchIndex(mapper, new SearchIndexConfig());
+        index.rebuild();
+
+        query = new ContentSearchIndex.Query();
+        query.setKeyword(keyword);
+        query.setContentType("VIDEO");
+        query.setSortBy("relevance");
+        query.setSortDirection("DESC");
+        query.setOffset(0);
+        query.setLimit(pageSize);
+    }
+
+    /**
+     * 内存倒排索引：分词后求倒排交集，按 BM25 + 热度分取首页
+     */
+    @Benchmark
+    public ContentSearchIndex.Hits indexSearch() {
+        return index.search(query);
+    }
+
+    /**
+     * 原 SQL 的等价逻辑：逐行 LIKE 匹配并计算相关度，全部命中排序后取首页
+     */
+    @Benchmark
+    public List<Map<String, Object>> likeScan() {
+        List<Map<String, Object>> matched = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        for (Map<String, Object> row : corpus) {
+            if (!"VIDEO".equals(row.get("contentType")) || !"PUBLISHED".equals(row.get("status"))) {
+                continue;
+            }
+            boolean inTitle = ((String) row.get("title")).contains(keyword);
+            boolean inDescription = ((String) row.get("description")).contains(keyword);
+            boolean inTags = JSON.parseArray((String) row.get("tags"), String.class).contains(keyword);
+            if (!inTitle && !inDescription && !inTags) {
+                continue;
+            }
+            long scoreCount = (Long) row.get("scoreCount");
+            double score = (inTitle ? 10 : 0) + (inDescription ? 5 : 0) + (inTags ? 3 : 0)
+                    + (Long) row.get("viewCount") * 0.0001 + (Long) row.get("likeCount") * 0.001
+                    + (scoreCount > 0 ? (double) (Long) row.get("scoreTotal") / scoreCount * 0.1 : 0);
+            matched.add(row);
+            scores.add(score);
+        }
+        Integer[] order = new Integer[matched.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        List<Map<String, Object>> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < Math.min(pageSize, order.length); i++) {
+            page.add(matched.get(order[i]));
+        }
+        return page;
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            builder.append(word(random));
+        }
+        return builder.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,211 @@
+package com.gig.collide.bench;
+
+import com.gig.collide.config.RedisSerializerConfig;
+import com.gig.collide.domain.Content;
+import com.gig.collide.domain.Order;
+import com.gig.collide.domain.User;
+import com.gig.collide.serializer.CompactRedisSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化基准
+ * 对比 CompactRedisSerializer（JSONB + 超过阈值时压缩）与原 GenericJackson2JsonRedisSerializer 在内容、用户、订单三类缓存实体上的编解码耗时与分配，
+ * 编码后的字节数由序列化基准的 encodedBytes 辅助计数器报告
+ *
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.include=RedisSerializerBenchmark
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RedisSerializerBenchmark {
+
+    /**
+     * 缓存实体类型
+     */
+    @Param({"content", "user", "order"})
+    private String entity;
+
+    /**
+     * 单个实体、一页列表、超过压缩阈值的长列表
+     */
+    @Param({"1", "20", "200"})
+    private int count;
+
+    private CompactRedisSerializer compact;
+    private GenericJackson2JsonRedisSerializer jackson;
+
+    private Object value;
+    private byte[] compactBytes;
+    private byte[] jacksonBytes;
+
+    /**
+     * 编码后的字节数（每次调用覆盖为当次结果，按原值报告）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long encodedBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        compact = new CompactRedisSerializer(new RedisSerializerConfig());
+        jackson = CompactRedisSerializer.jacksonSerializer();
+
+        List<Object> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(entity(i));
+        }
+        value = count == 1 ? list.get(0) : list;
+        compactBytes = compact.serialize(value);
+        jacksonBytes = jackson.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize(EncodedSize size) {
+        byte[] bytes = compact.serialize(value);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return compact.deserialize(compactBytes);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize(EncodedSize size) {
+        byte[] bytes = jackson.serialize(value);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object jacksonDeserialize() {
+        return jackson.deserialize(jacksonBytes);
+    }
+
+    private Object entity(long id) {
+        switch (entity) {
+            case "user":
+                return user(id);
+            case "order":
+                return order(id);
+            default:
+                return content(id);
+        }
+    }
+
+    private static Content content(long id) {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15).plusMinutes(id);
+        Content content = new Content();
+        content.setId(id);
+        content.setTitle("关注时间线里的第" + id + "篇内容");
+        content.setDescription("内容简介，长度与线上常见的摘要接近，用于比较编码后的体积" + id);
+        content.setContentType("ARTICLE");
+        content.setCoverUrl("https://cdn.example.com/cover/" + id + ".jpg");
+        content.setTags("生活,旅行,摄影");
+        content.setAuthorId(10000L + id % 7);
+        content.setAuthorNickname("作者" + id % 7);
+        content.setAuthorAvatar("https://cdn.example.com/avatar/" + id % 7 + ".png");
+        content.setCategoryId(3L);
+        content.setCategoryName("生活");
+        content.setStatus("PUBLISHED");
+        content.setReviewStatus("APPROVED");
+        content.setViewCount(1200L + id);
+        content.setLikeCount(87L + id);
+        content.setCommentCount(12L);
+        content.setFavoriteCount(9L);
+        content.setShareCount(3L);
+        content.setScoreCount(0L);
+        content.setScoreTotal(0L);
+        content.setPublishTime(time);
+        content.setCreateTime(time);
+        content.setUpdateTime(time);
+        return content;
+    }
+
+    private static User user(long id) {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15).plusMinutes(id);
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setNickname("用户昵称" + id);
+        user.setAvatar("https://cdn.example.com/avatar/" + id + ".png");
+        user.setEmail("user" + id + "@example.com");
+        user.setPhone("1380000" + String.format("%04d", id % 10000));
+        user.setRole("user");
+        user.setStatus("active");
+        user.setBio("个人简介，长度与线上常见的签名接近" + id);
+        user.setBirthday(LocalDate.of(1995, 6, 18));
+        user.setGender("unknown");
+        user.setLocation("上海");
+        user.setFollowerCount(320L + id);
+        user.setFollowingCount(85L);
+        user.setContentCount(42L);
+        user.setLikeCount(1500L + id);
+        user.setIsVip("N");
+        user.setLastLoginTime(time);
+        user.setLoginCount(64L);
+        user.setInviteCode("INV" + id);
+        user.setInvitedCount(0L);
+        user.setCreateTime(time);
+        user.setUpdateTime(time);
+        return user;
+    }
+
+    private static Order order(long id) {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15).plusMinutes(id);
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNo("ORD20240501" + String.format("%08d", id));
+        order.setUserId(10000L + id % 7);
+        order.setUserNickname("用户" + id % 7);
+        order.setGoodsId(500L + id % 13);
+        order.setGoodsName("付费内容合集第" + id % 13 + "期");
+        order.setGoodsType(Order.GoodsType.CONTENT);
+        order.setGoodsCover("https://cdn.example.com/goods/" + id % 13 + ".jpg");
+        order.setGoodsCategoryName("知识付费");
+        order.setContentId(2000L + id % 13);
+        order.setContentTitle("内容标题" + id % 13);
+        order.setQuantity(1);
+        order.setPaymentMode(Order.PaymentMode.COIN);
+        order.setCashAmount(BigDecimal.ZERO);
+        order.setCoinCost(120L);
+        order.setTotalAmount(new BigDecimal("12.00"));
+        order.setDiscountAmount(BigDecimal.ZERO);
+        order.setFinalAmount(new BigDecimal("12.00"));
+        order.setStatus(Order.OrderStatus.COMPLETED);
+        order.setPayStatus(Order.PayStatus.PAID);
+        order.setPayMethod("coin");
+        order.setPayTime(time);
+        order.setCreateTime(time);
+        order.setUpdateTime(time);
+        return order;
+    }
+}
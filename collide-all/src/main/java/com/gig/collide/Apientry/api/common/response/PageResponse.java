@@ -49,6 +49,11 @@ public class PageResponse<T> {
      */
     private Boolean hasPrevious;
 
+    /**
+     * 下一页游标（游标分页时返回，为空表示没有更多数据）
+     */
+    private String nextCursor;
+
     public PageResponse() {}
 
     public PageResponse(List<T> records, Long total, Integer currentPage, Integer pageSize) {
@@ -66,6 +71,18 @@ public class PageResponse<T> {
         return new PageResponse<>(records, total, currentPage, pageSize);
     }
 
+    /**
+     * 创建游标分页响应（不统计总数）
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> records, Integer pageSize, String nextCursor) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setRecords(records);
+        response.setPageSize(pageSize);
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        return response;
+    }
+
     /**
      * 创建空分页响应
      */
@@ -2,6 +2,7 @@ package com.gig.collide.Apientry.api.message.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.io.Serializable;
@@ -65,6 +66,13 @@ public class MessageCreateRequest implements Serializable {
      */
     private Boolean isPinned;
 
+    /**
+     * 客户端消息键（可选）
+     * 同一发送者重试时携带相同的值，服务端按此去重，不会重复写入
+     */
+    @Size(max = 64, message = "客户端消息键长度不能超过64")
+    private String clientMsgId;
+
     // =================== 业务验证方法 ===================
 
     /**
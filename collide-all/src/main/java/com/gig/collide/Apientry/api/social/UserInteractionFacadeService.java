@@ -44,6 +44,17 @@ public interface UserInteractionFacadeService {
             String direction, String orderBy, String orderDirection,
             Integer currentPage, Integer pageSize);
 
+    /**
+     * 查询用户互动数据（简化版，支持游标分页）
+     *
+     * @param cursor 游标，不为null时按游标分页（首页传空字符串），为null时按页码分页
+     * @return 分页的互动数据
+     */
+    Result<PageResponse<UserInteractionResponse>> getUserInteractions(
+            Long userId, String interactionType, String likeType, String commentType,
+            String direction, String orderBy, String orderDirection,
+            Integer currentPage, Integer pageSize, String cursor);
+
     /**
      * 查询所有互动数据
      * 功能为查询所有用户的互动数据（我评论的，我点赞的，评论我的）
@@ -55,4 +66,13 @@ public interface UserInteractionFacadeService {
      */
     Result<PageResponse<UserInteractionResponse>> getAllInteractions(
             Long userId, Integer currentPage, Integer pageSize);
+
+    /**
+     * 查询所有互动数据（支持游标分页）
+     *
+     * @param cursor 游标，不为null时按游标分页（首页传空字符串），为null时按页码分页
+     * @return 分页的互动数据
+     */
+    Result<PageResponse<UserInteractionResponse>> getAllInteractions(
+            Long userId, Integer currentPage, Integer pageSize, String cursor);
 }
@@ -1,7 +1,5 @@
 package com.gig.collide.Apientry.api.social;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.social.request.UserInteractionQueryRequest;
@@ -9,22 +7,35 @@ import com.gig.collide.Apientry.api.social.response.UserInteractionResponse;
 import com.gig.collide.domain.Like;
 import com.gig.collide.domain.Comment;
 import com.gig.collide.domain.Content;
+import com.gig.collide.loader.RequestBatchLoader;
 import com.gig.collide.mapper.LikeMapper;
 import com.gig.collide.mapper.CommentMapper;
-import com.gig.collide.service.ContentService;
 import com.gig.collide.service.FollowService;
 import com.gig.collide.service.LikeService;
-import com.gig.collide.service.UserService;
-import lombok.RequiredArgsConstructor;
+import com.gig.collide.util.CursorUtil;
+import com.gig.collide.util.TimeSeek;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -37,15 +48,96 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeService {
 
+    /**
+     * 单页最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 页码分页时每个来源最多扫描的条数，超出后需使用游标分页
+     */
+    private static final int MAX_SCAN_PER_SOURCE = 1000;
+
+    private static final String LIKE_STATUS_ACTIVE = "active";
+    private static final String COMMENT_STATUS_NORMAL = "NORMAL";
+
     private final LikeMapper likeMapper;
     private final CommentMapper commentMapper;
-    private final ContentService contentService;
     private final FollowService followService;
     private final LikeService likeService;
-    private final UserService userService;
+    private final RequestBatchLoader requestBatchLoader;
+    private final Executor enrichExecutor;
+
+    public UserInteractionFacadeServiceImpl(LikeMapper likeMapper,
+                                            CommentMapper commentMapper,
+                                            FollowService followService,
+                                            LikeService likeService,
+                                            RequestBatchLoader requestBatchLoader,
+                                            @Qualifier("enrichExecutor") Executor enrichExecutor) {
+        this.likeMapper = likeMapper;
+        this.commentMapper = commentMapper;
+        this.followService = followService;
+        this.likeService = likeService;
+        this.requestBatchLoader = requestBatchLoader;
+        this.enrichExecutor = enrichExecutor;
+    }
+
+    /**
+     * 互动来源
+     * 时间线按 (时间, 来源序号, 主键) 排序，序号会写入游标，新增来源只能追加在末尾
+     */
+    private enum InteractionSource {
+        /**
+         * 我点赞的内容
+         */
+        LIKED_CONTENTS,
+        /**
+         * 我点赞的评论
+         */
+        LIKED_COMMENTS,
+        /**
+         * 我的评论收到的点赞
+         */
+        RECEIVED_COMMENT_LIKES,
+        /**
+         * 我发出的内容评论
+         */
+        CONTENT_COMMENTS,
+        /**
+         * 我发出的动态评论
+         */
+        DYNAMIC_COMMENTS,
+        /**
+         * 回复我的评论
+         */
+        RECEIVED_REPLIES
+    }
+
+    /**
+     * 时间线上的一条来源记录（尚未转换）
+     */
+    private record TimelineRow(InteractionSource source, long sortKey, long id, Object entity) {
+    }
+
+    /**
+     * 时间线游标位置
+     */
+    private record TimelinePosition(long sortKey, int source, long id) {
+    }
+
+    /**
+     * 合并得到的一页来源记录
+     */
+    private record TimelinePage(List<TimelineRow> rows, boolean hasMore) {
+    }
+
+    /**
+     * 合并时各来源的当前队首
+     */
+    private record SourceHead(TimelineRow row, Iterator<TimelineRow> rest) {
+    }
 
     @Override
     public Result<PageResponse<UserInteractionResponse>> getUserInteractions(UserInteractionQueryRequest request) {
@@ -76,35 +168,23 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
             request.setPageSize(20);
         }
 
-        // 根据互动类型分别查询
-        List<UserInteractionResponse> allInteractions = new ArrayList<>();
-
-
         try {
-            // 查询点赞数据
-            if ("ALL".equals(request.getInteractionType()) || "LIKES".equals(request.getInteractionType())) {
-                List<UserInteractionResponse> likes = queryUserLikes(request);
-                allInteractions.addAll(likes);
-            }
-            
-            // 查询评论数据
-            if ("ALL".equals(request.getInteractionType()) || "COMMENTS".equals(request.getInteractionType())) {
-                List<UserInteractionResponse> comments = queryUserComments(request);
-                allInteractions.addAll(comments);
-            }
-            
-            // 排序和分页
-            List<UserInteractionResponse> sortedInteractions = sortInteractions(allInteractions, request.getOrderBy(), request.getOrderDirection());
-            PageResponse<UserInteractionResponse> pageResponse = paginateInteractions(sortedInteractions, request.getCurrentPage(), request.getPageSize());
+            // 各来源按时间有序，只取本页所需条数后归并，不再整体加载排序
+            Set<InteractionSource> sources = resolveSources(request);
+            boolean asc = "ASC".equalsIgnoreCase(request.getOrderDirection());
+            boolean byUpdateTime = "updateTime".equals(request.getOrderBy());
+            PageResponse<UserInteractionResponse> pageResponse = request.getCursor() != null
+                    ? queryTimelineByCursor(request.getUserId(), sources, request.getCursor(), request.getPageSize(), asc, byUpdateTime)
+                    : queryTimelineByPage(request.getUserId(), sources, request.getCurrentPage(), request.getPageSize(), asc, byUpdateTime);
             
             // 为缺失的目标字段补充赋值
             if (pageResponse.getRecords() != null) {
-                for (UserInteractionResponse response : pageResponse.getRecords()) {
-                    fillMissingTargetFields(response);
-                }
+                fillMissingTargetFields(pageResponse.getRecords());
             }
             
             return Result.success(pageResponse);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
         } catch (Exception e) {
             log.error("查询用户互动数据失败: userId={}, error={}", request.getUserId(), e.getMessage(), e);
             return Result.error("查询失败: " + e.getMessage());
@@ -116,6 +196,15 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
             Long userId, String interactionType, String likeType, String commentType,
             String direction, String orderBy, String orderDirection,
             Integer currentPage, Integer pageSize) {
+        return getUserInteractions(userId, interactionType, likeType, commentType,
+                direction, orderBy, orderDirection, currentPage, pageSize, null);
+    }
+
+    @Override
+    public Result<PageResponse<UserInteractionResponse>> getUserInteractions(
+            Long userId, String interactionType, String likeType, String commentType,
+            String direction, String orderBy, String orderDirection,
+            Integer currentPage, Integer pageSize, String cursor) {
         
         UserInteractionQueryRequest request = new UserInteractionQueryRequest();
         request.setUserId(userId);
@@ -127,15 +216,19 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
         request.setOrderDirection(orderDirection != null ? orderDirection : "DESC");
         request.setCurrentPage(currentPage != null ? currentPage : 1);
         request.setPageSize(pageSize != null ? pageSize : 20);
-
-
+        request.setCursor(cursor);
         
         return getUserInteractions(request);
     }
 
     @Override
     public Result<PageResponse<UserInteractionResponse>> getAllInteractions(Long userId, Integer currentPage, Integer pageSize) {
-        log.info("查询所有互动数据: userId={}, page={}/{}", userId, currentPage, pageSize);
+        return getAllInteractions(userId, currentPage, pageSize, null);
+    }
+
+    @Override
+    public Result<PageResponse<UserInteractionResponse>> getAllInteractions(Long userId, Integer currentPage, Integer pageSize, String cursor) {
+        log.info("查询所有互动数据: userId={}, page={}/{}, cursor={}", userId, currentPage, pageSize, cursor);
         
         // 参数验证
         if (userId == null) {
@@ -151,115 +244,279 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
         }
 
         try {
-            // 查询所有互动数据：我评论的，我点赞的，评论我的
-            List<UserInteractionResponse> allInteractions = new ArrayList<>();
-
-            // 1. 查询我点赞的内容
-            List<UserInteractionResponse> myLikedContents = queryMyLikedContents(userId);
-            allInteractions.addAll(myLikedContents);
-            
-            // 2. 查询我点赞的评论
-            List<UserInteractionResponse> myLikedComments = queryMyLikedComments(userId);
-            allInteractions.addAll(myLikedComments);
-            
-            // 3. 查询我发出的评论
-            List<UserInteractionResponse> myComments = queryMyComments(userId);
-            allInteractions.addAll(myComments);
-            
-            // 4. 查询我收到的评论（评论我的）
-            List<UserInteractionResponse> commentsToMe = queryCommentsToMe(userId);
-            allInteractions.addAll(commentsToMe);
-            
-            // 按时间排序
-            allInteractions.sort((a, b) -> {
-                if (a.getCreateTime() == null && b.getCreateTime() == null) return 0;
-                if (a.getCreateTime() == null) return 1;
-                if (b.getCreateTime() == null) return -1;
-                return b.getCreateTime().compareTo(a.getCreateTime());
-            });
-            
-            // 分页处理
-            PageResponse<UserInteractionResponse> pageResponse = paginateInteractions(allInteractions, currentPage, pageSize);
+            // 所有互动数据：我点赞的内容、我点赞的评论、我发出的评论、我收到的评论（评论我的），按时间倒序
+            Set<InteractionSource> sources = EnumSet.of(InteractionSource.LIKED_CONTENTS, InteractionSource.LIKED_COMMENTS,
+                    InteractionSource.CONTENT_COMMENTS, InteractionSource.DYNAMIC_COMMENTS, InteractionSource.RECEIVED_REPLIES);
+            PageResponse<UserInteractionResponse> pageResponse = cursor != null
+                    ? queryTimelineByCursor(userId, sources, cursor, pageSize, false, false)
+                    : queryTimelineByPage(userId, sources, currentPage, pageSize, false, false);
             
             // 填充缺失字段
             if (pageResponse.getRecords() != null) {
-                for (UserInteractionResponse response : pageResponse.getRecords()) {
-                    enhanceInteractionResponse(response, userId);
-                }
+                enhanceInteractionResponses(pageResponse.getRecords(), userId);
             }
             
             return Result.success(pageResponse);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
         } catch (Exception e) {
             log.error("查询所有互动数据失败: userId={}, error={}", userId, e.getMessage(), e);
             return Result.error("查询失败: " + e.getMessage());
         }
     }
 
+    // =================== 互动时间线合并 ===================
+
     /**
-     * 查询用户点赞数据
+     * 根据互动类型、方向与子类型过滤条件确定需要查询的来源
      */
-    private List<UserInteractionResponse> queryUserLikes(UserInteractionQueryRequest request) {
-        List<UserInteractionResponse> likes = new ArrayList<>();
-        
-        // 查询我点赞的内容
-        if ("ALL".equals(request.getDirection()) || "GIVE".equals(request.getDirection())) {
-            if (request.getLikeType() == null || "CONTENT".equals(request.getLikeType())) {
-                Page<Like> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-                IPage<Like> contentLikesPage = likeMapper.findUserLikes(page, request.getUserId(), "CONTENT", "active");
-                likes.addAll(convertLikesToInteractions(contentLikesPage.getRecords(), "CONTENT"));
+    private Set<InteractionSource> resolveSources(UserInteractionQueryRequest request) {
+        Set<InteractionSource> sources = EnumSet.noneOf(InteractionSource.class);
+        boolean give = "ALL".equals(request.getDirection()) || "GIVE".equals(request.getDirection());
+        boolean receive = "ALL".equals(request.getDirection()) || "RECEIVE".equals(request.getDirection());
+
+        if ("ALL".equals(request.getInteractionType()) || "LIKES".equals(request.getInteractionType())) {
+            if (give && (request.getLikeType() == null || "CONTENT".equals(request.getLikeType()))) {
+                sources.add(InteractionSource.LIKED_CONTENTS);
             }
-            
-            if (request.getLikeType() == null || "COMMENT".equals(request.getLikeType())) {
-                Page<Like> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-                IPage<Like> commentLikesPage = likeMapper.findUserLikes(page, request.getUserId(), "COMMENT", "active");
-                likes.addAll(convertLikesToInteractions(commentLikesPage.getRecords(), "COMMENT"));
+            if (give && (request.getLikeType() == null || "COMMENT".equals(request.getLikeType()))) {
+                sources.add(InteractionSource.LIKED_COMMENTS);
+            }
+            // 我收到的点赞（我发布的评论被点赞）
+            if (receive && (request.getLikeType() == null || "COMMENT".equals(request.getLikeType()))) {
+                sources.add(InteractionSource.RECEIVED_COMMENT_LIKES);
             }
         }
-        
-        // 查询我收到的点赞（我发布的评论被点赞）
-        if ("ALL".equals(request.getDirection()) || "RECEIVE".equals(request.getDirection())) {
-            if (request.getLikeType() == null || "COMMENT".equals(request.getLikeType())) {
-                Page<Like> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-                IPage<Like> receivedCommentLikesPage = likeMapper.findAuthorLikes(page, request.getUserId(), "COMMENT", "active");
-                likes.addAll(convertReceivedLikesToInteractions(receivedCommentLikesPage.getRecords(), "COMMENT"));
+
+        if ("ALL".equals(request.getInteractionType()) || "COMMENTS".equals(request.getInteractionType())) {
+            if (give && (request.getCommentType() == null || "CONTENT".equals(request.getCommentType()))) {
+                sources.add(InteractionSource.CONTENT_COMMENTS);
+            }
+            if (give && (request.getCommentType() == null || "DYNAMIC".equals(request.getCommentType()))) {
+                sources.add(InteractionSource.DYNAMIC_COMMENTS);
+            }
+            // 我收到的评论（回复我的评论）
+            if (receive) {
+                sources.add(InteractionSource.RECEIVED_REPLIES);
             }
         }
-        
-        return likes;
+        return sources;
     }
 
     /**
-     * 查询用户评论数据
+     * 页码分页：每个来源取 偏移量 + 页大小 + 1 条归并后跳过偏移量
+     * 不统计总数，总数为已确认存在的条数（有下一页时多计 1 条），按页码逐页翻页仍可用
      */
-    private List<UserInteractionResponse> queryUserComments(UserInteractionQueryRequest request) {
-        List<UserInteractionResponse> comments = new ArrayList<>();
-        
-        // 查询我发出的评论
-        if ("ALL".equals(request.getDirection()) || "GIVE".equals(request.getDirection())) {
-            if (request.getCommentType() == null || "CONTENT".equals(request.getCommentType())) {
-                IPage<Comment> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-                IPage<Comment> contentCommentsPage = commentMapper.selectUserCommentsPage(
-                    page, request.getUserId(), "COMMUNITY", "NORMAL", "createTime", "DESC", true);
-                comments.addAll(convertCommentsToInteractions(contentCommentsPage.getRecords(), "CONTENT"));
+    private PageResponse<UserInteractionResponse> queryTimelineByPage(Long userId, Set<InteractionSource> sources,
+                                                                      int currentPage, int pageSize,
+                                                                      boolean asc, boolean byUpdateTime) {
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        long offset = (long) (currentPage - 1) * pageSize;
+        if (offset + pageSize + 1 > MAX_SCAN_PER_SOURCE) {
+            throw new IllegalArgumentException("页码过大，请使用游标分页");
+        }
+        int skip = (int) offset;
+        TimelinePage page = mergeTimeline(userId, sources, null, skip, pageSize, skip + pageSize + 1, asc, byUpdateTime);
+        List<UserInteractionResponse> records = convertTimeline(page.rows());
+
+        PageResponse<UserInteractionResponse> response = new PageResponse<>();
+        response.setRecords(records);
+        response.setPagination(offset + records.size() + (page.hasMore() ? 1 : 0), currentPage, pageSize);
+        return response;
+    }
+
+    /**
+     * 游标分页：每个来源只取 页大小 + 1 条，内存与数据库读取量只与页大小相关
+     */
+    private PageResponse<UserInteractionResponse> queryTimelineByCursor(Long userId, Set<InteractionSource> sources,
+                                                                        String cursor, int pageSize,
+                                                                        boolean asc, boolean byUpdateTime) {
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        TimelinePosition position = decodeTimelineCursor(cursor);
+        TimelinePage page = mergeTimeline(userId, sources, position, 0, pageSize, pageSize + 1, asc, byUpdateTime);
+
+        String nextCursor = null;
+        if (page.hasMore() && !page.rows().isEmpty()) {
+            TimelineRow last = page.rows().get(page.rows().size() - 1);
+            nextCursor = CursorUtil.encodeKey(last.sortKey() + ":" + last.source().ordinal() + ":" + last.id());
+        }
+        return PageResponse.ofCursor(convertTimeline(page.rows()), pageSize, nextCursor);
+    }
+
+    /**
+     * 并发查询各来源后用优先队列多路归并，跳过 skip 条后取 take 条
+     *
+     * @param limit 每个来源的查询条数，须不小于 skip + take + 1，保证归并结果与全量排序一致
+     */
+    private TimelinePage mergeTimeline(Long userId, Set<InteractionSource> sources, TimelinePosition position,
+                                       int skip, int take, int limit, boolean asc, boolean byUpdateTime) {
+        Map<InteractionSource, CompletableFuture<List<TimelineRow>>> futures = new EnumMap<>(InteractionSource.class);
+        for (InteractionSource source : sources) {
+            TimeSeek seek = seekFor(source, position, asc, byUpdateTime);
+            futures.put(source, CompletableFuture.supplyAsync(
+                    () -> fetchSource(source, userId, seek, limit, byUpdateTime), enrichExecutor));
+        }
+
+        Comparator<TimelineRow> order = timelineOrder(asc);
+        PriorityQueue<SourceHead> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> order.compare(a.row(), b.row()));
+        for (Map.Entry<InteractionSource, CompletableFuture<List<TimelineRow>>> entry : futures.entrySet()) {
+            List<TimelineRow> rows;
+            try {
+                rows = entry.getValue().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
             }
-            
-            if (request.getCommentType() == null || "DYNAMIC".equals(request.getCommentType())) {
-                IPage<Comment> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-                IPage<Comment> dynamicCommentsPage = commentMapper.selectUserCommentsPage(
-                    page, request.getUserId(), "VIDEO", "NORMAL", "createTime", "DESC", true);
-                comments.addAll(convertCommentsToInteractions(dynamicCommentsPage.getRecords(), "DYNAMIC"));
+            Iterator<TimelineRow> iterator = rows.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new SourceHead(iterator.next(), iterator));
             }
         }
-        
-        // 查询我收到的评论（回复我的评论）
-        if ("ALL".equals(request.getDirection()) || "RECEIVE".equals(request.getDirection())) {
-            IPage<Comment> page = new Page<>(1, 1000); // 限制最大查询数量，避免性能问题
-            IPage<Comment> receivedCommentsPage = commentMapper.selectUserRepliesPage(
-                page, request.getUserId(), "NORMAL", "createTime", "DESC", true);
-            comments.addAll(convertReceivedCommentsToInteractions(receivedCommentsPage.getRecords()));
+
+        List<TimelineRow> page = new ArrayList<>(take);
+        int consumed = 0;
+        while (!heads.isEmpty() && consumed < skip + take) {
+            SourceHead head = heads.poll();
+            if (consumed >= skip) {
+                page.add(head.row());
+            }
+            consumed++;
+            if (head.rest().hasNext()) {
+                heads.add(new SourceHead(head.rest().next(), head.rest()));
+            }
+        }
+        return new TimelinePage(page, !heads.isEmpty());
+    }
+
+    /**
+     * 时间线排序：时间（按排序方向）、来源序号（升序）、主键（与时间同向）
+     */
+    private static Comparator<TimelineRow> timelineOrder(boolean asc) {
+        return (a, b) -> {
+            int result = Long.compare(a.sortKey(), b.sortKey());
+            if (result != 0) {
+                return asc ? result : -result;
+            }
+            result = Integer.compare(a.source().ordinal(), b.source().ordinal());
+            if (result != 0) {
+                return result;
+            }
+            result = Long.compare(a.id(), b.id());
+            return asc ? result : -result;
+        };
+    }
+
+    /**
+     * 计算来源在游标之后的定位条件：序号小于游标来源的只取更晚（或更早）的时间，
+     * 序号相同的按 (时间, 主键) 定位，序号更大的包含同一时间
+     */
+    private static TimeSeek seekFor(InteractionSource source, TimelinePosition position, boolean asc, boolean byUpdateTime) {
+        if (position == null) {
+            return TimeSeek.first(asc, byUpdateTime);
+        }
+        LocalDateTime time = CursorUtil.toDateTime(position.sortKey());
+        int ordinal = source.ordinal();
+        if (ordinal < position.source()) {
+            return TimeSeek.afterTime(time, false, asc, byUpdateTime);
+        }
+        if (ordinal == position.source()) {
+            return TimeSeek.after(time, position.id(), asc, byUpdateTime);
+        }
+        return TimeSeek.afterTime(time, true, asc, byUpdateTime);
+    }
+
+    private List<TimelineRow> fetchSource(InteractionSource source, Long userId, TimeSeek seek, int limit, boolean byUpdateTime) {
+        switch (source) {
+            case LIKED_CONTENTS:
+                return toLikeRows(source, likeMapper.selectUserLikesSeek(userId, "CONTENT", LIKE_STATUS_ACTIVE, seek, limit), byUpdateTime);
+            case LIKED_COMMENTS:
+                return toLikeRows(source, likeMapper.selectUserLikesSeek(userId, "COMMENT", LIKE_STATUS_ACTIVE, seek, limit), byUpdateTime);
+            case RECEIVED_COMMENT_LIKES:
+                return toLikeRows(source, likeMapper.selectAuthorLikesSeek(userId, "COMMENT", LIKE_STATUS_ACTIVE, seek, limit), byUpdateTime);
+            case CONTENT_COMMENTS:
+                return toCommentRows(source, commentMapper.selectUserCommentsSeek(userId, "COMMUNITY", COMMENT_STATUS_NORMAL, seek, limit), byUpdateTime);
+            case DYNAMIC_COMMENTS:
+                return toCommentRows(source, commentMapper.selectUserCommentsSeek(userId, "VIDEO", COMMENT_STATUS_NORMAL, seek, limit), byUpdateTime);
+            case RECEIVED_REPLIES:
+            default:
+                return toCommentRows(source, commentMapper.selectUserRepliesSeek(userId, COMMENT_STATUS_NORMAL, seek, limit), byUpdateTime);
+        }
+    }
+
+    private static List<TimelineRow> toLikeRows(InteractionSource source, List<Like> likes, boolean byUpdateTime) {
+        List<TimelineRow> rows = new ArrayList<>(likes.size());
+        for (Like like : likes) {
+            LocalDateTime time = byUpdateTime ? like.getUpdateTime() : like.getCreateTime();
+            rows.add(new TimelineRow(source, CursorUtil.toSortKey(time), like.getId(), like));
+        }
+        return rows;
+    }
+
+    private static List<TimelineRow> toCommentRows(InteractionSource source, List<Comment> comments, boolean byUpdateTime) {
+        List<TimelineRow> rows = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            LocalDateTime time = byUpdateTime ? comment.getUpdateTime() : comment.getCreateTime();
+            rows.add(new TimelineRow(source, CursorUtil.toSortKey(time), comment.getId(), comment));
+        }
+        return rows;
+    }
+
+    /**
+     * 按来源分组转换本页记录，再按归并顺序还原
+     */
+    private List<UserInteractionResponse> convertTimeline(List<TimelineRow> rows) {
+        Map<InteractionSource, List<Object>> grouped = new EnumMap<>(InteractionSource.class);
+        for (TimelineRow row : rows) {
+            grouped.computeIfAbsent(row.source(), key -> new ArrayList<>()).add(row.entity());
+        }
+        Map<InteractionSource, Iterator<UserInteractionResponse>> converted = new EnumMap<>(InteractionSource.class);
+        for (Map.Entry<InteractionSource, List<Object>> entry : grouped.entrySet()) {
+            converted.put(entry.getKey(), convertSource(entry.getKey(), entry.getValue()).iterator());
+        }
+        List<UserInteractionResponse> responses = new ArrayList<>(rows.size());
+        for (TimelineRow row : rows) {
+            responses.add(converted.get(row.source()).next());
+        }
+        return responses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserInteractionResponse> convertSource(InteractionSource source, List<Object> entities) {
+        switch (source) {
+            case LIKED_CONTENTS:
+                return convertLikesToInteractions((List<Like>) (List<?>) entities, "CONTENT");
+            case LIKED_COMMENTS:
+                return convertLikesToInteractions((List<Like>) (List<?>) entities, "COMMENT");
+            case RECEIVED_COMMENT_LIKES:
+                return convertReceivedLikesToInteractions((List<Like>) (List<?>) entities, "COMMENT");
+            case CONTENT_COMMENTS:
+                return convertCommentsToInteractions((List<Comment>) (List<?>) entities, "CONTENT");
+            case DYNAMIC_COMMENTS:
+                return convertCommentsToInteractions((List<Comment>) (List<?>) entities, "DYNAMIC");
+            case RECEIVED_REPLIES:
+            default:
+                return convertReceivedCommentsToInteractions((List<Comment>) (List<?>) entities);
+        }
+    }
+
+    private static TimelinePosition decodeTimelineCursor(String cursor) {
+        String key = CursorUtil.decodeKey(cursor);
+        if (key == null) {
+            return null;
+        }
+        String[] parts = key.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+        try {
+            int source = Integer.parseInt(parts[1]);
+            if (source < 0 || source >= InteractionSource.values().length) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            return new TimelinePosition(Long.parseLong(parts[0]), source, Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标");
         }
-        
-        return comments;
     }
 
     /**
@@ -282,63 +539,16 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
                 .collect(Collectors.toSet());
         
         // 批量获取作者用户信息
-        Map<Long, com.gig.collide.domain.User> authorMap = new java.util.HashMap<>();
-        if (!authorIds.isEmpty()) {
-            authorIds.forEach(authorId -> {
-                try {
-                    com.gig.collide.domain.User user = userService.getUserById(authorId);
-                    if (user != null) {
-                        authorMap.put(authorId, user);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取作者用户信息失败: authorId={}", authorId, e);
-                }
-            });
-        }
+        Map<Long, com.gig.collide.domain.User> authorMap = loadUsers(authorIds);
         
         // 批量获取内容信息
-        Map<Long, Content> contentMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Content content = contentService.getContentById(contentId, false);
-                    if (content != null) {
-                        contentMap.put(contentId, content);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取内容信息失败: contentId={}", contentId, e);
-                }
-            });
-        }
+        Map<Long, Content> contentMap = loadPublishedContents(contentIds);
         
         // 批量获取关注状态
-        Map<Long, Boolean> followStatusMap = new java.util.HashMap<>();
-        if (!authorIds.isEmpty() && likes.get(0).getUserId() != null) {
-            Long currentUserId = likes.get(0).getUserId();
-            authorIds.forEach(authorId -> {
-                try {
-                    boolean isFollowing = followService.checkFollowStatus(currentUserId, authorId);
-                    followStatusMap.put(authorId, isFollowing);
-                } catch (Exception e) {
-                    log.warn("获取关注状态失败: userId={}, authorId={}", currentUserId, authorId, e);
-                    followStatusMap.put(authorId, false);
-                }
-            });
-        }
+        Map<Long, Boolean> followStatusMap = loadFollowStatus(likes.get(0).getUserId(), authorIds);
         
         // 批量获取内容点赞数量
-        Map<Long, Long> contentLikeCountMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Long likeCount = likeService.countTargetLikes(contentId, "CONTENT");
-                    contentLikeCountMap.put(contentId, likeCount);
-                } catch (Exception e) {
-                    log.warn("获取内容点赞数量失败: contentId={}", contentId, e);
-                    contentLikeCountMap.put(contentId, 0L);
-                }
-            });
-        }
+        Map<Long, Long> contentLikeCountMap = loadContentLikeCounts(contentIds);
         
         return likes.stream().map(like -> {
             UserInteractionResponse response = new UserInteractionResponse();
@@ -426,63 +636,16 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
                 .collect(Collectors.toSet());
         
         // 批量获取作者用户信息
-        Map<Long, com.gig.collide.domain.User> authorMap = new java.util.HashMap<>();
-        if (!authorIds.isEmpty()) {
-            authorIds.forEach(authorId -> {
-                try {
-                    com.gig.collide.domain.User user = userService.getUserById(authorId);
-                    if (user != null) {
-                        authorMap.put(authorId, user);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取作者用户信息失败: authorId={}", authorId, e);
-                }
-            });
-        }
+        Map<Long, com.gig.collide.domain.User> authorMap = loadUsers(authorIds);
         
         // 批量获取内容信息
-        Map<Long, Content> contentMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Content content = contentService.getContentById(contentId, false);
-                    if (content != null) {
-                        contentMap.put(contentId, content);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取内容信息失败: contentId={}", contentId, e);
-                }
-            });
-        }
+        Map<Long, Content> contentMap = loadPublishedContents(contentIds);
         
         // 批量获取关注状态
-        Map<Long, Boolean> followStatusMap = new java.util.HashMap<>();
-        if (!authorIds.isEmpty() && likes.get(0).getUserId() != null) {
-            Long currentUserId = likes.get(0).getUserId();
-            authorIds.forEach(authorId -> {
-                try {
-                    boolean isFollowing = followService.checkFollowStatus(currentUserId, authorId);
-                    followStatusMap.put(authorId, isFollowing);
-                } catch (Exception e) {
-                    log.warn("获取关注状态失败: userId={}, authorId={}", currentUserId, authorId, e);
-                    followStatusMap.put(authorId, false);
-                }
-            });
-        }
+        Map<Long, Boolean> followStatusMap = loadFollowStatus(likes.get(0).getUserId(), authorIds);
         
         // 批量获取内容点赞数量
-        Map<Long, Long> contentLikeCountMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Long likeCount = likeService.countTargetLikes(contentId, "CONTENT");
-                    contentLikeCountMap.put(contentId, likeCount);
-                } catch (Exception e) {
-                    log.warn("获取内容点赞数量失败: contentId={}", contentId, e);
-                    contentLikeCountMap.put(contentId, 0L);
-                }
-            });
-        }
+        Map<Long, Long> contentLikeCountMap = loadContentLikeCounts(contentIds);
         
         return likes.stream().map(like -> {
             UserInteractionResponse response = new UserInteractionResponse();
@@ -565,65 +728,17 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
                 .collect(Collectors.toSet());
         
         // 批量获取内容信息
-        Map<Long, Content> contentMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Content content = contentService.getContentById(contentId, false);
-                    if (content != null) {
-                        contentMap.put(contentId, content);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取内容信息失败: contentId={}", contentId, e);
-                }
-            });
-        }
+        Map<Long, Content> contentMap = loadPublishedContents(contentIds);
         
         // 批量获取关注状态
-        Map<Long, Boolean> followStatusMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty() && comments.get(0).getUserId() != null) {
-            Long currentUserId = comments.get(0).getUserId();
-            contentMap.values().forEach(content -> {
-                if (content.getAuthorId() != null) {
-                    try {
-                        boolean isFollowing = followService.checkFollowStatus(currentUserId, content.getAuthorId());
-                        followStatusMap.put(content.getAuthorId(), isFollowing);
-                    } catch (Exception e) {
-                        log.warn("获取关注状态失败: userId={}, authorId={}", currentUserId, content.getAuthorId(), e);
-                        followStatusMap.put(content.getAuthorId(), false);
-                    }
-                }
-            });
-        }
+        Map<Long, Boolean> followStatusMap = loadFollowStatus(comments.get(0).getUserId(),
+                contentMap.values().stream().map(Content::getAuthorId).filter(Objects::nonNull).collect(Collectors.toSet()));
         
         // 批量获取内容点赞数量
-        Map<Long, Long> contentLikeCountMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Long likeCount = likeService.countTargetLikes(contentId, "CONTENT");
-                    contentLikeCountMap.put(contentId, likeCount);
-                } catch (Exception e) {
-                    log.warn("获取内容点赞数量失败: contentId={}", contentId, e);
-                    contentLikeCountMap.put(contentId, 0L);
-                }
-            });
-        }
+        Map<Long, Long> contentLikeCountMap = loadContentLikeCounts(contentIds);
         
         // 批量获取用户对内容的点赞状态
-        Map<Long, Boolean> userLikeStatusMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty() && comments.get(0).getUserId() != null) {
-            Long currentUserId = comments.get(0).getUserId();
-            contentIds.forEach(contentId -> {
-                try {
-                    boolean isLiked = likeService.checkLikeStatus(currentUserId, "CONTENT", contentId);
-                    userLikeStatusMap.put(contentId, isLiked);
-                } catch (Exception e) {
-                    log.warn("获取用户点赞状态失败: userId={}, contentId={}", currentUserId, contentId, e);
-                    userLikeStatusMap.put(contentId, false);
-                }
-            });
-        }
+        Map<Long, Boolean> userLikeStatusMap = loadContentLikeStatus(comments.get(0).getUserId(), contentIds);
         
         return comments.stream().map(comment -> {
             UserInteractionResponse response = new UserInteractionResponse();
@@ -700,65 +815,17 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
                 .collect(Collectors.toSet());
         
         // 批量获取内容信息
-        Map<Long, Content> contentMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Content content = contentService.getContentById(contentId, false);
-                    if (content != null) {
-                        contentMap.put(contentId, content);
-                    }
-                } catch (Exception e) {
-                    log.warn("获取内容信息失败: contentId={}", contentId, e);
-                }
-            });
-        }
+        Map<Long, Content> contentMap = loadPublishedContents(contentIds);
         
         // 批量获取关注状态
-        Map<Long, Boolean> followStatusMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty() && comments.get(0).getUserId() != null) {
-            Long currentUserId = comments.get(0).getUserId();
-            contentMap.values().forEach(content -> {
-                if (content.getAuthorId() != null) {
-                    try {
-                        boolean isFollowing = followService.checkFollowStatus(currentUserId, content.getAuthorId());
-                        followStatusMap.put(content.getAuthorId(), isFollowing);
-                    } catch (Exception e) {
-                        log.warn("获取关注状态失败: userId={}, authorId={}", currentUserId, content.getAuthorId(), e);
-                        followStatusMap.put(content.getAuthorId(), false);
-                    }
-                }
-            });
-        }
+        Map<Long, Boolean> followStatusMap = loadFollowStatus(comments.get(0).getUserId(),
+                contentMap.values().stream().map(Content::getAuthorId).filter(Objects::nonNull).collect(Collectors.toSet()));
         
         // 批量获取内容点赞数量
-        Map<Long, Long> contentLikeCountMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty()) {
-            contentIds.forEach(contentId -> {
-                try {
-                    Long likeCount = likeService.countTargetLikes(contentId, "CONTENT");
-                    contentLikeCountMap.put(contentId, likeCount);
-                } catch (Exception e) {
-                    log.warn("获取内容点赞数量失败: contentId={}", contentId, e);
-                    contentLikeCountMap.put(contentId, 0L);
-                }
-            });
-        }
+        Map<Long, Long> contentLikeCountMap = loadContentLikeCounts(contentIds);
         
         // 批量获取用户对内容的点赞状态
-        Map<Long, Boolean> userLikeStatusMap = new java.util.HashMap<>();
-        if (!contentIds.isEmpty() && comments.get(0).getUserId() != null) {
-            Long currentUserId = comments.get(0).getUserId();
-            contentIds.forEach(contentId -> {
-                try {
-                    boolean isLiked = likeService.checkLikeStatus(currentUserId, "CONTENT", contentId);
-                    userLikeStatusMap.put(contentId, isLiked);
-                } catch (Exception e) {
-                    log.warn("获取用户点赞状态失败: userId={}, contentId={}", currentUserId, contentId, e);
-                    userLikeStatusMap.put(contentId, false);
-                }
-            });
-        }
+        Map<Long, Boolean> userLikeStatusMap = loadContentLikeStatus(comments.get(0).getUserId(), contentIds);
         
         return comments.stream().map(comment -> {
             UserInteractionResponse response = new UserInteractionResponse();
@@ -820,90 +887,6 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
         }).collect(Collectors.toList());
     }
 
-    /**
-     * 对互动数据进行排序
-     */
-    private List<UserInteractionResponse> sortInteractions(List<UserInteractionResponse> interactions, String orderBy, String orderDirection) {
-        if (interactions == null || interactions.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        if (orderBy == null) {
-            orderBy = "createTime";
-        }
-        if (orderDirection == null) {
-            orderDirection = "DESC";
-        }
-        
-        if ("updateTime".equals(orderBy)) {
-            if ("ASC".equals(orderDirection)) {
-                interactions.sort((a, b) -> {
-                    if (a.getUpdateTime() == null && b.getUpdateTime() == null) return 0;
-                    if (a.getUpdateTime() == null) return -1;
-                    if (b.getUpdateTime() == null) return 1;
-                    return a.getUpdateTime().compareTo(b.getUpdateTime());
-                });
-            } else {
-                interactions.sort((a, b) -> {
-                    if (a.getUpdateTime() == null && b.getUpdateTime() == null) return 0;
-                    if (a.getUpdateTime() == null) return 1;
-                    if (b.getUpdateTime() == null) return -1;
-                    return b.getUpdateTime().compareTo(a.getUpdateTime());
-                });
-            }
-        } else {
-            if ("ASC".equals(orderDirection)) {
-                interactions.sort((a, b) -> {
-                    if (a.getCreateTime() == null && b.getCreateTime() == null) return 0;
-                    if (a.getCreateTime() == null) return -1;
-                    if (b.getCreateTime() == null) return 1;
-                    return a.getCreateTime().compareTo(b.getCreateTime());
-                });
-            } else {
-                interactions.sort((a, b) -> {
-                    if (a.getCreateTime() == null && b.getCreateTime() == null) return 0;
-                    if (a.getCreateTime() == null) return 1;
-                    if (b.getCreateTime() == null) return -1;
-                    return b.getCreateTime().compareTo(a.getCreateTime());
-                });
-            }
-        }
-        return interactions;
-    }
-
-    /**
-     * 对互动数据进行分页
-     */
-    private PageResponse<UserInteractionResponse> paginateInteractions(List<UserInteractionResponse> interactions, Integer currentPage, Integer pageSize) {
-        if (interactions == null) {
-            interactions = new ArrayList<>();
-        }
-        if (currentPage == null || currentPage < 1) {
-            currentPage = 1;
-        }
-        if (pageSize == null || pageSize < 1) {
-            pageSize = 20;
-        }
-        
-        int total = interactions.size();
-        int startIndex = (currentPage - 1) * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, total);
-        
-        List<UserInteractionResponse> pageData = new ArrayList<>();
-        if (startIndex < total) {
-            pageData = interactions.subList(startIndex, endIndex);
-        }
-        
-        PageResponse<UserInteractionResponse> response = new PageResponse<>();
-        response.setRecords(pageData);
-        response.setTotal((long) total);
-        response.setCurrentPage(currentPage);
-        response.setPageSize(pageSize);
-        response.setTotalPages((int) Math.ceil((double) total / pageSize));
-        
-        return response;
-    }
-
     /**
      * 将单个URL转换为URL数组
      * 如果URL包含逗号分隔符，则按逗号分割
@@ -931,20 +914,24 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
 
     /**
      * 填充缺失的目标字段信息
-     * 根据互动类型和目标ID，从相应的服务中获取目标对象的详细信息
+     * 根据互动类型和目标ID批量获取目标对象的详细信息，转换阶段已加载的内容在同一请求内直接复用
      * 
-     * @param response 用户互动响应对象
+     * @param responses 用户互动响应对象列表
      */
-    private void fillMissingTargetFields(UserInteractionResponse response) {
-        if (response.getTargetId() == null) {
-            return;
-        }
+    private void fillMissingTargetFields(List<UserInteractionResponse> responses) {
+        Set<Long> contentIds = responses.stream()
+                .filter(response -> response.getTargetId() != null && "CONTENT".equals(response.getSubType()))
+                .map(UserInteractionResponse::getTargetId)
+                .collect(Collectors.toSet());
+        Map<Long, Content> contentMap = loadPublishedContents(contentIds);
 
-        try {
+        for (UserInteractionResponse response : responses) {
+            if (response.getTargetId() == null) {
+                continue;
+            }
             // 根据子类型判断是内容还是动态
             if ("CONTENT".equals(response.getSubType())) {
-                // 获取内容信息
-                Content content = contentService.getContentById(response.getTargetId(), false);
+                Content content = contentMap.get(response.getTargetId());
                 if (content != null) {
                     if (response.getTargetTitle() == null) {
                         response.setTargetTitle(content.getTitle());
@@ -964,176 +951,126 @@ public class UserInteractionFacadeServiceImpl implements UserInteractionFacadeSe
                 log.debug("DYNAMIC类型的目标字段填充: targetId={}", response.getTargetId());
                 // 注意：如果需要支持DYNAMIC类型，需要注入SocialDynamicService
             }
-        } catch (Exception e) {
-            log.warn("填充目标字段信息失败: targetId={}, subType={}, error={}", 
-                    response.getTargetId(), response.getSubType(), e.getMessage());
         }
     }
 
     /**
-     * 查询我点赞的内容
+     * 增强互动响应数据，填充所有必要字段
+     * 内容信息、点赞数、点赞状态与关注状态按本页批量查询
      */
-    private List<UserInteractionResponse> queryMyLikedContents(Long userId) {
-        try {
-            Page<Like> page = new Page<>(1, 1000);
-            IPage<Like> likesPage = likeMapper.findUserLikes(page, userId, "COMMENT", "active");
-            return convertLikesToInteractions(likesPage.getRecords(), "COMMENT");
-        } catch (Exception e) {
-            log.warn("查询我点赞的内容失败: userId={}", userId, e);
-            return new ArrayList<>();
+    private void enhanceInteractionResponses(List<UserInteractionResponse> responses, Long currentUserId) {
+        // 只有内容类的评论和点赞需要增强
+        List<UserInteractionResponse> targets = responses.stream()
+                .filter(response -> response != null && response.getTargetId() != null
+                        && "CONTENT".equals(response.getSubType())
+                        && ("COMMENT".equals(response.getInteractionType()) || "LIKE".equals(response.getInteractionType())))
+                .collect(Collectors.toList());
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Content> contentMap = loadPublishedContents(targets.stream()
+                .map(UserInteractionResponse::getTargetId)
+                .collect(Collectors.toSet()));
+        Map<Long, Long> contentLikeCountMap = loadContentLikeCounts(contentMap.keySet());
+        // 点赞记录的当前用户肯定已经点赞了，只需查询评论对应内容的点赞状态
+        Map<Long, Boolean> likeStatusMap = loadContentLikeStatus(currentUserId, targets.stream()
+                .filter(response -> "COMMENT".equals(response.getInteractionType()))
+                .map(UserInteractionResponse::getTargetId)
+                .filter(contentMap::containsKey)
+                .collect(Collectors.toSet()));
+        Map<Long, Boolean> followStatusMap = loadFollowStatus(currentUserId, contentMap.values().stream()
+                .map(Content::getAuthorId)
+                .filter(authorId -> authorId != null && !authorId.equals(currentUserId))
+                .collect(Collectors.toSet()));
+
+        for (UserInteractionResponse response : targets) {
+            Content content = contentMap.get(response.getTargetId());
+            if (content == null) {
+                continue;
+            }
+            response.setTargetTitle(content.getTitle());
+            response.setTargetAuthorId(content.getAuthorId());
+            response.setTargetAuthorNickname(content.getAuthorNickname());
+            response.setTargetAuthorAvatar(content.getAuthorAvatar());
+            response.setContentCoverUrl(convertCoverUrlToArray(content.getCoverUrl()));
+            response.setContentDescription(content.getDescription());
+
+            // 内容点赞数
+            response.setContentLikeCount(contentLikeCountMap.getOrDefault(content.getId(), 0L));
+
+            // 当前用户是否点赞了该内容
+            if ("LIKE".equals(response.getInteractionType())) {
+                response.setIsLike(true);
+            } else {
+                response.setIsLike(likeStatusMap.getOrDefault(content.getId(), false));
+            }
+
+            // 是否关注内容作者
+            if (content.getAuthorId() != null && !content.getAuthorId().equals(currentUserId)) {
+                response.setIsFollowingAuthor(followStatusMap.getOrDefault(content.getAuthorId(), false));
+            } else {
+                response.setIsFollowingAuthor(false);
+            }
         }
+        // 评论、点赞相关标识会根据subType和interactionType自动计算，无需手动设置
     }
 
-    /**
-     * 查询我点赞的评论
-     */
-    private List<UserInteractionResponse> queryMyLikedComments(Long userId) {
+    // =================== 批量加载（单个维度失败时降级为空结果） ===================
+
+    private Map<Long, com.gig.collide.domain.User> loadUsers(Collection<Long> userIds) {
         try {
-            Page<Like> page = new Page<>(1, 1000);
-            IPage<Like> likesPage = likeMapper.findUserLikes(page, userId, "COMMENT", "active");
-            return convertLikesToInteractions(likesPage.getRecords(), "COMMENT");
+            return requestBatchLoader.loadUsers(userIds);
         } catch (Exception e) {
-            log.warn("查询我点赞的评论失败: userId={}", userId, e);
-            return new ArrayList<>();
+            log.warn("批量获取用户信息失败: userIds={}", userIds, e);
+            return new HashMap<>();
         }
     }
 
     /**
-     * 查询我发出的评论
+     * 批量获取已发布的内容（与 contentService.getContentById(id, false) 一致，过滤未发布内容）
      */
-    private List<UserInteractionResponse> queryMyComments(Long userId) {
-        List<UserInteractionResponse> allComments = new ArrayList<>();
+    private Map<Long, Content> loadPublishedContents(Collection<Long> contentIds) {
         try {
-            // 查询我对内容的评论
-            IPage<Comment> contentCommentsPage = new Page<>(1, 1000);
-            contentCommentsPage = commentMapper.selectUserCommentsPage(
-                contentCommentsPage, userId, "CONTENT", "NORMAL", "createTime", "DESC", true);
-            allComments.addAll(convertCommentsToInteractions(contentCommentsPage.getRecords(), "CONTENT"));
-            
-            // 查询我对动态的评论
-            IPage<Comment> dynamicCommentsPage = new Page<>(1, 1000);
-            dynamicCommentsPage = commentMapper.selectUserCommentsPage(
-                dynamicCommentsPage, userId, "DYNAMIC", "NORMAL", "createTime", "DESC", true);
-            allComments.addAll(convertCommentsToInteractions(dynamicCommentsPage.getRecords(), "DYNAMIC"));
-            
+            Map<Long, Content> contents = requestBatchLoader.loadContents(contentIds);
+            contents.values().removeIf(content -> !"PUBLISHED".equals(content.getStatus()));
+            return contents;
         } catch (Exception e) {
-            log.warn("查询我发出的评论失败: userId={}", userId, e);
+            log.warn("批量获取内容信息失败: contentIds={}", contentIds, e);
+            return new HashMap<>();
         }
-        return allComments;
     }
 
-    /**
-     * 查询我收到的评论（评论我的）
-     */
-    private List<UserInteractionResponse> queryCommentsToMe(Long userId) {
+    private Map<Long, Long> loadContentLikeCounts(Collection<Long> contentIds) {
         try {
-            IPage<Comment> page = new Page<>(1, 1000);
-            IPage<Comment> commentsPage = commentMapper.selectUserRepliesPage(
-                page, userId, "NORMAL", "createTime", "DESC", true);
-            return convertReceivedCommentsToInteractions(commentsPage.getRecords());
+            return requestBatchLoader.loadContentLikeCounts(contentIds);
         } catch (Exception e) {
-            log.warn("查询我收到的评论失败: userId={}", userId, e);
-            return new ArrayList<>();
+            log.warn("批量获取内容点赞数量失败: contentIds={}", contentIds, e);
+            return new HashMap<>();
         }
     }
 
-    /**
-     * 增强互动响应数据，填充所有必要字段
-     */
-    private void enhanceInteractionResponse(UserInteractionResponse response, Long currentUserId) {
-        if (response == null) {
-            return;
+    private Map<Long, Boolean> loadContentLikeStatus(Long currentUserId, Collection<Long> contentIds) {
+        if (currentUserId == null || contentIds.isEmpty()) {
+            return new HashMap<>();
         }
-
         try {
-            // 根据互动类型和子类型，填充不同的字段
-            if ("COMMENT".equals(response.getInteractionType())) {
-                enhanceCommentResponse(response, currentUserId);
-            } else if ("LIKE".equals(response.getInteractionType())) {
-                enhanceLikeResponse(response, currentUserId);
-            }
+            return likeService.batchCheckLikeStatus(currentUserId, "CONTENT", new ArrayList<>(contentIds));
         } catch (Exception e) {
-            log.warn("增强互动响应数据失败: interactionType={}, targetId={}", 
-                response.getInteractionType(), response.getTargetId(), e);
+            log.warn("批量获取用户点赞状态失败: userId={}, contentIds={}", currentUserId, contentIds, e);
+            return new HashMap<>();
         }
     }
 
-    /**
-     * 增强评论响应数据
-     */
-    private void enhanceCommentResponse(UserInteractionResponse response, Long currentUserId) {
-        // 填充内容相关信息
-        if ("CONTENT".equals(response.getSubType()) && response.getTargetId() != null) {
-            try {
-                Content content = contentService.getContentById(response.getTargetId(), false);
-                if (content != null) {
-                    response.setTargetTitle(content.getTitle());
-                    response.setTargetAuthorId(content.getAuthorId());
-                    response.setTargetAuthorNickname(content.getAuthorNickname());
-                    response.setTargetAuthorAvatar(content.getAuthorAvatar());
-                    response.setContentCoverUrl(convertCoverUrlToArray(content.getCoverUrl()));
-                    response.setContentDescription(content.getDescription());
-                    
-                    // 获取内容点赞数
-                    Long contentLikeCount = likeService.countTargetLikes(response.getTargetId(), "CONTENT");
-                    response.setContentLikeCount(contentLikeCount);
-                    
-                    // 检查当前用户是否点赞了该内容
-                    boolean isLiked = likeService.checkLikeStatus(currentUserId, "CONTENT", response.getTargetId());
-                    response.setIsLike(isLiked);
-                    
-                    // 检查是否关注内容作者
-                    if (content.getAuthorId() != null && !content.getAuthorId().equals(currentUserId)) {
-                        boolean isFollowing = followService.checkFollowStatus(currentUserId, content.getAuthorId());
-                        response.setIsFollowingAuthor(isFollowing);
-                    } else {
-                        response.setIsFollowingAuthor(false);
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("增强评论内容信息失败: targetId={}", response.getTargetId(), e);
-            }
+    private Map<Long, Boolean> loadFollowStatus(Long currentUserId, Collection<Long> authorIds) {
+        if (currentUserId == null || authorIds.isEmpty()) {
+            return new HashMap<>();
         }
-        
-        // 评论相关标识会根据subType和interactionType自动计算，无需手动设置
-    }
-
-    /**
-     * 增强点赞响应数据
-     */
-    private void enhanceLikeResponse(UserInteractionResponse response, Long currentUserId) {
-        // 填充内容相关信息
-        if ("CONTENT".equals(response.getSubType()) && response.getTargetId() != null) {
-            try {
-                Content content = contentService.getContentById(response.getTargetId(), false);
-                if (content != null) {
-                    response.setTargetTitle(content.getTitle());
-                    response.setTargetAuthorId(content.getAuthorId());
-                    response.setTargetAuthorNickname(content.getAuthorNickname());
-                    response.setTargetAuthorAvatar(content.getAuthorAvatar());
-                    response.setContentCoverUrl(convertCoverUrlToArray(content.getCoverUrl()));
-                    response.setContentDescription(content.getDescription());
-                    
-                    // 获取内容点赞数
-                    Long contentLikeCount = likeService.countTargetLikes(response.getTargetId(), "CONTENT");
-                    response.setContentLikeCount(contentLikeCount);
-                    
-                    // 对于点赞记录，当前用户肯定已经点赞了
-                    response.setIsLike(true);
-                    
-                    // 检查是否关注内容作者
-                    if (content.getAuthorId() != null && !content.getAuthorId().equals(currentUserId)) {
-                        boolean isFollowing = followService.checkFollowStatus(currentUserId, content.getAuthorId());
-                        response.setIsFollowingAuthor(isFollowing);
-                    } else {
-                        response.setIsFollowingAuthor(false);
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("增强点赞内容信息失败: targetId={}", response.getTargetId(), e);
-            }
+        try {
+            return followService.batchCheckFollowStatus(currentUserId, new ArrayList<>(authorIds));
+        } catch (Exception e) {
+            log.warn("批量获取关注状态失败: userId={}, authorIds={}", currentUserId, authorIds, e);
+            return new HashMap<>();
         }
-        
-        // 点赞相关标识会根据subType和interactionType自动计算，无需手动设置
     }
 }
@@ -77,4 +77,9 @@ public class UserInteractionQueryRequest implements Serializable {
      * 页面大小
      */
     private Integer pageSize = 20;
+
+    /**
+     * 游标（传入时按游标分页，首页传空字符串；为空时按页码分页）
+     */
+    private String cursor;
 }
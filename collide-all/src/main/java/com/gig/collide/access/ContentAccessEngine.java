@@ -0,0 +1,394 @@
+package com.gig.collide.access;
+
+import com.gig.collide.cache.ContentCacheConstant;
+import com.gig.collide.config.ContentAccessConfig;
+import com.gig.collide.domain.ContentPayment;
+import com.gig.collide.domain.UserContentPurchase;
+import com.gig.collide.mapper.ContentPaymentMapper;
+import com.gig.collide.mapper.UserContentPurchaseMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 付费内容访问决策引擎
+ * 付费配置按内容ID建立本地索引，用户有效购买记录以内容集合形式缓存在 Redis，访问校验为常数次查找
+ *
+ * 实现特性：
+ * - 启动时全量加载有效付费配置，定时按更新时间增量同步，配置变更在事务提交后立即刷新本节点
+ * - 用户购买集合按需从数据库加载，分数为过期时间，过期购买无需主动清理
+ * - 购买记录变更时递增版本号并删除集合；加载时校验版本号，读库期间发生变更的结果不会写入
+ * - 批量校验一次读取用户购买集合，整页内容共用一次 Redis 往返
+ * - 索引未就绪或 Redis 不可用时回退到数据库查询
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentAccessEngine {
+
+    private static final String STATUS_ACTIVE = "ACTIVE";
+
+    /**
+     * 集合加载标记成员（内容ID从1开始，不会冲突）
+     */
+    private static final String LOADED_MARKER = "0";
+
+    /**
+     * 永久有效购买的分数（2100-01-01）
+     */
+    private static final long PERMANENT_SCORE = 4102444800000L;
+
+    /**
+     * 增量刷新的时间回看（秒），覆盖 update_time 秒级精度与事务提交延迟
+     */
+    private static final long REFRESH_OVERLAP_SECONDS = 5;
+
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('GET', KEYS[2]) or '' " +
+            "if version ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "for i = 3, #ARGV, 2 do " +
+            "  redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+            "end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    private static final DefaultRedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return 1", Long.class);
+
+    private final ContentAccessConfig config;
+    private final ContentPaymentMapper contentPaymentMapper;
+    private final UserContentPurchaseMapper userContentPurchaseMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 内容ID -> 有效付费配置；为null表示尚未加载
+     */
+    private volatile Map<Long, ContentPayment> paymentIndex;
+    private volatile LocalDateTime lastRefreshTime;
+    private volatile long lastFullReloadAt;
+
+    @Async("asyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (config.isEnabled()) {
+            reloadAll();
+        }
+    }
+
+    // =================== 访问决策 ===================
+
+    /**
+     * 判断用户能否访问内容：无有效付费配置或免费类型直接放行，付费内容需要有效购买记录
+     */
+    public boolean canAccess(Long userId, Long contentId) {
+        if (contentId == null) {
+            return false;
+        }
+        return canAccess(userId, List.of(contentId)).get(contentId);
+    }
+
+    /**
+     * 批量判断用户对一组内容的访问权限
+     *
+     * @return 内容ID -> 是否可访问（保持入参顺序）
+     */
+    public Map<Long, Boolean> canAccess(Long userId, Collection<Long> contentIds) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        if (contentIds == null || contentIds.isEmpty()) {
+            return result;
+        }
+        if (contentIds.size() > config.getBatchMaxSize()) {
+            throw new IllegalArgumentException("单次最多校验" + config.getBatchMaxSize() + "个内容");
+        }
+
+        Set<Long> paidContentIds = new LinkedHashSet<>();
+        for (Long contentId : contentIds) {
+            if (contentId == null) {
+                continue;
+            }
+            boolean paid = requiresPurchase(getPaymentConfig(contentId));
+            result.put(contentId, !paid);
+            if (paid) {
+                paidContentIds.add(contentId);
+            }
+        }
+        if (paidContentIds.isEmpty() || userId == null) {
+            return result;
+        }
+
+        Set<Long> purchased = findPurchased(userId, paidContentIds);
+        for (Long contentId : purchased) {
+            result.put(contentId, true);
+        }
+        return result;
+    }
+
+    /**
+     * 获取内容的有效付费配置（返回的对象只读，调用方不得修改）
+     *
+     * @return 没有有效付费配置时返回null
+     */
+    public ContentPayment getPaymentConfig(Long contentId) {
+        if (contentId == null) {
+            return null;
+        }
+        Map<Long, ContentPayment> index = paymentIndex;
+        if (config.isEnabled() && index != null) {
+            return index.get(contentId);
+        }
+        ContentPayment payment = contentPaymentMapper.selectByContentId(contentId);
+        return payment != null && STATUS_ACTIVE.equals(payment.getStatus()) ? payment : null;
+    }
+
+    /**
+     * 判断用户是否持有内容的有效购买记录
+     */
+    public boolean hasPurchased(Long userId, Long contentId) {
+        if (userId == null || contentId == null) {
+            return false;
+        }
+        return findPurchased(userId, List.of(contentId)).contains(contentId);
+    }
+
+    // =================== 变更通知 ===================
+
+    /**
+     * 刷新内容的付费配置索引（存在事务时在提交后执行）
+     */
+    public void refreshContent(Long contentId) {
+        if (!config.isEnabled() || contentId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> apply(contentPaymentMapper.selectByContentId(contentId), contentId));
+    }
+
+    /**
+     * 按配置ID刷新付费配置索引（存在事务时在提交后执行）
+     */
+    public void refreshConfigs(Collection<Long> configIds) {
+        if (!config.isEnabled() || configIds == null || configIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            for (ContentPayment payment : contentPaymentMapper.selectBatchIds(configIds)) {
+                apply(payment, payment.getContentId());
+            }
+        });
+    }
+
+    /**
+     * 用户购买记录变更后失效其购买集合（存在事务时在提交后执行）
+     */
+    public void invalidateUser(Long userId) {
+        if (!config.isEnabled() || userId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            try {
+                stringRedisTemplate.execute(INVALIDATE_SCRIPT,
+                        List.of(purchasedKey(userId), versionKey(userId)),
+                        String.valueOf(config.getPurchaseCacheTtlMs()));
+            } catch (Exception e) {
+                log.warn("失效用户购买集合失败: userId={}", userId, e);
+            }
+        });
+    }
+
+    /**
+     * 按购买记录ID失效所属用户的购买集合（在变更前调用以读取用户ID，失效在提交后执行）
+     */
+    public void invalidatePurchases(Collection<Long> purchaseIds) {
+        if (!config.isEnabled() || purchaseIds == null || purchaseIds.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (UserContentPurchase purchase : userContentPurchaseMapper.selectBatchIds(purchaseIds)) {
+            userIds.add(purchase.getUserId());
+        }
+        userIds.forEach(this::invalidateUser);
+    }
+
+    /**
+     * 按更新时间增量同步付费配置，定期全量重建
+     */
+    @Scheduled(fixedDelayString = "${collide.content-access.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            if (paymentIndex == null
+                    || System.currentTimeMillis() - lastFullReloadAt >= config.getFullReloadIntervalMs()) {
+                reloadAll();
+                return;
+            }
+            LocalDateTime since = lastRefreshTime.minusSeconds(REFRESH_OVERLAP_SECONDS);
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<ContentPayment> changed = contentPaymentMapper.selectUpdatedSince(since);
+            for (ContentPayment payment : changed) {
+                apply(payment, payment.getContentId());
+            }
+            lastRefreshTime = startedAt;
+            if (!changed.isEmpty()) {
+                log.debug("付费配置增量刷新: changed={}, indexed={}", changed.size(), paymentIndex.size());
+            }
+        } catch (Exception e) {
+            log.warn("付费配置刷新失败", e);
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    private synchronized void reloadAll() {
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<ContentPayment> payments = contentPaymentMapper.selectPaymentsByConditions(
+                    null, STATUS_ACTIVE, null, null, null, null, null,
+                    null, null, null, null);
+            Map<Long, ContentPayment> index = new ConcurrentHashMap<>(Math.max(16, payments.size() * 2));
+            for (ContentPayment payment : payments) {
+                if (payment.getContentId() != null) {
+                    index.put(payment.getContentId(), payment);
+                }
+            }
+            paymentIndex = index;
+            lastRefreshTime = startedAt;
+            lastFullReloadAt = System.currentTimeMillis();
+            log.info("付费配置索引加载完成: count={}", index.size());
+        } catch (Exception e) {
+            log.warn("付费配置索引加载失败，访问校验回退到数据库", e);
+        }
+    }
+
+    private void apply(ContentPayment payment, Long contentId) {
+        Map<Long, ContentPayment> index = paymentIndex;
+        if (index == null || contentId == null) {
+            return;
+        }
+        if (payment != null && STATUS_ACTIVE.equals(payment.getStatus())) {
+            index.put(contentId, payment);
+        } else {
+            index.remove(contentId);
+        }
+    }
+
+    private static boolean requiresPurchase(ContentPayment payment) {
+        if (payment == null) {
+            return false;
+        }
+        String paymentType = payment.getPaymentType();
+        return !"FREE".equals(paymentType) && !"VIP_FREE".equals(paymentType);
+    }
+
+    /**
+     * 在给定内容中找出用户持有有效购买记录的内容
+     */
+    private Set<Long> findPurchased(Long userId, Collection<Long> contentIds) {
+        if (!config.isEnabled()) {
+            return purchasedFromDatabase(userId, contentIds);
+        }
+        String key = purchasedKey(userId);
+        try {
+            List<Object> members = new ArrayList<>(contentIds.size() + 1);
+            members.add(LOADED_MARKER);
+            for (Long contentId : contentIds) {
+                members.add(String.valueOf(contentId));
+            }
+            List<Double> scores = stringRedisTemplate.opsForZSet().score(key, members.toArray());
+            if (scores != null && scores.get(0) != null) {
+                long now = System.currentTimeMillis();
+                Set<Long> purchased = new HashSet<>();
+                int i = 1;
+                for (Long contentId : contentIds) {
+                    Double score = scores.get(i++);
+                    if (score != null && score > now) {
+                        purchased.add(contentId);
+                    }
+                }
+                return purchased;
+            }
+            return loadPurchased(userId, contentIds);
+        } catch (Exception e) {
+            log.warn("读取用户购买集合失败，回退到数据库: userId={}", userId, e);
+            return purchasedFromDatabase(userId, contentIds);
+        }
+    }
+
+    /**
+     * 从数据库加载用户全部有效购买并写入 Redis；读库前记录版本号，期间发生变更时放弃写入
+     */
+    private Set<Long> loadPurchased(Long userId, Collection<Long> contentIds) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey(userId));
+        List<UserContentPurchase> purchases = userContentPurchaseMapper.selectValidPurchasesByUserId(userId);
+
+        List<String> args = new ArrayList<>(purchases.size() * 2 + 4);
+        args.add(version != null ? version : "");
+        args.add(String.valueOf(config.getPurchaseCacheTtlMs()));
+        args.add(String.valueOf(PERMANENT_SCORE));
+        args.add(LOADED_MARKER);
+        for (UserContentPurchase purchase : purchases) {
+            args.add(String.valueOf(expireScore(purchase.getExpireTime())));
+            args.add(String.valueOf(purchase.getContentId()));
+        }
+        stringRedisTemplate.execute(LOAD_SCRIPT, List.of(purchasedKey(userId), versionKey(userId)), args.toArray());
+
+        return filterValid(purchases, contentIds);
+    }
+
+    private Set<Long> purchasedFromDatabase(Long userId, Collection<Long> contentIds) {
+        return filterValid(userContentPurchaseMapper.selectValidPurchasesByUserId(userId), contentIds);
+    }
+
+    private static Set<Long> filterValid(List<UserContentPurchase> purchases, Collection<Long> contentIds) {
+        long now = System.currentTimeMillis();
+        Set<Long> wanted = new HashSet<>(contentIds);
+        Set<Long> purchased = new HashSet<>();
+        for (UserContentPurchase purchase : purchases) {
+            if (wanted.contains(purchase.getContentId()) && expireScore(purchase.getExpireTime()) > now) {
+                purchased.add(purchase.getContentId());
+            }
+        }
+        return purchased;
+    }
+
+    private static long expireScore(LocalDateTime expireTime) {
+        return expireTime != null
+                ? expireTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : PERMANENT_SCORE;
+    }
+
+    private static String purchasedKey(Long userId) {
+        return ContentCacheConstant.USER_PURCHASED_SET_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return ContentCacheConstant.USER_PURCHASED_VERSION_PREFIX + userId;
+    }
+
+}
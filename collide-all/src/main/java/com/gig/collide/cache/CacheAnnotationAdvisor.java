@@ -0,0 +1,50 @@
+package com.gig.collide.cache;
+
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 缓存注解切面
+ * 作为基础设施 Advisor 由 Spring 自动代理创建器识别，为带缓存注解的 Bean 生成代理；
+ * 顺序先于事务切面，缓存命中时不开启事务，失效在事务提交后执行
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class CacheAnnotationAdvisor extends AbstractPointcutAdvisor {
+
+    private final transient CacheAnnotationInterceptor interceptor;
+
+    private final transient Pointcut pointcut = new StaticMethodMatcherPointcut() {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return CacheAnnotationInterceptor.hasCacheAnnotation(AopUtils.getMostSpecificMethod(method, targetClass));
+        }
+    };
+
+    public CacheAnnotationAdvisor(ObjectProvider<TwoLevelCacheManager> cacheManagerProvider) {
+        this.interceptor = new CacheAnnotationInterceptor(cacheManagerProvider);
+        setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public CacheAnnotationInterceptor getAdvice() {
+        return interceptor;
+    }
+}
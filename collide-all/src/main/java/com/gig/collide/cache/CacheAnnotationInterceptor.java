@@ -0,0 +1,168 @@
+package com.gig.collide.cache;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存注解拦截器
+ * 执行 {@link Cached}、{@link CacheUpdate}、{@link CacheInvalidate}；
+ * 更新与失效只在方法正常返回后执行，方法抛出异常时缓存保持不变
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public class CacheAnnotationInterceptor implements MethodInterceptor {
+
+    private static final String RESULT_VARIABLE = "result";
+
+    /**
+     * 方法上的缓存注解解析结果
+     */
+    record CacheOperations(Cached cached, CacheUpdate update, Set<CacheInvalidate> invalidates) {
+
+        boolean isEmpty() {
+            return cached == null && update == null && invalidates.isEmpty();
+        }
+    }
+
+    private final ObjectProvider<TwoLevelCacheManager> cacheManagerProvider;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    private final Map<Method, CacheOperations> operations = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存管理器延迟获取，避免拦截器注册时提前初始化 Redis 相关 Bean
+     */
+    public CacheAnnotationInterceptor(ObjectProvider<TwoLevelCacheManager> cacheManagerProvider) {
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        TwoLevelCacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager == null || !cacheManager.isEnabled()) {
+            return invocation.proceed();
+        }
+        Method method = specificMethod(invocation);
+        CacheOperations ops = parse(method);
+        if (ops.isEmpty()) {
+            return invocation.proceed();
+        }
+
+        Object result;
+        if (ops.cached() != null) {
+            String key = evaluateKey(ops.cached().key(), method, invocation.getArguments(), null);
+            result = cacheManager.getCache(ops.cached()).get(key, invocation::proceed);
+        } else {
+            result = invocation.proceed();
+        }
+
+        if (ops.update() != null) {
+            CacheUpdate update = ops.update();
+            cacheManager.put(update.name(), evaluateKey(update.key(), method, invocation.getArguments(), result),
+                    evaluate(update.value(), method, invocation.getArguments(), result));
+        }
+        for (CacheInvalidate invalidate : ops.invalidates()) {
+            invalidate(cacheManager, invalidate, method, invocation.getArguments(), result);
+        }
+        return result;
+    }
+
+    /**
+     * 方法上是否带有缓存注解（供切点匹配，不缓存解析结果）
+     */
+    static boolean hasCacheAnnotation(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Cached.class)
+                || AnnotatedElementUtils.hasAnnotation(method, CacheUpdate.class)
+                || AnnotatedElementUtils.hasAnnotation(method, CacheInvalidate.class)
+                || AnnotatedElementUtils.hasAnnotation(method, CacheInvalidate.List.class);
+    }
+
+    // =================== 内部方法 ===================
+
+    private void invalidate(TwoLevelCacheManager cacheManager, CacheInvalidate invalidate, Method method,
+                            Object[] args, Object result) {
+        if (!StringUtils.hasText(invalidate.key())) {
+            for (String name : invalidate.name()) {
+                cacheManager.evictAll(name);
+            }
+            return;
+        }
+        List<Object> keys = new ArrayList<>();
+        if (invalidate.multi()) {
+            Object value = evaluate(invalidate.key(), method, args, result);
+            if (value instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    if (element != null) {
+                        keys.add(element);
+                    }
+                }
+            } else if (value != null) {
+                keys.add(value);
+            }
+        } else {
+            keys.add(evaluateKey(invalidate.key(), method, args, result));
+        }
+        for (String name : invalidate.name()) {
+            cacheManager.evict(name, keys);
+        }
+    }
+
+    private CacheOperations parse(Method method) {
+        return operations.computeIfAbsent(method, m -> new CacheOperations(
+                AnnotatedElementUtils.findMergedAnnotation(m, Cached.class),
+                AnnotatedElementUtils.findMergedAnnotation(m, CacheUpdate.class),
+                AnnotatedElementUtils.findMergedRepeatableAnnotations(m, CacheInvalidate.class, CacheInvalidate.List.class)));
+    }
+
+    /**
+     * 计算缓存键；表达式为空时以全部参数按 ":" 拼接
+     */
+    private String evaluateKey(String expression, Method method, Object[] args, Object result) {
+        if (!StringUtils.hasText(expression)) {
+            if (args.length == 0) {
+                return "_";
+            }
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    key.append(':');
+                }
+                key.append(args[i]);
+            }
+            return key.toString();
+        }
+        return String.valueOf(evaluate(expression, method, args, result));
+    }
+
+    private Object evaluate(String expression, Method method, Object[] args, Object result) {
+        EvaluationContext context = new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer);
+        context.setVariable(RESULT_VARIABLE, result);
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+    }
+
+    private static Method specificMethod(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        return AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+    }
+}
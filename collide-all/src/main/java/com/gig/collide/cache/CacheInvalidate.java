@@ -0,0 +1,44 @@
+package com.gig.collide.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法成功返回后失效缓存
+ * 指定 key 时删除单个键，未指定时整体失效对应缓存；处于事务中时在事务提交后执行，并广播给其他节点
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(CacheInvalidate.List.class)
+public @interface CacheInvalidate {
+
+    /**
+     * 缓存名称，可同时指定多个
+     */
+    String[] name();
+
+    /**
+     * 缓存键 SpEL 表达式，可引用参数与 #result；为空时整体失效
+     */
+    String key() default "";
+
+    /**
+     * 为true时 key 表达式的结果为集合，逐个元素作为键失效
+     */
+    boolean multi() default false;
+
+    @Documented
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        CacheInvalidate[] value();
+    }
+}
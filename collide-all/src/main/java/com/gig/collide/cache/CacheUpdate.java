@@ -0,0 +1,32 @@
+package com.gig.collide.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法成功返回后以 value 表达式的结果覆盖缓存
+ * 只适用于 value 为完整对象的场景；缓存此前未经 {@link Cached} 访问过时退化为失效
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheUpdate {
+
+    String name();
+
+    /**
+     * 缓存键 SpEL 表达式
+     */
+    String key();
+
+    /**
+     * 缓存值 SpEL 表达式，可引用参数与 #result
+     */
+    String value();
+}
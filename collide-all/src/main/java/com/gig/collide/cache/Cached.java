@@ -0,0 +1,62 @@
+package com.gig.collide.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 方法结果两级缓存（本地 Caffeine + Redis）
+ * 先查本地缓存，再查 Redis，都未命中时同一节点同一键只有一个线程执行方法，其余线程等待其结果
+ *
+ * 注意：
+ * - 只对经由 Spring 代理的调用生效，类内调用需通过自身代理
+ * - 本地缓存命中时返回的是共享对象，调用方不得修改；需要修改后写回的场景应直接查询数据库
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cached {
+
+    /**
+     * 缓存名称
+     */
+    String name();
+
+    /**
+     * 缓存键 SpEL 表达式（以 #参数名 引用参数），为空时以全部参数按 ":" 拼接
+     */
+    String key() default "";
+
+    /**
+     * Redis 过期时间
+     */
+    int expire();
+
+    /**
+     * 本地缓存过期时间，小于等于0时取 expire 与全局本地过期上限中的较小值
+     */
+    int localExpire() default -1;
+
+    /**
+     * 本地缓存最大条目数，小于等于0时使用全局默认值
+     */
+    int localLimit() default -1;
+
+    TimeUnit timeUnit() default TimeUnit.MINUTES;
+
+    /**
+     * 是否缓存 null 结果（防止缓存穿透）
+     */
+    boolean cacheNullValue() default true;
+
+    /**
+     * null 结果的缓存时间
+     */
+    int nullExpire() default 1;
+}
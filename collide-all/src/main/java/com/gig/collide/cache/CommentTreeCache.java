@@ -0,0 +1,149 @@
+package com.gig.collide.cache;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.gig.collide.config.CommentTreeConfig;
+import com.gig.collide.domain.Comment;
+import com.gig.collide.util.TransactionCallbackUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 评论树首页本地缓存
+ * 热门目标对象的评论树首页（根评论 + 前 N 条回复）按目标对象做 LRU 缓存，评论增删改后按目标对象失效
+ *
+ * 实现特性：
+ * - 以目标对象为淘汰单位，同一目标下按 (评论类型, 页大小, 回复数, 层级) 区分不同首页
+ * - 失效在事务提交后执行；写入时校验读库前取得的序号，读库期间发生失效的结果不会写入缓存
+ * - 条目带有效期，兜底点赞数变化与其他节点的写入
+ * - 缓存的评论对象只读，调用方不得修改
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentTreeCache {
+
+    private final CommentTreeConfig config;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LinkedHashMap<Long, TargetEntry> targets = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, TargetEntry> eldest) {
+            return size() > Math.max(1, config.getCacheMaxTargets());
+        }
+    };
+
+    /**
+     * 读库前获取序号，写入缓存时用于判断期间是否发生过失效
+     */
+    public long stamp() {
+        return sequence.get();
+    }
+
+    /**
+     * 获取缓存的评论树首页
+     *
+     * @return 未命中或已过期时返回null
+     */
+    public IPage<Comment> get(Long targetId, String variant) {
+        if (!config.isCacheEnabled() || targetId == null) {
+            return null;
+        }
+        synchronized (targets) {
+            TargetEntry entry = targets.get(targetId);
+            if (entry == null) {
+                return null;
+            }
+            CachedPage cached = entry.pages.get(variant);
+            if (cached == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - cached.loadedAt > config.getCacheTtlMs()) {
+                entry.pages.remove(variant);
+                return null;
+            }
+            return cached.page;
+        }
+    }
+
+    /**
+     * 写入评论树首页
+     *
+     * @param stamp 读库前通过 {@link #stamp()} 获取的序号
+     */
+    public void put(Long targetId, String variant, IPage<Comment> page, long stamp) {
+        if (!config.isCacheEnabled() || targetId == null) {
+            return;
+        }
+        synchronized (targets) {
+            TargetEntry entry = targets.get(targetId);
+            if (entry == null) {
+                // 条目不存在（未缓存过或已被淘汰）时无法确认读库期间是否失效过，仅在期间没有任何失效时写入
+                if (sequence.get() > stamp) {
+                    return;
+                }
+                entry = new TargetEntry();
+                targets.put(targetId, entry);
+            } else if (entry.invalidatedAt > stamp) {
+                return;
+            }
+            entry.pages.put(variant, new CachedPage(page, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * 失效目标对象的评论树缓存（存在事务时在提交后执行）
+     */
+    public void invalidate(Long targetId) {
+        if (targetId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            synchronized (targets) {
+                long invalidatedAt = sequence.incrementAndGet();
+                TargetEntry entry = targets.get(targetId);
+                if (entry != null) {
+                    entry.invalidatedAt = invalidatedAt;
+                    entry.pages.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * 失效全部评论树缓存（批量操作无法确定目标对象时使用，存在事务时在提交后执行）
+     */
+    public void invalidateAll() {
+        TransactionCallbackUtil.afterCommit(() -> {
+            synchronized (targets) {
+                sequence.incrementAndGet();
+                targets.clear();
+            }
+            log.debug("评论树缓存已全部失效");
+        });
+    }
+
+    private static final class TargetEntry {
+        final Map<String, CachedPage> pages = new HashMap<>(4);
+        long invalidatedAt;
+    }
+
+    private static final class CachedPage {
+        final IPage<Comment> page;
+        final long loadedAt;
+
+        CachedPage(IPage<Comment> page, long loadedAt) {
+            this.page = page;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -271,6 +271,16 @@ public class ContentCacheConstant {
      * 内容购买统计缓存键模板
      */
     public static final String CONTENT_PURCHASE_STATS_KEY = "'content:purchase:stats:' + #contentId";
+
+    /**
+     * 用户有效购买内容集合键前缀（ZSet，member 为内容ID，score 为过期时间戳毫秒）：content:access:purchased:{userId}
+     */
+    public static final String USER_PURCHASED_SET_PREFIX = "content:access:purchased:";
+
+    /**
+     * 用户购买内容集合版本号键前缀：content:access:version:{userId}
+     */
+    public static final String USER_PURCHASED_VERSION_PREFIX = "content:access:version:";
     
     // =================== 付费配置缓存键模板 ===================
     
@@ -295,4 +295,49 @@ public class FollowCacheConstant {
      * 关注通知聚合时间（分钟）
      */
     public static final int NOTIFICATION_AGGREGATE_MINUTES = 30;
+
+    // =================== 关注时间线 ===================
+
+    /**
+     * 用户收件箱前缀（ZSET，score为内容创建时间毫秒，member为内容ID）
+     */
+    public static final String TIMELINE_INBOX_PREFIX = "timeline:inbox:";
+
+    /**
+     * 作者发件箱前缀（ZSET，作者已发布内容，供大V拉取与关注回填）
+     */
+    public static final String TIMELINE_OUTBOX_PREFIX = "timeline:outbox:";
+
+    /**
+     * 用户关注的大V作者集合前缀（读时拉取这些作者的发件箱）
+     */
+    public static final String TIMELINE_CELEBRITY_FOLLOWS_PREFIX = "timeline:celeb-follows:";
+
+    /**
+     * 大V作者集合（发布时不再写扩散）
+     */
+    public static final String TIMELINE_CELEBRITIES_KEY = "timeline:celebrities";
+
+    // =================== 工具方法 ===================
+
+    /**
+     * 构建用户时间线收件箱键
+     */
+    public static String buildTimelineInboxKey(Long userId) {
+        return TIMELINE_INBOX_PREFIX + userId;
+    }
+
+    /**
+     * 构建作者时间线发件箱键
+     */
+    public static String buildTimelineOutboxKey(Long authorId) {
+        return TIMELINE_OUTBOX_PREFIX + authorId;
+    }
+
+    /**
+     * 构建用户关注的大V集合键
+     */
+    public static String buildTimelineCelebrityFollowsKey(Long userId) {
+        return TIMELINE_CELEBRITY_FOLLOWS_PREFIX + userId;
+    }
 }
\ No newline at end of file
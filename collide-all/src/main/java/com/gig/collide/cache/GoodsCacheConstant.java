@@ -96,6 +96,43 @@ public class GoodsCacheConstant {
      */
     public static final String GOODS_CONTENT_KEY = "goods:content:";
 
+    // =================== 库存预占 ===================
+
+    /**
+     * 商品可售库存键模板：goods:stock:{goodsId}（-1 表示无限库存）
+     */
+    public static final String STOCK_KEY = "goods:stock:";
+
+    /**
+     * 库存预占单键模板：goods:stock:reservation:{reservationId}（Hash，field 为商品ID，value 为预占数量）
+     */
+    public static final String STOCK_RESERVATION_KEY = "goods:stock:reservation:";
+
+    /**
+     * 库存预占到期时间（ZSet，member 为预占单ID，score 为到期时间戳毫秒）
+     */
+    public static final String STOCK_RESERVATION_DEADLINE_KEY = "goods:stock:reservation-deadline";
+
+    /**
+     * 各商品未确认的预占数量（Hash，field 为商品ID）
+     */
+    public static final String STOCK_RESERVED_KEY = "goods:stock:reserved";
+
+    /**
+     * 已确认、待同步到数据库的扣减数量（Hash，field 为商品ID）
+     */
+    public static final String STOCK_PENDING_KEY = "goods:stock:pending";
+
+    /**
+     * 正在同步到数据库的扣减数量（Hash，同步成功后删除，失败时下次同步重试）
+     */
+    public static final String STOCK_SYNCING_KEY = "goods:stock:syncing";
+
+    /**
+     * 库存纪元号：同步完成或库存键失效时递增，从数据库加载库存前后比对，期间发生变化时丢弃加载结果
+     */
+    public static final String STOCK_EPOCH_KEY = "goods:stock:epoch";
+
     // =================== 缓存过期时间 ===================
     
     /**
@@ -135,6 +172,28 @@ public class GoodsCacheConstant {
      */
     public static final TimeUnit DEFAULT_TIME_UNIT = TimeUnit.MINUTES;
 
+    // =================== 本地缓存 ===================
+
+    /**
+     * 本地缓存过期时间：1分钟（与失效广播共同限制各节点的滞后时间）
+     */
+    public static final int LOCAL_EXPIRE = 1;
+
+    /**
+     * 商品详情本地缓存条目数
+     */
+    public static final int DETAIL_LOCAL_LIMIT = 5000;
+
+    /**
+     * 商品列表类（列表、分类、商家、热门、搜索）本地缓存条目数
+     */
+    public static final int LIST_LOCAL_LIMIT = 500;
+
+    /**
+     * 统计类本地缓存条目数
+     */
+    public static final int STATISTICS_LOCAL_LIMIT = 50;
+
     // =================== 防穿透配置 ===================
     
     /**
@@ -197,4 +256,18 @@ public class GoodsCacheConstant {
     public static String buildContentKey(Long contentId) {
         return GOODS_CONTENT_KEY + contentId;
     }
+
+    /**
+     * 构建商品可售库存键
+     */
+    public static String buildStockKey(Long goodsId) {
+        return STOCK_KEY + goodsId;
+    }
+
+    /**
+     * 构建库存预占单键
+     */
+    public static String buildStockReservationKey(String reservationId) {
+        return STOCK_RESERVATION_KEY + reservationId;
+    }
 }
\ No newline at end of file
@@ -29,6 +29,49 @@ public class LikeCacheConstant {
      */
     public static final int LIKE_STATUS_EXPIRE = 15;
 
+    // =================== 点赞状态索引 ===================
+
+    /**
+     * 用户点赞状态索引Key前缀：like:status:{userId}:{likeType}
+     * Redis Set，成员为用户已点赞的targetId
+     */
+    public static final String USER_LIKE_STATUS_INDEX_PREFIX = "like:status:";
+
+    /**
+     * 点赞状态索引过期时间（分钟）
+     */
+    public static final int LIKE_STATUS_INDEX_EXPIRE = 1440;
+
+    /**
+     * 单个点赞状态索引的最大成员数，超出后回退数据库查询
+     */
+    public static final int LIKE_STATUS_INDEX_MAX_SIZE = 50000;
+
+    /**
+     * 点赞状态索引冷加载时每页读取的目标数
+     */
+    public static final int LIKE_STATUS_LOAD_PAGE_SIZE = 1000;
+
+    /**
+     * 点赞状态索引冷加载排队上限，超出后本次查询直接回退数据库
+     */
+    public static final int LIKE_STATUS_LOAD_QUEUE_SIZE = 1000;
+
+    /**
+     * 冷加载期间变更记录的过期时间（秒）
+     */
+    public static final int LIKE_STATUS_LOAD_JOURNAL_EXPIRE = 600;
+
+    /**
+     * 启动预热时回溯的活跃天数
+     */
+    public static final int LIKE_STATUS_WARMUP_DAYS = 3;
+
+    /**
+     * 启动预热的最大用户数
+     */
+    public static final int LIKE_STATUS_WARMUP_USERS = 5000;
+
     // =================== 点赞数量缓存 ===================
     
     /**
@@ -219,4 +262,13 @@ public class LikeCacheConstant {
      * 热门内容阈值
      */
     public static final int HOT_CONTENT_THRESHOLD = 100;
+
+    // =================== 工具方法 ===================
+
+    /**
+     * 构建用户点赞状态索引键
+     */
+    public static String buildUserLikeStatusKey(Long userId, String likeType) {
+        return USER_LIKE_STATUS_INDEX_PREFIX + userId + ":" + likeType.toUpperCase();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.gig.collide.cache;
+
+import com.gig.collide.hotkey.HotKeyDetector;
+import com.gig.collide.mapper.LikeMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户点赞状态索引
+ * 以 Redis Set 维护 "用户 + 点赞类型" 维度的已点赞目标集合
+ *
+ * 实现特性：
+ * - 一页目标的点赞状态通过一次 SMISMEMBER 返回，不再执行 SQL IN 查询
+ * - 冷加载在后台线程分页读取数据库并写入临时集合，本次查询回退数据库，不占用请求线程
+ * - 加载期间的点赞/取消点赞记入变更记录，临时集合补齐这些变更后原子改名为正式集合，标记存在即代表集合完整
+ * - 点赞/取消点赞在事务提交后通过脚本增量维护，仅更新已加载的集合
+ * - 超出容量上限的用户写入溢出标记，由调用方回退到数据库查询
+ * - 查询经由 {@link HotKeyDetector}，同一用户同一页被集中刷新时由本地短期副本承接；集合变更后失效副本
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeStatusIndex {
+
+    /**
+     * 集合已完整加载的标记成员（目标ID均为正数，不会冲突）
+     */
+    private static final String LOADED_MARKER = "0";
+
+    /**
+     * 集合超出容量上限的标记成员
+     */
+    private static final String OVERFLOW_MARKER = "-1";
+
+    /**
+     * 变更记录中记录正在进行的加载数的字段
+     */
+    private static final String LOADERS_FIELD = "loaders";
+
+    private static final String JOURNAL_SUFFIX = ":journal";
+    private static final String LOADING_SUFFIX = ":loading:";
+
+    /**
+     * 仅在集合已加载时添加成员；正在加载时同时记入变更记录
+     * KEYS[1] 集合, KEYS[2] 变更记录；ARGV[1] 目标ID, ARGV[2] 加载标记
+     */
+    private static final DefaultRedisScript<Long> ADD_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('HSET', KEYS[2], ARGV[1], '1') end " +
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[2]) == 1 then " +
+            "  return redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return -1", Long.class);
+
+    /**
+     * 仅在集合已加载时移除成员；正在加载时同时记入变更记录
+     * KEYS[1] 集合, KEYS[2] 变更记录；ARGV[1] 目标ID, ARGV[2] 加载标记
+     */
+    private static final DefaultRedisScript<Long> REMOVE_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('HSET', KEYS[2], ARGV[1], '0') end " +
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[2]) == 1 then " +
+            "  return redis.call('SREM', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return -1", Long.class);
+
+    /**
+     * 开始加载：登记加载数并开启变更记录
+     * KEYS[1] 变更记录；ARGV[1] 过期时间（秒）
+     */
+    private static final DefaultRedisScript<Long> BEGIN_LOAD_SCRIPT = new DefaultRedisScript<>(
+            "local n = redis.call('HINCRBY', KEYS[1], '" + LOADERS_FIELD + "', 1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return n", Long.class);
+
+    /**
+     * 完成加载：把加载期间的变更补到临时集合，改名为正式集合；最后一个加载结束时删除变更记录
+     * KEYS[1] 临时集合, KEYS[2] 集合, KEYS[3] 变更记录；ARGV[1] 集合过期时间（秒）, ARGV[2] 溢出标记
+     */
+    private static final DefaultRedisScript<Long> FINISH_LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[2]) == 0 then " +
+            "  local entries = redis.call('HGETALL', KEYS[3]) " +
+            "  for i = 1, #entries, 2 do " +
+            "    if entries[i] ~= '" + LOADERS_FIELD + "' then " +
+            "      if entries[i + 1] == '1' then redis.call('SADD', KEYS[1], entries[i]) " +
+            "      else redis.call('SREM', KEYS[1], entries[i]) end " +
+            "    end " +
+            "  end " +
+            "end " +
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[1]) " +
+            "if redis.call('HINCRBY', KEYS[3], '" + LOADERS_FIELD + "', -1) <= 0 then redis.call('DEL', KEYS[3]) end " +
+            "return 1", Long.class);
+
+    /**
+     * 放弃加载：删除临时集合并注销加载数
+     * KEYS[1] 临时集合, KEYS[2] 变更记录
+     */
+    private static final DefaultRedisScript<Long> ABORT_LOAD_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            "if redis.call('HINCRBY', KEYS[2], '" + LOADERS_FIELD + "', -1) <= 0 then redis.call('DEL', KEYS[2]) end " +
+            "return 1", Long.class);
+
+    private static final String[] INDEXED_LIKE_TYPES = {
+            LikeCacheConstant.LIKE_TYPE_CONTENT,
+            LikeCacheConstant.LIKE_TYPE_COMMENT,
+            LikeCacheConstant.LIKE_TYPE_DYNAMIC
+    };
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LikeMapper likeMapper;
+    private final HotKeyDetector hotKeyDetector;
+
+    /**
+     * 冷加载执行器，队列满时本次查询直接回退数据库
+     */
+    private final ExecutorService loadExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(LikeCacheConstant.LIKE_STATUS_LOAD_QUEUE_SIZE), r -> {
+                Thread thread = new Thread(r, "like-status-load");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * 本节点正在加载的集合，避免同一集合重复排队
+     */
+    private final Set<String> loadingKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 批量查询点赞状态
+     *
+     * @param userId 用户ID
+     * @param likeType 点赞类型
+     * @param targetIds 目标对象ID列表
+     * @return 点赞状态Map (targetId -> isLiked)；索引不可用时返回null，由调用方回退数据库
+     */
+    public Map<Long, Boolean> batchCheck(Long userId, String likeType, List<Long> targetIds) {
+        String key = LikeCacheConstant.buildUserLikeStatusKey(userId, likeType);
+        try {
+            Map<Object, Boolean> membership = hotKeyDetector.read(key, targetIds.toString(),
+                    () -> queryMembership(key, targetIds));
+            if (isOverflow(membership)) {
+                return null;
+            }
+            if (!isLoaded(membership)) {
+                // 冷启动：后台加载，本次回退数据库
+                scheduleLoad(userId, likeType, key);
+                return null;
+            }
+
+            Map<Long, Boolean> result = new HashMap<>(targetIds.size() * 2);
+            for (Long targetId : targetIds) {
+                result.put(targetId, Boolean.TRUE.equals(membership.get(String.valueOf(targetId))));
+            }
+            return result;
+        } catch (DataAccessException e) {
+            log.warn("点赞状态索引查询失败，回退数据库: userId={}, likeType={}", userId, likeType, e);
+            return null;
+        }
+    }
+
+    /**
+     * 点赞成功后维护索引（存在事务时在提交后执行）
+     */
+    public void onLiked(Long userId, String likeType, Long targetId) {
+        TransactionCallbackUtil.afterCommit(() -> apply(ADD_IF_LOADED_SCRIPT, userId, likeType, targetId));
+    }
+
+    /**
+     * 取消点赞后维护索引（存在事务时在提交后执行）
+     */
+    public void onUnliked(Long userId, String likeType, Long targetId) {
+        TransactionCallbackUtil.afterCommit(() -> apply(REMOVE_IF_LOADED_SCRIPT, userId, likeType, targetId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动后异步预热近期活跃用户的索引
+     */
+    @Async("asyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        try {
+            warmUp(LikeCacheConstant.LIKE_STATUS_WARMUP_DAYS, LikeCacheConstant.LIKE_STATUS_WARMUP_USERS);
+        } catch (Exception e) {
+            log.warn("启动预热点赞状态索引失败", e);
+        }
+    }
+
+    /**
+     * 从 t_like 重建单个用户的全部点赞状态索引
+     *
+     * @param userId 用户ID
+     * @return 成功重建的索引数量
+     */
+    public int rebuildUser(Long userId) {
+        int rebuilt = 0;
+        for (String likeType : INDEXED_LIKE_TYPES) {
+            if (load(userId, likeType)) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 为近期活跃的点赞用户预热索引
+     *
+     * @param days 回溯天数
+     * @param maxUsers 最大用户数
+     * @return 预热的用户数
+     */
+    public int warmUp(int days, int maxUsers) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        List<Long> userIds = likeMapper.findRecentActiveUserIds(since, maxUsers);
+        log.info("开始预热点赞状态索引: days={}, users={}", days, userIds.size());
+
+        int warmed = 0;
+        for (Long userId : userIds) {
+            try {
+                rebuildUser(userId);
+                warmed++;
+            } catch (Exception e) {
+                log.warn("预热点赞状态索引失败: userId={}", userId, e);
+            }
+        }
+
+        log.info("点赞状态索引预热完成: warmed={}", warmed);
+        return warmed;
+    }
+
+    // =================== 私有方法 ===================
+
+    private Map<Object, Boolean> queryMembership(String key, List<Long> targetIds) {
+        Object[] members = new Object[targetIds.size() + 2];
+        members[0] = LOADED_MARKER;
+        members[1] = OVERFLOW_MARKER;
+        for (int i = 0; i < targetIds.size(); i++) {
+            members[i + 2] = String.valueOf(targetIds.get(i));
+        }
+        Map<Object, Boolean> membership = stringRedisTemplate.opsForSet().isMember(key, members);
+        return membership != null ? membership : Collections.emptyMap();
+    }
+
+    private boolean isLoaded(Map<Object, Boolean> membership) {
+        return Boolean.TRUE.equals(membership.get(LOADED_MARKER));
+    }
+
+    private boolean isOverflow(Map<Object, Boolean> membership) {
+        return Boolean.TRUE.equals(membership.get(OVERFLOW_MARKER));
+    }
+
+    /**
+     * 提交后台加载；同一集合已在排队或队列已满时跳过
+     */
+    private void scheduleLoad(Long userId, String likeType, String key) {
+        if (!loadingKeys.add(key)) {
+            return;
+        }
+        try {
+            loadExecutor.execute(() -> {
+                try {
+                    load(userId, likeType);
+                } catch (Exception e) {
+                    log.warn("后台加载点赞状态索引失败: userId={}, likeType={}", userId, likeType, e);
+                } finally {
+                    loadingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loadingKeys.remove(key);
+            log.debug("点赞状态索引加载队列已满，跳过: key={}", key);
+        }
+    }
+
+    /**
+     * 从数据库分页加载到临时集合，补齐加载期间的变更后原子替换旧集合
+     * 变更记录在读取数据库之前开启，提交时间晚于读取的点赞/取消点赞都会被补上
+     *
+     * @return 集合是否可用于查询
+     */
+    private boolean load(Long userId, String likeType) {
+        String key = LikeCacheConstant.buildUserLikeStatusKey(userId, likeType);
+        String journalKey = key + JOURNAL_SUFFIX;
+        String loadingKey = key + LOADING_SUFFIX + UUID.randomUUID();
+        int maxSize = LikeCacheConstant.LIKE_STATUS_INDEX_MAX_SIZE;
+        int pageSize = LikeCacheConstant.LIKE_STATUS_LOAD_PAGE_SIZE;
+        long journalExpire = LikeCacheConstant.LIKE_STATUS_LOAD_JOURNAL_EXPIRE;
+
+        stringRedisTemplate.execute(BEGIN_LOAD_SCRIPT, List.of(journalKey), String.valueOf(journalExpire));
+        try {
+            stringRedisTemplate.opsForSet().add(loadingKey, LOADED_MARKER);
+            stringRedisTemplate.expire(loadingKey, journalExpire, TimeUnit.SECONDS);
+
+            int size = 0;
+            long afterTargetId = 0;
+            boolean overflow = false;
+            while (true) {
+                List<Long> page = likeMapper.findActiveTargetIdsAfter(userId, likeType.toUpperCase(), afterTargetId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                size += page.size();
+                if (size > maxSize) {
+                    overflow = true;
+                    break;
+                }
+                String[] members = new String[page.size()];
+                for (int i = 0; i < page.size(); i++) {
+                    members[i] = String.valueOf(page.get(i));
+                }
+                stringRedisTemplate.opsForSet().add(loadingKey, members);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                afterTargetId = page.get(page.size() - 1);
+            }
+
+            if (overflow) {
+                stringRedisTemplate.delete(loadingKey);
+                stringRedisTemplate.opsForSet().add(loadingKey, OVERFLOW_MARKER);
+            }
+            stringRedisTemplate.execute(FINISH_LOAD_SCRIPT, List.of(loadingKey, key, journalKey),
+                    String.valueOf(TimeUnit.MINUTES.toSeconds(LikeCacheConstant.LIKE_STATUS_INDEX_EXPIRE)), OVERFLOW_MARKER);
+            hotKeyDetector.invalidate(List.of(key));
+
+            if (overflow) {
+                log.info("用户点赞数超出索引上限，回退数据库查询: userId={}, likeType={}", userId, likeType);
+                return false;
+            }
+            log.debug("点赞状态索引已加载: userId={}, likeType={}, size={}", userId, likeType, size);
+            return true;
+        } catch (RuntimeException e) {
+            try {
+                stringRedisTemplate.execute(ABORT_LOAD_SCRIPT, List.of(loadingKey, journalKey));
+            } catch (DataAccessException ignored) {
+                // 临时集合与变更记录都设置了过期时间
+            }
+            throw e;
+        }
+    }
+
+    private void apply(DefaultRedisScript<Long> script, Long userId, String likeType, Long targetId) {
+        if (userId == null || likeType == null || targetId == null) {
+            return;
+        }
+        String key = LikeCacheConstant.buildUserLikeStatusKey(userId, likeType);
+        try {
+            stringRedisTemplate.execute(script, List.of(key, key + JOURNAL_SUFFIX), String.valueOf(targetId), LOADED_MARKER);
+            hotKeyDetector.invalidate(List.of(key));
+        } catch (DataAccessException e) {
+            // 更新失败时删除集合，下次查询重新加载，避免返回过期状态
+            log.warn("点赞状态索引更新失败，删除索引: key={}", key, e);
+            try {
+                stringRedisTemplate.delete(key);
+                hotKeyDetector.invalidate(List.of(key));
+            } catch (DataAccessException ignored) {
+                // Redis不可用时查询也会回退数据库
+            }
+        }
+    }
+
+}
@@ -91,6 +91,16 @@ public class OrderCacheConstant {
      */
     public static final String GOODS_STATS_KEY = "order:stats:goods:";
 
+    /**
+     * 待支付订单超时取消截止时间（ZSet，member 为订单ID，score 为截止时间戳毫秒）
+     */
+    public static final String CANCEL_DEADLINE_KEY = "order:deadline:cancel";
+
+    /**
+     * 已发货订单自动完成截止时间（ZSet，member 为订单ID，score 为截止时间戳毫秒）
+     */
+    public static final String COMPLETE_DEADLINE_KEY = "order:deadline:complete";
+
     // =================== 缓存过期时间 ===================
 
     /**
@@ -135,6 +145,23 @@ public class OrderCacheConstant {
      */
     public static final TimeUnit DEFAULT_TIME_UNIT = TimeUnit.MINUTES;
 
+    // =================== 本地缓存 ===================
+
+    /**
+     * 本地缓存过期时间：1分钟
+     */
+    public static final int LOCAL_EXPIRE = 1;
+
+    /**
+     * 用户、商品维度统计本地缓存条目数
+     */
+    public static final int STATISTICS_LOCAL_LIMIT = 2000;
+
+    /**
+     * 全局统计（类型统计、热门商品、营收）本地缓存条目数
+     */
+    public static final int SUMMARY_LOCAL_LIMIT = 100;
+
     // =================== 防穿透配置 ===================
 
     /**
@@ -191,6 +218,13 @@ public class OrderCacheConstant {
         return USER_STATS_KEY + userId;
     }
 
+    /**
+     * 构建用户订单统计在 ORDER_STATISTICS_CACHE 中的键（与 getUserOrderStatistics 的 @Cached 键一致）
+     */
+    public static String buildUserStatisticsKey(Long userId) {
+        return "user:" + userId;
+    }
+
     /**
      * 构建商品销售统计缓存键
      */
@@ -182,6 +182,13 @@ public class SearchCacheConstant {
      */
     public static final int SEARCH_STATISTICS_EXPIRE = 5;
 
+    // =================== 实时趋势快照 ===================
+
+    /**
+     * 实时趋势快照Key（Hash，field 为搜索类型）
+     */
+    public static final String TRENDING_SNAPSHOT_KEY = "search:trending:snapshot";
+
     // =================== 缓存性能配置 ===================
     
     /**
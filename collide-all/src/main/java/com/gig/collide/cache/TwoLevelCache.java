@@ -0,0 +1,363 @@
+package com.gig.collide.cache;
+
+import com.gig.collide.config.TwoLevelCacheConfig;
+import com.gig.collide.serializer.CompactRedisSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个名称的两级缓存
+ * 一级为进程内 Caffeine，二级为 Redis（{@link CompactRedisSerializer} 编码，null 结果存为空值）；Redis 键带代际号，整体失效时递增代际号使旧键自然过期
+ *
+ * 实现特性：
+ * - 同一节点同一键同时只有一个线程回源，其余线程等待其结果（超时后自行回源）
+ * - null 结果以占位值缓存较短时间，防止缓存穿透
+ * - Redis 过期时间随机延长，避免同批写入的键同时过期
+ * - 回源期间本地发生过失效时不写入缓存，避免旧值覆盖失效
+ * - Redis 不可用时退化为只用本地缓存，不影响业务查询
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class TwoLevelCache {
+
+    /**
+     * null 结果占位值
+     */
+    static final Object NULL_VALUE = new Object();
+
+    /**
+     * 回源函数
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Object load() throws Throwable;
+    }
+
+    private final String name;
+    private final TwoLevelCacheConfig config;
+    private final RedisTemplate<String, byte[]> bytesRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CompactRedisSerializer valueSerializer;
+
+    private final long expireMs;
+    private final long nullExpireMs;
+    private final boolean cacheNullValue;
+    private final Cache<String, Object> local;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 本地失效次数，回源前后不一致时放弃写入
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile long generation;
+    private volatile long generationCheckedAt;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter loadFailures;
+    private final Timer loadTimer;
+
+    TwoLevelCache(String name, Cached spec, TwoLevelCacheConfig config,
+                  RedisTemplate<String, byte[]> bytesRedisTemplate, StringRedisTemplate stringRedisTemplate,
+                  CompactRedisSerializer valueSerializer, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.config = config;
+        this.bytesRedisTemplate = bytesRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.valueSerializer = valueSerializer;
+
+        this.expireMs = spec.timeUnit().toMillis(spec.expire());
+        this.nullExpireMs = Math.min(expireMs, spec.timeUnit().toMillis(spec.nullExpire()));
+        this.cacheNullValue = spec.cacheNullValue();
+        long localExpireMs = spec.localExpire() > 0 ? spec.timeUnit().toMillis(spec.localExpire()) : expireMs;
+        long localTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Math.min(localExpireMs, config.getMaxLocalExpireMs())));
+        long localNullTtlNanos = Math.min(localTtlNanos, TimeUnit.MILLISECONDS.toNanos(Math.max(1, nullExpireMs)));
+        int localLimit = spec.localLimit() > 0 ? spec.localLimit() : config.getDefaultLocalLimit();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localLimit)
+                .expireAfter(new Expiry<String, Object>() {
+                    @Override
+                    public long expireAfterCreate(String key, Object value, long currentTime) {
+                        return value == NULL_VALUE ? localNullTtlNanos : localTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.localHits = counter(meterRegistry, "collide.cache.gets", "level", "local", "result", "hit");
+        this.localMisses = counter(meterRegistry, "collide.cache.gets", "level", "local", "result", "miss");
+        this.remoteHits = counter(meterRegistry, "collide.cache.gets", "level", "remote", "result", "hit");
+        this.remoteMisses = counter(meterRegistry, "collide.cache.gets", "level", "remote", "result", "miss");
+        this.loadFailures = counter(meterRegistry, "collide.cache.load.failures");
+        this.loadTimer = Timer.builder("collide.cache.loads")
+                .tag("cache", name)
+                .description("缓存未命中时的回源耗时")
+                .register(meterRegistry);
+        Gauge.builder("collide.cache.local.size", local, Cache::estimatedSize)
+                .tag("cache", name)
+                .description("本地缓存条目数")
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // =================== 读取 ===================
+
+    /**
+     * 读取缓存，未命中时回源并写入两级缓存
+     */
+    public Object get(String key, Loader loader) throws Throwable {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return unwrap(value);
+        }
+        localMisses.increment();
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running, key, loader);
+        }
+        try {
+            Object loaded = loadThrough(key, loader);
+            mine.complete(loaded);
+            return unwrap(loaded);
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    /**
+     * 覆盖缓存值（本地与 Redis）
+     */
+    public void put(String key, Object value) {
+        invalidations.incrementAndGet();
+        if (value == null && !cacheNullValue) {
+            evict(List.of(key));
+            return;
+        }
+        local.put(key, value != null ? value : NULL_VALUE);
+        writeRemote(key, value);
+    }
+
+    // =================== 失效 ===================
+
+    /**
+     * 删除本地与 Redis 中的键
+     */
+    void evict(Collection<String> keys) {
+        evictLocal(keys);
+        if (!config.isRemoteEnabled() || keys.isEmpty()) {
+            return;
+        }
+        long cacheGeneration = currentGeneration();
+        List<String> remoteKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            remoteKeys.add(remoteKey(config, name, cacheGeneration, key));
+        }
+        bytesRedisTemplate.delete(remoteKeys);
+    }
+
+    /**
+     * 只删除本地键（收到其他节点的失效广播时）
+     */
+    void evictLocal(Collection<String> keys) {
+        invalidations.incrementAndGet();
+        local.invalidateAll(keys);
+    }
+
+    /**
+     * 清空本地缓存并在下次访问时重新读取代际号（整体失效）
+     */
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        generationCheckedAt = 0;
+        local.invalidateAll();
+    }
+
+    // =================== 内部方法 ===================
+
+    private Object await(CompletableFuture<Object> running, String key, Loader loader) throws Throwable {
+        try {
+            return unwrap(running.get(config.getLoadWaitTimeoutMs(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        } catch (TimeoutException e) {
+            log.warn("等待缓存加载超时，直接回源: cache={}, key={}", name, key);
+            return loader.load();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * 依次查询 Redis 与回源，返回值中 null 以占位值表示
+     */
+    private Object loadThrough(String key, Loader loader) throws Throwable {
+        long invalidationsBefore = invalidations.get();
+        Object remote = readRemote(key);
+        if (remote != null) {
+            remoteHits.increment();
+            if (invalidations.get() == invalidationsBefore) {
+                local.put(key, remote);
+            }
+            return remote;
+        }
+        remoteMisses.increment();
+
+        Object value;
+        long start = System.nanoTime();
+        try {
+            value = loader.load();
+        } catch (Throwable t) {
+            loadFailures.increment();
+            throw t;
+        } finally {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (value == null && !cacheNullValue) {
+            return NULL_VALUE;
+        }
+        if (invalidations.get() == invalidationsBefore) {
+            local.put(key, value != null ? value : NULL_VALUE);
+            writeRemote(key, value);
+        }
+        return value != null ? value : NULL_VALUE;
+    }
+
+    private Object readRemote(String key) {
+        if (!config.isRemoteEnabled()) {
+            return null;
+        }
+        try {
+            byte[] bytes = bytesRedisTemplate.opsForValue().get(remoteKey(config, name, currentGeneration(), key));
+            if (bytes == null) {
+                return null;
+            }
+            return bytes.length == 0 ? NULL_VALUE : valueSerializer.deserialize(bytes);
+        } catch (Exception e) {
+            log.warn("读取二级缓存失败: cache={}, key={}, error={}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, Object value) {
+        if (!config.isRemoteEnabled()) {
+            return;
+        }
+        long ttl = value != null ? jitter(expireMs) : nullExpireMs;
+        try {
+            bytesRedisTemplate.opsForValue().set(remoteKey(config, name, currentGeneration(), key),
+                    valueSerializer.serialize(value), ttl, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入二级缓存失败: cache={}, key={}, error={}", name, key, e.getMessage());
+        }
+    }
+
+    /**
+     * 当前代际号，本地复用 generationRefreshMs；发现其他节点已整体失效时清空本地缓存
+     */
+    private long currentGeneration() {
+        long now = System.currentTimeMillis();
+        if (now - generationCheckedAt < config.getGenerationRefreshMs()) {
+            return generation;
+        }
+        Long latest = readGeneration(stringRedisTemplate, config, name);
+        if (latest == null) {
+            return generation;
+        }
+        if (latest != generation) {
+            invalidations.incrementAndGet();
+            local.invalidateAll();
+            generation = latest;
+        }
+        generationCheckedAt = now;
+        return latest;
+    }
+
+
+    private long jitter(long ttlMs) {
+        int percent = config.getExpireJitterPercent();
+        if (percent <= 0) {
+            return ttlMs;
+        }
+        return ttlMs + ThreadLocalRandom.current().nextLong(ttlMs * percent / 100 + 1);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String meterName, String... tags) {
+        return Counter.builder(meterName)
+                .tag("cache", name)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static Object unwrap(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    static String remoteKey(TwoLevelCacheConfig config, String cacheName, long cacheGeneration, String key) {
+        return config.getKeyPrefix() + cacheName + ":" + cacheGeneration + ":" + key;
+    }
+
+    static String generationKey(TwoLevelCacheConfig config, String cacheName) {
+        return config.getKeyPrefix() + "gen:" + cacheName;
+    }
+
+    /**
+     * 读取 Redis 中的代际号，读取失败时返回null
+     */
+    static Long readGeneration(StringRedisTemplate stringRedisTemplate, TwoLevelCacheConfig config, String cacheName) {
+        if (!config.isRemoteEnabled()) {
+            return 0L;
+        }
+        try {
+            String value = stringRedisTemplate.opsForValue().get(generationKey(config, cacheName));
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("读取缓存代际号失败: cache={}, error={}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+}
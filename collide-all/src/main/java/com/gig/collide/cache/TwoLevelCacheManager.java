@@ -0,0 +1,221 @@
+package com.gig.collide.cache;
+
+import com.gig.collide.config.TwoLevelCacheConfig;
+import com.gig.collide.serializer.CompactRedisSerializer;
+import com.gig.collide.util.TransactionCallbackUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * 按名称持有 {@link TwoLevelCache}，负责失效的执行与跨节点广播
+ *
+ * 失效方式：
+ * - 单键失效：删除本地与 Redis 中的键，广播后其他节点删除本地键
+ * - 整体失效：递增 Redis 中的代际号（旧代际的键按过期时间自然淘汰），广播后其他节点清空本地缓存；
+ *   广播丢失时其他节点最迟在代际号复用时间或本地过期时间后感知
+ * - 处于事务中时失效在事务提交后执行，避免提交前被并发请求以旧数据回填
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TwoLevelCacheManager implements MessageListener {
+
+    private static final String OP_KEYS = "K";
+    private static final String OP_ALL = "A";
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final TwoLevelCacheConfig config;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final CompactRedisSerializer compactRedisSerializer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识，忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    private final ConcurrentHashMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private RedisTemplate<String, byte[]> bytesRedisTemplate;
+
+    private Counter localInvalidations;
+    private Counter remoteInvalidations;
+
+    @PostConstruct
+    public void init() {
+        bytesRedisTemplate = new RedisTemplate<>();
+        bytesRedisTemplate.setConnectionFactory(redisConnectionFactory);
+        bytesRedisTemplate.setKeySerializer(RedisSerializer.string());
+        bytesRedisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        bytesRedisTemplate.afterPropertiesSet();
+
+        localInvalidations = Counter.builder("collide.cache.invalidations")
+                .tag("source", "local")
+                .description("缓存失效次数")
+                .register(meterRegistry);
+        remoteInvalidations = Counter.builder("collide.cache.invalidations")
+                .tag("source", "remote")
+                .description("缓存失效次数")
+                .register(meterRegistry);
+
+        if (config.isEnabled()) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(config.getInvalidationChannel()));
+            log.info("两级缓存已启用: node={}, channel={}", nodeId, config.getInvalidationChannel());
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 获取缓存，首次访问时按注解配置创建（同名缓存以首次访问的配置为准）
+     */
+    public TwoLevelCache getCache(Cached spec) {
+        return caches.computeIfAbsent(spec.name(), name -> new TwoLevelCache(name, spec, config,
+                bytesRedisTemplate, stringRedisTemplate, compactRedisSerializer, meterRegistry));
+    }
+
+    // =================== 写入与失效 ===================
+
+    /**
+     * 覆盖缓存值；本节点尚未创建该缓存时退化为失效
+     */
+    public void put(String name, String key, Object value) {
+        TransactionCallbackUtil.afterCommit(() -> {
+            TwoLevelCache cache = caches.get(name);
+            if (cache == null) {
+                doEvict(name, List.of(key));
+                return;
+            }
+            cache.put(key, value);
+            publish(OP_KEYS, name, List.of(key));
+        });
+    }
+
+    /**
+     * 失效单个键
+     */
+    public void evict(String name, Object key) {
+        evict(name, List.of(key));
+    }
+
+    /**
+     * 失效多个键
+     */
+    public void evict(String name, Collection<?> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        Set<String> cacheKeys = new LinkedHashSet<>();
+        for (Object key : keys) {
+            cacheKeys.add(String.valueOf(key));
+        }
+        TransactionCallbackUtil.afterCommit(() -> doEvict(name, cacheKeys));
+    }
+
+    /**
+     * 整体失效
+     */
+    public void evictAll(String name) {
+        TransactionCallbackUtil.afterCommit(() -> {
+            if (config.isRemoteEnabled()) {
+                try {
+                    stringRedisTemplate.opsForValue().increment(TwoLevelCache.generationKey(config, name));
+                } catch (Exception e) {
+                    log.warn("递增缓存代际号失败: cache={}, error={}", name, e.getMessage());
+                }
+            }
+            TwoLevelCache cache = caches.get(name);
+            if (cache != null) {
+                cache.clearLocal();
+            }
+            localInvalidations.increment();
+            publish(OP_ALL, name, List.of());
+        });
+    }
+
+    // =================== 广播 ===================
+
+    /**
+     * 处理其他节点的失效广播，格式：节点ID|操作|缓存名|键（多个键以换行分隔）
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        remoteInvalidations.increment();
+        if (OP_ALL.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (parts.length == 4) {
+            cache.evictLocal(Arrays.asList(parts[3].split(KEY_SEPARATOR)));
+        }
+    }
+
+    private void doEvict(String name, Collection<String> keys) {
+        TwoLevelCache cache = caches.get(name);
+        try {
+            if (cache != null) {
+                cache.evict(keys);
+            } else if (config.isRemoteEnabled()) {
+                Long generation = TwoLevelCache.readGeneration(stringRedisTemplate, config, name);
+                if (generation != null) {
+                    List<String> remoteKeys = new ArrayList<>(keys.size());
+                    for (String key : keys) {
+                        remoteKeys.add(TwoLevelCache.remoteKey(config, name, generation, key));
+                    }
+                    bytesRedisTemplate.delete(remoteKeys);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("删除二级缓存失败: cache={}, keys={}, error={}", name, keys, e.getMessage());
+        }
+        localInvalidations.increment();
+        publish(OP_KEYS, name, keys);
+    }
+
+    private void publish(String op, String name, Collection<String> keys) {
+        try {
+            stringRedisTemplate.convertAndSend(config.getInvalidationChannel(),
+                    nodeId + "|" + op + "|" + name + "|" + String.join(KEY_SEPARATOR, keys));
+        } catch (Exception e) {
+            log.warn("广播缓存失效失败: cache={}, error={}", name, e.getMessage());
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package com.gig.collide.config;
 
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.gig.collide.serializer.CompactRedisSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +10,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -102,11 +103,13 @@ public class ApplicationConfig implements WebMvcConfigurer {
 
     /**
      * Redis模板配置
+     * 值以紧凑二进制格式序列化，兼容读取旧的 JSON 数据
      */
     @Bean
     @Primary
     @ConditionalOnMissingBean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CompactRedisSerializer compactRedisSerializer) {
         log.info("初始化Redis模板...");
         
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -117,12 +120,23 @@ public class ApplicationConfig implements WebMvcConfigurer {
         template.setHashKeySerializer(new StringRedisSerializer());
         
         // 设置value的序列化方式
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(compactRedisSerializer);
+        template.setHashValueSerializer(compactRedisSerializer);
         
         template.afterPropertiesSet();
         log.info("Redis模板初始化完成");
         
         return template;
     }
+
+    /**
+     * Redis 发布订阅监听容器
+     * 缓存失效、热点键等跨节点广播共用一个订阅连接
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
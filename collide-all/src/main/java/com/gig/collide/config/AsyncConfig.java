@@ -1,5 +1,6 @@
 package com.gig.collide.config;
 
+import com.gig.collide.loader.RequestLoadContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -32,4 +33,54 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 列表页数据补全执行器
+     * 并发执行评论数、互动状态、作者资料等批量查询；饱和时由调用线程执行
+     * 任务会继承提交线程的请求级加载上下文，补全查询计入当前请求并复用已加载的实体
+     */
+    @Bean("enrichExecutor")
+    public Executor enrichExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("page-enrich-");
+        executor.setTaskDecorator(RequestLoadContext::wrap);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 关注时间线写扩散执行器
+     * 发布扩散、关注回填等在事务提交后执行；饱和时由调用线程执行
+     */
+    @Bean("timelineExecutor")
+    public Executor timelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("timeline-fanout-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 消息实时推送执行器
+     * 消息提交后的本节点投递与跨节点转发；饱和时由调用线程执行
+     */
+    @Bean("pushExecutor")
+    public Executor pushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(2000);
+        executor.setThreadNamePrefix("message-push-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
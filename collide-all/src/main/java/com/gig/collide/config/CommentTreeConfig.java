@@ -0,0 +1,48 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 评论树配置
+ * 控制根评论下预加载的回复数量、展开层级与首页缓存
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.comment-tree")
+public class CommentTreeConfig {
+
+    /**
+     * 每个根评论默认预加载的回复数
+     */
+    private int defaultReplyLimit = 3;
+
+    /**
+     * 每个根评论允许预加载的最大回复数
+     */
+    private int maxReplyLimit = 20;
+
+    /**
+     * 默认展开层级（根评论为0）
+     */
+    private int defaultMaxDepth = 3;
+
+    /**
+     * 是否缓存评论树首页
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * 缓存的目标对象数上限（按最近访问淘汰）
+     */
+    private int cacheMaxTargets = 2000;
+
+    /**
+     * 缓存有效期（毫秒），兜底点赞数变化与其他节点的写入
+     */
+    private long cacheTtlMs = 30000;
+}
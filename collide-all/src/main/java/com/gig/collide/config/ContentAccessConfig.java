@@ -0,0 +1,43 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 付费内容访问权限配置
+ * 控制付费配置本地索引的刷新周期与用户购买集合的 Redis 缓存
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.content-access")
+public class ContentAccessConfig {
+
+    /**
+     * 是否启用预建索引（关闭后每次校验直接查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 付费配置增量刷新间隔（毫秒），同步其他节点的配置变更
+     */
+    private long refreshIntervalMs = 30000;
+
+    /**
+     * 付费配置全量重建间隔（毫秒），兜底物理删除等增量刷新无法感知的变更
+     */
+    private long fullReloadIntervalMs = 600000;
+
+    /**
+     * 用户购买内容集合缓存有效期（毫秒）
+     */
+    private long purchaseCacheTtlMs = 3600000;
+
+    /**
+     * 单次批量校验的最大内容数
+     */
+    private int batchMaxSize = 200;
+}
@@ -0,0 +1,68 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 关注图缓存配置
+ * 控制关注/粉丝ID集合的本地缓存容量、压缩阈值、增量合并策略与跨节点同步
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.follow-graph")
+public class FollowGraphConfig {
+
+    /**
+     * 是否启用关注图缓存（关闭后关系查询直接访问数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 关注集合与粉丝集合各自占用的本地内存上限（MB，按估算字节数计）
+     */
+    private long maxWeightMb = 128;
+
+    /**
+     * 集合在本地缓存中的有效期（毫秒），限制丢失同步广播时的最长滞后时间
+     */
+    private long expireMs = 600000;
+
+    /**
+     * 单个集合的最大ID数，超过时不缓存，相关查询回退数据库
+     */
+    private int maxSetSize = 2000000;
+
+    /**
+     * ID数超过该值的集合以分块差值变长编码压缩存储
+     */
+    private int compressThreshold = 4096;
+
+    /**
+     * 未合并的增删ID数超过该值时合并到基础集合
+     */
+    private int overlayLimit = 1024;
+
+    /**
+     * 加载粉丝集合时每批查询的ID数
+     */
+    private int loadBatchSize = 5000;
+
+    /**
+     * 互关列表不超过该数量时按互关ID查询关注记录分页，超过时使用联表查询
+     */
+    private int mutualInListLimit = 2000;
+
+    /**
+     * 推荐“好友的好友”时最多展开的关注用户数
+     */
+    private int suggestionFanout = 100;
+
+    /**
+     * 跨节点同步关注变更的广播频道
+     */
+    private String channel = "collide:follow-graph";
+}
@@ -0,0 +1,83 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 热点键探测配置
+ * 控制读取采样、滑动窗口频次草图规格、热点判定阈值与本地副本的有效期
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.hot-key")
+public class HotKeyConfig {
+
+    /**
+     * 是否启用热点键探测（关闭后读取直接访问 Redis）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 采样率：每 N 次读取记录一次，估计次数按 N 倍还原
+     */
+    private int sampleRate = 4;
+
+    /**
+     * 滑动窗口分片数
+     */
+    private int windowSlices = 10;
+
+    /**
+     * 每个分片的时长（毫秒），窗口长度 = 分片数 × 分片时长
+     */
+    private long sliceMs = 1000;
+
+    /**
+     * 频次草图行数（哈希函数个数）
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * 频次草图每行计数器个数
+     */
+    private int sketchWidth = 4096;
+
+    /**
+     * 频次草图按键哈希分段数，各段独立加锁以降低并发读取的锁竞争；每段宽度为 sketchWidth / 分段数，总内存不变
+     */
+    private int sketchStripes = 16;
+
+    /**
+     * 窗口内估计读取次数达到该值时判定为热点
+     */
+    private long hotThreshold = 1000;
+
+    /**
+     * 最多同时保留的热点键数
+     */
+    private int maxHotKeys = 1000;
+
+    /**
+     * 最多同时保留的本地副本数（同一热点键的不同读取参数各占一份）
+     */
+    private int maxLocalValues = 10000;
+
+    /**
+     * 热点身份的有效期（毫秒），持续热点时自动续期
+     */
+    private long promotionTtlMs = 30000;
+
+    /**
+     * 热点键本地副本的有效期（毫秒），限制写入广播丢失时的最长滞后时间
+     */
+    private long valueTtlMs = 1000;
+
+    /**
+     * 跨节点同步热点与失效的广播频道
+     */
+    private String channel = "collide:hotkey";
+}
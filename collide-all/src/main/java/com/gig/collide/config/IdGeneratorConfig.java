@@ -0,0 +1,39 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分布式ID生成配置
+ * 控制工作节点ID的分配方式、租约周期与时钟回拨容忍度
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.id-generator")
+public class IdGeneratorConfig {
+
+    /**
+     * 固定工作节点ID（0-1023）；小于0时从 Redis 租用
+     */
+    private int workerId = -1;
+
+    /**
+     * 工作节点ID租约有效期（毫秒）
+     */
+    private long leaseTtlMs = 60000;
+
+    /**
+     * 租约续期间隔（毫秒），应明显小于租约有效期
+     */
+    private long leaseRenewIntervalMs = 15000;
+
+    /**
+     * 逻辑时钟允许领先系统时钟的最大毫秒数
+     * 时钟回拨或序列号借用未来时间超过该值时拒绝生成，避免逻辑时钟无限漂移
+     */
+    private long maxClockAheadMs = 5000;
+}
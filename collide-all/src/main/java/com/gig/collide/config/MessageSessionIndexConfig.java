@@ -0,0 +1,58 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 消息会话索引配置
+ * 控制 Redis 中会话列表与未读数的缓存容量、有效期以及会话行的批量写回
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.message-session")
+public class MessageSessionIndexConfig {
+
+    /**
+     * 是否启用 Redis 会话索引（关闭后会话读写直接访问 t_message_session）
+     */
+    private boolean enabled = true;
+
+    /**
+     * Redis 键前缀
+     */
+    private String redisKeyPrefix = "msg:session:";
+
+    /**
+     * 每个用户缓存的最近会话数，超出的旧会话只保留未读数，相关分页回退数据库
+     */
+    private int maxSessionsPerUser = 500;
+
+    /**
+     * 用户会话索引的有效期（毫秒），每次写入时续期
+     */
+    private long ttlMs = 604800000;
+
+    /**
+     * 会话行批量写回间隔（毫秒）
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * 单条写回语句的最大会话行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 写回锁有效期（毫秒）
+     */
+    private long lockTtlMs = 60000;
+
+    /**
+     * 不指定用户重建时，每批处理的用户数
+     */
+    private int rebuildBatchSize = 200;
+}
@@ -0,0 +1,64 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 消息写入管道配置
+ * 控制消息组提交的队列容量、批次大小、攒批等待时间与调用方等待上限
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.message-write")
+public class MessageWriteConfig {
+
+    /**
+     * 是否启用组提交（关闭后每条消息单独插入）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本节点环形队列容量，队列满时由请求线程直接插入
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * 单次组提交的最大消息数
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * 取到第一条消息后继续攒批的最长时间（毫秒），为 0 时只提交已在队列中的消息
+     */
+    private long lingerMs = 2;
+
+    /**
+     * 调用方等待提交结果的最长时间（毫秒），超时后返回发送中的消息，提交结果经推送帧确认
+     */
+    private long submitTimeoutMs = 3000;
+
+    /**
+     * 组提交时是否同时更新双方会话与接收者未读数
+     * 客户端仍在发送后调用会话的新消息接口时必须关闭，否则未读数会重复增加
+     */
+    private boolean updateSessions = false;
+
+    /**
+     * 客户端消息键去重的 Redis 键前缀，值为已提交的消息ID
+     */
+    private String clientKeyPrefix = "msg:client:";
+
+    /**
+     * 客户端消息键在写入中的占位有效期（毫秒），写入节点中途退出时到期后允许重试
+     */
+    private long clientKeyPendingTtlMs = 60000;
+
+    /**
+     * 已提交消息的客户端消息键保留时间（毫秒）
+     */
+    private long clientKeyTtlMs = 86400000;
+}
@@ -1,7 +1,10 @@
 package com.gig.collide.config;
 
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.gig.collide.id.IdGenerator;
 import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDateTime;
@@ -33,4 +36,13 @@ public class MyBatisPlusConfig implements MetaObjectHandler {
     public void updateFill(MetaObject metaObject) {
         this.strictUpdateFill(metaObject, "updateTime", LocalDateTime.class, LocalDateTime.now());
     }
+
+    /**
+     * ASSIGN_ID 主键生成器
+     * 使用统一的分布式ID生成器，与订单号、支付单号共享租用的工作节点ID
+     */
+    @Bean
+    public IdentifierGenerator identifierGenerator(IdGenerator idGenerator) {
+        return entity -> idGenerator.nextId();
+    }
 }
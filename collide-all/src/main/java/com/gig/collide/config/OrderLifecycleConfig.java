@@ -0,0 +1,78 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 订单生命周期调度配置
+ * 控制待支付订单超时取消、已发货订单自动完成的截止时间与到期处理方式
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.order-lifecycle")
+public class OrderLifecycleConfig {
+
+    /**
+     * 是否启用按截止时间调度（关闭后仅保留手动触发的批量处理）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 待支付订单超时时间（分钟）
+     */
+    private int payTimeoutMinutes = 30;
+
+    /**
+     * 已发货订单自动完成时间（天）
+     */
+    private int autoCompleteDays = 7;
+
+    /**
+     * 时间轮第一层槽宽（毫秒）
+     */
+    private long tickMs = 100;
+
+    /**
+     * 时间轮每层槽数
+     */
+    private int wheelSize = 64;
+
+    /**
+     * 本地时间轮只装载该时间范围内到期的订单（毫秒），更远的截止时间留在 Redis
+     */
+    private long horizonMs = 300000;
+
+    /**
+     * 从 Redis 装载即将到期订单的间隔（毫秒），应小于 horizonMs
+     */
+    private long loadIntervalMs = 60000;
+
+    /**
+     * 单次从 Redis 装载的最大订单数
+     */
+    private int loadLimit = 5000;
+
+    /**
+     * 到期处理的单批订单数（每批一条条件更新语句）
+     */
+    private int batchSize = 100;
+
+    /**
+     * 认领到期订单的租约时长（毫秒），处理节点宕机后超过该时间由其他节点重新处理
+     */
+    private long claimLeaseMs = 60000;
+
+    /**
+     * 数据库兜底补偿间隔（毫秒），处理未能登记截止时间的订单；小于等于0时关闭
+     */
+    private long reconcileIntervalMs = 600000;
+
+    /**
+     * 单次兜底补偿最多处理的批数
+     */
+    private int reconcileMaxBatches = 20;
+}
@@ -0,0 +1,73 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户资料冗余字段同步配置
+ * 控制资料变更事件的轮询、分块大小、限速、租约与重试策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.profile-sync")
+public class ProfileSyncConfig {
+
+    /**
+     * 是否启用后台同步（关闭后事件只写入不处理）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 轮询间隔（毫秒）
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * 每次轮询最多领取的事件数
+     */
+    private int claimBatchSize = 10;
+
+    /**
+     * 每块改写的行数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 每块之间的停顿（毫秒），限制对业务表的写入速率
+     */
+    private long chunkPauseMs = 20;
+
+    /**
+     * 单个事件一次领取最多处理的块数，超过后交还等待下次轮询，避免大V事件长期占用
+     */
+    private int maxChunksPerClaim = 200;
+
+    /**
+     * 处理租约时长（毫秒），节点异常退出后其他节点在租约到期后接管
+     */
+    private long leaseMs = 60000;
+
+    /**
+     * 最大失败次数，达到后置为 FAILED
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 失败重试的基础延迟（毫秒），按失败次数指数增长
+     */
+    private long retryBackoffMs = 5000;
+
+    /**
+     * 已结束事件的保留天数
+     */
+    private int retentionDays = 7;
+
+    /**
+     * 清理已结束事件的间隔（毫秒）
+     */
+    private long cleanupIntervalMs = 3600000;
+}
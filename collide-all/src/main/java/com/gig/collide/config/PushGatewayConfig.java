@@ -0,0 +1,89 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 消息实时推送配置
+ * 控制 WebSocket/SSE 连接数、会话注册表分片、跨节点路由、心跳与送达回执的批量写回
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.push")
+public class PushGatewayConfig {
+
+    /**
+     * 是否启用实时推送（关闭后消息只落库，客户端回退轮询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 连接注册表分片数（2的幂）
+     */
+    private int registryShards = 32;
+
+    /**
+     * 单个用户的最大连接数，超过时关闭最早的连接
+     */
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * 允许建立 WebSocket 连接的来源（支持通配模式，如 https://*.example.com），
+     * 未配置时只允许本地前端开发地址
+     */
+    private String[] allowedOrigins = {"http://localhost:3000"};
+
+    /**
+     * 是否允许未携带 token 时直接用 userId 参数建立连接（仅限开发环境）
+     */
+    private boolean allowUserIdParam = false;
+
+    /**
+     * 单个连接发送一帧的最长耗时（毫秒），超过后视为慢连接并关闭
+     */
+    private int sendTimeLimitMs = 5000;
+
+    /**
+     * 单个连接的发送缓冲上限（字节）
+     */
+    private int sendBufferLimit = 512 * 1024;
+
+    /**
+     * SSE 连接超时（毫秒），到期后客户端自动重连
+     */
+    private long sseTimeoutMs = 1800000;
+
+    /**
+     * 心跳与在线状态续期间隔（毫秒）
+     */
+    private long heartbeatIntervalMs = 25000;
+
+    /**
+     * 在线状态在 Redis 中的有效期（毫秒），应大于心跳间隔
+     */
+    private long presenceTtlMs = 90000;
+
+    /**
+     * 在线状态键前缀，值为用户当前连接所在的节点集合
+     */
+    private String presenceKeyPrefix = "push:online:";
+
+    /**
+     * 跨节点路由频道前缀，每个节点订阅前缀加自身节点标识
+     */
+    private String channelPrefix = "collide:push:";
+
+    /**
+     * 送达回执写回间隔（毫秒）
+     */
+    private long ackFlushIntervalMs = 1000;
+
+    /**
+     * 单条送达回执写回语句的最大消息数
+     */
+    private int ackBatchSize = 500;
+}
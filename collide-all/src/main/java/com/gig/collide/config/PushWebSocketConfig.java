@@ -0,0 +1,33 @@
+package com.gig.collide.config;
+
+import com.gig.collide.push.PushHandshakeInterceptor;
+import com.gig.collide.push.PushWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 消息推送 WebSocket 配置
+ * 注册推送连接端点，不支持 WebSocket 的客户端使用 /api/v1/push/sse
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class PushWebSocketConfig implements WebSocketConfigurer {
+
+    private final PushGatewayConfig pushGatewayConfig;
+    private final PushWebSocketHandler pushWebSocketHandler;
+    private final PushHandshakeInterceptor pushHandshakeInterceptor;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(pushWebSocketHandler, "/api/v1/push/ws")
+                .addInterceptors(pushHandshakeInterceptor)
+                .setAllowedOriginPatterns(pushGatewayConfig.getAllowedOrigins());
+    }
+}
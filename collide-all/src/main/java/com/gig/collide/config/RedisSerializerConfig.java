@@ -0,0 +1,53 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 值序列化配置
+ * 控制写入格式、压缩阈值与反序列化允许的类型
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.redis-serializer")
+public class RedisSerializerConfig {
+
+    /**
+     * 写入格式：jsonb（fastjson2 二进制，带格式头）；jackson（JSON 文本，与旧数据相同）
+     * 读取始终兼容两种格式，滚动升级时可先以 jackson 部署全部节点再切换
+     */
+    private String format = "jsonb";
+
+    /**
+     * 是否压缩较大的值
+     */
+    private boolean compressionEnabled = true;
+
+    /**
+     * 编码后超过该字节数时压缩
+     */
+    private int compressThreshold = 1024;
+
+    /**
+     * 压缩级别（1 最快，9 压缩率最高）
+     */
+    private int compressionLevel = 1;
+
+    /**
+     * 反序列化允许的类型前缀（JSONB 按类型名还原对象）
+     */
+    private List<String> acceptTypes = new ArrayList<>(List.of(
+            "com.gig.collide.",
+            "com.baomidou.mybatisplus.extension.plugins.pagination.",
+            "com.baomidou.mybatisplus.core.metadata.",
+            "java.util.",
+            "java.math.",
+            "java.time."));
+}
@@ -0,0 +1,38 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 请求级批量加载配置
+ * 控制同一请求内用户、内容等实体的去重复用，以及单次请求 SQL 语句数的统计
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.request-load")
+public class RequestLoadConfig {
+
+    /**
+     * 是否在同一请求内复用已加载的实体（关闭后每次批量加载都查询数据库）
+     */
+    private boolean memoEnabled = true;
+
+    /**
+     * 单条 IN 查询最多包含的ID数，超出后分批查询
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * 是否统计每个 HTTP 请求执行的 SQL 语句数
+     */
+    private boolean sqlMetricsEnabled = true;
+
+    /**
+     * 单个请求 SQL 语句数达到该值时输出告警日志
+     */
+    private int sqlWarnThreshold = 30;
+}
@@ -0,0 +1,58 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 内容搜索索引配置
+ * 控制内存倒排索引的加载批次、字段权重与BM25参数
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.search-index")
+public class SearchIndexConfig {
+
+    /**
+     * 是否启用内存索引（关闭或索引未就绪时回退数据库查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量构建时每批从数据库加载的内容数
+     */
+    private int loadBatchSize = 1000;
+
+    /**
+     * 定时全量重建间隔（毫秒），用于刷新排序用的统计数据并回收已删除文档
+     */
+    private long refreshIntervalMs = 1800000;
+
+    /**
+     * 标题字段权重
+     */
+    private float titleWeight = 2.0f;
+
+    /**
+     * 简介字段权重
+     */
+    private float descriptionWeight = 1.0f;
+
+    /**
+     * 标签字段权重
+     */
+    private float tagWeight = 0.6f;
+
+    /**
+     * BM25 词频饱和参数
+     */
+    private float bm25K1 = 1.2f;
+
+    /**
+     * BM25 文档长度归一化参数
+     */
+    private float bm25B = 0.75f;
+}
@@ -0,0 +1,53 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索事件记录配置
+ * 控制搜索历史与热搜统计的异步合并写入策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.search-record")
+public class SearchRecordConfig {
+
+    /**
+     * 是否启用异步合并写入（关闭时每次搜索同步写库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 事件队列容量
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 定时刷新间隔（毫秒），即合并窗口
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * 队列积压达到该阈值时提前触发刷新
+     */
+    private int flushThreshold = 2000;
+
+    /**
+     * 单条批量写入语句包含的最大行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 写库失败后保留等待重试的最大行数，超出部分丢弃
+     */
+    private int maxRetryRows = 20000;
+
+    /**
+     * 队列满时的处理策略：drop（丢弃事件）、sync（由请求线程同步写库）
+     */
+    private String overflowPolicy = "drop";
+}
@@ -0,0 +1,83 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索建议配置
+ * 控制前缀补全字典树的数据来源、权重与刷新周期
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.search-suggest")
+public class SearchSuggestConfig {
+
+    /**
+     * 是否启用内存补全（关闭或未就绪时回退数据库查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个前缀节点缓存的候选数，也是单次返回的上限
+     */
+    private int topK = 20;
+
+    /**
+     * 参与前缀匹配的最大键长度，超出部分不再建立节点
+     */
+    private int maxKeyLength = 24;
+
+    /**
+     * 字典树节点数上限，达到后新候选只挂到已有前缀节点上
+     */
+    private int maxNodes = 3000000;
+
+    /**
+     * 字典树中尚不存在的关键词，在一个重建周期内的搜索次数达到该值后才加入
+     */
+    private int admissionMinCount = 3;
+
+    /**
+     * 准入计数草图的行数
+     */
+    private int admissionSketchDepth = 4;
+
+    /**
+     * 准入计数草图的列数
+     */
+    private int admissionSketchWidth = 65536;
+
+    /**
+     * 加载的热搜关键词数量上限（按搜索次数倒序）
+     */
+    private int maxHotKeywords = 50000;
+
+    /**
+     * 加载的内容标题数量上限（按浏览量倒序）
+     */
+    private int maxContentTitles = 20000;
+
+    /**
+     * 每次搜索对应的权重
+     */
+    private double searchCountWeight = 1.0;
+
+    /**
+     * 每次浏览对应的权重（标题另有 1 的基础权重）
+     */
+    private double contentViewWeight = 0.01;
+
+    /**
+     * 是否建立全拼与拼音首字母键（需要类路径上存在拼音引擎）
+     */
+    private boolean pinyinEnabled = true;
+
+    /**
+     * 定时全量重建间隔（毫秒）
+     */
+    private long refreshIntervalMs = 600000;
+}
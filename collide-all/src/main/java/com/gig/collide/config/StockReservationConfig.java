@@ -0,0 +1,63 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 商品库存预占配置
+ * 控制 Redis 库存预占的有效期、过期释放与扣减结果同步到数据库的节奏
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.stock-reservation")
+public class StockReservationConfig {
+
+    /**
+     * 是否启用 Redis 库存预占（关闭后库存扣减直接更新数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 未指定到期时间时预占的有效期（毫秒）
+     */
+    private long defaultReservationTtlMs = 1800000;
+
+    /**
+     * 订单预占在订单支付截止时间之后额外保留的时间（毫秒），避免临近截止时支付成功的订单丢失预占
+     */
+    private long reservationGraceMs = 60000;
+
+    /**
+     * 预占单在到期后仍保留的时间（毫秒），保证过期释放任务停摆期间预占明细不丢失
+     */
+    private long reservationRetentionMs = 86400000;
+
+    /**
+     * 单个预占单最多包含的商品数
+     */
+    private int maxItemsPerReservation = 50;
+
+    /**
+     * 过期预占释放间隔（毫秒）
+     */
+    private long expireIntervalMs = 5000;
+
+    /**
+     * 单次最多释放的过期预占单数
+     */
+    private int expireBatchSize = 200;
+
+    /**
+     * 已确认扣减同步到数据库的间隔（毫秒）
+     */
+    private long syncIntervalMs = 1000;
+
+    /**
+     * 从数据库加载库存时因并发同步失败的最大重试次数
+     */
+    private int loadMaxRetries = 3;
+}
@@ -0,0 +1,53 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 关注时间线配置
+ * 控制写扩散收件箱的容量、大V阈值与回填策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.timeline")
+public class TimelineConfig {
+
+    /**
+     * 是否启用写扩散时间线（关闭时关注流回退为数据库查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个收件箱保留的最大条目数
+     */
+    private int inboxSize = 800;
+
+    /**
+     * 单个作者发件箱保留的最大条目数
+     */
+    private int outboxSize = 200;
+
+    /**
+     * 粉丝数达到该阈值的作者视为大V，发布时不写扩散，由读取方拉取
+     */
+    private long celebrityFollowerThreshold = 10000;
+
+    /**
+     * 新关注时回填到收件箱的最近内容条数
+     */
+    private int backfillSize = 50;
+
+    /**
+     * 写扩散时每批加载的粉丝数
+     */
+    private int fanoutBatchSize = 500;
+
+    /**
+     * 收件箱过期时间（小时），过期后下次读取时从数据库重建
+     */
+    private long inboxExpireHours = 72;
+}
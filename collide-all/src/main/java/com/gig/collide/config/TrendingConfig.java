@@ -0,0 +1,68 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 实时热搜趋势配置
+ * 控制滑动窗口、时间衰减、频次草图规格与快照策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.trending")
+public class TrendingConfig {
+
+    /**
+     * 是否启用实时趋势（关闭或无数据时回退数据库排序）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 滑动窗口长度（分钟），每分钟一个桶
+     */
+    private int windowMinutes = 60;
+
+    /**
+     * 衰减半衰期（分钟），越小越偏向最近的搜索
+     */
+    private double halfLifeMinutes = 15;
+
+    /**
+     * 频次草图行数（哈希函数个数）
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * 频次草图每行计数器个数
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * 每个搜索类型保留的热词数量，也是单次返回的上限
+     */
+    private int topK = 50;
+
+    /**
+     * 候选集合相对 topK 的倍数，候选越多排名越稳定
+     */
+    private int candidateFactor = 4;
+
+    /**
+     * 最多跟踪的搜索类型数（含全部类型汇总），防止任意类型参数撑大内存
+     */
+    private int maxChannels = 16;
+
+    /**
+     * 快照写入 Redis 的间隔（毫秒）
+     */
+    private long snapshotIntervalMs = 60000;
+
+    /**
+     * 快照时是否将全站趋势分数回写 t_hot_search.trend_score
+     */
+    private boolean persistTrendScore = true;
+}
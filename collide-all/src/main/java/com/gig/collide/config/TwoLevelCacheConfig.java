@@ -0,0 +1,63 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 两级缓存配置
+ * 控制 {@link com.gig.collide.cache.Cached} 等注解的本地缓存容量、Redis 键前缀与跨节点失效广播
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.cache")
+public class TwoLevelCacheConfig {
+
+    /**
+     * 是否启用注解缓存（关闭后注解方法直接执行）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否启用 Redis 二级缓存（关闭后只使用本地缓存，失效仍会广播）
+     */
+    private boolean remoteEnabled = true;
+
+    /**
+     * Redis 缓存键前缀
+     */
+    private String keyPrefix = "collide:cache:";
+
+    /**
+     * 跨节点失效广播频道
+     */
+    private String invalidationChannel = "collide:cache:invalidate";
+
+    /**
+     * 注解未指定时的本地缓存最大条目数
+     */
+    private int defaultLocalLimit = 1000;
+
+    /**
+     * 本地缓存过期时间上限（毫秒），限制丢失失效广播时本地缓存的最长滞后时间
+     */
+    private long maxLocalExpireMs = 60000;
+
+    /**
+     * 缓存代际号本地复用时间（毫秒），整体失效通过递增 Redis 中的代际号实现
+     */
+    private long generationRefreshMs = 5000;
+
+    /**
+     * Redis 过期时间随机延长的最大比例（百分比），避免同批写入的键同时过期
+     */
+    private int expireJitterPercent = 10;
+
+    /**
+     * 等待其他线程加载同一键的最长时间（毫秒），超时后自行加载
+     */
+    private long loadWaitTimeoutMs = 5000;
+}
@@ -0,0 +1,33 @@
+package com.gig.collide.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 暂存写回配置
+ * 控制写回批次登记记录的保留时间与清理节奏
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.write-behind")
+public class WriteBehindConfig {
+
+    /**
+     * 批次登记记录保留天数，应远大于一个批次从取走到写回完成的最长时间
+     */
+    private int batchRetentionDays = 7;
+
+    /**
+     * 登记记录清理间隔（毫秒）
+     */
+    private long cleanupIntervalMs = 3600000;
+
+    /**
+     * 单次清理的最大行数
+     */
+    private int cleanupBatchSize = 1000;
+}
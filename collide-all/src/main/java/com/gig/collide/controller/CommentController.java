@@ -44,10 +44,10 @@ public class CommentController {
 
     /**
      * 评论列表查询
-     * 支持多种条件查询和分页
+     * 支持多种条件查询和分页；传入cursor参数（首页传空值）时使用游标分页，不返回总数
      */
     @GetMapping("/list")
-    @Operation(summary = "评论列表查询", description = "支持按类型、目标、用户等条件查询评论列表")
+    @Operation(summary = "评论列表查询", description = "支持按类型、目标、用户等条件查询评论列表，传入cursor时使用游标分页")
     public Result<PageResponse<CommentResponse>> listComments(
             @Parameter(description = "评论类型") @RequestParam(required = false) String commentType,
             @Parameter(description = "目标ID") @RequestParam(required = false) Long targetId,
@@ -59,13 +59,55 @@ public class CommentController {
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String orderBy,
             @Parameter(description = "排序方向") @RequestParam(defaultValue = "DESC") String orderDirection,
             @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
-            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
-        log.info("REST请求 - 评论列表查询: type={}, targetId={}, userId={}, currentUserId={}, page={}/{}", 
-                commentType, targetId, userId, currentUserId, currentPage, pageSize);
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "分页游标（游标分页模式，首页传空值）") @RequestParam(required = false) String cursor) {
+        log.info("REST请求 - 评论列表查询: type={}, targetId={}, userId={}, currentUserId={}, page={}/{}, cursor={}", 
+                commentType, targetId, userId, currentUserId, currentPage, pageSize, cursor);
+        if (cursor != null) {
+            return commentService.listCommentsByCursorForController(commentType, targetId, userId, currentUserId, parentId,
+                    status, keyword, orderBy, orderDirection, cursor, pageSize);
+        }
         return commentService.listCommentsForController(commentType, targetId, userId, currentUserId, parentId, status, keyword,
                 orderBy, orderDirection, currentPage, pageSize);
     }
 
+    /**
+     * 评论树查询
+     * 根评论分页，每个根评论嵌套前若干条回复，更多回复通过子树展开接口按需加载
+     */
+    @GetMapping("/tree")
+    @Operation(summary = "评论树查询", description = "根评论分页，每个根评论附带前replyLimit条回复（按楼层先序嵌套）")
+    public Result<PageResponse<CommentResponse>> getCommentTree(
+            @Parameter(description = "目标ID") @RequestParam Long targetId,
+            @Parameter(description = "评论类型") @RequestParam(required = false) String commentType,
+            @Parameter(description = "当前用户ID（用于获取点赞状态）") @RequestParam(required = false) Long currentUserId,
+            @Parameter(description = "最大层级深度（根评论为0）") @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "每个根评论附带的回复数") @RequestParam(required = false) Integer replyLimit,
+            @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+        log.info("REST请求 - 评论树查询: targetId={}, type={}, maxDepth={}, replyLimit={}, page={}/{}",
+                targetId, commentType, maxDepth, replyLimit, currentPage, pageSize);
+        return commentService.getCommentTreeForController(targetId, commentType, currentUserId, maxDepth, replyLimit,
+                currentPage, pageSize);
+    }
+
+    /**
+     * 评论子树展开
+     * 按楼层先序游标分页加载指定评论下的回复
+     */
+    @GetMapping("/{commentId}/subtree")
+    @Operation(summary = "评论子树展开", description = "按先序游标分页加载指定评论的后代回复，首页cursor传空值")
+    public Result<PageResponse<CommentResponse>> getCommentSubtree(
+            @Parameter(description = "评论ID") @PathVariable Long commentId,
+            @Parameter(description = "当前用户ID（用于获取点赞状态）") @RequestParam(required = false) Long currentUserId,
+            @Parameter(description = "相对该评论的展开层级") @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "分页游标（首页传空值）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+        log.info("REST请求 - 评论子树展开: commentId={}, maxDepth={}, cursor={}, pageSize={}",
+                commentId, maxDepth, cursor, pageSize);
+        return commentService.getCommentSubtreeForController(commentId, currentUserId, maxDepth, cursor, pageSize);
+    }
+
     /**
      * 创建评论
      * 支持根评论和回复评论，包含消息通知功能
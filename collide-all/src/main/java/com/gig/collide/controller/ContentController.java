@@ -99,10 +99,10 @@ public class ContentController {
 
     /**
      * 内容列表查询
-     * 支持多种条件查询和分页
+     * 支持多种条件查询和分页；传入cursor参数（首页传空值）时使用游标分页，不返回总数
      */
     @GetMapping("/list")
-    @Operation(summary = "内容列表查询", description = "支持按类型、状态、作者等条件查询内容列表")
+    @Operation(summary = "内容列表查询", description = "支持按类型、状态、作者等条件查询内容列表，传入cursor时使用游标分页")
     public Result<PageResponse<ContentResponse>> listContents(
             @Parameter(description = "内容类型") @RequestParam(required = false) String contentType,
             @Parameter(description = "内容状态") @RequestParam(required = false) String status,
@@ -115,9 +115,14 @@ public class ContentController {
             @Parameter(description = "排序方向") @RequestParam(defaultValue = "DESC") String orderDirection,
             @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
             @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
-            @Parameter(description = "当前用户ID") @RequestParam(required = false) Long userId) {
-        log.info("REST请求 - 内容列表查询: type={}, status={}, authorId={}, authorIds={}, page={}/{}", 
-                contentType, status, authorId, authorIds, currentPage, pageSize);
+            @Parameter(description = "当前用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "分页游标（游标分页模式，首页传空值）") @RequestParam(required = false) String cursor) {
+        log.info("REST请求 - 内容列表查询: type={}, status={}, authorId={}, authorIds={}, page={}/{}, cursor={}", 
+                contentType, status, authorId, authorIds, currentPage, pageSize, cursor);
+        if (cursor != null) {
+            return contentService.listContentsByCursorForController(contentType, status, authorId, authorIds, categoryId, keyword,
+                    isPublished, orderBy, orderDirection, cursor, pageSize, userId);
+        }
         return contentService.listContentsForController(contentType, status, authorId, authorIds, categoryId, keyword, isPublished,
                 orderBy, orderDirection, currentPage, pageSize, userId);
     }
@@ -269,6 +274,32 @@ public class ContentController {
         return contentService.getFollowingContentsForController(userId, contentType, orderBy, orderDirection, currentPage, pageSize);
     }
 
+    /**
+     * 游标分页获取关注时间线
+     */
+    @GetMapping("/following/{userId}/timeline")
+    @Operation(summary = "获取关注时间线", description = "按发布时间倒序游标分页获取关注作者的内容，使用返回的nextCursor获取下一页")
+    public Result<PageResponse<ContentResponse>> getFollowingTimeline(
+            @Parameter(description = "用户ID") @PathVariable Long userId,
+            @Parameter(description = "内容类型") @RequestParam(required = false) String contentType,
+            @Parameter(description = "分页游标，首页为空") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+        log.info("REST请求 - 获取关注时间线: userId={}, contentType={}, cursor={}, pageSize={}",
+                userId, contentType, cursor, pageSize);
+        return contentService.getFollowingTimelineForController(userId, contentType, cursor, pageSize);
+    }
+
+    /**
+     * 重建关注时间线
+     */
+    @PostMapping("/timeline/rebuild")
+    @Operation(summary = "重建关注时间线", description = "指定用户时从数据库重建其收件箱；不指定时重算大V名单并清空全部时间线")
+    public Result<Integer> rebuildTimeline(
+            @Parameter(description = "用户ID（可选）") @RequestParam(required = false) Long userId) {
+        log.info("REST请求 - 重建关注时间线: userId={}", userId);
+        return contentService.rebuildTimelineForController(userId);
+    }
+
     /**
      * 删除内容
      * 只能删除自己的内容，使用现有登录权限控制
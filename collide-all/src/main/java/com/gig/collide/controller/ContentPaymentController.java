@@ -59,4 +59,17 @@ public class ContentPaymentController {
         return contentPaymentService.listPaymentConfigsForController(contentId, configType, status, isEnabled, keyword,
                 orderBy, orderDirection, currentPage, pageSize);
     }
+
+    /**
+     * 批量检查访问权限
+     * 一次校验一页内容（如信息流）的付费访问权限
+     */
+    @PostMapping("/access/batch-check")
+    @Operation(summary = "批量检查访问权限", description = "返回每个内容ID是否可访问，无付费配置或免费内容直接放行")
+    public Result<Map<Long, Boolean>> batchCheckAccessPermission(
+            @Parameter(description = "用户ID") @RequestParam(required = false) Long userId,
+            @RequestBody List<Long> contentIds) {
+        log.info("REST请求 - 批量检查访问权限: userId={}, count={}", userId, contentIds != null ? contentIds.size() : 0);
+        return contentPaymentService.batchCheckAccessPermissionForController(userId, contentIds);
+    }
 }
\ No newline at end of file
@@ -513,6 +513,31 @@ public class FollowController {
         }
     }
 
+    /**
+     * 获取关注推荐（好友的好友）
+     */
+    @GetMapping("/suggestions/{userId}")
+    @Operation(summary = "获取关注推荐", description = "推荐用户关注的人还关注的用户，按共同关注人数降序")
+    public Result<Map<Long, Integer>> getFollowSuggestions(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "返回数量") @RequestParam(defaultValue = "20") Integer limit) {
+
+        try {
+            log.info("REST请求 - 获取关注推荐: userId={}, limit={}", userId, limit);
+
+            if (userId == null) {
+                return Result.error("用户ID不能为空");
+            }
+
+            Map<Long, Integer> suggestions = followService.getFollowSuggestions(userId, limit);
+            return Result.success(suggestions);
+
+        } catch (Exception e) {
+            log.error("获取关注推荐失败: userId={}", userId, e);
+            return Result.error("获取关注推荐失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 根据昵称搜索关注关系
      */
@@ -271,4 +271,17 @@ public class LikeController {
             return Result.error("获取用户点赞状态列表失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 重建点赞状态索引
+     * 从点赞表重建Redis点赞状态索引，用于数据修复或手动预热
+     */
+    @PostMapping("/status-index/rebuild")
+    @Operation(summary = "重建点赞状态索引", description = "指定用户时重建该用户索引，否则预热近期活跃用户的索引")
+    public Result<Integer> rebuildLikeStatusIndex(
+            @Parameter(description = "用户ID（可选）") @RequestParam(required = false) Long userId,
+            @Parameter(description = "预热回溯天数（可选）") @RequestParam(required = false) Integer days) {
+        log.info("REST请求 - 重建点赞状态索引: userId={}, days={}", userId, days);
+        return likeService.rebuildLikeStatusIndexForController(userId, days);
+    }
 }
\ No newline at end of file
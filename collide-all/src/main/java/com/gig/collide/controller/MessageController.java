@@ -51,10 +51,10 @@ public class MessageController {
 
     /**
      * 消息列表查询
-     * 支持多种条件查询和分页
+     * 支持多种条件查询和分页；传入cursor参数（首页传空值）时使用游标分页，不返回总数
      */
     @GetMapping("/list")
-    @Operation(summary = "消息列表查询", description = "支持按发送者、接收者、类型等条件查询消息列表")
+    @Operation(summary = "消息列表查询", description = "支持按发送者、接收者、类型等条件查询消息列表，传入cursor时使用游标分页")
     public Result<PageResponse<MessageResponse>> listMessages(
             @Parameter(description = "发送者ID") @RequestParam(required = false) Long senderId,
             @Parameter(description = "接收者ID") @RequestParam(required = false) Long receiverId,
@@ -65,9 +65,14 @@ public class MessageController {
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String orderBy,
             @Parameter(description = "排序方向") @RequestParam(defaultValue = "DESC") String orderDirection,
             @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
-            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
-        log.info("REST请求 - 消息列表查询: senderId={}, receiverId={}, type={}, page={}/{}", 
-                senderId, receiverId, messageType, currentPage, pageSize);
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "分页游标（游标分页模式，首页传空值）") @RequestParam(required = false) String cursor) {
+        log.info("REST请求 - 消息列表查询: senderId={}, receiverId={}, type={}, page={}/{}, cursor={}", 
+                senderId, receiverId, messageType, currentPage, pageSize, cursor);
+        if (cursor != null) {
+            return messageService.listMessagesByCursorForController(senderId, receiverId, messageType, status, isRead, keyword,
+                    orderBy, orderDirection, cursor, pageSize);
+        }
         return messageService.listMessagesForController(senderId, receiverId, messageType, status, isRead, keyword,
                 orderBy, orderDirection, currentPage, pageSize);
     }
@@ -140,6 +145,7 @@ public class MessageController {
         message.setExtraData(request.getExtraData());
         message.setReplyToId(request.getReplyToId());
         message.setIsPinned(request.getIsPinned());
+        message.setClientMsgId(request.getClientMsgId());
         message.setStatus("sent"); // 默认状态为已发送
         
         // 调用Service层保存
@@ -7,6 +7,7 @@ import com.gig.collide.Apientry.api.message.request.MessageSessionCreateRequest;
 import com.gig.collide.Apientry.api.message.request.MessageSessionQueryRequest;
 import com.gig.collide.Apientry.api.message.request.MessageSessionUpdateRequest;
 import com.gig.collide.Apientry.api.message.response.MessageSessionResponse;
+import com.gig.collide.message.MessageSessionIndex;
 import com.gig.collide.service.MessageSessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -389,16 +390,29 @@ public class MessageSessionController {
      * 重建会话索引
      * 
      * @param userId 用户ID（可选）
-     * @return 处理结果
+     * @return 处理结果；不指定用户时为全量重建任务ID
      */
     @PostMapping("/rebuild-index")
-    @Operation(summary = "重建会话索引", description = "系统维护功能，重新计算会话的统计信息")
+    @Operation(summary = "重建会话索引", description = "系统维护功能，重新计算会话的统计信息；不指定用户时在后台全量重建并返回任务ID")
     public Result<String> rebuildSessionIndex(
             @RequestParam(required = false) @Parameter(description = "用户ID") Long userId) {
         log.info("REST请求 - 重建会话索引: userId={}", userId);
         return messageSessionService.rebuildSessionIndexForController(userId);
     }
 
+    /**
+     * 查询会话索引全量重建任务
+     *
+     * @param jobId 任务ID
+     * @return 任务进度
+     */
+    @GetMapping("/rebuild-index/{jobId}")
+    @Operation(summary = "查询会话索引重建任务", description = "查询本节点提交的全量重建任务的状态与进度")
+    public Result<MessageSessionIndex.RebuildJob> getRebuildJob(
+            @PathVariable("jobId") @Parameter(description = "任务ID") String jobId) {
+        return messageSessionService.getRebuildJobForController(jobId);
+    }
+
     /**
      * 会话系统健康检查
      * 
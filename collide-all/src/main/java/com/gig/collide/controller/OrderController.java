@@ -88,12 +88,16 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "根据用户查询订单", description = "获取指定用户的订单列表，需要权限验证")
+    @Operation(summary = "根据用户查询订单", description = "获取指定用户的订单列表，需要权限验证；传入cursor（首页传空值）时使用游标分页")
     public Result<PageResponse<OrderResponse>> getUserOrders(@PathVariable @NotNull @Min(1) Long userId,
                                                             @RequestParam(required = false) String status,
                                                             @RequestParam(defaultValue = "1") @Min(1) Integer currentPage,
-                                                            @RequestParam(defaultValue = "20") @Min(1) Integer pageSize) {
-        log.info("REST查询用户订单: userId={}, status={}, page={}", userId, status, currentPage);
+                                                            @RequestParam(defaultValue = "20") @Min(1) Integer pageSize,
+                                                            @RequestParam(required = false) String cursor) {
+        log.info("REST查询用户订单: userId={}, status={}, page={}, cursor={}", userId, status, currentPage, cursor);
+        if (cursor != null) {
+            return orderService.getUserOrdersByCursorForController(userId, status, cursor, pageSize);
+        }
         return orderService.getUserOrdersForController(userId, status, currentPage, pageSize);
     }
 
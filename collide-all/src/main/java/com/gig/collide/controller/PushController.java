@@ -0,0 +1,76 @@
+package com.gig.collide.controller;
+
+import com.gig.collide.Apientry.api.common.response.Result;
+import com.gig.collide.config.PushGatewayConfig;
+import com.gig.collide.push.MessagePushService;
+import com.gig.collide.push.PushGateway;
+import com.gig.collide.push.PushUserResolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * 消息推送控制器
+ * WebSocket 端点为 /api/v1/push/ws；这里提供 SSE 降级通道与 SSE 客户端的送达回执上报
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/push")
+@RequiredArgsConstructor
+@Tag(name = "消息推送", description = "消息实时推送相关的API接口")
+public class PushController {
+
+    private final PushGatewayConfig pushGatewayConfig;
+    private final PushGateway pushGateway;
+    private final PushUserResolver pushUserResolver;
+    private final MessagePushService messagePushService;
+
+    /**
+     * 建立 SSE 推送连接
+     */
+    @GetMapping(value = "/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "建立SSE推送连接", description = "不支持WebSocket时使用，推送帧格式与WebSocket相同")
+    public SseEmitter connectSse(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Parameter(description = "登录token（无法设置请求头时使用）") @RequestParam(required = false) String token,
+            @Parameter(description = "用户ID（仅开发环境）") @RequestParam(required = false) Long userId) {
+        if (!pushGatewayConfig.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "实时推送未启用");
+        }
+        Long resolved = pushUserResolver.resolve(authorization != null ? authorization : token, userId);
+        if (resolved == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "无法识别推送连接的用户");
+        }
+        log.debug("REST请求 - 建立SSE推送连接: userId={}", resolved);
+        return pushGateway.openSse(resolved);
+    }
+
+    /**
+     * 批量上报送达回执
+     */
+    @PostMapping("/ack")
+    @Operation(summary = "批量上报送达回执", description = "SSE客户端收到消息后批量上报，WebSocket客户端通过上行帧上报")
+    public Result<Integer> ack(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Parameter(description = "登录token") @RequestParam(required = false) String token,
+            @Parameter(description = "用户ID（仅开发环境）") @RequestParam(required = false) Long userId,
+            @RequestBody List<Long> messageIds) {
+        Long resolved = pushUserResolver.resolve(authorization != null ? authorization : token, userId);
+        if (resolved == null) {
+            return Result.error("无法识别用户");
+        }
+        return Result.success(messagePushService.ack(resolved, messageIds));
+    }
+}
@@ -151,6 +151,16 @@ public class SearchController {
         return searchService.updateHotSearchTrend(keyword, trendScore);
     }
 
+    /**
+     * 重建搜索索引
+     */
+    @PostMapping("/index/rebuild")
+    @Operation(summary = "重建搜索索引", description = "从内容表全量重建内存倒排索引，重建期间旧索引继续提供查询（管理员功能）")
+    public Result<Integer> rebuildSearchIndex() {
+        log.info("REST - 重建搜索索引");
+        return searchService.rebuildSearchIndex();
+    }
+
     // =================== 混合搜索功能 ===================
 
     /**
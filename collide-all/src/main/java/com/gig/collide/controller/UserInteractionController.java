@@ -55,13 +55,14 @@ public class UserInteractionController {
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String orderBy,
             @Parameter(description = "排序方向") @RequestParam(defaultValue = "DESC") String orderDirection,
             @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
-            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "游标（传入时按游标分页，首页传空字符串）") @RequestParam(required = false) String cursor) {
         
-        log.info("REST请求 - 查询用户互动数据: userId={}, interactionType={}, likeType={}, commentType={}, direction={}, page={}/{}", 
-                userId, interactionType, likeType, commentType, direction, currentPage, pageSize);
+        log.info("REST请求 - 查询用户互动数据: userId={}, interactionType={}, likeType={}, commentType={}, direction={}, page={}/{}, cursor={}", 
+                userId, interactionType, likeType, commentType, direction, currentPage, pageSize, cursor);
         
         return userInteractionFacadeService.getUserInteractions(
-                userId, interactionType, likeType, commentType, direction, orderBy, orderDirection, currentPage, pageSize);
+                userId, interactionType, likeType, commentType, direction, orderBy, orderDirection, currentPage, pageSize, cursor);
     }
 
     /**
@@ -159,12 +160,13 @@ public class UserInteractionController {
     public Result<PageResponse<UserInteractionResponse>> getAllInteractions(
             @Parameter(description = "用户ID") @RequestParam Long userId,
             @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") Integer currentPage,
-            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "游标（传入时按游标分页，首页传空字符串）") @RequestParam(required = false) String cursor) {
 
-        log.info("REST请求 - 查询所有互动数据: userId={}, page={}/{}", userId, currentPage, pageSize);
+        log.info("REST请求 - 查询所有互动数据: userId={}, page={}/{}, cursor={}", userId, currentPage, pageSize, cursor);
         
         // 调用Facade服务查询所有互动数据
-        return userInteractionFacadeService.getAllInteractions(userId, currentPage, pageSize);
+        return userInteractionFacadeService.getAllInteractions(userId, currentPage, pageSize, cursor);
     }
 
 }
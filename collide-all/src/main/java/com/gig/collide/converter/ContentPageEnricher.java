@@ -0,0 +1,184 @@
+package com.gig.collide.converter;
+
+import com.gig.collide.Apientry.api.content.response.ContentResponse;
+import com.gig.collide.domain.Content;
+import com.gig.collide.domain.User;
+import com.gig.collide.loader.RequestBatchLoader;
+import com.gig.collide.mapper.CommentMapper;
+import com.gig.collide.service.FavoriteService;
+import com.gig.collide.service.FollowService;
+import com.gig.collide.service.LikeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 内容列表页数据补全
+ * 将一页 Content 组装为 ContentResponse，每个维度只执行一次批量查询
+ *
+ * 补全维度（并发执行）：
+ * - 评论数：按 target_id 分组统计
+ * - 点赞/收藏状态：当前用户对本页内容的批量状态
+ * - 关注状态：当前用户对本页作者的批量状态
+ * - 作者资料：按作者ID批量加载昵称与头像（同一请求内已加载的用户直接复用）
+ *
+ * 无论页面大小，每页的查询次数固定；单个维度失败时降级为默认值，不影响列表返回。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ContentPageEnricher {
+
+    private static final String TARGET_TYPE_CONTENT = "CONTENT";
+
+    private final CommentMapper commentMapper;
+    private final RequestBatchLoader requestBatchLoader;
+    private final LikeService likeService;
+    private final FavoriteService favoriteService;
+    private final FollowService followService;
+    private final Executor enrichExecutor;
+
+    public ContentPageEnricher(CommentMapper commentMapper,
+                               RequestBatchLoader requestBatchLoader,
+                               LikeService likeService,
+                               FavoriteService favoriteService,
+                               FollowService followService,
+                               @Qualifier("enrichExecutor") Executor enrichExecutor) {
+        this.commentMapper = commentMapper;
+        this.requestBatchLoader = requestBatchLoader;
+        this.likeService = likeService;
+        this.favoriteService = favoriteService;
+        this.followService = followService;
+        this.enrichExecutor = enrichExecutor;
+    }
+
+    /**
+     * 组装一页内容响应
+     *
+     * @param contents 当前页内容
+     * @param currentUserId 当前用户ID（为空表示未登录，互动状态均为false）
+     * @return 与输入顺序一致的响应列表
+     */
+    public List<ContentResponse> enrich(List<Content> contents, Long currentUserId) {
+        if (contents == null || contents.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> contentIds = contents.stream()
+                .map(Content::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<Long> authorIds = contents.stream()
+                .map(Content::getAuthorId)
+                .filter(id -> id != null)
+                .distinct()
+                .collect(Collectors.toList());
+
+        CompletableFuture<Map<Long, Long>> commentCountsFuture =
+                submit("评论数", () -> loadCommentCounts(contentIds));
+        CompletableFuture<Map<Long, User>> authorsFuture =
+                submit("作者资料", () -> loadAuthors(authorIds));
+
+        CompletableFuture<Map<Long, Boolean>> likedFuture = CompletableFuture.completedFuture(Collections.emptyMap());
+        CompletableFuture<Map<Long, Boolean>> favoritedFuture = CompletableFuture.completedFuture(Collections.emptyMap());
+        CompletableFuture<Map<Long, Boolean>> followedFuture = CompletableFuture.completedFuture(Collections.emptyMap());
+        if (currentUserId != null) {
+            likedFuture = submit("点赞状态",
+                    () -> likeService.batchCheckLikeStatus(currentUserId, TARGET_TYPE_CONTENT, contentIds));
+            favoritedFuture = submit("收藏状态",
+                    () -> favoriteService.batchCheckFavoriteStatus(currentUserId, TARGET_TYPE_CONTENT, contentIds));
+            if (!authorIds.isEmpty()) {
+                followedFuture = submit("关注状态",
+                        () -> followService.batchCheckFollowStatus(currentUserId, authorIds));
+            }
+        }
+
+        Map<Long, Long> commentCounts = commentCountsFuture.join();
+        Map<Long, User> authors = authorsFuture.join();
+        Map<Long, Boolean> likedMap = likedFuture.join();
+        Map<Long, Boolean> favoritedMap = favoritedFuture.join();
+        Map<Long, Boolean> followedMap = followedFuture.join();
+
+        List<ContentResponse> responses = new ArrayList<>(contents.size());
+        for (Content content : contents) {
+            ContentResponse response = toBaseResponse(content);
+            response.setCommentCount(commentCounts.getOrDefault(content.getId(), 0L));
+
+            // 作者资料优先取用户表，缺失时回退内容表冗余字段
+            User author = content.getAuthorId() != null ? authors.get(content.getAuthorId()) : null;
+            response.setAuthorNickname(author != null && author.getNickname() != null
+                    ? author.getNickname() : content.getAuthorNickname());
+            response.setAuthorAvatar(author != null && author.getAvatar() != null
+                    ? author.getAvatar() : content.getAuthorAvatar());
+
+            response.setIsLiked(likedMap.getOrDefault(content.getId(), false));
+            response.setIsFavorited(favoritedMap.getOrDefault(content.getId(), false));
+            response.setIsFollowed(content.getAuthorId() != null
+                    && followedMap.getOrDefault(content.getAuthorId(), false));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    // =================== 私有方法 ===================
+
+    private <T> CompletableFuture<Map<Long, T>> submit(String dimension, Supplier<Map<Long, T>> loader) {
+        return CompletableFuture.supplyAsync(loader, enrichExecutor)
+                .exceptionally(e -> {
+                    log.warn("列表补全失败，使用默认值: dimension={}, error={}", dimension, e.getMessage(), e);
+                    return Collections.emptyMap();
+                })
+                .thenApply(result -> result != null ? result : Collections.<Long, T>emptyMap());
+    }
+
+    private Map<Long, Long> loadCommentCounts(List<Long> contentIds) {
+        List<Map<String, Object>> rows = commentMapper.countTargetCommentsBatch(contentIds);
+        Map<Long, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            Object targetId = row.get("target_id");
+            Object count = row.get("comment_count");
+            if (targetId instanceof Number && count instanceof Number) {
+                counts.put(((Number) targetId).longValue(), ((Number) count).longValue());
+            }
+        }
+        return counts;
+    }
+
+    private Map<Long, User> loadAuthors(List<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return requestBatchLoader.loadUsers(authorIds);
+    }
+
+    private ContentResponse toBaseResponse(Content content) {
+        ContentResponse response = new ContentResponse();
+        response.setId(content.getId());
+        response.setTitle(content.getTitle());
+        response.setDescription(content.getDescription());
+        response.setContentData(content.getContentData());
+        response.setContentType(content.getContentType());
+        response.setAuthorId(content.getAuthorId());
+        response.setCategoryId(content.getCategoryId());
+        response.setStatus(content.getStatus());
+        response.setReviewStatus(content.getReviewStatus());
+        response.setViewCount(content.getViewCount());
+        response.setLikeCount(content.getLikeCount());
+        response.setFavoriteCount(content.getFavoriteCount());
+        response.setCreateTime(content.getCreateTime());
+        response.setUpdateTime(content.getUpdateTime());
+        return response;
+    }
+}
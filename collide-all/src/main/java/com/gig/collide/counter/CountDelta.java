@@ -0,0 +1,28 @@
+package com.gig.collide.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 计数增量
+ * 批量 UPDATE ... CASE 语句的参数单元
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountDelta {
+
+    /**
+     * 目标行主键
+     */
+    private Long id;
+
+    /**
+     * 增量（正数增加，负数减少）
+     */
+    private Long delta;
+}
@@ -0,0 +1,388 @@
+package com.gig.collide.counter;
+
+import com.gig.collide.mapper.CommentMapper;
+import com.gig.collide.mapper.ContentMapper;
+import com.gig.collide.mapper.SocialDynamicMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import com.gig.collide.writebehind.RedisWriteBehind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 点赞计数合并写回器
+ * 将点赞/取消点赞产生的计数增量按 (维度, 主键) 合并后批量写回数据库
+ *
+ * 实现特性：
+ * - 进程内分段累加，热点内容的并发点赞只竞争内存锁，不再串行等待行锁
+ * - 定时或累计事件数达到阈值时刷新，使用 UPDATE ... CASE 批量写回
+ * - 可选 Redis 哈希暂存，多节点共享增量并在进程崩溃后保留；取走后按子批次幂等写回，中途退出时原样重试
+ * - 事务提交后才登记增量，回滚的点赞不会影响计数
+ * - 停机时强制刷新，暴露待写回增量指标
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCountAggregator {
+
+    public static final String DIMENSION_CONTENT = "CONTENT";
+    public static final String DIMENSION_DYNAMIC = "DYNAMIC";
+    public static final String DIMENSION_COMMENT = "COMMENT";
+
+    private static final String[] DIMENSIONS = {
+            DIMENSION_CONTENT, DIMENSION_DYNAMIC, DIMENSION_COMMENT
+    };
+
+    private static final String MODE_REDIS = "redis";
+
+    private final LikeCounterConfig config;
+    private final ContentMapper contentMapper;
+    private final SocialDynamicMapper socialDynamicMapper;
+    private final CommentMapper commentMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisWriteBehind redisWriteBehind;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private Stripe[] stripes;
+    private ExecutorService flushExecutor;
+    private Counter flushedRowsCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        int stripeCount = Integer.highestOneBit(Math.max(1, config.getStripes()));
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        flushExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "like-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("collide.like.counter.pending", pendingEvents, AtomicLong::get)
+                .description("等待写回数据库的点赞计数增量事件数")
+                .register(meterRegistry);
+        flushedRowsCounter = Counter.builder("collide.like.counter.flushed.rows")
+                .description("已批量写回的计数行数")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("collide.like.counter.flush")
+                .description("点赞计数批量写回耗时")
+                .register(meterRegistry);
+
+        log.info("点赞计数合并写回器初始化完成: enabled={}, mode={}, stripes={}, flushIntervalMs={}, flushThreshold={}",
+                config.isEnabled(), config.getMode(), stripeCount, config.getFlushIntervalMs(), config.getFlushThreshold());
+    }
+
+    /**
+     * 登记目标对象（内容/动态/评论）的点赞增量
+     *
+     * @param likeType 点赞类型：CONTENT、DYNAMIC、COMMENT
+     * @param targetId 目标对象ID
+     * @param delta 增量（正数增加，负数减少）
+     */
+    public void addTargetDelta(String likeType, Long targetId, int delta) {
+        if (!StringUtils.hasText(likeType) || targetId == null) {
+            log.warn("无效的点赞类型或目标ID: likeType={}, targetId={}", likeType, targetId);
+            return;
+        }
+        String dimension = likeType.toUpperCase();
+        if (!DIMENSION_CONTENT.equals(dimension) && !DIMENSION_DYNAMIC.equals(dimension)
+                && !DIMENSION_COMMENT.equals(dimension)) {
+            log.warn("未知的点赞类型: {}", likeType);
+            return;
+        }
+        submit(dimension, targetId, delta);
+    }
+
+    /**
+     * 当前等待写回的增量事件数
+     */
+    public long getPendingEvents() {
+        return pendingEvents.get();
+    }
+
+    /**
+     * 定时刷新
+     */
+    @Scheduled(fixedDelayString = "${collide.like-counter.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * 将所有暂存增量写回数据库
+     * 同一时刻只允许一个刷新过程执行
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (MODE_REDIS.equalsIgnoreCase(config.getMode())) {
+                flushTimer.record(this::flushRedis);
+                return;
+            }
+            Map<String, Map<Long, Long>> drained = drainLocal();
+            if (drained.isEmpty()) {
+                return;
+            }
+            flushTimer.record(() -> drained.forEach(this::applyDimension));
+        } catch (Exception e) {
+            log.error("点赞计数批量写回失败", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("停机刷新点赞计数增量: pending={}", pendingEvents.get());
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 事务中登记的增量延迟到提交之后生效
+     */
+    private void submit(String dimension, Long id, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> accumulate(dimension, id, delta));
+    }
+
+    private void accumulate(String dimension, Long id, long delta) {
+        if (!config.isEnabled()) {
+            applyDimension(dimension, Map.of(id, delta));
+            return;
+        }
+
+        try {
+            if (MODE_REDIS.equalsIgnoreCase(config.getMode())) {
+                stringRedisTemplate.opsForHash().increment(redisKey(dimension), id.toString(), delta);
+            } else {
+                stripeFor(id).add(dimension, id, delta);
+            }
+        } catch (Exception e) {
+            log.error("暂存点赞计数增量失败，直接写回数据库: dimension={}, id={}, delta={}", dimension, id, delta, e);
+            applyDimension(dimension, Map.of(id, delta));
+            return;
+        }
+
+        if (pendingEvents.incrementAndGet() >= config.getFlushThreshold()
+                && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushScheduled.set(false);
+                    }
+                });
+            } catch (Exception e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    private Stripe stripeFor(Long id) {
+        int h = id.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private Map<String, Map<Long, Long>> drainLocal() {
+        Map<String, Map<Long, Long>> merged = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<String, Map<Long, Long>> swapped = stripe.swap();
+            swapped.forEach((dimension, deltas) -> {
+                Map<Long, Long> target = merged.computeIfAbsent(dimension, k -> new HashMap<>());
+                deltas.forEach((id, delta) -> target.merge(id, delta, Long::sum));
+            });
+        }
+        pendingEvents.set(0);
+        return merged;
+    }
+
+    /**
+     * Redis模式：暂存哈希原子改名后读取，避免与并发的 HINCRBY 相互覆盖；
+     * 写回中的哈希在全部子批次提交后才删除，中途退出或有子批次失败时下次原样重试，已提交的子批次不会重复累加
+     */
+    private void flushRedis() {
+        pendingEvents.set(0);
+        for (String dimension : DIMENSIONS) {
+            RedisWriteBehind.Batch batch;
+            try {
+                batch = redisWriteBehind.claim(redisKey(dimension));
+            } catch (Exception e) {
+                log.warn("取走点赞计数暂存哈希失败: dimension={}, error={}", dimension, e.getMessage());
+                continue;
+            }
+            if (batch == null) {
+                continue;
+            }
+
+            Map<Long, Long> deltas = new HashMap<>();
+            stringRedisTemplate.opsForHash().entries(batch.getFlushingKey()).forEach((field, value) ->
+                    deltas.put(Long.valueOf(field.toString()), Long.parseLong(value.toString())));
+            List<CountDelta> rows = toRows(deltas);
+
+            boolean failed = false;
+            int batchSize = Math.max(1, config.getBatchSize());
+            for (int from = 0, part = 0; from < rows.size(); from += batchSize, part++) {
+                List<CountDelta> sub = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                try {
+                    if (redisWriteBehind.applyOnce(batch, part, () -> applyBatch(dimension, sub))) {
+                        flushedRowsCounter.increment(sub.size());
+                    }
+                } catch (Exception e) {
+                    failed = true;
+                    log.error("点赞计数批量写回失败，保留批次等待重试: dimension={}, batchId={}, rows={}",
+                            dimension, batch.getBatchId(), sub.size(), e);
+                }
+            }
+            if (!failed) {
+                redisWriteBehind.complete(batch);
+            }
+        }
+    }
+
+    /**
+     * 按主键升序排列的非零增量，保证多节点并发刷新时加锁顺序一致，重试时子批次划分不变
+     */
+    private static List<CountDelta> toRows(Map<Long, Long> deltas) {
+        List<CountDelta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            if (delta != null && delta != 0) {
+                rows.add(new CountDelta(id, delta));
+            }
+        });
+        rows.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return rows;
+    }
+
+    /**
+     * 按主键升序分批写回，失败的批次回填等待下次刷新
+     */
+    private void applyDimension(String dimension, Map<Long, Long> deltas) {
+        List<CountDelta> rows = toRows(deltas);
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<CountDelta> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            try {
+                int updated = applyBatch(dimension, batch);
+                flushedRowsCounter.increment(batch.size());
+                log.debug("点赞计数批量写回成功: dimension={}, rows={}, updated={}", dimension, batch.size(), updated);
+            } catch (Exception e) {
+                log.error("点赞计数批量写回失败，增量回填等待下次刷新: dimension={}, rows={}", dimension, batch.size(), e);
+                requeue(dimension, batch);
+            }
+        }
+    }
+
+    private int applyBatch(String dimension, List<CountDelta> batch) {
+        switch (dimension) {
+            case DIMENSION_CONTENT:
+                return contentMapper.batchIncrementLikeCount(batch);
+            case DIMENSION_DYNAMIC:
+                return socialDynamicMapper.batchIncrementLikeCount(batch);
+            case DIMENSION_COMMENT:
+                return commentMapper.batchIncrementLikeCount(batch);
+            default:
+                log.warn("未知的计数维度: {}", dimension);
+                return 0;
+        }
+    }
+
+    private void requeue(String dimension, List<CountDelta> batch) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (CountDelta row : batch) {
+            try {
+                if (MODE_REDIS.equalsIgnoreCase(config.getMode())) {
+                    stringRedisTemplate.opsForHash().increment(redisKey(dimension), row.getId().toString(), row.getDelta());
+                } else {
+                    stripeFor(row.getId()).add(dimension, row.getId(), row.getDelta());
+                }
+                pendingEvents.incrementAndGet();
+            } catch (Exception e) {
+                log.error("点赞计数增量回填失败: dimension={}, id={}, delta={}", dimension, row.getId(), row.getDelta(), e);
+            }
+        }
+    }
+
+    private String redisKey(String dimension) {
+        return config.getRedisKeyPrefix() + dimension;
+    }
+
+    /**
+     * 分段增量表，每段独立加锁
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<String, Map<Long, Long>> deltas = new HashMap<>();
+
+        void add(String dimension, Long id, long delta) {
+            lock.lock();
+            try {
+                deltas.computeIfAbsent(dimension, k -> new HashMap<>()).merge(id, delta, Long::sum);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<String, Map<Long, Long>> swap() {
+            lock.lock();
+            try {
+                if (deltas.isEmpty()) {
+                    return Map.of();
+                }
+                Map<String, Map<Long, Long>> current = deltas;
+                deltas = new HashMap<>();
+                return current;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.gig.collide.counter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 点赞计数聚合配置
+ * 控制点赞增量的合并写回策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.like-counter")
+public class LikeCounterConfig {
+
+    /**
+     * 是否启用合并写回（关闭时每次点赞直接更新数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 增量暂存模式：local（进程内）、redis（Redis哈希，多节点共享）
+     */
+    private String mode = "local";
+
+    /**
+     * 定时刷新间隔（毫秒）
+     */
+    private long flushIntervalMs = 500;
+
+    /**
+     * 累计事件数达到该阈值时提前触发刷新
+     */
+    private int flushThreshold = 2000;
+
+    /**
+     * 单条批量UPDATE语句包含的最大行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 进程内分段数量（必须为2的幂）
+     */
+    private int stripes = 16;
+
+    /**
+     * Redis模式下暂存哈希的键前缀
+     */
+    private String redisKeyPrefix = "like:delta:";
+}
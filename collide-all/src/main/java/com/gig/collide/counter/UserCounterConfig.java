@@ -0,0 +1,83 @@
+package com.gig.collide.counter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户计数配置
+ * 控制关注数、粉丝数、获赞数、内容数的分片暂存、批量写回与对账策略
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "collide.user-counter")
+public class UserCounterConfig {
+
+    /**
+     * 是否启用分片暂存（关闭时每次变更直接更新 t_user）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每种计数的 Redis 暂存哈希分片数，同一用户的并发增量随机分散到各分片
+     */
+    private int shards = 8;
+
+    /**
+     * Redis 暂存哈希的键前缀
+     */
+    private String redisKeyPrefix = "user:counter:";
+
+    /**
+     * 定时写回间隔（毫秒）
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * 累计事件数达到该阈值时提前触发写回
+     */
+    private int flushThreshold = 2000;
+
+    /**
+     * 单条批量UPDATE语句包含的最大行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 写回/对账分布式锁的有效期（毫秒）
+     */
+    private long lockTtlMs = 60000;
+
+    /**
+     * 读取时待写回增量的本地缓存时间（毫秒）
+     */
+    private long readCacheMs = 1000;
+
+    /**
+     * 读取缓存最大条目数
+     */
+    private int readCacheSize = 10000;
+
+    /**
+     * 是否启用对账任务
+     */
+    private boolean reconcileEnabled = true;
+
+    /**
+     * 对账间隔（毫秒），按 t_follow、t_like、t_content 重新统计并修正 t_user 中的计数
+     */
+    private long reconcileIntervalMs = 3600000;
+
+    /**
+     * 对账每批处理的用户数
+     */
+    private int reconcileBatchSize = 500;
+
+    /**
+     * 对账批次之间的停顿（毫秒），降低对明细表的持续扫描压力
+     */
+    private long reconcileBatchPauseMs = 50;
+}
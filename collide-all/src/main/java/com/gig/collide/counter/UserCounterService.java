@@ -0,0 +1,664 @@
+package com.gig.collide.counter;
+
+import com.gig.collide.domain.User;
+import com.gig.collide.hotkey.HotKeyDetector;
+import com.gig.collide.mapper.UserMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import com.gig.collide.writebehind.RedisWriteBehind;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 用户计数服务
+ * 统一维护 t_user 中的关注数、粉丝数、获赞数、内容数，大V被集中关注或点赞时不再串行等待同一用户行的行锁
+ *
+ * 实现特性：
+ * - 事务提交后把增量写入 Redis 分片哈希（每种计数 N 个哈希，同一用户的增量随机分散到各分片）
+ * - 定时或累计事件数达到阈值时，由一个节点经 {@link RedisWriteBehind} 取走各分片，按用户ID升序分子批次
+ *   UPDATE ... CASE 写回；子批次与批次ID在同一事务中登记，中途退出后重试同一批次不会重复累加
+ * - 读取时 t_user 中的值加上各分片（含正在写回的分片）中的待写回增量，结果短期本地缓存；
+ *   被集中读取的用户经 {@link HotKeyDetector} 提升后由本地副本承接，不再因每次计数变更失效而回源
+ * - 对账任务在独立线程上按用户ID分批重新统计 t_follow、t_like、t_content，以差值修正 t_user，修复历史漂移；
+ *   批次之间续期对账锁并短暂停顿，不占用定时任务线程
+ * - Redis 不可用或关闭分片暂存时直接更新 t_user
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCounterService {
+
+    public static final String FIELD_FOLLOWING = "following";
+    public static final String FIELD_FOLLOWER = "follower";
+    public static final String FIELD_LIKE = "like";
+    public static final String FIELD_CONTENT = "content";
+
+    private static final String[] FIELDS = {FIELD_FOLLOWING, FIELD_FOLLOWER, FIELD_LIKE, FIELD_CONTENT};
+
+    /**
+     * 计数 -> t_user 列名（批量写回语句按列名拼接，只允许使用此处列出的列）
+     */
+    private static final String[] COLUMNS = {"following_count", "follower_count", "like_count", "content_count"};
+
+    private static final String FLUSH_LOCK = "lock:flush";
+    private static final String RECONCILE_LOCK = "lock:reconcile";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final UserCounterConfig config;
+    private final UserMapper userMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyDetector hotKeyDetector;
+    private final RedisWriteBehind redisWriteBehind;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean reconcileScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 用户ID -> 各计数的待写回增量（下标与 FIELDS 一致）
+     */
+    private Cache<Long, long[]> pendingCache;
+
+    private ExecutorService flushExecutor;
+    private ExecutorService reconcileExecutor;
+    private Counter flushedRowsCounter;
+    private Timer flushTimer;
+    private Map<String, Counter> reconciledCounters;
+
+    @PostConstruct
+    public void init() {
+        pendingCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getReadCacheSize()))
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, config.getReadCacheMs())))
+                .build();
+
+        flushExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "user-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconcileExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "user-counter-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("collide.user.counter.pending", pendingEvents, AtomicLong::get)
+                .description("本节点登记后尚未写回的用户计数增量事件数")
+                .register(meterRegistry);
+        flushedRowsCounter = Counter.builder("collide.user.counter.flushed.rows")
+                .description("已批量写回的用户计数行数")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("collide.user.counter.flush")
+                .description("用户计数批量写回耗时")
+                .register(meterRegistry);
+        reconciledCounters = new HashMap<>();
+        for (String field : FIELDS) {
+            reconciledCounters.put(field, Counter.builder("collide.user.counter.reconciled")
+                    .tag("field", field)
+                    .description("对账修正的用户计数行数")
+                    .register(meterRegistry));
+        }
+
+        log.info("用户计数服务初始化完成: enabled={}, shards={}, flushIntervalMs={}, reconcileIntervalMs={}",
+                config.isEnabled(), shardCount(), config.getFlushIntervalMs(), config.getReconcileIntervalMs());
+    }
+
+    // =================== 登记增量 ===================
+
+    /**
+     * 关注关系生效或取消：关注者的关注数与被关注者的粉丝数同时变化
+     *
+     * @param followerId 关注者用户ID
+     * @param followeeId 被关注者用户ID
+     * @param delta 增量（1 关注，-1 取消关注）
+     */
+    public void onFollowChanged(Long followerId, Long followeeId, int delta) {
+        increment(FIELD_FOLLOWING, followerId, delta);
+        increment(FIELD_FOLLOWER, followeeId, delta);
+    }
+
+    /**
+     * 登记作者获赞数增量
+     */
+    public void addLikeDelta(Long authorId, int delta) {
+        increment(FIELD_LIKE, authorId, delta);
+    }
+
+    /**
+     * 登记作者已发布内容数增量
+     */
+    public void addContentDelta(Long authorId, int delta) {
+        increment(FIELD_CONTENT, authorId, delta);
+    }
+
+    /**
+     * 登记计数增量，事务中登记的增量延迟到提交之后生效
+     *
+     * @param field 计数：following、follower、like、content
+     * @param userId 用户ID
+     * @param delta 增量（正数增加，负数减少）
+     */
+    public void increment(String field, Long userId, int delta) {
+        int index = fieldIndex(field);
+        if (index < 0) {
+            throw new IllegalArgumentException("未知的用户计数: " + field);
+        }
+        if (userId == null || delta == 0) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> accumulate(index, userId, delta));
+    }
+
+    // =================== 读取 ===================
+
+    /**
+     * 把待写回增量叠加到从 t_user 读出的用户计数上
+     */
+    public User applyPending(User user) {
+        if (user != null) {
+            applyPending(List.of(user));
+        }
+        return user;
+    }
+
+    /**
+     * 批量叠加待写回增量，未缓存的用户一次流水线读取
+     */
+    public List<User> applyPending(List<User> users) {
+        if (!config.isEnabled() || users == null || users.isEmpty()) {
+            return users;
+        }
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (User user : users) {
+            if (user != null && user.getId() != null) {
+                userIds.add(user.getId());
+            }
+        }
+        Map<Long, long[]> pending = new HashMap<>();
+        try {
+            // 热点用户从热点副本读取（计数变更不失效，最多滞后一个副本有效期），其余用户合并为一次流水线读取
+            Set<Long> coldIds = new LinkedHashSet<>();
+            for (Long userId : userIds) {
+                String hotKey = hotKey(userId);
+                if (hotKeyDetector.recordRead(hotKey)) {
+                    pending.put(userId, hotKeyDetector.readLocal(hotKey, "", () -> loadPending(Set.of(userId)).get(userId)));
+                } else {
+                    coldIds.add(userId);
+                }
+            }
+            if (!coldIds.isEmpty()) {
+                pending.putAll(pendingCache.getAll(coldIds, this::loadPending));
+            }
+        } catch (Exception e) {
+            log.warn("读取用户计数待写回增量失败，返回 t_user 中的值: error={}", e.getMessage());
+            return users;
+        }
+        for (User user : users) {
+            long[] deltas = user != null ? pending.get(user.getId()) : null;
+            if (deltas == null) {
+                continue;
+            }
+            user.setFollowingCount(plus(user.getFollowingCount(), deltas[0]));
+            user.setFollowerCount(plus(user.getFollowerCount(), deltas[1]));
+            user.setLikeCount(plus(user.getLikeCount(), deltas[2]));
+            user.setContentCount(plus(user.getContentCount(), deltas[3]));
+        }
+        return users;
+    }
+
+    // =================== 写回 ===================
+
+    /**
+     * 定时写回
+     */
+    @Scheduled(fixedDelayString = "${collide.user-counter.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * 将各分片中的增量写回 t_user
+     * 同一时刻只有一个节点的一个线程执行；上次写回中途退出遗留的分片先于新分片处理
+     */
+    public void flush() {
+        flushLock.lock();
+        String lockKey = config.getRedisKeyPrefix() + FLUSH_LOCK;
+        try {
+            if (!tryLock(lockKey)) {
+                return;
+            }
+            try {
+                pendingEvents.set(0);
+                flushTimer.record(() -> {
+                    for (int index = 0; index < FIELDS.length; index++) {
+                        for (int shard = 0; shard < shardCount(); shard++) {
+                            flushShard(index, shard);
+                        }
+                    }
+                });
+            } finally {
+                unlock(lockKey);
+            }
+        } catch (Exception e) {
+            log.error("用户计数批量写回失败", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("停机写回用户计数增量: pending={}", pendingEvents.get());
+        reconcileExecutor.shutdownNow();
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    // =================== 对账 ===================
+
+    /**
+     * 定时对账：提交到对账线程执行，上一轮未结束时跳过
+     */
+    @Scheduled(fixedDelayString = "${collide.user-counter.reconcile-interval-ms:3600000}",
+            initialDelayString = "${collide.user-counter.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        if (!config.isReconcileEnabled() || !reconcileScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconcileExecutor.execute(() -> {
+                try {
+                    reconcile();
+                } finally {
+                    reconcileScheduled.set(false);
+                }
+            });
+        } catch (Exception e) {
+            reconcileScheduled.set(false);
+            log.warn("提交用户计数对账失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按明细表分批重新统计全部用户的计数并修正 t_user
+     * 先写回一次增量，仍有待写回增量的用户本轮跳过；修正以差值方式写入，与并发的写回互不覆盖；
+     * 每批之后续期对账锁并停顿 reconcileBatchPauseMs，锁已丢失时中止本轮
+     *
+     * @return 修正的计数行数
+     */
+    public long reconcile() {
+        String lockKey = config.getRedisKeyPrefix() + RECONCILE_LOCK;
+        if (!tryLock(lockKey)) {
+            log.info("其他节点正在执行用户计数对账，本次跳过");
+            return 0;
+        }
+        long corrected = 0;
+        long scanned = 0;
+        try {
+            if (config.isEnabled()) {
+                flush();
+            }
+            int batchSize = Math.max(1, config.getReconcileBatchSize());
+            Long afterId = 0L;
+            while (true) {
+                List<UserCounterSnapshot> snapshots = userMapper.selectCounterSnapshots(afterId, batchSize);
+                if (snapshots.isEmpty()) {
+                    break;
+                }
+                scanned += snapshots.size();
+                corrected += reconcileBatch(snapshots);
+                afterId = snapshots.get(snapshots.size() - 1).getUserId();
+                if (snapshots.size() < batchSize) {
+                    break;
+                }
+                if (!renewLock(lockKey)) {
+                    log.warn("用户计数对账锁已失效，中止本轮: scanned={}, afterId={}", scanned, afterId);
+                    break;
+                }
+                if (config.getReconcileBatchPauseMs() > 0) {
+                    Thread.sleep(config.getReconcileBatchPauseMs());
+                }
+            }
+            log.info("用户计数对账完成: scanned={}, corrected={}", scanned, corrected);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("用户计数对账被中断: scanned={}, corrected={}", scanned, corrected);
+        } catch (Exception e) {
+            log.error("用户计数对账失败: scanned={}, corrected={}", scanned, corrected, e);
+        } finally {
+            unlock(lockKey);
+        }
+        return corrected;
+    }
+
+    // =================== 私有方法 ===================
+
+    private void accumulate(int index, Long userId, long delta) {
+        if (!config.isEnabled()) {
+            applyColumn(index, Map.of(userId, delta));
+            return;
+        }
+        int shard = ThreadLocalRandom.current().nextInt(shardCount());
+        try {
+            stringRedisTemplate.opsForHash().increment(shardKey(index, shard), userId.toString(), delta);
+        } catch (Exception e) {
+            log.error("暂存用户计数增量失败，直接写回 t_user: field={}, userId={}, delta={}",
+                    FIELDS[index], userId, delta, e);
+            applyColumn(index, Map.of(userId, delta));
+            return;
+        }
+        pendingCache.invalidate(userId);
+
+        if (pendingEvents.incrementAndGet() >= config.getFlushThreshold()
+                && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushScheduled.set(false);
+                    }
+                });
+            } catch (Exception e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 分片经 {@link RedisWriteBehind} 原子改名为写回中的键后读取，避免与并发的 HINCRBY 相互覆盖；
+     * 写回中的键在全部子批次提交后才删除，读取期间仍计入待写回增量；有子批次失败时保留，下次原样重试，已提交的子批次跳过
+     */
+    private void flushShard(int index, int shard) {
+        RedisWriteBehind.Batch batch;
+        try {
+            batch = redisWriteBehind.claim(shardKey(index, shard));
+        } catch (Exception e) {
+            log.warn("取走用户计数分片失败: field={}, shard={}, error={}", FIELDS[index], shard, e.getMessage());
+            return;
+        }
+        if (batch == null) {
+            return;
+        }
+
+        Map<Long, Long> deltas = new HashMap<>();
+        stringRedisTemplate.opsForHash().entries(batch.getFlushingKey()).forEach((field, value) ->
+                deltas.put(Long.valueOf(field.toString()), Long.parseLong(value.toString())));
+        List<CountDelta> rows = toRows(deltas);
+
+        boolean failed = false;
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0, part = 0; from < rows.size(); from += batchSize, part++) {
+            List<CountDelta> sub = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            try {
+                if (redisWriteBehind.applyOnce(batch, part, () -> userMapper.batchIncrementCounter(COLUMNS[index], sub))) {
+                    flushedRowsCounter.increment(sub.size());
+                }
+            } catch (Exception e) {
+                failed = true;
+                log.error("用户计数批量写回失败，保留批次等待重试: field={}, batchId={}, rows={}",
+                        FIELDS[index], batch.getBatchId(), sub.size(), e);
+            }
+        }
+        if (!failed) {
+            redisWriteBehind.complete(batch);
+        }
+    }
+
+    /**
+     * 按用户ID升序排列的非零增量，保证多节点写回时加锁顺序一致，重试时子批次划分不变
+     */
+    private static List<CountDelta> toRows(Map<Long, Long> deltas) {
+        List<CountDelta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            if (delta != null && delta != 0) {
+                rows.add(new CountDelta(id, delta));
+            }
+        });
+        rows.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return rows;
+    }
+
+    /**
+     * 直接写回（未启用分片暂存或对账修正）：按用户ID升序分批写回，失败的批次回填到分片等待下次写回
+     */
+    private void applyColumn(int index, Map<Long, Long> deltas) {
+        List<CountDelta> rows = toRows(deltas);
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<CountDelta> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            try {
+                int updated = userMapper.batchIncrementCounter(COLUMNS[index], batch);
+                flushedRowsCounter.increment(batch.size());
+                log.debug("用户计数批量写回成功: field={}, rows={}, updated={}", FIELDS[index], batch.size(), updated);
+            } catch (Exception e) {
+                log.error("用户计数批量写回失败，增量回填等待下次写回: field={}, rows={}", FIELDS[index], batch.size(), e);
+                requeue(index, batch);
+            }
+        }
+    }
+
+    private void requeue(int index, List<CountDelta> batch) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (CountDelta row : batch) {
+            try {
+                int shard = ThreadLocalRandom.current().nextInt(shardCount());
+                stringRedisTemplate.opsForHash().increment(shardKey(index, shard), row.getId().toString(), row.getDelta());
+            } catch (Exception e) {
+                log.error("用户计数增量回填失败: field={}, userId={}, delta={}",
+                        FIELDS[index], row.getId(), row.getDelta(), e);
+            }
+        }
+    }
+
+    /**
+     * 一次流水线读取各分片（含写回中的分片）中这些用户的增量并按计数求和
+     */
+    private Map<Long, long[]> loadPending(Set<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        byte[][] hashFields = new byte[ids.size()][];
+        for (int i = 0; i < ids.size(); i++) {
+            hashFields[i] = ids.get(i).toString().getBytes(StandardCharsets.UTF_8);
+        }
+        List<Integer> keyFields = new ArrayList<>();
+        List<byte[]> keys = new ArrayList<>();
+        for (int index = 0; index < FIELDS.length; index++) {
+            for (int shard = 0; shard < shardCount(); shard++) {
+                String key = shardKey(index, shard);
+                keys.add(key.getBytes(StandardCharsets.UTF_8));
+                keys.add((key + RedisWriteBehind.FLUSHING_SUFFIX).getBytes(StandardCharsets.UTF_8));
+                keyFields.add(index);
+                keyFields.add(index);
+            }
+        }
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] key : keys) {
+                connection.hashCommands().hMGet(key, hashFields);
+            }
+            return null;
+        });
+
+        Map<Long, long[]> pending = new HashMap<>();
+        for (Long id : ids) {
+            pending.put(id, new long[FIELDS.length]);
+        }
+        for (int k = 0; k < results.size(); k++) {
+            if (!(results.get(k) instanceof List<?> values)) {
+                continue;
+            }
+            int index = keyFields.get(k);
+            for (int i = 0; i < values.size() && i < ids.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    pending.get(ids.get(i))[index] += Long.parseLong(value.toString());
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 对一批用户按差值修正计数；仍有待写回增量的用户跳过，留待下一轮
+     */
+    private long reconcileBatch(List<UserCounterSnapshot> snapshots) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (UserCounterSnapshot snapshot : snapshots) {
+            userIds.add(snapshot.getUserId());
+        }
+        Map<Long, long[]> pending = config.isEnabled() ? loadPending(userIds) : Map.of();
+
+        List<Map<Long, Long>> corrections = new ArrayList<>(FIELDS.length);
+        for (int index = 0; index < FIELDS.length; index++) {
+            corrections.add(new HashMap<>());
+        }
+        for (UserCounterSnapshot snapshot : snapshots) {
+            long[] deltas = pending.get(snapshot.getUserId());
+            if (deltas != null && (deltas[0] != 0 || deltas[1] != 0 || deltas[2] != 0 || deltas[3] != 0)) {
+                continue;
+            }
+            collect(corrections.get(0), snapshot.getUserId(), snapshot.getActualFollowingCount(), snapshot.getFollowingCount());
+            collect(corrections.get(1), snapshot.getUserId(), snapshot.getActualFollowerCount(), snapshot.getFollowerCount());
+            collect(corrections.get(2), snapshot.getUserId(), snapshot.getActualLikeCount(), snapshot.getLikeCount());
+            collect(corrections.get(3), snapshot.getUserId(), snapshot.getActualContentCount(), snapshot.getContentCount());
+        }
+
+        long corrected = 0;
+        for (int index = 0; index < FIELDS.length; index++) {
+            Map<Long, Long> deltas = corrections.get(index);
+            if (deltas.isEmpty()) {
+                continue;
+            }
+            log.info("用户计数对账修正: field={}, users={}", FIELDS[index], deltas.keySet());
+            applyColumn(index, deltas);
+            reconciledCounters.get(FIELDS[index]).increment(deltas.size());
+            corrected += deltas.size();
+        }
+        pendingCache.invalidateAll(userIds);
+        return corrected;
+    }
+
+    private static void collect(Map<Long, Long> corrections, Long userId, Long actual, Long stored) {
+        long diff = (actual != null ? actual : 0L) - (stored != null ? stored : 0L);
+        if (diff != 0) {
+            corrections.put(userId, diff);
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, nodeId, config.getLockTtlMs(), TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            log.warn("获取用户计数锁失败: key={}, error={}", lockKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean renewLock(String lockKey) {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(lockKey), nodeId,
+                    String.valueOf(config.getLockTtlMs()));
+            return renewed != null && renewed == 1L;
+        } catch (Exception e) {
+            log.warn("续期用户计数锁失败: key={}, error={}", lockKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), nodeId);
+        } catch (Exception e) {
+            log.warn("释放用户计数锁失败: key={}, error={}", lockKey, e.getMessage());
+        }
+    }
+
+    private static Long plus(Long value, long delta) {
+        return Math.max(0L, (value != null ? value : 0L) + delta);
+    }
+
+    private static int fieldIndex(String field) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int shardCount() {
+        return Math.max(1, config.getShards());
+    }
+
+    private String shardKey(int index, int shard) {
+        return config.getRedisKeyPrefix() + FIELDS[index] + ":" + shard;
+    }
+
+    /**
+     * 热点探测使用的逻辑键（用户的待写回增量分散在各分片中，没有对应的 Redis 键）
+     */
+    private String hotKey(Long userId) {
+        return config.getRedisKeyPrefix() + "user:" + userId;
+    }
+}
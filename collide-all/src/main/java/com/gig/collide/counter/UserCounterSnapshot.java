@@ -0,0 +1,44 @@
+package com.gig.collide.counter;
+
+import lombok.Data;
+
+/**
+ * 用户计数对账快照
+ * t_user 中保存的计数与按明细表重新统计的计数
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Data
+public class UserCounterSnapshot {
+
+    private Long userId;
+
+    private Long followingCount;
+
+    private Long followerCount;
+
+    private Long likeCount;
+
+    private Long contentCount;
+
+    /**
+     * t_follow 中该用户有效的关注数
+     */
+    private Long actualFollowingCount;
+
+    /**
+     * t_follow 中该用户有效的粉丝数
+     */
+    private Long actualFollowerCount;
+
+    /**
+     * t_like 中该用户作品有效的获赞数
+     */
+    private Long actualLikeCount;
+
+    /**
+     * t_content 中该用户已发布的内容数
+     */
+    private Long actualContentCount;
+}
@@ -55,6 +55,18 @@ public class Comment {
     @TableField("parent_comment_id")
     private Long parentCommentId;
 
+    /**
+     * 根评论ID（根评论为自身ID）
+     */
+    @TableField("root_comment_id")
+    private Long rootCommentId;
+
+    /**
+     * 物化路径：各级评论ID（含自身）的定长36进制编码，以/分隔，字典序即先序遍历顺序
+     */
+    @TableField("comment_path")
+    private String commentPath;
+
     /**
      * 评论内容
      */
@@ -137,7 +149,7 @@ public class Comment {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updateTime;
 
-    // =================== 扩展字段（用于树形结构） ===================
+    // =================== 树形结构字段 ===================
 
     /**
      * 子评论列表（用于树形展示，不映射到数据库）
@@ -146,9 +158,9 @@ public class Comment {
     private List<Comment> children;
 
     /**
-     * 评论层级深度（不映射到数据库）
+     * 评论层级深度，根评论为0
      */
-    @TableField(exist = false)
+    @TableField("comment_level")
     private Integer level;
 
     // =================== 业务方法 ===================
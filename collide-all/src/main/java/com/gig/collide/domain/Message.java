@@ -102,6 +102,12 @@ public class Message {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updateTime;
 
+    /**
+     * 客户端消息键（非数据库字段），用于重试去重与推送帧匹配
+     */
+    @TableField(exist = false)
+    private String clientMsgId;
+
     // =================== 业务方法 ===================
 
     /**
@@ -0,0 +1,121 @@
+package com.gig.collide.domain;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户资料变更事件实体类
+ * 对应 t_profile_change_outbox 表，修改昵称/头像时与资料修改在同一事务中写入，
+ * 由后台任务按字段组依次分块改写各业务表中的冗余昵称/头像
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@TableName("t_profile_change_outbox")
+public class ProfileChangeEvent {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_SUPERSEDED = "SUPERSEDED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    /**
+     * 事件ID - 主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 新昵称（为空时不改写）
+     */
+    @TableField("nickname")
+    private String nickname;
+
+    /**
+     * 新头像（为空时不改写）
+     */
+    @TableField("avatar")
+    private String avatar;
+
+    /**
+     * 需要改写的冗余字段组，逗号分隔，按顺序执行
+     */
+    @TableField("targets")
+    private String targets;
+
+    /**
+     * 状态：PENDING、RUNNING、DONE、SUPERSEDED、FAILED
+     */
+    @TableField("status")
+    private String status;
+
+    /**
+     * 当前执行到的字段组下标
+     */
+    @TableField("step_index")
+    private Integer stepIndex;
+
+    /**
+     * 当前字段组已处理到的主键
+     */
+    @TableField("cursor_id")
+    private Long cursorId;
+
+    /**
+     * 已改写行数
+     */
+    @TableField("rows_updated")
+    private Long rowsUpdated;
+
+    /**
+     * 失败次数
+     */
+    @TableField("attempts")
+    private Integer attempts;
+
+    /**
+     * 最近一次失败原因
+     */
+    @TableField("last_error")
+    private String lastError;
+
+    /**
+     * 当前处理节点
+     */
+    @TableField("owner")
+    private String owner;
+
+    /**
+     * 处理租约到期时间
+     */
+    @TableField("lease_until")
+    private LocalDateTime leaseUntil;
+
+    /**
+     * 最早可处理时间
+     */
+    @TableField("next_run_time")
+    private LocalDateTime nextRunTime;
+
+    @TableField("create_time")
+    private LocalDateTime createTime;
+
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,170 @@
+package com.gig.collide.graph;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 单个用户的关注或粉丝ID集合
+ * 由不可变的基础集合与少量有序的新增/删除ID组成，关注变更只复制增删数组，
+ * 增删ID累计超过上限时才合并生成新的基础集合，大V粉丝集合的变更不必每次整体复制
+ *
+ * 实例不可变，变更返回新实例
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+final class FollowAdjacency {
+
+    /**
+     * 集合过大、不缓存的占位值
+     */
+    static final FollowAdjacency OVERSIZED = new FollowAdjacency(FollowIdSet.EMPTY, new long[0], new long[0]);
+
+    private static final long[] NONE = new long[0];
+
+    private final FollowIdSet base;
+
+    /**
+     * 不在基础集合中的新增ID（升序）
+     */
+    private final long[] added;
+
+    /**
+     * 基础集合中已删除的ID（升序）
+     */
+    private final long[] removed;
+
+    private FollowAdjacency(FollowIdSet base, long[] added, long[] removed) {
+        this.base = base;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    static FollowAdjacency of(long[] ids, int compressThreshold) {
+        return new FollowAdjacency(FollowIdSet.of(ids, compressThreshold), NONE, NONE);
+    }
+
+    int size() {
+        return base.size() + added.length - removed.length;
+    }
+
+    boolean contains(long id) {
+        if (Arrays.binarySearch(added, id) >= 0) {
+            return true;
+        }
+        return base.contains(id) && Arrays.binarySearch(removed, id) < 0;
+    }
+
+    FollowAdjacency with(long id, int overlayLimit, int compressThreshold) {
+        if (contains(id)) {
+            return this;
+        }
+        int index = Arrays.binarySearch(removed, id);
+        FollowAdjacency next = index >= 0
+                ? new FollowAdjacency(base, added, remove(removed, index))
+                : new FollowAdjacency(base, insert(added, insertionPoint(added, id), id), removed);
+        return next.compactIfNeeded(overlayLimit, compressThreshold);
+    }
+
+    FollowAdjacency without(long id, int overlayLimit, int compressThreshold) {
+        if (!contains(id)) {
+            return this;
+        }
+        int index = Arrays.binarySearch(added, id);
+        FollowAdjacency next = index >= 0
+                ? new FollowAdjacency(base, remove(added, index), removed)
+                : new FollowAdjacency(base, added, insert(removed, insertionPoint(removed, id), id));
+        return next.compactIfNeeded(overlayLimit, compressThreshold);
+    }
+
+    /**
+     * 按升序遍历
+     */
+    void forEach(LongConsumer consumer) {
+        if (added.length == 0 && removed.length == 0) {
+            base.forEach(consumer);
+            return;
+        }
+        long[] merged = toArray();
+        for (long id : merged) {
+            consumer.accept(id);
+        }
+    }
+
+    /**
+     * 升序ID数组
+     */
+    long[] toArray() {
+        if (added.length == 0 && removed.length == 0) {
+            return base.toArray();
+        }
+        long[] result = new long[size()];
+        int[] cursor = new int[3];
+        base.forEach(id -> {
+            while (cursor[1] < added.length && added[cursor[1]] < id) {
+                result[cursor[0]++] = added[cursor[1]++];
+            }
+            if (cursor[2] < removed.length && removed[cursor[2]] == id) {
+                cursor[2]++;
+                return;
+            }
+            result[cursor[0]++] = id;
+        });
+        while (cursor[1] < added.length) {
+            result[cursor[0]++] = added[cursor[1]++];
+        }
+        return result;
+    }
+
+    /**
+     * 求交集：遍历较小的集合，逐个在较大的集合中查找
+     *
+     * @return 升序的交集ID
+     */
+    long[] intersect(FollowAdjacency other) {
+        FollowAdjacency smaller = size() <= other.size() ? this : other;
+        FollowAdjacency larger = smaller == this ? other : this;
+        long[] buffer = new long[smaller.size()];
+        int[] count = new int[1];
+        smaller.forEach(id -> {
+            if (larger.contains(id)) {
+                buffer[count[0]++] = id;
+            }
+        });
+        return Arrays.copyOf(buffer, count[0]);
+    }
+
+    /**
+     * 估算占用字节数
+     */
+    long estimatedBytes() {
+        return 32L + base.estimatedBytes() + (added.length + removed.length) * 8L;
+    }
+
+    private FollowAdjacency compactIfNeeded(int overlayLimit, int compressThreshold) {
+        if (added.length + removed.length <= overlayLimit) {
+            return this;
+        }
+        return new FollowAdjacency(FollowIdSet.ofSorted(toArray(), compressThreshold), NONE, NONE);
+    }
+
+    private static int insertionPoint(long[] sorted, long id) {
+        int index = Arrays.binarySearch(sorted, id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long[] insert(long[] sorted, int index, long id) {
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        result[index] = id;
+        System.arraycopy(sorted, index, result, index + 1, sorted.length - index);
+        return result;
+    }
+
+    private static long[] remove(long[] sorted, int index) {
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+}
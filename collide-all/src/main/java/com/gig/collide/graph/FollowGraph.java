@@ -0,0 +1,424 @@
+package com.gig.collide.graph;
+
+import com.gig.collide.config.FollowGraphConfig;
+import com.gig.collide.mapper.FollowMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 关注图缓存
+ * 在本地内存中按用户保存有效的关注ID集合与粉丝ID集合，关系判断、互关求交、批量关注状态与“好友的好友”推荐不再联表查询 t_follow
+ *
+ * 实现特性：
+ * - 集合首次访问时从 t_follow 加载（粉丝集合按ID游标分批），超过上限的集合不缓存，相关查询回退数据库
+ * - 集合为有序 long 数组，大集合分块差值压缩；关注变更只修改少量增删数组，累计到上限时才合并
+ * - 关注、取消关注、重新激活在事务提交后修改本节点已缓存的集合，并广播给其他节点做同样的修改
+ * - 集合有效期从加载时起算，变更不续期，广播丢失时最迟在有效期后重新加载
+ * - 未缓存的集合不因变更而加载；加载在缓存计算之外执行（不占用缓存的哈希桶锁），同一集合同时只有一个线程加载，
+ *   加载期间发生变更时本次结果不写入缓存，下次访问重新加载，提交前开始的加载不会丢失提交后的变更
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraph implements MessageListener {
+
+    private static final String ACTIVE = "active";
+    private static final String OP_FOLLOW = "F";
+    private static final String OP_UNFOLLOW = "U";
+
+    private final FollowGraphConfig config;
+    private final FollowMapper followMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识，忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    /**
+     * 用户ID -> 该用户关注的用户ID集合
+     */
+    private Cache<Long, FollowAdjacency> following;
+
+    /**
+     * 用户ID -> 关注该用户的用户ID集合
+     */
+    private Cache<Long, FollowAdjacency> followers;
+
+    /**
+     * 正在加载的集合：用户ID -> 加载
+     */
+    private final Map<Long, Loading> followingLoads = new ConcurrentHashMap<>();
+    private final Map<Long, Loading> followerLoads = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        following = buildCache();
+        followers = buildCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, following, "follow.graph.following");
+        CaffeineCacheMetrics.monitor(meterRegistry, followers, "follow.graph.followers");
+
+        if (config.isEnabled()) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(config.getChannel()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // =================== 查询 ===================
+
+    /**
+     * 用户关注的用户ID（升序）
+     *
+     * @return 关注图不可用或集合过大时返回 null，由调用方回退数据库
+     */
+    public List<Long> getFollowingIds(Long userId) {
+        FollowAdjacency set = followingOf(userId);
+        return set != null ? toList(set.toArray()) : null;
+    }
+
+    /**
+     * 批量判断关注状态
+     *
+     * @return 关注图不可用或集合过大时返回 null，由调用方回退数据库
+     */
+    public Map<Long, Boolean> batchIsFollowing(Long followerId, Collection<Long> followeeIds) {
+        FollowAdjacency set = followingOf(followerId);
+        if (set == null) {
+            return null;
+        }
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long followeeId : followeeIds) {
+            if (followeeId != null) {
+                result.put(followeeId, set.contains(followeeId));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断 followerId 是否关注了 followeeId
+     *
+     * @return 关注图不可用或集合过大时返回 null，由调用方回退数据库
+     */
+    public Boolean isFollowing(Long followerId, Long followeeId) {
+        FollowAdjacency set = followingOf(followerId);
+        return set != null && followeeId != null ? set.contains(followeeId) : null;
+    }
+
+    /**
+     * 互相关注的用户ID（升序）：关注集合与粉丝集合求交，遍历较小的集合
+     *
+     * @return 关注图不可用或集合过大时返回 null，由调用方回退数据库
+     */
+    public long[] getMutualIds(Long userId) {
+        FollowAdjacency out = followingOf(userId);
+        if (out == null) {
+            return null;
+        }
+        if (out.size() == 0) {
+            return new long[0];
+        }
+        FollowAdjacency in = followersOf(userId);
+        return in != null ? out.intersect(in) : null;
+    }
+
+    /**
+     * “好友的好友”推荐：统计用户关注的人还关注了谁，排除自己与已关注的用户，按共同关注人数降序
+     *
+     * @param userId 用户ID
+     * @param limit 返回数量
+     * @return 推荐用户ID -> 共同关注人数；关注图不可用时返回 null
+     */
+    public Map<Long, Integer> suggestFriendsOfFriends(Long userId, int limit) {
+        FollowAdjacency out = followingOf(userId);
+        if (out == null) {
+            return null;
+        }
+        Map<Long, Integer> scores = new HashMap<>();
+        long[] friends = out.toArray();
+        int fanout = Math.min(friends.length, Math.max(0, config.getSuggestionFanout()));
+        for (int i = 0; i < fanout; i++) {
+            FollowAdjacency friendFollowing = followingOf(friends[i]);
+            if (friendFollowing == null) {
+                continue;
+            }
+            friendFollowing.forEach(candidate -> {
+                if (candidate != userId && !out.contains(candidate)) {
+                    scores.merge(candidate, 1, Integer::sum);
+                }
+            });
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort((a, b) -> b.getValue().equals(a.getValue())
+                ? Long.compare(a.getKey(), b.getKey()) : Integer.compare(b.getValue(), a.getValue()));
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            result.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        return result;
+    }
+
+    // =================== 变更 ===================
+
+    /**
+     * 关注关系生效或取消；处于事务中时在事务提交后修改集合并广播
+     */
+    public void onFollowChanged(Long followerId, Long followeeId, boolean active) {
+        if (!config.isEnabled() || followerId == null || followeeId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            apply(followerId, followeeId, active);
+            publish(active ? OP_FOLLOW : OP_UNFOLLOW, followerId, followeeId);
+        });
+    }
+
+    /**
+     * 清除全部缓存的集合
+     */
+    public void clear() {
+        followingLoads.values().forEach(Loading::markChanged);
+        followerLoads.values().forEach(Loading::markChanged);
+        following.invalidateAll();
+        followers.invalidateAll();
+    }
+
+    /**
+     * 处理其他节点的广播，格式：节点ID|操作|关注者ID|被关注者ID
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|");
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            apply(Long.valueOf(parts[2]), Long.valueOf(parts[3]), OP_FOLLOW.equals(parts[1]));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的关注图广播: {}", body);
+        }
+    }
+
+    // =================== 内部方法 ===================
+
+    private FollowAdjacency followingOf(Long userId) {
+        if (!config.isEnabled() || userId == null) {
+            return null;
+        }
+        try {
+            return usable(getOrLoad(following, followingLoads, userId, this::loadFollowing));
+        } catch (Exception e) {
+            log.warn("加载关注集合失败，回退数据库: userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private FollowAdjacency followersOf(Long userId) {
+        if (!config.isEnabled() || userId == null) {
+            return null;
+        }
+        try {
+            return usable(getOrLoad(followers, followerLoads, userId, this::loadFollowers));
+        } catch (Exception e) {
+            log.warn("加载粉丝集合失败，回退数据库: userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 读取缓存的集合，未缓存时加载：同一集合只有一个线程执行加载，其余线程等待其结果
+     * 加载结果仅在加载期间没有变更时写入缓存；写入与 {@link #apply} 的修改在缓存中按键串行，
+     * 变更要么在写入前被标记（不写入），要么在写入后作用于已缓存的集合
+     */
+    private FollowAdjacency getOrLoad(Cache<Long, FollowAdjacency> cache, Map<Long, Loading> loads, Long userId,
+                                      Function<Long, FollowAdjacency> loader) {
+        FollowAdjacency cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Loading loading = new Loading();
+        Loading existing = loads.putIfAbsent(userId, loading);
+        if (existing != null) {
+            return existing.result.join();
+        }
+        try {
+            FollowAdjacency set = cache.getIfPresent(userId);
+            if (set == null) {
+                FollowAdjacency loaded = loader.apply(userId);
+                cache.asMap().compute(userId, (k, current) -> current != null || loading.changed ? current : loaded);
+                set = loaded;
+            }
+            loading.result.complete(set);
+            return set;
+        } catch (RuntimeException e) {
+            loading.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(userId, loading);
+        }
+    }
+
+    private static FollowAdjacency usable(FollowAdjacency set) {
+        return set == FollowAdjacency.OVERSIZED ? null : set;
+    }
+
+    private FollowAdjacency loadFollowing(Long userId) {
+        List<Long> ids = followMapper.getFollowingAuthorIds(userId, ACTIVE);
+        if (ids.size() > config.getMaxSetSize()) {
+            log.info("关注集合过大，不缓存: userId={}, size={}", userId, ids.size());
+            return FollowAdjacency.OVERSIZED;
+        }
+        return FollowAdjacency.of(toArray(ids), config.getCompressThreshold());
+    }
+
+    private FollowAdjacency loadFollowers(Long userId) {
+        int batchSize = Math.max(1, config.getLoadBatchSize());
+        long[] ids = new long[Math.min(batchSize, Math.max(1, config.getMaxSetSize()))];
+        int size = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> batch = followMapper.findActiveFollowerIdsAfter(userId, afterId, batchSize);
+            if (size + batch.size() > config.getMaxSetSize()) {
+                log.info("粉丝集合过大，不缓存: userId={}, size>{}", userId, config.getMaxSetSize());
+                return FollowAdjacency.OVERSIZED;
+            }
+            if (size + batch.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + batch.size(), ids.length * 2));
+            }
+            for (Long id : batch) {
+                ids[size++] = id;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1);
+        }
+        return FollowAdjacency.of(Arrays.copyOf(ids, size), config.getCompressThreshold());
+    }
+
+    /**
+     * 只修改本节点已缓存的集合
+     */
+    private void apply(Long followerId, Long followeeId, boolean active) {
+        // 先标记正在进行的加载，再修改已缓存的集合
+        Loading followingLoad = followingLoads.get(followerId);
+        if (followingLoad != null) {
+            followingLoad.markChanged();
+        }
+        Loading followerLoad = followerLoads.get(followeeId);
+        if (followerLoad != null) {
+            followerLoad.markChanged();
+        }
+        int overlayLimit = config.getOverlayLimit();
+        int compressThreshold = config.getCompressThreshold();
+        following.asMap().computeIfPresent(followerId, (k, set) -> set == FollowAdjacency.OVERSIZED ? set
+                : active ? set.with(followeeId, overlayLimit, compressThreshold)
+                : set.without(followeeId, overlayLimit, compressThreshold));
+        followers.asMap().computeIfPresent(followeeId, (k, set) -> set == FollowAdjacency.OVERSIZED ? set
+                : active ? set.with(followerId, overlayLimit, compressThreshold)
+                : set.without(followerId, overlayLimit, compressThreshold));
+    }
+
+    private void publish(String op, Long followerId, Long followeeId) {
+        try {
+            stringRedisTemplate.convertAndSend(config.getChannel(),
+                    nodeId + "|" + op + "|" + followerId + "|" + followeeId);
+        } catch (Exception e) {
+            log.warn("广播关注图变更失败: op={}, error={}", op, e.getMessage());
+        }
+    }
+
+    private Cache<Long, FollowAdjacency> buildCache() {
+        long expireNanos = Duration.ofMillis(Math.max(1, config.getExpireMs())).toNanos();
+        return Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, config.getMaxWeightMb()) * 1024 * 1024)
+                .weigher((Long userId, FollowAdjacency set) -> (int) Math.min(Integer.MAX_VALUE, set.estimatedBytes()))
+                .expireAfter(new Expiry<Long, FollowAdjacency>() {
+                    @Override
+                    public long expireAfterCreate(Long key, FollowAdjacency value, long currentTime) {
+                        return expireNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, FollowAdjacency value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, FollowAdjacency value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * 一次进行中的集合加载
+     */
+    private static final class Loading {
+
+        private final CompletableFuture<FollowAdjacency> result = new CompletableFuture<>();
+
+        /**
+         * 加载期间该集合是否发生过变更
+         */
+        private volatile boolean changed;
+
+        void markChanged() {
+            changed = true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.gig.collide.graph;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 不可变的有序用户ID集合
+ * ID数不超过压缩阈值时直接保存有序 long 数组；超过时按 128 个一块，
+ * 块首ID保存在数组中，块内其余ID保存与前一个ID的差值（变长编码），粉丝数百万的集合也只占用数MB
+ *
+ * 实例不可变，可被多线程共享
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+final class FollowIdSet {
+
+    static final FollowIdSet EMPTY = new FollowIdSet(new long[0]);
+
+    private static final int BLOCK_SIZE = 128;
+
+    private final int size;
+
+    /**
+     * 未压缩时的有序ID
+     */
+    private final long[] ids;
+
+    /**
+     * 压缩时每块的首个ID
+     */
+    private final long[] heads;
+
+    /**
+     * 压缩时每块差值在 deltas 中的起始位置
+     */
+    private final int[] offsets;
+
+    /**
+     * 压缩时块内差值的变长编码
+     */
+    private final byte[] deltas;
+
+    private FollowIdSet(long[] ids) {
+        this.size = ids.length;
+        this.ids = ids;
+        this.heads = null;
+        this.offsets = null;
+        this.deltas = null;
+    }
+
+    private FollowIdSet(int size, long[] heads, int[] offsets, byte[] deltas) {
+        this.size = size;
+        this.ids = null;
+        this.heads = heads;
+        this.offsets = offsets;
+        this.deltas = deltas;
+    }
+
+    /**
+     * 由任意顺序、可能重复的ID构建
+     */
+    static FollowIdSet of(long[] ids, int compressThreshold) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return ofSorted(unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique), compressThreshold);
+    }
+
+    /**
+     * 由升序且无重复的ID构建
+     */
+    static FollowIdSet ofSorted(long[] sorted, int compressThreshold) {
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+        if (sorted.length <= compressThreshold) {
+            return new FollowIdSet(sorted);
+        }
+        int blocks = (sorted.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] heads = new long[blocks];
+        int[] offsets = new int[blocks];
+        byte[] buffer = new byte[sorted.length * 2];
+        int position = 0;
+        for (int block = 0; block < blocks; block++) {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, sorted.length);
+            heads[block] = sorted[from];
+            offsets[block] = position;
+            for (int i = from + 1; i < to; i++) {
+                if (buffer.length - position < 10) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                position = writeVarLong(buffer, position, sorted[i] - sorted[i - 1]);
+            }
+        }
+        return new FollowIdSet(sorted.length, heads, offsets, Arrays.copyOf(buffer, position));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        if (ids != null) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+        int block = Arrays.binarySearch(heads, id);
+        if (block >= 0) {
+            return true;
+        }
+        block = -block - 2;
+        if (block < 0) {
+            return false;
+        }
+        int count = blockLength(block);
+        long current = heads[block];
+        int[] position = {offsets[block]};
+        for (int i = 1; i < count; i++) {
+            current += readVarLong(deltas, position);
+            if (current >= id) {
+                return current == id;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按升序遍历
+     */
+    void forEach(LongConsumer consumer) {
+        if (ids != null) {
+            for (long id : ids) {
+                consumer.accept(id);
+            }
+            return;
+        }
+        int[] position = new int[1];
+        for (int block = 0; block < heads.length; block++) {
+            long current = heads[block];
+            consumer.accept(current);
+            position[0] = offsets[block];
+            int count = blockLength(block);
+            for (int i = 1; i < count; i++) {
+                current += readVarLong(deltas, position);
+                consumer.accept(current);
+            }
+        }
+    }
+
+    /**
+     * 升序ID数组
+     */
+    long[] toArray() {
+        if (ids != null) {
+            return ids.clone();
+        }
+        long[] result = new long[size];
+        int[] index = new int[1];
+        forEach(id -> result[index[0]++] = id);
+        return result;
+    }
+
+    /**
+     * 估算占用字节数
+     */
+    long estimatedBytes() {
+        if (ids != null) {
+            return 16L + ids.length * 8L;
+        }
+        return 48L + heads.length * 12L + deltas.length;
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarLong(byte[] buffer, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.gig.collide.hotkey;
+
+import com.gig.collide.config.HotKeyConfig;
+import com.gig.collide.search.CountMinSketch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Redis 热点键探测与本地提升
+ * 对读取按采样率记录到滑动窗口频次草图，窗口内估计次数达到阈值的键提升为热点，
+ * 热点键的读取由进程内短期副本承接，不再每次访问 Redis
+ *
+ * 实现特性：
+ * - 窗口由多个 Count-Min Sketch 分片环形复用，过期分片在下次写入时清零，内存与键的数量无关
+ * - 草图按键哈希分段，每段覆盖互不相交的键、独立加锁，采样读取只竞争所在分段的锁
+ * - 热点身份有有效期，持续热点时续期；新提升或续期时广播给其他节点，各节点同时提升
+ * - 本地副本按 键 + 读取参数 保存（同一有序集合的不同分页各一份），有效期很短（默认1秒），同一节点同一份只有一个线程回源
+ * - 调用方写入后调用 {@link #invalidate} 失效该键的全部本地副本并广播，其他节点删除各自的副本；
+ *   未调用的写入（如高频计数增量）最多滞后一个副本有效期
+ *
+ * 接入：时间线发件箱/收件箱分页、点赞状态集合、用户计数待写回增量的 StringRedisTemplate 读取路径
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotKeyDetector implements MessageListener {
+
+    private static final String OP_PROMOTE = "P";
+    private static final String OP_INVALIDATE = "I";
+    private static final String KEY_SEPARATOR = "\n";
+
+    /**
+     * null 读取结果占位值
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private final HotKeyConfig config;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识，忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    /**
+     * 热点键 -> 最近一次广播的时间戳
+     */
+    private Cache<String, Long> hotKeys;
+
+    /**
+     * 热点键的本地副本
+     */
+    private Cache<LocalKey, Object> values;
+
+    /**
+     * 按键哈希分段的滑动窗口草图
+     */
+    private SlidingSketch[] windows;
+
+    private Counter localPromotions;
+    private Counter remotePromotions;
+    private Counter hotHits;
+    private Counter hotLoads;
+
+    @PostConstruct
+    public void init() {
+        hotKeys = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getMaxHotKeys()))
+                .expireAfterWrite(Duration.ofMillis(config.getPromotionTtlMs()))
+                .build();
+        values = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getMaxLocalValues()))
+                .expireAfterWrite(Duration.ofMillis(config.getValueTtlMs()))
+                .build();
+        int stripes = Math.max(1, config.getSketchStripes());
+        int stripeWidth = Math.max(1, config.getSketchWidth() / stripes);
+        windows = new SlidingSketch[stripes];
+        for (int i = 0; i < stripes; i++) {
+            windows[i] = new SlidingSketch(Math.max(1, config.getWindowSlices()), Math.max(1, config.getSliceMs()),
+                    config.getSketchDepth(), stripeWidth);
+        }
+
+        localPromotions = Counter.builder("collide.hotkey.promotions")
+                .tag("source", "local")
+                .description("热点键提升次数")
+                .register(meterRegistry);
+        remotePromotions = Counter.builder("collide.hotkey.promotions")
+                .tag("source", "remote")
+                .description("热点键提升次数")
+                .register(meterRegistry);
+        hotHits = Counter.builder("collide.hotkey.reads")
+                .tag("result", "hit")
+                .description("热点键读取次数")
+                .register(meterRegistry);
+        hotLoads = Counter.builder("collide.hotkey.reads")
+                .tag("result", "load")
+                .description("热点键读取次数")
+                .register(meterRegistry);
+        Gauge.builder("collide.hotkey.keys", this, detector -> detector.hotKeys.estimatedSize())
+                .description("当前热点键数")
+                .register(meterRegistry);
+
+        if (config.isEnabled()) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(config.getChannel()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // =================== 读取与失效 ===================
+
+    /**
+     * 读取键：热点键从本地副本返回（过期后由一个线程回源），其余键记录访问后直接回源
+     *
+     * @param key Redis 键，按键统计访问频次
+     * @param variant 读取参数（分页游标、查询成员等），同一键不同参数的结果分别保存
+     * @param loader 访问 Redis 的原读取逻辑
+     */
+    public <T> T read(String key, String variant, Supplier<T> loader) {
+        return recordRead(key) ? readLocal(key, variant, loader) : loader.get();
+    }
+
+    /**
+     * 记录一次读取，返回键当前是否为热点
+     * 供需要把非热点键合并批量读取的调用方使用，热点键再通过 {@link #readLocal} 读取
+     */
+    public boolean recordRead(String key) {
+        if (!config.isEnabled() || key == null) {
+            return false;
+        }
+        record(key);
+        return hotKeys.getIfPresent(key) != null;
+    }
+
+    /**
+     * 从本地副本读取（不记录访问），副本过期后由一个线程回源
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readLocal(String key, String variant, Supplier<T> loader) {
+        boolean[] loaded = new boolean[1];
+        Object value = values.get(new LocalKey(key, variant), k -> {
+            loaded[0] = true;
+            Object v = loader.get();
+            return v != null ? v : NULL_VALUE;
+        });
+        (loaded[0] ? hotLoads : hotHits).increment();
+        return value == NULL_VALUE ? null : (T) value;
+    }
+
+    /**
+     * 键被写入或删除后失效本地副本并广播
+     */
+    public void invalidate(Collection<String> keys) {
+        if (!config.isEnabled() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> promoted = new ArrayList<>();
+        for (String key : keys) {
+            if (key != null && hotKeys.getIfPresent(key) != null) {
+                promoted.add(key);
+            }
+        }
+        if (promoted.isEmpty()) {
+            return;
+        }
+        invalidateLocal(promoted);
+        publish(OP_INVALIDATE, promoted);
+    }
+
+    /**
+     * 当前热点键及窗口内估计读取次数（按估计次数降序）
+     */
+    public Map<String, Long> snapshot() {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (String key : hotKeys.asMap().keySet()) {
+            SlidingSketch window = window(key);
+            long estimate;
+            synchronized (window) {
+                estimate = window.estimate(key, now) * Math.max(1, config.getSampleRate());
+            }
+            entries.add(Map.entry(key, estimate));
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 清除全部热点身份与本地副本
+     */
+    public void clear() {
+        hotKeys.invalidateAll();
+        values.invalidateAll();
+    }
+
+    // =================== 广播 ===================
+
+    /**
+     * 处理其他节点的广播，格式：节点ID|操作|键（多个键以换行分隔）
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        List<String> keys = Arrays.asList(parts[2].split(KEY_SEPARATOR));
+        if (OP_PROMOTE.equals(parts[1])) {
+            long now = System.currentTimeMillis();
+            for (String key : keys) {
+                hotKeys.put(key, now);
+            }
+            remotePromotions.increment(keys.size());
+        } else if (OP_INVALIDATE.equals(parts[1])) {
+            invalidateLocal(keys);
+        }
+    }
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 按采样率记录一次读取，达到阈值时提升为热点；热点持续期间每半个有效期续期并广播一次
+     */
+    private void record(String key) {
+        int sampleRate = Math.max(1, config.getSampleRate());
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SlidingSketch window = window(key);
+        long estimate;
+        synchronized (window) {
+            estimate = window.addAndEstimate(key, now) * sampleRate;
+        }
+        if (estimate < config.getHotThreshold()) {
+            return;
+        }
+        Long lastBroadcastAt = hotKeys.getIfPresent(key);
+        if (lastBroadcastAt != null && now - lastBroadcastAt < config.getPromotionTtlMs() / 2) {
+            return;
+        }
+        hotKeys.put(key, now);
+        if (lastBroadcastAt == null) {
+            localPromotions.increment();
+            log.info("Redis 热点键提升: key={}, estimate={}", key, estimate);
+        }
+        publish(OP_PROMOTE, List.of(key));
+    }
+
+    /**
+     * 键所在的草图分段
+     */
+    private SlidingSketch window(String key) {
+        int hash = key.hashCode();
+        return windows[Math.floorMod(hash ^ (hash >>> 16), windows.length)];
+    }
+
+    /**
+     * 删除键的全部本地副本（各读取参数）
+     */
+    private void invalidateLocal(Collection<String> keys) {
+        Set<String> keySet = new HashSet<>(keys);
+        values.asMap().keySet().removeIf(localKey -> keySet.contains(localKey.key()));
+    }
+
+    private void publish(String op, Collection<String> keys) {
+        try {
+            stringRedisTemplate.convertAndSend(config.getChannel(),
+                    nodeId + "|" + op + "|" + String.join(KEY_SEPARATOR, keys));
+        } catch (Exception e) {
+            log.warn("广播热点键变更失败: op={}, error={}", op, e.getMessage());
+        }
+    }
+
+    /**
+     * 本地副本键：Redis 键 + 读取参数
+     */
+    private record LocalKey(String key, String variant) {
+    }
+
+    /**
+     * 滑动窗口频次草图：每个分片一个 Count-Min Sketch，按分片序号环形复用
+     * 非线程安全，由调用方按分段同步
+     */
+    private static final class SlidingSketch {
+
+        private final long sliceMs;
+        private final CountMinSketch[] slices;
+        private final long[] sliceIds;
+
+        SlidingSketch(int sliceCount, long sliceMs, int depth, int width) {
+            this.sliceMs = sliceMs;
+            this.slices = new CountMinSketch[sliceCount];
+            this.sliceIds = new long[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                slices[i] = new CountMinSketch(depth, width);
+                sliceIds[i] = -1;
+            }
+        }
+
+        long addAndEstimate(String key, long nowMs) {
+            long sliceId = nowMs / sliceMs;
+            int index = (int) (sliceId % slices.length);
+            if (sliceIds[index] != sliceId) {
+                slices[index].clear();
+                sliceIds[index] = sliceId;
+            }
+            slices[index].add(key, 1);
+            return estimate(key, nowMs);
+        }
+
+        long estimate(String key, long nowMs) {
+            long oldest = nowMs / sliceMs - slices.length + 1;
+            long total = 0;
+            for (int i = 0; i < slices.length; i++) {
+                if (sliceIds[i] >= oldest) {
+                    total += slices[i].estimate(key);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gig.collide.hotkey;
+
+import com.gig.collide.config.HotKeyConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 热点键 Actuator 端点（/actuator/hotkeys）
+ * GET 查看当前热点键及窗口内估计读取次数，DELETE 清除本节点的热点身份与本地副本
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+    private final HotKeyConfig config;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", config.isEnabled());
+        result.put("windowMs", config.getWindowSlices() * config.getSliceMs());
+        result.put("hotThreshold", config.getHotThreshold());
+        result.put("sampleRate", config.getSampleRate());
+        result.put("keys", hotKeyDetector.snapshot());
+        return result;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        hotKeyDetector.clear();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cleared", true);
+        return result;
+    }
+}
@@ -0,0 +1,220 @@
+package com.gig.collide.id;
+
+import com.gig.collide.config.IdGeneratorConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分布式ID生成器（无锁雪花算法）
+ * 位布局与原订单号雪花算法一致：41位时间戳（2022-01-01 起） + 10位工作节点ID + 12位序列号
+ *
+ * 实现特性：
+ * - 时间戳与序列号合并为一个逻辑时钟，通过 CAS 递增，无需加锁
+ * - 同一毫秒序列号用尽时借用下一毫秒，不自旋等待
+ * - 时钟回拨时沿逻辑时钟继续生成，领先系统时钟超过配置阈值才拒绝
+ * - 批量获取通过一次 CAS 预留连续区间
+ * - 工作节点ID在 CAS 之前读取、之后复核，切换工作节点ID期间预留的位置作废重试，不会用新ID标记低于新ID起点的位置
+ * - 工作节点ID由 {@link WorkerIdLease} 分配，定期续期；租约丢失时重新租用
+ * - 只发放时间戳早于租约到期时间的ID：续期停滞导致租约过期后，先在发号线程上续期或重新租用，失败则拒绝生成，
+ *   避免其他节点接手该工作节点ID后与本节点生成重复ID
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGenerator {
+
+    /**
+     * 起始时间戳 (2022-01-01 00:00:00)
+     */
+    public static final long EPOCH = 1640995200000L;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int WORKER_ID_BITS = 10;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * 单次批量获取的最大数量
+     */
+    public static final int MAX_BATCH_SIZE = 4096;
+
+    private final IdGeneratorConfig config;
+    private final WorkerIdLease workerIdLease;
+
+    /**
+     * 逻辑时钟：(相对时间戳 << 12) | 序列号，记录最后一次分配的位置
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    private volatile int workerId;
+
+    @PostConstruct
+    public void init() {
+        assign(workerIdLease.acquire());
+    }
+
+    /**
+     * 生成一个ID
+     */
+    public long nextId() {
+        return reserve(1);
+    }
+
+    /**
+     * 批量生成连续分配的ID
+     *
+     * @param count 数量（1-4096）
+     */
+    public long[] nextIds(int count) {
+        if (count <= 0 || count > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("批量获取数量必须在1-" + MAX_BATCH_SIZE + "之间");
+        }
+        long lastId = reserve(count);
+        int reservedWorkerId = extractWorkerId(lastId);
+        long last = ((lastId >>> TIMESTAMP_SHIFT) << SEQUENCE_BITS) | (lastId & SEQUENCE_MASK);
+        long[] ids = new long[count];
+        long first = last - count + 1;
+        for (int i = 0; i < count; i++) {
+            ids[i] = compose(first + i, reservedWorkerId);
+        }
+        return ids;
+    }
+
+    /**
+     * 生成带前缀的业务编号，如 ORD1234567890
+     */
+    public String nextNo(String prefix) {
+        return prefix + nextId();
+    }
+
+    /**
+     * 解析ID中的生成时间戳（毫秒）
+     */
+    public static long extractTimestamp(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    /**
+     * 解析ID中的工作节点ID
+     */
+    public static int extractWorkerId(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & ((1L << WORKER_ID_BITS) - 1));
+    }
+
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * 定期续期工作节点ID租约并记录逻辑时钟
+     */
+    @Scheduled(fixedDelayString = "${collide.id-generator.lease-renew-interval-ms:15000}",
+            initialDelayString = "${collide.id-generator.lease-renew-interval-ms:15000}")
+    public synchronized void renewLease() {
+        int current = workerId;
+        try {
+            if (workerIdLease.renew(current, lastTimestamp())) {
+                return;
+            }
+            log.warn("工作节点ID租约已丢失，重新租用: workerId={}", current);
+            assign(workerIdLease.acquire());
+        } catch (Exception e) {
+            log.warn("工作节点ID租约续期失败: workerId={}", current, e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        try {
+            workerIdLease.release(workerId, lastTimestamp());
+        } catch (Exception e) {
+            log.warn("释放工作节点ID租约失败: workerId={}", workerId, e);
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 预留 count 个连续位置，返回最后一个位置与预留时的工作节点ID组成的ID
+     * 工作节点ID先于逻辑时钟读取：切换时先抬高逻辑时钟再写入新ID，读到新ID时读到的逻辑时钟已不低于新ID的起点；
+     * CAS 成功后工作节点ID已变化的，预留的位置不再使用，按新ID重新预留
+     */
+    private long reserve(int count) {
+        while (true) {
+            int reservedWorkerId = workerId;
+            long prev = state.get();
+            long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            long next = Math.max(now + count - 1, prev + count);
+            long ahead = (next >>> SEQUENCE_BITS) - (now >>> SEQUENCE_BITS);
+            if (ahead > config.getMaxClockAheadMs()) {
+                throw new IllegalStateException("时钟回拨或ID生成过快，逻辑时钟领先" + ahead + "ms，拒绝生成ID");
+            }
+            long nextTimestamp = (next >>> SEQUENCE_BITS) + EPOCH;
+            if (nextTimestamp >= workerIdLease.getLeaseExpiresAt()) {
+                recoverLease(nextTimestamp);
+                continue;
+            }
+            if (state.compareAndSet(prev, next)) {
+                if (reservedWorkerId != workerId) {
+                    continue;
+                }
+                return compose(next, reservedWorkerId);
+            }
+        }
+    }
+
+    /**
+     * 租约已过期或即将发放的ID时间戳超出租约：续期，租约已被他人占用时重新租用；均失败时拒绝生成
+     */
+    private synchronized void recoverLease(long timestamp) {
+        if (timestamp < workerIdLease.getLeaseExpiresAt()) {
+            // 其他线程已恢复租约
+            return;
+        }
+        int current = workerId;
+        try {
+            if (!workerIdLease.renew(current, lastTimestamp())) {
+                log.warn("工作节点ID租约已过期且被占用，重新租用: workerId={}", current);
+                assign(workerIdLease.acquire());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("工作节点ID租约已过期且无法续期，拒绝生成ID: workerId=" + current, e);
+        }
+        if (timestamp >= workerIdLease.getLeaseExpiresAt()) {
+            throw new IllegalStateException("工作节点ID租约未能覆盖当前时间，拒绝生成ID: workerId=" + workerId);
+        }
+    }
+
+    private static long compose(long logical, int workerId) {
+        long timestamp = logical >>> SEQUENCE_BITS;
+        long sequence = logical & SEQUENCE_MASK;
+        return (timestamp << TIMESTAMP_SHIFT) | ((long) workerId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * 逻辑时钟当前的绝对时间戳（毫秒）
+     */
+    private long lastTimestamp() {
+        return (state.get() >>> SEQUENCE_BITS) + EPOCH;
+    }
+
+    /**
+     * 切换工作节点ID；新ID此前的使用时间之后继续，避免与上一任持有者重复
+     * 必须先抬高逻辑时钟再写入工作节点ID，{@link #reserve} 依赖这一顺序
+     */
+    private void assign(WorkerIdLease.Assignment assignment) {
+        long floor = Math.max(0L, assignment.lastTimestamp() - EPOCH + 1) << SEQUENCE_BITS;
+        state.accumulateAndGet(floor, Math::max);
+        workerId = assignment.workerId();
+        log.info("ID生成器工作节点ID: {}", workerId);
+    }
+}
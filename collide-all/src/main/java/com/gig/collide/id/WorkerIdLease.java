@@ -0,0 +1,171 @@
+package com.gig.collide.id;
+
+import com.gig.collide.config.IdGeneratorConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工作节点ID租约
+ * 多个节点通过 Redis 租用互不相同的工作节点ID，避免各节点使用相同的硬编码ID生成重复ID
+ *
+ * 实现特性：
+ * - 从随机位置开始用 SET NX PX 抢占 0-1023 中的空闲ID，节点标识写入租约值
+ * - 续期脚本校验租约归属，租约被他人占用时返回失败，由调用方重新租用
+ * - 每个ID额外保存最后使用的时间戳，重新租到同一ID时从该时间之后继续，重启叠加时钟回拨也不会重复
+ * - 记录租约到期时间，ID生成器只发放时间戳早于到期时间的ID，租约过期后先续期或重新租用
+ * - 配置了固定ID时不访问 Redis；未配置固定ID且 Redis 不可用时启动失败，不按主机与进程猜测ID
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkerIdLease {
+
+    /**
+     * 工作节点ID数量（10位）
+     */
+    public static final int MAX_WORKERS = 1024;
+
+    private static final String LEASE_KEY_PREFIX = "id:worker:lease:";
+    private static final String LAST_TIMESTAMP_KEY_PREFIX = "id:worker:last:";
+
+    /**
+     * 最后使用时间戳的保留时长（天）
+     */
+    private static final long LAST_TIMESTAMP_EXPIRE_DAYS = 7;
+
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final IdGeneratorConfig config;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile boolean leased;
+
+    /**
+     * 租约到期时间（毫秒）；固定ID时为 Long.MAX_VALUE
+     */
+    private volatile long leaseExpiresAt;
+
+    /**
+     * 获取工作节点ID
+     *
+     * @return 工作节点ID及其最后使用时间戳
+     */
+    public Assignment acquire() {
+        if (config.getWorkerId() >= 0) {
+            if (config.getWorkerId() >= MAX_WORKERS) {
+                throw new IllegalStateException("工作节点ID超出范围: " + config.getWorkerId());
+            }
+            leased = false;
+            leaseExpiresAt = Long.MAX_VALUE;
+            return new Assignment(config.getWorkerId(), 0L);
+        }
+        try {
+            int start = ThreadLocalRandom.current().nextInt(MAX_WORKERS);
+            for (int i = 0; i < MAX_WORKERS; i++) {
+                int workerId = (start + i) % MAX_WORKERS;
+                long requestedAt = System.currentTimeMillis();
+                Boolean acquired = stringRedisTemplate.opsForValue()
+                        .setIfAbsent(LEASE_KEY_PREFIX + workerId, owner, config.getLeaseTtlMs(), TimeUnit.MILLISECONDS);
+                if (Boolean.TRUE.equals(acquired)) {
+                    leased = true;
+                    leaseExpiresAt = requestedAt + config.getLeaseTtlMs();
+                    return new Assignment(workerId, readLastTimestamp(workerId));
+                }
+            }
+            throw new IllegalStateException("没有空闲的工作节点ID");
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Redis 不可用，无法租用工作节点ID；请恢复 Redis 或为每个节点配置不同的 "
+                    + "collide.id-generator.worker-id", e);
+        }
+    }
+
+    /**
+     * 续期租约并记录最后使用时间戳
+     *
+     * @return 租约是否仍归本节点所有；固定ID时始终返回true
+     */
+    public boolean renew(int workerId, long lastTimestamp) {
+        if (!leased) {
+            return true;
+        }
+        saveLastTimestamp(workerId, lastTimestamp);
+        long requestedAt = System.currentTimeMillis();
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LEASE_KEY_PREFIX + workerId),
+                owner, String.valueOf(config.getLeaseTtlMs()));
+        if (renewed == null || renewed != 1L) {
+            return false;
+        }
+        leaseExpiresAt = requestedAt + config.getLeaseTtlMs();
+        return true;
+    }
+
+    /**
+     * 租约到期时间（毫秒），以发起租用或续期请求的时间计算，略早于 Redis 中的实际过期时间
+     */
+    public long getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    /**
+     * 释放租约并记录最后使用时间戳
+     */
+    public void release(int workerId, long lastTimestamp) {
+        if (!leased) {
+            return;
+        }
+        saveLastTimestamp(workerId, lastTimestamp);
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + workerId), owner);
+        leased = false;
+    }
+
+    // =================== 私有方法 ===================
+
+    private long readLastTimestamp(int workerId) {
+        String value = stringRedisTemplate.opsForValue().get(LAST_TIMESTAMP_KEY_PREFIX + workerId);
+        try {
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void saveLastTimestamp(int workerId, long lastTimestamp) {
+        stringRedisTemplate.opsForValue().set(LAST_TIMESTAMP_KEY_PREFIX + workerId, String.valueOf(lastTimestamp),
+                LAST_TIMESTAMP_EXPIRE_DAYS, TimeUnit.DAYS);
+    }
+
+    /**
+     * 工作节点ID分配结果
+     *
+     * @param workerId 工作节点ID
+     * @param lastTimestamp 该ID最后使用的时间戳（毫秒，未知时为0）
+     */
+    public record Assignment(int workerId, long lastTimestamp) {
+    }
+}
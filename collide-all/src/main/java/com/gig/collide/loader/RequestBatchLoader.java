@@ -0,0 +1,147 @@
+package com.gig.collide.loader;
+
+import com.gig.collide.config.RequestLoadConfig;
+import com.gig.collide.domain.Content;
+import com.gig.collide.domain.User;
+import com.gig.collide.mapper.ContentMapper;
+import com.gig.collide.mapper.LikeMapper;
+import com.gig.collide.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 请求级批量加载器
+ * 列表转换时先收集本页所需的用户、内容ID，去重后每种实体只执行一次 IN 查询，返回 主键 -> 实体 的映射
+ *
+ * 在 HTTP 请求内，已加载的实体记录在 {@link RequestLoadContext} 中，同一请求的后续转换（如先转换再补全字段）
+ * 只查询尚未加载过的ID；不在请求内时每次调用直接批量查询。
+ * 返回的映射由调用方独占，可自由修改；查询不到的ID不出现在映射中。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestBatchLoader {
+
+    private static final String TYPE_USER = "user";
+    private static final String TYPE_CONTENT = "content";
+    private static final String TYPE_CONTENT_LIKE_COUNT = "contentLikeCount";
+
+    private static final String LIKE_TYPE_CONTENT = "CONTENT";
+    private static final String LIKE_STATUS_ACTIVE = "active";
+
+    /**
+     * 已确认不存在的主键占位
+     */
+    private static final Object MISSING = new Object();
+
+    private final UserMapper userMapper;
+    private final ContentMapper contentMapper;
+    private final LikeMapper likeMapper;
+    private final RequestLoadConfig config;
+
+    /**
+     * 批量加载用户
+     */
+    public Map<Long, User> loadUsers(Collection<Long> userIds) {
+        return load(TYPE_USER, userIds, ids -> toMap(userMapper.selectBatchIds(ids), User::getId));
+    }
+
+    /**
+     * 批量加载内容（不区分状态，是否过滤下线内容由调用方决定）
+     */
+    public Map<Long, Content> loadContents(Collection<Long> contentIds) {
+        return load(TYPE_CONTENT, contentIds, ids -> toMap(contentMapper.selectBatchIds(ids), Content::getId));
+    }
+
+    /**
+     * 批量统计内容的有效点赞数，没有点赞的内容返回0
+     */
+    public Map<Long, Long> loadContentLikeCounts(Collection<Long> contentIds) {
+        return load(TYPE_CONTENT_LIKE_COUNT, contentIds, ids -> {
+            Map<Long, Long> counts = new HashMap<>(ids.size() * 2);
+            for (Long id : ids) {
+                counts.put(id, 0L);
+            }
+            for (Map<String, Object> row : likeMapper.countTargetLikesBatch(ids, LIKE_TYPE_CONTENT, LIKE_STATUS_ACTIVE)) {
+                Object targetId = row.get("target_id");
+                Object count = row.get("like_count");
+                if (targetId instanceof Number && count instanceof Number) {
+                    counts.put(((Number) targetId).longValue(), ((Number) count).longValue());
+                }
+            }
+            return counts;
+        });
+    }
+
+    // =================== 私有方法 ===================
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<Long, T> load(String type, Collection<Long> ids, Function<List<Long>, Map<Long, T>> batchQuery) {
+        Map<Long, T> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+
+        RequestLoadContext context = config.isMemoEnabled() ? RequestLoadContext.current() : null;
+        if (context == null) {
+            fetch(new ArrayList<>(distinct), batchQuery, result::put);
+            return result;
+        }
+
+        Map<Long, Object> loaded = context.loaded(type);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            Object value = loaded.get(id);
+            if (value == null) {
+                missing.add(id);
+            } else if (value != MISSING) {
+                result.put(id, (T) value);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, T> fetched = new HashMap<>(missing.size() * 2);
+            fetch(missing, batchQuery, fetched::put);
+            for (Long id : missing) {
+                T value = fetched.get(id);
+                loaded.put(id, value != null ? value : MISSING);
+                if (value != null) {
+                    result.put(id, value);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按最大批量分段执行 IN 查询
+     */
+    private <T> void fetch(List<Long> ids, Function<List<Long>, Map<Long, T>> batchQuery,
+                           BiConsumer<Long, T> sink) {
+        int batchSize = Math.max(1, config.getMaxBatchSize());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            batchQuery.apply(batch).forEach(sink);
+        }
+    }
+
+    private static <T> Map<Long, T> toMap(List<T> entities, Function<T, Long> idGetter) {
+        Map<Long, T> map = new HashMap<>(entities.size() * 2);
+        for (T entity : entities) {
+            map.put(idGetter.apply(entity), entity);
+        }
+        return map;
+    }
+}
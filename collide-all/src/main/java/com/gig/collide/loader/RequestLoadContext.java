@@ -0,0 +1,94 @@
+package com.gig.collide.loader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 请求级加载上下文
+ * 在一次 HTTP 请求内记录已执行的 SQL 语句数，并缓存已批量加载的实体供后续转换复用
+ *
+ * 上下文绑定在请求线程上，列表补全执行器通过 {@link #wrap(Runnable)} 将其传递到工作线程，
+ * 因此并发补全产生的查询同样计入当前请求。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public final class RequestLoadContext {
+
+    private static final ThreadLocal<RequestLoadContext> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger sqlCount = new AtomicInteger();
+
+    /**
+     * 实体类型 -> (主键 -> 实体)，不存在的主键以占位对象记录，避免重复查询
+     */
+    private final Map<String, Map<Long, Object>> loaded = new ConcurrentHashMap<>();
+
+    private RequestLoadContext() {
+    }
+
+    /**
+     * 为当前线程开启新的请求上下文
+     */
+    public static RequestLoadContext begin() {
+        RequestLoadContext context = new RequestLoadContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * 结束当前线程的请求上下文
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程的请求上下文，不在请求内（定时任务、消费线程等）时为null
+     */
+    public static RequestLoadContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 记录一条 SQL 语句
+     */
+    public static void recordSql() {
+        RequestLoadContext context = CURRENT.get();
+        if (context != null) {
+            context.sqlCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 将当前请求上下文传递给异步任务，任务结束后恢复工作线程原有的上下文
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestLoadContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            RequestLoadContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    public int getSqlCount() {
+        return sqlCount.get();
+    }
+
+    Map<Long, Object> loaded(String type) {
+        return loaded.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,69 @@
+package com.gig.collide.loader;
+
+import com.gig.collide.config.RequestLoadConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 请求级加载上下文过滤器
+ * 为每个 HTTP 请求开启 {@link RequestLoadContext}，请求结束后按接口记录 SQL 语句数分布，
+ * 超过阈值时输出告警日志，便于发现逐条查询导致的回归
+ *
+ * 指标：collide.request.sql.statements{method, uri}，uri 取匹配到的接口路径模板
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestLoadFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "collide.request.sql.statements";
+
+    private final RequestLoadConfig config;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestLoadContext context = RequestLoadContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestLoadContext.end();
+            if (config.isSqlMetricsEnabled()) {
+                record(request, context.getSqlCount());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int sqlCount) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMATCHED";
+        DistributionSummary.builder(METRIC_NAME)
+                .description("单个HTTP请求执行的SQL语句数")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(sqlCount);
+
+        if (sqlCount >= config.getSqlWarnThreshold()) {
+            log.warn("单个请求SQL语句数过多: method={}, uri={}, path={}, sqlCount={}",
+                    request.getMethod(), uri, request.getRequestURI(), sqlCount);
+        } else if (log.isDebugEnabled()) {
+            log.debug("请求SQL语句数: method={}, uri={}, sqlCount={}", request.getMethod(), uri, sqlCount);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.gig.collide.loader;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * SQL 语句计数插件
+ * 每预编译一条语句（含分页插件生成的 COUNT 查询）计入当前请求上下文，不在请求内时不做任何处理
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class SqlStatementCounter implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestLoadContext.recordSql();
+        return invocation.proceed();
+    }
+}
@@ -2,7 +2,9 @@ package com.gig.collide.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.gig.collide.counter.CountDelta;
 import com.gig.collide.domain.Comment;
+import com.gig.collide.util.TimeSeek;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -48,6 +50,29 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                    @Param("orderBy") String orderBy,
                                    @Param("orderDirection") String orderDirection);
 
+    /**
+     * 评论列表游标查询（Controller专用）
+     * 条件与 selectCommentList 相同，按 (排序时间, id) 定位下一页，不执行COUNT
+     *
+     * @param orderBy 排序字段：createTime / updateTime
+     * @param orderDirection 排序方向
+     * @param cursorTime 游标排序时间，首页为空
+     * @param cursorId 游标评论ID，首页为空
+     * @param limit 查询条数
+     * @return 评论列表
+     */
+    List<Comment> selectCommentListByCursor(@Param("commentType") String commentType,
+                                            @Param("targetId") Long targetId,
+                                            @Param("userId") Long userId,
+                                            @Param("parentId") Long parentId,
+                                            @Param("status") String status,
+                                            @Param("keyword") String keyword,
+                                            @Param("orderBy") String orderBy,
+                                            @Param("orderDirection") String orderDirection,
+                                            @Param("cursorTime") LocalDateTime cursorTime,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("limit") Integer limit);
+
     /**
      * 根据目标对象获取评论列表
      * 
@@ -126,6 +151,36 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                        @Param("orderDirection") String orderDirection,
                                        @Param("includeDeleted") Boolean includeDeleted);
 
+    /**
+     * 按时间定位查询用户发出的评论（不统计总数，用于互动时间线合并分页）
+     *
+     * @param userId 用户ID
+     * @param commentType 评论类型（可选）
+     * @param status 状态（可选）
+     * @param seek 时间定位条件与排序
+     * @param limit 最大条数
+     * @return 评论列表
+     */
+    List<Comment> selectUserCommentsSeek(@Param("userId") Long userId,
+                                         @Param("commentType") String commentType,
+                                         @Param("status") String status,
+                                         @Param("seek") TimeSeek seek,
+                                         @Param("limit") int limit);
+
+    /**
+     * 按时间定位查询用户收到的回复（不统计总数，用于互动时间线合并分页）
+     *
+     * @param replyToUserId 回复目标用户ID
+     * @param status 状态（可选）
+     * @param seek 时间定位条件与排序
+     * @param limit 最大条数
+     * @return 回复列表
+     */
+    List<Comment> selectUserRepliesSeek(@Param("replyToUserId") Long replyToUserId,
+                                        @Param("status") String status,
+                                        @Param("seek") TimeSeek seek,
+                                        @Param("limit") int limit);
+
     /**
      * 根据点赞数范围查询评论
      * 
@@ -204,6 +259,14 @@ public interface CommentMapper extends BaseMapper<Comment> {
                            @Param("status") String status,
                            @Param("includeDeleted") Boolean includeDeleted);
 
+    /**
+     * 批量统计多个目标对象的评论数（GROUP BY target_id）
+     * 
+     * @param targetIds 目标对象ID列表
+     * @return 每行包含 target_id 与 comment_count
+     */
+    List<Map<String, Object>> countTargetCommentsBatch(@Param("targetIds") List<Long> targetIds);
+
     /**
      * 统计用户评论数
      * 
@@ -250,6 +313,14 @@ public interface CommentMapper extends BaseMapper<Comment> {
     int increaseLikeCount(@Param("commentId") Long commentId,
                          @Param("increment") Integer increment);
 
+    /**
+     * 批量增量更新评论点赞数（UPDATE ... CASE）
+     * 
+     * @param deltas 评论ID与增量列表
+     * @return 影响行数
+     */
+    int batchIncrementLikeCount(@Param("deltas") List<CountDelta> deltas);
+
     /**
      * 增加回复数
      * 
@@ -361,23 +432,57 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                       @Param("status") String status);
 
     /**
-     * 获取评论树形结构数据
-     * 用于构建树形展示
+     * 分页获取评论树的根评论（按创建时间升序）
      * 
+     * @param page 分页对象
      * @param targetId 目标对象ID
      * @param commentType 评论类型
-     * @param maxDepth 最大层级深度
-     * @param status 状态
-     * @param orderBy 排序字段
-     * @param orderDirection 排序方向
-     * @return 树形评论列表
-     */
-    List<Comment> selectCommentTree(@Param("targetId") Long targetId,
-                                  @Param("commentType") String commentType,
-                                  @Param("maxDepth") Integer maxDepth,
-                                  @Param("status") String status,
-                                  @Param("orderBy") String orderBy,
-                                  @Param("orderDirection") String orderDirection);
+     * @return 根评论分页
+     */
+    IPage<Comment> selectTreeRootsPage(IPage<Comment> page,
+                                       @Param("targetId") Long targetId,
+                                       @Param("commentType") String commentType);
+
+    /**
+     * 批量获取根评论的前 N 条后代
+     * 每个根评论按物化路径（先序遍历顺序）取前 limit 条，结果对祖先封闭
+     * 
+     * @param rootIds 根评论ID列表
+     * @param maxLevel 最大层级（根评论为0）
+     * @param limit 每个根评论返回的后代数量
+     * @return 后代评论，按根评论分组、组内按路径有序
+     */
+    List<Comment> selectFirstDescendants(@Param("rootIds") List<Long> rootIds,
+                                         @Param("maxLevel") Integer maxLevel,
+                                         @Param("limit") Integer limit);
+
+    /**
+     * 按路径游标分页获取子树
+     * 
+     * @param rootCommentId 所属根评论ID
+     * @param pathPrefix 子树根节点的物化路径（不含子树根节点本身）
+     * @param afterPath 上一页最后一条的路径，首页为空
+     * @param maxLevel 最大层级（根评论为0）
+     * @param limit 返回数量
+     * @return 子树评论，按路径有序
+     */
+    List<Comment> selectSubtreeByPath(@Param("rootCommentId") Long rootCommentId,
+                                      @Param("pathPrefix") String pathPrefix,
+                                      @Param("afterPath") String afterPath,
+                                      @Param("maxLevel") Integer maxLevel,
+                                      @Param("limit") Integer limit);
+
+    /**
+     * 回填评论的根评论ID与物化路径
+     * 
+     * @param id 评论ID
+     * @param rootCommentId 根评论ID
+     * @param commentPath 物化路径
+     * @return 影响行数
+     */
+    int updateCommentPath(@Param("id") Long id,
+                          @Param("rootCommentId") Long rootCommentId,
+                          @Param("commentPath") String commentPath);
 
     /**
      * 获取指定时间范围内的评论数据
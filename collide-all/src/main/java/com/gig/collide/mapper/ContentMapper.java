@@ -1,6 +1,7 @@
 package com.gig.collide.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gig.collide.counter.CountDelta;
 import com.gig.collide.domain.Content;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -122,6 +123,11 @@ public interface ContentMapper extends BaseMapper<Content> {
      */
     int incrementLikeCount(@Param("id") Long id, @Param("increment") Integer increment);
 
+    /**
+     * 批量增量更新点赞数量（UPDATE ... CASE）
+     */
+    int batchIncrementLikeCount(@Param("deltas") List<CountDelta> deltas);
+
     /**
      * 增量更新收藏数量
      */
@@ -141,4 +147,9 @@ public interface ContentMapper extends BaseMapper<Content> {
      * 批量软删除内容
      */
     int batchSoftDeleteContent(@Param("ids") List<Long> ids);
+
+    /**
+     * 查询作者最近发布的内容（仅返回 id、author_id、create_time，用于构建时间线）
+     */
+    List<Content> selectTimelineEntries(@Param("authorIds") List<Long> authorIds, @Param("limit") Integer limit);
 }
\ No newline at end of file
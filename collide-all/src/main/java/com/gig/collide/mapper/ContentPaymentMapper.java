@@ -6,6 +6,7 @@ import com.gig.collide.domain.ContentPayment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -49,6 +50,11 @@ public interface ContentPaymentMapper extends BaseMapper<ContentPayment> {
      */
     ContentPayment selectByContentId(@Param("contentId") Long contentId);
 
+    /**
+     * 查询指定时间之后更新过的付费配置（包含全部状态，用于增量刷新访问权限索引）
+     */
+    List<ContentPayment> selectUpdatedSince(@Param("since") LocalDateTime since);
+
     // =================== C端必需的通用查询方法 ===================
 
     /**
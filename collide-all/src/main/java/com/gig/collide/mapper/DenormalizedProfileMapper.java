@@ -0,0 +1,58 @@
+package com.gig.collide.mapper;
+
+import com.gig.collide.profile.ProfileSyncTarget;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 冗余用户资料分块改写数据访问层
+ * 表名与列名来自 {@link ProfileSyncTarget}，按用户ID列定位、按主键区间分块
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Mapper
+public interface DenormalizedProfileMapper {
+
+    /**
+     * 查询用户在字段组所在表中主键大于游标的下一块行ID（使用用户ID列索引，索引中的主键有序）
+     *
+     * @param target 字段组
+     * @param userId 用户ID
+     * @param afterId 游标主键
+     * @param limit 块大小
+     * @return 行ID列表（升序）
+     */
+    List<Long> selectIdsAfter(@Param("target") ProfileSyncTarget target,
+                              @Param("userId") Long userId,
+                              @Param("afterId") Long afterId,
+                              @Param("limit") int limit);
+
+    /**
+     * 统计用户在字段组所在表中的冗余行数（使用用户ID列索引）
+     *
+     * @param target 字段组
+     * @param userId 用户ID
+     * @return 行数
+     */
+    int countByUser(@Param("target") ProfileSyncTarget target,
+                    @Param("userId") Long userId);
+
+    /**
+     * 按主键改写一块行的冗余昵称/头像，值未变化的行不改写
+     *
+     * @param target 字段组
+     * @param userId 用户ID
+     * @param nickname 新昵称（为空时不改写）
+     * @param avatar 新头像（为空时不改写）
+     * @param ids 行ID列表
+     * @return 更新行数
+     */
+    int updateByIds(@Param("target") ProfileSyncTarget target,
+                    @Param("userId") Long userId,
+                    @Param("nickname") String nickname,
+                    @Param("avatar") String avatar,
+                    @Param("ids") List<Long> ids);
+}
@@ -220,4 +220,16 @@ public interface FollowMapper extends BaseMapper<Follow> {
      */
     List<Follow> findRelationChain(@Param("userIdA") Long userIdA,
                                   @Param("userIdB") Long userIdB);
+
+    /**
+     * 按粉丝ID游标分批获取有效粉丝ID（时间线写扩散使用）
+     *
+     * @param followeeId 被关注者ID
+     * @param afterFollowerId 上一批最后一个粉丝ID（首批传0）
+     * @param limit 批大小
+     * @return 粉丝ID列表（升序）
+     */
+    List<Long> findActiveFollowerIdsAfter(@Param("followeeId") Long followeeId,
+                                          @Param("afterFollowerId") Long afterFollowerId,
+                                          @Param("limit") Integer limit);
 }
\ No newline at end of file
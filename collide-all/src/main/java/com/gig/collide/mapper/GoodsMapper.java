@@ -10,6 +10,7 @@ import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 商品数据访问层
@@ -138,6 +139,15 @@ public interface GoodsMapper extends BaseMapper<Goods> {
      */
     int reduceStock(@Param("goodsId") Long goodsId, @Param("quantity") Integer quantity);
 
+    /**
+     * 批量同步已确认的库存扣减
+     * 一条语句按主键更新多个商品，库存最低扣到0，无限库存商品不受影响
+     *
+     * @param deductions 商品ID -> 扣减数量
+     * @return 影响行数
+     */
+    int batchDeductStock(@Param("deductions") Map<Long, Integer> deductions);
+
     /**
      * 查询库存不足的商品
      * 使用索引：idx_stock_status
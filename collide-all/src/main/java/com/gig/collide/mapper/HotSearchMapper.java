@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Param;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 热门搜索Mapper接口 - 简洁版
@@ -51,4 +52,11 @@ public interface HotSearchMapper extends BaseMapper<HotSearch> {
      * 批量插入或更新热搜数据
      */
     int insertOrUpdateHotSearch(@Param("keyword") String keyword, @Param("searchCount") Long searchCount);
+
+    /**
+     * 批量累加热搜次数（关键词不存在时插入）
+     *
+     * @param counts 关键词 -> 本批次搜索次数
+     */
+    int batchUpsertHotSearch(@Param("counts") Map<String, Long> counts);
 } 
\ No newline at end of file
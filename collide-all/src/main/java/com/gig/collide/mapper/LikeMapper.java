@@ -4,11 +4,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.domain.Like;
+import com.gig.collide.util.TimeSeek;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 点赞数据访问层 - 简洁版
@@ -87,6 +89,38 @@ public interface LikeMapper extends BaseMapper<Like> {
                                @Param("likeType") String likeType,
                                @Param("status") String status);
 
+    /**
+     * 按时间定位查询用户点赞记录（不统计总数，用于互动时间线合并分页）
+     *
+     * @param userId 用户ID
+     * @param likeType 点赞类型（可选）
+     * @param status 状态（可选）
+     * @param seek 时间定位条件与排序
+     * @param limit 最大条数
+     * @return 点赞记录
+     */
+    List<Like> selectUserLikesSeek(@Param("userId") Long userId,
+                                   @Param("likeType") String likeType,
+                                   @Param("status") String status,
+                                   @Param("seek") TimeSeek seek,
+                                   @Param("limit") int limit);
+
+    /**
+     * 按时间定位查询作者作品收到的点赞记录（不统计总数，用于互动时间线合并分页）
+     *
+     * @param targetAuthorId 作品作者ID
+     * @param likeType 点赞类型（可选）
+     * @param status 状态（可选）
+     * @param seek 时间定位条件与排序
+     * @param limit 最大条数
+     * @return 点赞记录
+     */
+    List<Like> selectAuthorLikesSeek(@Param("targetAuthorId") Long targetAuthorId,
+                                     @Param("likeType") String likeType,
+                                     @Param("status") String status,
+                                     @Param("seek") TimeSeek seek,
+                                     @Param("limit") int limit);
+
     /**
      * 统计目标对象的点赞数量
      * 
@@ -99,6 +133,18 @@ public interface LikeMapper extends BaseMapper<Like> {
                          @Param("likeType") String likeType,
                          @Param("status") String status);
 
+    /**
+     * 批量统计目标对象的点赞数量
+     * 
+     * @param targetIds 目标对象ID列表
+     * @param likeType 点赞类型
+     * @param status 状态（默认active）
+     * @return 每行包含 target_id、like_count，无点赞的目标不返回
+     */
+    List<Map<String, Object>> countTargetLikesBatch(@Param("targetIds") List<Long> targetIds,
+                                                    @Param("likeType") String likeType,
+                                                    @Param("status") String status);
+
     /**
      * 统计用户的点赞数量
      * 
@@ -170,4 +216,28 @@ public interface LikeMapper extends BaseMapper<Like> {
     int deleteByUserAndTarget(@Param("userId") Long userId,
                              @Param("likeType") String likeType,
                              @Param("targetId") Long targetId);
+
+    /**
+     * 按目标ID升序分页查询用户已点赞的目标ID（用于构建点赞状态索引）
+     *
+     * @param userId 用户ID
+     * @param likeType 点赞类型
+     * @param afterTargetId 上一页最后一个目标ID，首页传 0
+     * @param limit 每页数量
+     * @return 目标对象ID列表
+     */
+    List<Long> findActiveTargetIdsAfter(@Param("userId") Long userId,
+                                        @Param("likeType") String likeType,
+                                        @Param("afterTargetId") Long afterTargetId,
+                                        @Param("limit") Integer limit);
+
+    /**
+     * 查询指定时间之后有点赞行为的用户ID（用于点赞状态索引预热）
+     * 
+     * @param since 起始时间
+     * @param limit 最大返回数量
+     * @return 用户ID列表
+     */
+    List<Long> findRecentActiveUserIds(@Param("since") LocalDateTime since,
+                                      @Param("limit") Integer limit);
 }
\ No newline at end of file
@@ -46,6 +46,29 @@ public interface MessageMapper extends BaseMapper<Message> {
                                    @Param("orderBy") String orderBy,
                                    @Param("orderDirection") String orderDirection);
 
+    /**
+     * 消息列表游标查询（Controller专用）
+     * 条件与 selectMessageList 相同，按 (排序时间, id) 定位下一页，不执行COUNT
+     *
+     * @param orderBy 排序字段：createTime / updateTime
+     * @param orderDirection 排序方向
+     * @param cursorTime 游标排序时间，首页为空
+     * @param cursorId 游标消息ID，首页为空
+     * @param limit 查询条数
+     * @return 消息列表
+     */
+    List<Message> selectMessageListByCursor(@Param("senderId") Long senderId,
+                                            @Param("receiverId") Long receiverId,
+                                            @Param("messageType") String messageType,
+                                            @Param("status") String status,
+                                            @Param("isRead") Boolean isRead,
+                                            @Param("keyword") String keyword,
+                                            @Param("orderBy") String orderBy,
+                                            @Param("orderDirection") String orderDirection,
+                                            @Param("cursorTime") LocalDateTime cursorTime,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("limit") Integer limit);
+
     // =================== 基础查询 ===================
 
     /**
@@ -124,7 +147,7 @@ public interface MessageMapper extends BaseMapper<Message> {
     // =================== 批量操作 ===================
 
     /**
-     * 批量标记消息为已读
+     * 批量标记消息为已读（只统计此前未读的消息）
      */
     int batchMarkAsRead(@Param("messageIds") List<Long> messageIds,
                        @Param("receiverId") Long receiverId,
@@ -143,6 +166,17 @@ public interface MessageMapper extends BaseMapper<Message> {
                                 @Param("senderId") Long senderId,
                                 @Param("readTime") LocalDateTime readTime);
 
+    /**
+     * 批量标记消息为已送达（只更新接收者的 sent 状态消息）
+     */
+    int batchMarkDelivered(@Param("messageIds") List<Long> messageIds,
+                           @Param("receiverId") Long receiverId);
+
+    /**
+     * 多行插入消息，自增ID按顺序回填到每条消息
+     */
+    int batchInsertMessages(@Param("messages") List<Message> messages);
+
     // =================== 状态更新 ===================
 
     /**
@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 消息会话数据访问接口 - 简洁版
@@ -107,4 +108,58 @@ public interface MessageSessionMapper extends BaseMapper<MessageSession> {
      * 删除指定时间前的归档会话
      */
     int deleteArchivedSessions(@Param("beforeTime") LocalDateTime beforeTime);
+
+    // =================== 会话索引 ===================
+
+    /**
+     * 统计用户的未读消息总数
+     */
+    Long sumUnreadCount(@Param("userId") Long userId);
+
+    /**
+     * 查询用户最近的会话（按最后消息时间倒序）
+     */
+    List<MessageSession> selectRecentSessions(@Param("userId") Long userId,
+                                              @Param("limit") int limit);
+
+    /**
+     * 查询用户有未读消息的全部会话
+     */
+    List<MessageSession> selectUnreadSessions(@Param("userId") Long userId);
+
+    /**
+     * 按 (用户ID, 对方ID) 批量查询会话ID
+     */
+    List<MessageSession> selectByUserPairs(@Param("sessions") List<MessageSession> sessions);
+
+    /**
+     * 批量写入会话的最后消息与未读数（不修改归档状态）
+     *
+     * @param overwrite 为 false 时最后消息只前进不后退；为 true 时直接覆盖（重建时使用）
+     */
+    int batchUpsertSessions(@Param("sessions") List<MessageSession> sessions,
+                            @Param("overwrite") boolean overwrite);
+
+    /**
+     * 批量写入新消息带来的会话变更：最后消息只前进不后退，未读数在原值上累加
+     */
+    int batchApplyNewMessages(@Param("sessions") List<MessageSession> sessions);
+
+    /**
+     * 写入会话的未读数
+     */
+    int updateUnreadCountValue(@Param("userId") Long userId,
+                               @Param("otherUserId") Long otherUserId,
+                               @Param("unreadCount") Integer unreadCount);
+
+    /**
+     * 按 t_message 统计用户的全部会话：最后消息与未读数
+     */
+    List<MessageSession> aggregateSessionsFromMessages(@Param("userId") Long userId);
+
+    /**
+     * 按用户ID游标查询有会话的用户
+     */
+    List<Long> selectSessionUserIds(@Param("afterUserId") Long afterUserId,
+                                    @Param("limit") int limit);
 }
\ No newline at end of file
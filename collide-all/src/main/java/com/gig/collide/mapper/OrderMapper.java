@@ -80,6 +80,24 @@ public interface OrderMapper extends BaseMapper<Order> {
      */
     List<Order> selectTimeoutOrders(@Param("timeoutTime") LocalDateTime timeoutTime);
 
+    /**
+     * 查询待支付超时订单ID（按创建时间升序，分批处理）
+     *
+     * @param timeoutTime 超时时间
+     * @param limit       限制数量
+     * @return 订单ID列表
+     */
+    List<Long> selectTimeoutOrderIds(@Param("timeoutTime") LocalDateTime timeoutTime, @Param("limit") int limit);
+
+    /**
+     * 查询到期待自动完成的已发货订单ID（按更新时间升序，分批处理）
+     *
+     * @param shippedBefore 发货截止时间
+     * @param limit         限制数量
+     * @return 订单ID列表
+     */
+    List<Long> selectShippedOrderIds(@Param("shippedBefore") LocalDateTime shippedBefore, @Param("limit") int limit);
+
     /**
      * 查询指定时间范围内的订单
      *
@@ -161,6 +179,30 @@ public interface OrderMapper extends BaseMapper<Order> {
      */
     int batchUpdateStatus(@Param("orderIds") List<Long> orderIds, @Param("newStatus") String newStatus);
 
+    /**
+     * 取消仍处于待支付状态的订单（已支付或已取消的订单不受影响，可重复执行）
+     *
+     * @param orderIds 订单ID列表
+     * @return 影响行数
+     */
+    int cancelUnpaidOrders(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * 完成仍处于已发货状态的订单（其他状态的订单不受影响，可重复执行）
+     *
+     * @param orderIds 订单ID列表
+     * @return 影响行数
+     */
+    int completeShippedOrders(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * 查询订单所属的用户ID（去重），用于订单变更后失效用户统计缓存
+     *
+     * @param orderIds 订单ID列表
+     * @return 用户ID列表
+     */
+    List<Long> selectUserIdsByOrderIds(@Param("orderIds") List<Long> orderIds);
+
     /**
      * 更新订单支付信息
      *
@@ -0,0 +1,103 @@
+package com.gig.collide.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gig.collide.domain.ProfileChangeEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用户资料变更发件箱数据访问层
+ * 事件的领取、进度保存与结束均以处理节点与 RUNNING 状态为条件，租约被其他节点接管后原节点的更新不再生效
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Mapper
+public interface ProfileChangeEventMapper extends BaseMapper<ProfileChangeEvent> {
+
+    /**
+     * 查询可处理的事件：到达处理时间的 PENDING 事件与租约已过期的 RUNNING 事件，按ID升序
+     *
+     * @param limit 最大数量
+     * @return 事件列表
+     */
+    List<ProfileChangeEvent> selectRunnable(@Param("limit") int limit);
+
+    /**
+     * 领取事件
+     *
+     * @param id 事件ID
+     * @param owner 处理节点
+     * @param leaseUntil 租约到期时间
+     * @return 更新行数，0 表示已被其他节点领取
+     */
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 统计同一用户更早且未结束的事件数（同一用户的事件按顺序处理）
+     *
+     * @param userId 用户ID
+     * @param id 事件ID
+     * @return 事件数
+     */
+    long countUnfinishedBefore(@Param("userId") Long userId, @Param("id") Long id);
+
+    /**
+     * 保存处理进度并续租
+     *
+     * @return 更新行数，0 表示租约已丢失
+     */
+    int saveProgress(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("stepIndex") int stepIndex,
+                     @Param("cursorId") long cursorId,
+                     @Param("rowsDelta") long rowsDelta,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 结束处理，置为终态（DONE、FAILED）或交还为 PENDING 等待下次处理
+     *
+     * @return 更新行数，0 表示租约已丢失
+     */
+    int release(@Param("id") Long id,
+                @Param("owner") String owner,
+                @Param("status") String status,
+                @Param("nextRunTime") LocalDateTime nextRunTime);
+
+    /**
+     * 记录失败：失败次数加一，达到上限时置为 FAILED，否则延迟后重试
+     *
+     * @return 更新行数，0 表示租约已丢失
+     */
+    int fail(@Param("id") Long id,
+             @Param("owner") String owner,
+             @Param("error") String error,
+             @Param("maxAttempts") int maxAttempts,
+             @Param("nextRunTime") LocalDateTime nextRunTime);
+
+    /**
+     * 将同一用户、相同字段组的更早 PENDING 事件置为 SUPERSEDED（由新事件写入最新资料）
+     *
+     * @return 更新行数
+     */
+    int supersedePending(@Param("userId") Long userId, @Param("targets") String targets, @Param("beforeId") Long beforeId);
+
+    /**
+     * 统计未结束的事件数
+     *
+     * @return 事件数
+     */
+    long countBacklog();
+
+    /**
+     * 删除早于指定时间已结束的事件
+     *
+     * @param beforeTime 截止时间
+     * @param limit 最大删除数
+     * @return 删除行数
+     */
+    int deleteFinishedBefore(@Param("beforeTime") LocalDateTime beforeTime, @Param("limit") int limit);
+}
@@ -43,6 +43,11 @@ public interface SearchHistoryMapper extends BaseMapper<SearchHistory> {
      */
     int countByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
 
+    /**
+     * 批量写入搜索历史，同一用户的相同关键词只保留一条并刷新为最近一次搜索
+     */
+    int batchUpsertSearchHistory(@Param("histories") List<SearchHistory> histories);
+
     /**
      * 获取热门搜索关键词（基于搜索历史统计）
      */
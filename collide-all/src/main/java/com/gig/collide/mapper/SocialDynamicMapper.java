@@ -3,6 +3,7 @@ package com.gig.collide.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.counter.CountDelta;
 import com.gig.collide.domain.SocialDynamic;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -153,6 +154,12 @@ public interface SocialDynamicMapper extends BaseMapper<SocialDynamic> {
      */
     int decreaseLikeCount(@Param("dynamicId") Long dynamicId);
 
+    /**
+     * 批量增量更新点赞数（UPDATE ... CASE）
+     * 使用PRIMARY KEY索引
+     */
+    int batchIncrementLikeCount(@Param("deltas") List<CountDelta> deltas);
+
     /**
      * 增加评论数
      * 使用PRIMARY KEY索引
@@ -27,6 +27,11 @@ public interface UserContentPurchaseMapper extends BaseMapper<UserContentPurchas
     UserContentPurchase selectByUserIdAndContentId(@Param("userId") Long userId,
                                                    @Param("contentId") Long contentId);
 
+    /**
+     * 查询用户全部有效购买记录（仅内容ID与过期时间，用于构建访问权限集合）
+     */
+    List<UserContentPurchase> selectValidPurchasesByUserId(@Param("userId") Long userId);
+
     /**
      * 根据订单ID查询购买记录
      */
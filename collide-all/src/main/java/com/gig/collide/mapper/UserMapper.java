@@ -1,6 +1,8 @@
 package com.gig.collide.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gig.collide.counter.CountDelta;
+import com.gig.collide.counter.UserCounterSnapshot;
 import com.gig.collide.domain.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -141,6 +143,24 @@ public interface UserMapper extends BaseMapper<User> {
      */
     int updateLikeCount(@Param("userId") Long userId, @Param("increment") int increment);
 
+    /**
+     * 批量增加用户计数（UPDATE ... CASE）
+     *
+     * @param column 计数列名，只能由 UserCounterService 传入固定列名
+     * @param deltas 用户ID与增量列表
+     * @return 更新行数
+     */
+    int batchIncrementCounter(@Param("column") String column, @Param("deltas") List<CountDelta> deltas);
+
+    /**
+     * 按主键游标查询用户计数及按明细表重新统计的计数（计数对账）
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param limit 本批数量
+     * @return 计数快照列表
+     */
+    List<UserCounterSnapshot> selectCounterSnapshots(@Param("afterId") Long afterId, @Param("limit") int limit);
+
     /**
      * 增加用户内容数
      *
@@ -149,4 +169,12 @@ public interface UserMapper extends BaseMapper<User> {
      * @return 更新行数
      */
     int updateContentCount(@Param("userId") Long userId, @Param("increment") int increment);
+
+    /**
+     * 查询粉丝数不低于阈值的用户ID（时间线大V名单）
+     *
+     * @param minFollowerCount 粉丝数阈值
+     * @return 用户ID列表
+     */
+    List<Long> selectIdsByMinFollowerCount(@Param("minFollowerCount") Long minFollowerCount);
 }
@@ -59,6 +59,32 @@ public interface VideoSearchMapper extends BaseMapper<Content> {
             @Param("includeOffline") Boolean includeOffline
     );
 
+    /**
+     * 按ID批量加载视频搜索结果（字段与混合搜索一致，不含相关度）
+     * 
+     * @param contentIds 内容ID列表
+     * @return 搜索结果Map列表（顺序不保证）
+     */
+    List<Map<String, Object>> selectVideosByIds(@Param("contentIds") List<Long> contentIds);
+
+    /**
+     * 按主键顺序分批加载搜索索引文档
+     * 
+     * @param afterId 上一批最后的内容ID
+     * @param limit 批大小
+     * @return 索引文档Map列表
+     */
+    List<Map<String, Object>> selectIndexDocuments(@Param("afterId") Long afterId,
+                                                   @Param("limit") Integer limit);
+
+    /**
+     * 按ID加载搜索索引文档
+     * 
+     * @param contentIds 内容ID列表
+     * @return 索引文档Map列表
+     */
+    List<Map<String, Object>> selectIndexDocumentsByIds(@Param("contentIds") List<Long> contentIds);
+
     /**
      * 获取视频搜索建议
      * 
@@ -0,0 +1,34 @@
+package com.gig.collide.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 暂存写回批次登记数据访问层
+ * 子批次ID与计数更新在同一事务中登记，重试同一批次时跳过已提交的子批次
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Mapper
+public interface WriteBehindBatchMapper {
+
+    /**
+     * 登记子批次
+     *
+     * @param batchId 子批次ID
+     * @return 1 表示首次登记，0 表示该子批次已写回过
+     */
+    int insertIgnore(@Param("batchId") String batchId);
+
+    /**
+     * 删除指定时间前的登记记录
+     *
+     * @param beforeTime 截止时间
+     * @param limit 单次最大删除数
+     * @return 删除行数
+     */
+    int deleteBefore(@Param("beforeTime") LocalDateTime beforeTime, @Param("limit") int limit);
+}
@@ -0,0 +1,992 @@
+package com.gig.collide.message;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.config.MessageSessionIndexConfig;
+import com.gig.collide.domain.MessageSession;
+import com.gig.collide.mapper.MessageSessionMapper;
+import com.gig.collide.writebehind.RedisWriteBehind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 消息会话索引
+ * 在 Redis 中维护每个用户的会话列表与未读数，新消息只执行一次脚本，会话列表与角标不再访问 t_message_session
+ *
+ * 每个用户三个键：
+ * - meta 哈希：对方ID -> "最后消息ID|是否归档|会话ID"，字段 "_" 为 1 时表示该用户的全部会话都在缓存中
+ * - recent 有序集合：对方ID，分值为最后消息时间（毫秒），只保留最近的若干个会话
+ * - unread 哈希：对方ID -> 未读数（只保存大于 0 的），字段 total 为未读总数
+ *
+ * 实现特性：
+ * - 新消息在一个脚本中同时更新双方的会话与接收者的未读数，并把变更的会话登记到待写回集合
+ * - 定时由一个节点经 {@link RedisWriteBehind} 取走待写回集合，按 Redis 中的当前值批量 UPSERT 会话行，
+ *   重复写回不产生额外影响，失败的会话直接重新登记到待写回集合
+ * - 用户索引不存在时从 t_message_session 加载；超出缓存容量或 Redis 不可用时调用方回退数据库
+ * - 重建时先在写回锁内移除该用户待写回的会话，再按 t_message 重新统计会话并覆盖 t_message_session，最后重新加载索引；
+ *   全量重建在后台线程执行，调用方凭任务ID查询进度
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageSessionIndex {
+
+    private static final String COMPLETE_FIELD = "_";
+    private static final String TOTAL_FIELD = "total";
+    private static final String DIRTY_KEY = "dirty";
+    private static final String FLUSH_LOCK = "lock:flush";
+    private static final int MAX_LOAD_RETRIES = 3;
+    private static final long LOCK_RETRY_PAUSE_MS = 50;
+    private static final int MAX_REBUILD_JOBS = 16;
+
+    /**
+     * 更新一个或两个用户的会话（最后消息与未读增量）
+     * KEYS[1] 待写回集合，其后每个用户依次为 meta、recent、unread
+     * ARGV[1] 消息ID（为空时只增加未读数）, ARGV[2] 消息时间, ARGV[3] 每用户会话上限, ARGV[4] 有效期,
+     * ARGV[5] 是否要求会话已存在；其后每个用户依次为 用户ID、对方ID、未读增量
+     * 返回 -i 表示第 i 个用户的索引未加载，0 表示会话不存在，1 表示成功
+     */
+    private static final DefaultRedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>(
+            "local n = (#KEYS - 1) / 3 " +
+            "for i = 0, n - 1 do " +
+            "  local meta = KEYS[2 + i * 3] " +
+            "  if redis.call('EXISTS', meta) == 0 then return -(i + 1) end " +
+            "  if ARGV[5] == '1' and redis.call('HGET', meta, '_') == '1' " +
+            "      and redis.call('HEXISTS', meta, ARGV[7 + i * 3]) == 0 then return 0 end " +
+            "end " +
+            "local limit = tonumber(ARGV[3]) " +
+            "for i = 0, n - 1 do " +
+            "  local meta, recent, unread = KEYS[2 + i * 3], KEYS[3 + i * 3], KEYS[4 + i * 3] " +
+            "  local owner, peer, inc = ARGV[6 + i * 3], ARGV[7 + i * 3], tonumber(ARGV[8 + i * 3]) " +
+            "  if ARGV[1] ~= '' then " +
+            "    local lastId, archived, sid = '', '0', '' " +
+            "    local old = redis.call('HGET', meta, peer) " +
+            "    if old then " +
+            "      local a, b, c = string.match(old, '^([^|]*)|([^|]*)|([^|]*)$') " +
+            "      if a then lastId, archived, sid = a, b, c end " +
+            "    end " +
+            "    if lastId == '' or tonumber(ARGV[1]) >= tonumber(lastId) then " +
+            "      redis.call('HSET', meta, peer, ARGV[1] .. '|' .. archived .. '|' .. sid) " +
+            "      redis.call('ZADD', recent, ARGV[2], peer) " +
+            "    end " +
+            "    if redis.call('ZCARD', recent) > limit then " +
+            "      local dropped = redis.call('ZRANGE', recent, 0, -(limit + 1)) " +
+            "      redis.call('ZREMRANGEBYRANK', recent, 0, -(limit + 1)) " +
+            "      for _, p in ipairs(dropped) do redis.call('HDEL', meta, p) end " +
+            "      redis.call('HSET', meta, '_', '0') " +
+            "    end " +
+            "  end " +
+            "  if inc > 0 then " +
+            "    redis.call('HINCRBY', unread, peer, inc) " +
+            "    redis.call('HINCRBY', unread, 'total', inc) " +
+            "  end " +
+            "  redis.call('SADD', KEYS[1], owner .. ':' .. peer) " +
+            "  redis.call('PEXPIRE', meta, ARGV[4]) " +
+            "  redis.call('PEXPIRE', recent, ARGV[4]) " +
+            "  redis.call('PEXPIRE', unread, ARGV[4]) " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * 清零会话未读数
+     * KEYS[1] meta, KEYS[2] unread, KEYS[3] 待写回集合；ARGV[1] 用户ID, ARGV[2] 对方ID
+     * 返回 -1 表示索引未加载，否则为清零前的未读数
+     */
+    private static final DefaultRedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local n = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0') " +
+            "if n > 0 then " +
+            "  redis.call('HDEL', KEYS[2], ARGV[2]) " +
+            "  if redis.call('HINCRBY', KEYS[2], 'total', -n) <= 0 then redis.call('HDEL', KEYS[2], 'total') end " +
+            "  redis.call('SADD', KEYS[3], ARGV[1] .. ':' .. ARGV[2]) " +
+            "end " +
+            "return n", Long.class);
+
+    /**
+     * 数据库已直接修改后同步单个会话（空参数表示保留原值），不登记写回
+     * KEYS[1] meta, KEYS[2] recent, KEYS[3] unread
+     * ARGV[1] 对方ID, ARGV[2] 最后消息ID, ARGV[3] 最后消息时间, ARGV[4] 是否归档, ARGV[5] 会话ID, ARGV[6] 未读数
+     */
+    private static final DefaultRedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local old = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "local lastId, archived, sid = '', '0', '' " +
+            "if old then " +
+            "  local a, b, c = string.match(old, '^([^|]*)|([^|]*)|([^|]*)$') " +
+            "  if a then lastId, archived, sid = a, b, c end " +
+            "end " +
+            "if old or (ARGV[2] ~= '' and ARGV[3] ~= '') then " +
+            "  if ARGV[2] ~= '' then lastId = ARGV[2] end " +
+            "  if ARGV[4] ~= '' then archived = ARGV[4] end " +
+            "  if ARGV[5] ~= '' then sid = ARGV[5] end " +
+            "  redis.call('HSET', KEYS[1], ARGV[1], lastId .. '|' .. archived .. '|' .. sid) " +
+            "  if ARGV[3] ~= '' then redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1]) end " +
+            "end " +
+            "if ARGV[6] ~= '' then " +
+            "  local n = tonumber(ARGV[6]) " +
+            "  local prev = tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0') " +
+            "  if n ~= prev then " +
+            "    if n > 0 then redis.call('HSET', KEYS[3], ARGV[1], n) else redis.call('HDEL', KEYS[3], ARGV[1]) end " +
+            "    if redis.call('HINCRBY', KEYS[3], 'total', n - prev) <= 0 then redis.call('HDEL', KEYS[3], 'total') end " +
+            "  end " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * 加载用户索引（已存在时不覆盖）
+     * KEYS[1] meta, KEYS[2] recent, KEYS[3] unread
+     * ARGV[1] 是否完整, ARGV[2] 有效期, ARGV[3] 最近会话数 r；其后 r 组 (对方ID, meta值, 分值)，再其后为 (对方ID, 未读数) 对
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('DEL', KEYS[2], KEYS[3]) " +
+            "redis.call('HSET', KEYS[1], '_', ARGV[1]) " +
+            "local r = tonumber(ARGV[3]) " +
+            "for i = 0, r - 1 do " +
+            "  redis.call('HSET', KEYS[1], ARGV[4 + i * 3], ARGV[5 + i * 3]) " +
+            "  redis.call('ZADD', KEYS[2], ARGV[6 + i * 3], ARGV[4 + i * 3]) " +
+            "end " +
+            "local total = 0 " +
+            "for i = 4 + r * 3, #ARGV - 1, 2 do " +
+            "  local n = tonumber(ARGV[i + 1]) " +
+            "  if n > 0 then redis.call('HSET', KEYS[3], ARGV[i], n) total = total + n end " +
+            "end " +
+            "if total > 0 then redis.call('HSET', KEYS[3], 'total', total) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[3], ARGV[2]) " +
+            "return 1", Long.class);
+
+    /**
+     * 按最后消息时间倒序分页读取会话
+     * KEYS[1] meta, KEYS[2] recent, KEYS[3] unread
+     * ARGV[1] 最早时间（-inf 不限）, ARGV[2] 归档过滤, ARGV[3] 未读过滤, ARGV[4] 偏移, ARGV[5] 条数
+     * 返回 [是否完整, 最早缓存分值, 匹配总数, (对方ID, 分值, meta值, 未读数)...]，索引未加载时返回空
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "local result = {redis.call('HGET', KEYS[1], '_') or '0', '', 0} " +
+            "local oldest = redis.call('ZRANGE', KEYS[2], 0, 0, 'WITHSCORES') " +
+            "if oldest[2] then result[2] = oldest[2] end " +
+            "local rows = redis.call('ZREVRANGEBYSCORE', KEYS[2], '+inf', ARGV[1], 'WITHSCORES') " +
+            "local offset, limit, matched = tonumber(ARGV[4]), tonumber(ARGV[5]), 0 " +
+            "for i = 1, #rows, 2 do " +
+            "  local peer = rows[i] " +
+            "  local meta = redis.call('HGET', KEYS[1], peer) or '|0|' " +
+            "  local archived = string.match(meta, '^[^|]*|([^|]*)|') or '0' " +
+            "  local unread = redis.call('HGET', KEYS[3], peer) or '0' " +
+            "  if (ARGV[2] == '' or ARGV[2] == archived) " +
+            "      and (ARGV[3] == '' or (ARGV[3] == '1') == (tonumber(unread) > 0)) then " +
+            "    if matched >= offset and matched < offset + limit then " +
+            "      table.insert(result, peer) " +
+            "      table.insert(result, rows[i + 1]) " +
+            "      table.insert(result, meta) " +
+            "      table.insert(result, unread) " +
+            "    end " +
+            "    matched = matched + 1 " +
+            "  end " +
+            "end " +
+            "result[3] = matched " +
+            "return result", List.class);
+
+    /**
+     * 读取角标
+     * KEYS[1] meta, KEYS[2] recent, KEYS[3] unread
+     * 返回 [未读总数, 未读会话数, 缓存会话数, 是否完整]，索引未加载时返回空
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> BADGE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "local total = redis.call('HGET', KEYS[3], 'total') " +
+            "local sessions = redis.call('HLEN', KEYS[3]) " +
+            "if total then sessions = sessions - 1 end " +
+            "return {tonumber(total or '0'), sessions, redis.call('ZCARD', KEYS[2]), " +
+            "  tonumber(redis.call('HGET', KEYS[1], '_') or '0')}", List.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final MessageSessionIndexConfig config;
+    private final MessageSessionMapper messageSessionMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisWriteBehind redisWriteBehind;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 全量重建线程，同一时刻只执行一个全量重建任务
+     */
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "message-session-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 本节点最近的全量重建任务：任务ID -> 任务
+     */
+    private final Map<String, RebuildJob> rebuildJobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RebuildJob> eldest) {
+            return size() > MAX_REBUILD_JOBS;
+        }
+    };
+
+    private RebuildJob runningRebuild;
+
+    private Counter loadCounter;
+    private Counter fallbackCounter;
+    private Counter flushedRowsCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        loadCounter = Counter.builder("collide.message.session.index.loads")
+                .description("从数据库加载的用户会话索引数")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("collide.message.session.index.fallbacks")
+                .description("回退数据库的会话读写次数")
+                .register(meterRegistry);
+        flushedRowsCounter = Counter.builder("collide.message.session.index.flushed.rows")
+                .description("批量写回的会话行数")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("collide.message.session.index.flush")
+                .description("会话行批量写回耗时")
+                .register(meterRegistry);
+        log.info("消息会话索引初始化完成: enabled={}, maxSessionsPerUser={}, flushIntervalMs={}",
+                config.isEnabled(), config.getMaxSessionsPerUser(), config.getFlushIntervalMs());
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // =================== 写入 ===================
+
+    /**
+     * 新消息：更新双方会话的最后消息，接收者未读数加一
+     *
+     * @return 未启用或 Redis 不可用时返回 false，调用方直接写数据库
+     */
+    public boolean onNewMessage(Long senderId, Long receiverId, Long messageId, LocalDateTime messageTime) {
+        return onNewMessages(senderId, receiverId, messageId, messageTime, 1);
+    }
+
+    /**
+     * 同一发送者发给同一接收者的多条新消息：最后消息取其中最新的一条，接收者未读数增加消息条数
+     *
+     * @return 未启用或 Redis 不可用时返回 false，调用方直接写数据库
+     */
+    public boolean onNewMessages(Long senderId, Long receiverId, Long lastMessageId, LocalDateTime lastMessageTime,
+                                 int count) {
+        Long result = touch(new Long[]{senderId, receiverId}, new Long[]{receiverId, senderId}, new int[]{0, count},
+                lastMessageId, lastMessageTime, false);
+        return result != null && result > 0;
+    }
+
+    /**
+     * 更新会话的最后消息
+     *
+     * @param requireExisting 为 true 时会话不存在则不创建
+     * @return 未启用或 Redis 不可用时返回 null；会话不存在时返回 false
+     */
+    public Boolean touchSession(Long userId, Long otherUserId, Long messageId, LocalDateTime messageTime,
+                                boolean requireExisting) {
+        Long result = touch(new Long[]{userId}, new Long[]{otherUserId}, new int[]{0},
+                messageId, messageTime, requireExisting);
+        return result != null ? result > 0 : null;
+    }
+
+    /**
+     * 会话未读数加一
+     *
+     * @return 未启用或 Redis 不可用时返回 null；会话不存在时返回 false
+     */
+    public Boolean incrementUnread(Long userId, Long otherUserId) {
+        Long result = touch(new Long[]{userId}, new Long[]{otherUserId}, new int[]{1}, null, null, true);
+        return result != null ? result > 0 : null;
+    }
+
+    /**
+     * 清零会话未读数
+     *
+     * @return 清零前的未读数；未启用或 Redis 不可用时返回 null
+     */
+    public Long clearUnread(Long userId, Long otherUserId) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        List<String> keys = List.of(metaKey(userId), unreadKey(userId), dirtyKey());
+        try {
+            for (int attempt = 0; attempt < MAX_LOAD_RETRIES; attempt++) {
+                Long result = stringRedisTemplate.execute(CLEAR_SCRIPT, keys, userId.toString(), otherUserId.toString());
+                if (result == null || result >= 0) {
+                    return result;
+                }
+                load(userId);
+            }
+        } catch (Exception e) {
+            log.warn("清零会话未读数失败，回退数据库: userId={}, otherUserId={}, error={}", userId, otherUserId, e.getMessage());
+        }
+        fallbackCounter.increment();
+        return null;
+    }
+
+    /**
+     * 数据库中的会话已直接修改后同步索引（只同步已加载的用户，不登记写回）
+     */
+    public void put(MessageSession session) {
+        if (!config.isEnabled() || session == null || session.getUserId() == null || session.getOtherUserId() == null) {
+            return;
+        }
+        Long userId = session.getUserId();
+        try {
+            stringRedisTemplate.execute(PUT_SCRIPT, List.of(metaKey(userId), recentKey(userId), unreadKey(userId)),
+                    session.getOtherUserId().toString(),
+                    text(session.getLastMessageId()),
+                    session.getLastMessageTime() != null ? String.valueOf(toMillis(session.getLastMessageTime())) : "",
+                    session.getIsArchived() != null ? (session.getIsArchived() ? "1" : "0") : "",
+                    text(session.getId()),
+                    text(session.getUnreadCount()));
+        } catch (Exception e) {
+            // 同步失败时删除该用户的索引，下次访问重新加载
+            log.warn("同步会话索引失败，删除用户索引: userId={}, error={}", userId, e.getMessage());
+            evict(userId);
+        }
+    }
+
+    // =================== 读取 ===================
+
+    /**
+     * 按最后消息时间倒序分页读取会话
+     *
+     * @param sinceTime 只返回最后消息时间不早于该时间的会话（可为空）
+     * @param isArchived 归档过滤（可为空）
+     * @param hasUnread 未读过滤（可为空）
+     * @return 缓存不能覆盖该查询或 Redis 不可用时返回 null，调用方查询数据库
+     */
+    public Page<MessageSession> findSessions(Long userId, LocalDateTime sinceTime, Boolean isArchived, Boolean hasUnread,
+                                             long current, long size) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        long sinceMs = sinceTime != null ? toMillis(sinceTime) : Long.MIN_VALUE;
+        List<String> keys = List.of(metaKey(userId), recentKey(userId), unreadKey(userId));
+        try {
+            for (int attempt = 0; attempt < MAX_LOAD_RETRIES; attempt++) {
+                List<?> result = stringRedisTemplate.execute(READ_SCRIPT, keys,
+                        sinceTime != null ? String.valueOf(sinceMs) : "-inf",
+                        isArchived != null ? (isArchived ? "1" : "0") : "",
+                        hasUnread != null ? (hasUnread ? "1" : "0") : "",
+                        String.valueOf((current - 1) * size),
+                        String.valueOf(size));
+                if (result == null || result.isEmpty()) {
+                    load(userId);
+                    continue;
+                }
+                return toPage(userId, result, sinceTime != null ? sinceMs : null, current, size);
+            }
+        } catch (Exception e) {
+            log.warn("读取会话索引失败，回退数据库: userId={}, error={}", userId, e.getMessage());
+        }
+        fallbackCounter.increment();
+        return null;
+    }
+
+    /**
+     * 读取角标
+     *
+     * @return [未读总数, 未读会话数, 会话总数（缓存不完整时为 -1）]；Redis 不可用时返回 null
+     */
+    public long[] badge(Long userId) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        List<String> keys = List.of(metaKey(userId), recentKey(userId), unreadKey(userId));
+        try {
+            for (int attempt = 0; attempt < MAX_LOAD_RETRIES; attempt++) {
+                List<?> result = stringRedisTemplate.execute(BADGE_SCRIPT, keys);
+                if (result == null || result.size() < 4) {
+                    load(userId);
+                    continue;
+                }
+                boolean complete = toLong(result.get(3)) == 1;
+                return new long[]{toLong(result.get(0)), toLong(result.get(1)), complete ? toLong(result.get(2)) : -1};
+            }
+        } catch (Exception e) {
+            log.warn("读取会话角标失败，回退数据库: userId={}, error={}", userId, e.getMessage());
+        }
+        fallbackCounter.increment();
+        return null;
+    }
+
+    // =================== 重建 ===================
+
+    /**
+     * 按 t_message 重新统计用户的会话，覆盖 t_message_session 后重新加载索引
+     * 在写回锁内执行：先移除该用户待写回的会话，避免写回把 Redis 中的旧值覆盖到重建后的会话行
+     *
+     * @return 重建的会话数
+     */
+    public int rebuild(Long userId) {
+        if (!config.isEnabled()) {
+            return rebuildRows(userId);
+        }
+        String lockKey = config.getRedisKeyPrefix() + FLUSH_LOCK;
+        flushLock.lock();
+        try {
+            if (!awaitLock(lockKey)) {
+                throw new IllegalStateException("会话写回进行中，请稍后重试");
+            }
+            try {
+                int drained = drainDirty(userId);
+                int sessions = rebuildRows(userId);
+                evict(userId);
+                load(userId);
+                log.info("会话索引重建完成: userId={}, sessions={}, drained={}", userId, sessions, drained);
+                return sessions;
+            } finally {
+                unlock(lockKey);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 提交全量重建任务，在后台线程重建全部已有会话的用户
+     * 已有任务执行中时返回该任务的ID
+     *
+     * @return 任务ID
+     */
+    public synchronized String submitRebuildAll() {
+        if (runningRebuild != null && !runningRebuild.isFinished()) {
+            return runningRebuild.getJobId();
+        }
+        RebuildJob job = new RebuildJob(UUID.randomUUID().toString().replace("-", ""));
+        try {
+            rebuildExecutor.execute(() -> runRebuildAll(job));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("会话索引重建线程已关闭");
+        }
+        runningRebuild = job;
+        rebuildJobs.put(job.getJobId(), job);
+        log.info("会话索引全量重建已提交: jobId={}", job.getJobId());
+        return job.getJobId();
+    }
+
+    /**
+     * 查询本节点提交的全量重建任务
+     *
+     * @return 任务不存在（或已被更新的任务挤出）时返回 null
+     */
+    public synchronized RebuildJob getRebuildJob(String jobId) {
+        return jobId != null ? rebuildJobs.get(jobId) : null;
+    }
+
+    // =================== 写回 ===================
+
+    /**
+     * 定时写回
+     */
+    @Scheduled(fixedDelayString = "${collide.message-session.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * 将待写回集合中的会话按 Redis 当前值写回 t_message_session
+     * 同一时刻只有一个节点执行；待写回集合经 {@link RedisWriteBehind#claim} 取走，上次写回中途退出遗留的集合先处理
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        String lockKey = config.getRedisKeyPrefix() + FLUSH_LOCK;
+        try {
+            if (!tryLock(lockKey)) {
+                return;
+            }
+            try {
+                flushTimer.record(this::flushDirty);
+            } finally {
+                unlock(lockKey);
+            }
+        } catch (Exception e) {
+            log.error("会话行批量写回失败", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    private Long touch(Long[] userIds, Long[] otherUserIds, int[] unreadDeltas,
+                       Long messageId, LocalDateTime messageTime, boolean requireExisting) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>(1 + userIds.length * 3);
+        keys.add(dirtyKey());
+        List<String> args = new ArrayList<>(5 + userIds.length * 3);
+        args.add(text(messageId));
+        args.add(messageTime != null ? String.valueOf(toMillis(messageTime)) : "0");
+        args.add(String.valueOf(Math.max(1, config.getMaxSessionsPerUser())));
+        args.add(String.valueOf(config.getTtlMs()));
+        args.add(requireExisting ? "1" : "0");
+        for (int i = 0; i < userIds.length; i++) {
+            keys.add(metaKey(userIds[i]));
+            keys.add(recentKey(userIds[i]));
+            keys.add(unreadKey(userIds[i]));
+            args.add(userIds[i].toString());
+            args.add(otherUserIds[i].toString());
+            args.add(String.valueOf(unreadDeltas[i]));
+        }
+        try {
+            for (int attempt = 0; attempt < MAX_LOAD_RETRIES; attempt++) {
+                Long result = stringRedisTemplate.execute(TOUCH_SCRIPT, keys, args.toArray());
+                if (result == null || result >= 0) {
+                    return result;
+                }
+                load(userIds[(int) (-result - 1)]);
+            }
+        } catch (Exception e) {
+            log.warn("更新会话索引失败，回退数据库: userIds={}, error={}", List.of(userIds), e.getMessage());
+        }
+        fallbackCounter.increment();
+        return null;
+    }
+
+    /**
+     * 从 t_message_session 加载用户索引：最近的若干个会话与全部未读会话
+     */
+    private void load(Long userId) {
+        int limit = Math.max(1, config.getMaxSessionsPerUser());
+        List<MessageSession> recent = messageSessionMapper.selectRecentSessions(userId, limit + 1);
+        boolean complete = recent.size() <= limit;
+        if (!complete) {
+            recent = recent.subList(0, limit);
+        }
+        List<MessageSession> unread = messageSessionMapper.selectUnreadSessions(userId);
+
+        List<String> args = new ArrayList<>(3 + recent.size() * 3 + unread.size() * 2);
+        args.add(complete ? "1" : "0");
+        args.add(String.valueOf(config.getTtlMs()));
+        args.add(String.valueOf(recent.size()));
+        for (MessageSession session : recent) {
+            args.add(session.getOtherUserId().toString());
+            args.add(text(session.getLastMessageId()) + "|" + (session.isArchived() ? "1" : "0") + "|" + text(session.getId()));
+            LocalDateTime time = session.getLastMessageTime() != null ? session.getLastMessageTime() : session.getCreateTime();
+            args.add(String.valueOf(time != null ? toMillis(time) : 0L));
+        }
+        for (MessageSession session : unread) {
+            args.add(session.getOtherUserId().toString());
+            args.add(String.valueOf(session.getUnreadCount()));
+        }
+        stringRedisTemplate.execute(LOAD_SCRIPT, List.of(metaKey(userId), recentKey(userId), unreadKey(userId)),
+                args.toArray());
+        loadCounter.increment();
+    }
+
+    private void evict(Long userId) {
+        try {
+            stringRedisTemplate.delete(List.of(metaKey(userId), recentKey(userId), unreadKey(userId)));
+        } catch (Exception e) {
+            log.warn("删除用户会话索引失败: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private Page<MessageSession> toPage(Long userId, List<?> result, Long sinceMs, long current, long size) {
+        boolean complete = "1".equals(String.valueOf(result.get(0)));
+        String oldest = String.valueOf(result.get(1));
+        // 缓存不完整时，只有查询的时间范围完全落在缓存内才能使用
+        if (!complete && (sinceMs == null || oldest.isEmpty() || sinceMs <= (long) Double.parseDouble(oldest))) {
+            return null;
+        }
+        Page<MessageSession> page = new Page<>(current, size, toLong(result.get(2)));
+        List<MessageSession> records = new ArrayList<>();
+        for (int i = 3; i + 3 < result.size(); i += 4) {
+            records.add(toSession(userId, result, i));
+        }
+        page.setRecords(records);
+        return page;
+    }
+
+    private static MessageSession toSession(Long userId, List<?> result, int i) {
+        MessageSession session = new MessageSession();
+        session.setUserId(userId);
+        session.setOtherUserId(Long.valueOf(String.valueOf(result.get(i))));
+        session.setLastMessageTime(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli((long) Double.parseDouble(String.valueOf(result.get(i + 1)))), ZoneId.systemDefault()));
+        String[] meta = String.valueOf(result.get(i + 2)).split("\\|", -1);
+        session.setLastMessageId(meta.length > 0 && !meta[0].isEmpty() ? Long.valueOf(meta[0]) : null);
+        session.setIsArchived(meta.length > 1 && "1".equals(meta[1]));
+        session.setId(meta.length > 2 && !meta[2].isEmpty() ? Long.valueOf(meta[2]) : null);
+        session.setUnreadCount(Integer.valueOf(String.valueOf(result.get(i + 3))));
+        return session;
+    }
+
+    /**
+     * 写回的是 Redis 中的当前值（绝对值），失败的会话重新登记到待写回集合后即可完成批次，不需要子批次登记
+     */
+    private void flushDirty() {
+        RedisWriteBehind.Batch claimed = redisWriteBehind.claim(dirtyKey());
+        if (claimed == null) {
+            return;
+        }
+
+        Set<String> members = stringRedisTemplate.opsForSet().members(claimed.getFlushingKey());
+        if (members != null && !members.isEmpty()) {
+            List<long[]> pairs = new ArrayList<>(members.size());
+            for (String member : members) {
+                int separator = member.indexOf(':');
+                if (separator > 0) {
+                    pairs.add(new long[]{Long.parseLong(member.substring(0, separator)),
+                            Long.parseLong(member.substring(separator + 1))});
+                }
+            }
+            // 按 (用户ID, 对方ID) 排序，多节点写回时加锁顺序一致
+            pairs.sort(Comparator.<long[]>comparingLong(p -> p[0]).thenComparingLong(p -> p[1]));
+            int batchSize = Math.max(1, config.getBatchSize());
+            for (int from = 0; from < pairs.size(); from += batchSize) {
+                List<long[]> batch = pairs.subList(from, Math.min(from + batchSize, pairs.size()));
+                try {
+                    flushBatch(batch);
+                } catch (Exception e) {
+                    log.error("会话行写回失败，重新登记等待下次写回: rows={}", batch.size(), e);
+                    requeue(batch);
+                }
+            }
+        }
+        redisWriteBehind.complete(claimed);
+    }
+
+    /**
+     * 一次流水线读取一批会话在 Redis 中的当前值后写回
+     * 最后消息已被挤出缓存的会话只写回未读数；用户索引已不存在的会话跳过
+     */
+    private void flushBatch(List<long[]> batch) {
+        List<Object> values = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long[] pair : batch) {
+                byte[] peer = String.valueOf(pair[1]).getBytes(StandardCharsets.UTF_8);
+                byte[] metaKey = metaKey(pair[0]).getBytes(StandardCharsets.UTF_8);
+                connection.keyCommands().exists(metaKey);
+                connection.hashCommands().hGet(metaKey, peer);
+                connection.zSetCommands().zScore(recentKey(pair[0]).getBytes(StandardCharsets.UTF_8), peer);
+                connection.hashCommands().hGet(unreadKey(pair[0]).getBytes(StandardCharsets.UTF_8), peer);
+            }
+            return null;
+        });
+
+        List<MessageSession> rows = new ArrayList<>();
+        List<MessageSession> unreadOnly = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Object exists = values.get(i * 4);
+            if (!(exists instanceof Boolean loaded && loaded) && !(exists instanceof Long count && count > 0)) {
+                continue;
+            }
+            Object meta = values.get(i * 4 + 1);
+            Object score = values.get(i * 4 + 2);
+            Object unread = values.get(i * 4 + 3);
+
+            MessageSession session = new MessageSession();
+            session.setUserId(batch.get(i)[0]);
+            session.setOtherUserId(batch.get(i)[1]);
+            session.setUnreadCount(unread != null ? Integer.parseInt(unread.toString()) : 0);
+            String[] parts = meta != null ? meta.toString().split("\\|", -1) : new String[0];
+            if (parts.length > 0 && !parts[0].isEmpty() && score != null) {
+                session.setLastMessageId(Long.valueOf(parts[0]));
+                session.setLastMessageTime(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(((Number) score).longValue()), ZoneId.systemDefault()));
+                session.setId(parts.length > 2 && !parts[2].isEmpty() ? Long.valueOf(parts[2]) : null);
+                rows.add(session);
+            } else {
+                unreadOnly.add(session);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            messageSessionMapper.batchUpsertSessions(rows, false);
+            flushedRowsCounter.increment(rows.size());
+            backfillSessionIds(rows);
+        }
+        for (MessageSession session : unreadOnly) {
+            messageSessionMapper.updateUnreadCountValue(session.getUserId(), session.getOtherUserId(), session.getUnreadCount());
+            flushedRowsCounter.increment();
+        }
+    }
+
+    /**
+     * 新建的会话行写回后把会话ID补进索引
+     */
+    private void backfillSessionIds(List<MessageSession> rows) {
+        List<MessageSession> missing = new ArrayList<>();
+        for (MessageSession row : rows) {
+            if (row.getId() == null) {
+                missing.add(row);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<String, Long> ids = new HashMap<>();
+        for (MessageSession session : messageSessionMapper.selectByUserPairs(missing)) {
+            ids.put(session.getUserId() + ":" + session.getOtherUserId(), session.getId());
+        }
+        for (MessageSession row : missing) {
+            Long id = ids.get(row.getUserId() + ":" + row.getOtherUserId());
+            if (id != null) {
+                MessageSession patch = new MessageSession();
+                patch.setId(id);
+                patch.setUserId(row.getUserId());
+                patch.setOtherUserId(row.getOtherUserId());
+                put(patch);
+            }
+        }
+    }
+
+    private void requeue(List<long[]> batch) {
+        try {
+            String[] members = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                members[i] = batch.get(i)[0] + ":" + batch.get(i)[1];
+            }
+            stringRedisTemplate.opsForSet().add(dirtyKey(), members);
+        } catch (Exception e) {
+            log.error("会话写回重新登记失败: rows={}", batch.size(), e);
+        }
+    }
+
+    /**
+     * 按 t_message 重新统计用户的会话并覆盖 t_message_session
+     */
+    private int rebuildRows(Long userId) {
+        List<MessageSession> sessions = messageSessionMapper.aggregateSessionsFromMessages(userId);
+        sessions.sort(Comparator.comparing(MessageSession::getOtherUserId));
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0; from < sessions.size(); from += batchSize) {
+            messageSessionMapper.batchUpsertSessions(sessions.subList(from, Math.min(from + batchSize, sessions.size())), true);
+        }
+        return sessions.size();
+    }
+
+    /**
+     * 从待写回集合与写回中的集合移除用户的会话（调用方持有写回锁），这些会话行随后按 t_message 重建
+     *
+     * @return 移除的会话数
+     */
+    private int drainDirty(Long userId) {
+        String dirtyKey = dirtyKey();
+        ScanOptions options = ScanOptions.scanOptions().match(userId + ":*").count(1000).build();
+        int drained = 0;
+        for (String key : List.of(dirtyKey, dirtyKey + RedisWriteBehind.FLUSHING_SUFFIX)) {
+            List<String> members = new ArrayList<>();
+            try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(key, options)) {
+                cursor.forEachRemaining(members::add);
+            }
+            if (!members.isEmpty()) {
+                Long removed = stringRedisTemplate.opsForSet().remove(key, members.toArray());
+                drained += removed != null ? removed.intValue() : 0;
+            }
+        }
+        return drained;
+    }
+
+    private void runRebuildAll(RebuildJob job) {
+        int batchSize = Math.max(1, config.getRebuildBatchSize());
+        Long afterUserId = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> userIds = messageSessionMapper.selectSessionUserIds(afterUserId, batchSize);
+                if (userIds.isEmpty()) {
+                    job.finish(RebuildJob.STATUS_DONE, null);
+                    log.info("会话索引全量重建完成: jobId={}, users={}, failed={}",
+                            job.getJobId(), job.getUsers(), job.getFailed());
+                    return;
+                }
+                for (Long userId : userIds) {
+                    try {
+                        rebuild(userId);
+                        job.users.incrementAndGet();
+                    } catch (Exception e) {
+                        job.failed.incrementAndGet();
+                        log.error("会话索引重建失败: jobId={}, userId={}", job.getJobId(), userId, e);
+                    }
+                }
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+            job.finish(RebuildJob.STATUS_CANCELLED, "重建线程已中断");
+            log.warn("会话索引全量重建已中断: jobId={}, users={}", job.getJobId(), job.getUsers());
+        } catch (Exception e) {
+            job.finish(RebuildJob.STATUS_FAILED, e.getMessage());
+            log.error("会话索引全量重建失败: jobId={}, users={}", job.getJobId(), job.getUsers(), e);
+        }
+    }
+
+    /**
+     * 在写回锁有效期内等待获取写回锁
+     */
+    private boolean awaitLock(String lockKey) {
+        long deadline = System.currentTimeMillis() + config.getLockTtlMs();
+        while (true) {
+            if (tryLock(lockKey)) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(LOCK_RETRY_PAUSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, nodeId, config.getLockTtlMs(), TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            log.warn("获取会话写回锁失败: key={}, error={}", lockKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), nodeId);
+        } catch (Exception e) {
+            log.warn("释放会话写回锁失败: key={}, error={}", lockKey, e.getMessage());
+        }
+    }
+
+    private String metaKey(long userId) {
+        return config.getRedisKeyPrefix() + "meta:" + userId;
+    }
+
+    private String recentKey(long userId) {
+        return config.getRedisKeyPrefix() + "recent:" + userId;
+    }
+
+    private String unreadKey(long userId) {
+        return config.getRedisKeyPrefix() + "unread:" + userId;
+    }
+
+    private String dirtyKey() {
+        return config.getRedisKeyPrefix() + DIRTY_KEY;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 全量重建任务
+     */
+    @Getter
+    public static final class RebuildJob {
+        public static final String STATUS_RUNNING = "RUNNING";
+        public static final String STATUS_DONE = "DONE";
+        public static final String STATUS_FAILED = "FAILED";
+        public static final String STATUS_CANCELLED = "CANCELLED";
+
+        private final String jobId;
+        private final LocalDateTime startTime = LocalDateTime.now();
+        private volatile String status = STATUS_RUNNING;
+        private volatile LocalDateTime finishTime;
+        private volatile String error;
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger users = new AtomicInteger();
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private RebuildJob(String jobId) {
+            this.jobId = jobId;
+        }
+
+        /**
+         * 已重建的用户数
+         */
+        public int getUsers() {
+            return users.get();
+        }
+
+        /**
+         * 重建失败的用户数
+         */
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public boolean isFinished() {
+            return !STATUS_RUNNING.equals(status);
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.finishTime = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.gig.collide.message;
+
+import com.gig.collide.config.MessageWriteConfig;
+import com.gig.collide.domain.Message;
+import com.gig.collide.domain.MessageSession;
+import com.gig.collide.mapper.MessageMapper;
+import com.gig.collide.mapper.MessageSessionMapper;
+import com.gig.collide.push.MessagePushService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 消息写入管道（组提交）
+ * 请求线程把校验过的消息放入本节点环形队列后等待结果，单个写入线程攒批后在一个事务中提交
+ *
+ * 实现特性：
+ * - 一批消息一条多行 INSERT，自增ID按顺序回填后完成每个调用方的 Future
+ * - 同一批内按 (发送者, 接收者) 合并会话变更：启用会话索引时提交后写入 Redis，否则与消息同事务批量 UPSERT
+ * - 写入线程提交期间到达的消息自然进入下一批，负载越高批次越大；低负载时最多额外等待 linger-ms
+ * - 整批提交失败时逐条重试，只让真正出错的消息失败
+ * - 队列满时由请求线程按同样的方式单条提交；未启用时返回 null，由调用方按原方式插入
+ * - 等待超时不报错，返回状态为 sending 的消息，提交结果经推送帧确认；
+ *   携带客户端消息键时按键去重，重试返回已提交的消息或仍在写入中的消息，不会重复写入
+ * - 暴露提交延迟 p50/p99、批次大小分布与队列积压指标
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageWritePipeline {
+
+    /**
+     * 已入队但等待超时的消息状态（只出现在返回值中，不落库）
+     */
+    public static final String STATUS_SENDING = "sending";
+    private static final String CLIENT_KEY_PENDING = "pending";
+
+    private final MessageWriteConfig config;
+    private final MessageMapper messageMapper;
+    private final MessageSessionMapper messageSessionMapper;
+    private final MessageSessionIndex messageSessionIndex;
+    private final MessagePushService messagePushService;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private BlockingQueue<PendingMessage> queue;
+    private ExecutorService writerExecutor;
+    private Timer commitLatencyTimer;
+    private Timer flushTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter overflowCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter timeoutCounter;
+    private Counter duplicateCounter;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+
+        Gauge.builder("collide.message.write.pending", queue, BlockingQueue::size)
+                .description("等待组提交的消息数")
+                .register(meterRegistry);
+        commitLatencyTimer = Timer.builder("collide.message.write.commit.latency")
+                .description("消息从入队到提交完成的耗时")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        flushTimer = Timer.builder("collide.message.write.flush")
+                .description("单次组提交事务耗时")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("collide.message.write.batch.size")
+                .description("单次组提交的消息数")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("collide.message.write.overflow")
+                .description("队列满后由请求线程直接插入的消息数")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("collide.message.write.retried")
+                .description("整批提交失败后逐条重试的消息数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("collide.message.write.failed")
+                .description("写入失败的消息数")
+                .register(meterRegistry);
+        timeoutCounter = Counter.builder("collide.message.write.timeout")
+                .description("等待提交超时、以发送中状态返回的消息数")
+                .register(meterRegistry);
+        duplicateCounter = Counter.builder("collide.message.write.duplicate")
+                .description("按客户端消息键去重的重试请求数")
+                .register(meterRegistry);
+
+        if (config.isEnabled()) {
+            running = true;
+            writerExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "message-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writerExecutor.execute(this::runWriter);
+        }
+        log.info("消息写入管道初始化完成: enabled={}, queueCapacity={}, maxBatchSize={}, lingerMs={}",
+                config.isEnabled(), config.getQueueCapacity(), config.getMaxBatchSize(), config.getLingerMs());
+    }
+
+    /**
+     * 写入一条消息并等待组提交完成
+     *
+     * @param message 已校验并设置默认值的消息
+     * @return 回填ID后的消息；等待超时或同一客户端消息键仍在写入中时返回状态为 sending、ID为空的消息；
+     *         未启用或停机中返回 null，调用方需自行插入
+     */
+    public Message write(Message message) {
+        if (!running) {
+            return null;
+        }
+        String clientKey = clientKey(message);
+        if (clientKey != null) {
+            Message existing = claimClientKey(clientKey, message);
+            if (existing != null) {
+                duplicateCounter.increment();
+                return existing;
+            }
+        }
+        CompletableFuture<Message> future = submit(message, clientKey);
+        if (future == null) {
+            // 队列满：由请求线程单条提交，形成背压
+            PendingMessage pending = new PendingMessage(message, clientKey);
+            commitOne(pending, config.isUpdateSessions() && !messageSessionIndex.isEnabled());
+            future = pending.future;
+        }
+        try {
+            return future.get(config.getSubmitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 消息仍在队列或事务中，之后会提交，不能让调用方重复插入；提交后经推送帧（附带客户端消息键）确认
+            timeoutCounter.increment();
+            log.warn("消息写入等待超时，返回发送中状态: senderId={}, receiverId={}, clientMsgId={}",
+                    message.getSenderId(), message.getReceiverId(), message.getClientMsgId());
+            return sending(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("消息写入被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException("消息发送失败", cause);
+        }
+    }
+
+    /**
+     * 提交一条消息，提交完成后 Future 返回回填ID的消息（不按客户端消息键去重）
+     *
+     * @return 未启用、队列满或停机中返回 null
+     */
+    public CompletableFuture<Message> submit(Message message) {
+        return submit(message, null);
+    }
+
+    private CompletableFuture<Message> submit(Message message, String clientKey) {
+        if (!running) {
+            return null;
+        }
+        PendingMessage pending = new PendingMessage(message, clientKey);
+        if (!queue.offer(pending)) {
+            overflowCounter.increment();
+            return null;
+        }
+        return pending.future;
+    }
+
+    /**
+     * 当前等待提交的消息数
+     */
+    public int getPendingMessages() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerExecutor == null) {
+            return;
+        }
+        // 停止接收新消息，写入线程提交完队列中剩余的消息后退出
+        running = false;
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("消息写入管道停机超时，剩余消息数={}", queue.size());
+                writerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    // =================== 写入线程 ===================
+
+    private void runWriter() {
+        int maxBatchSize = Math.max(1, config.getMaxBatchSize());
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getLingerMs()));
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new RuntimeException("消息写入管道已停止"));
+                break;
+            } catch (Exception e) {
+                log.error("消息组提交异常: size={}", batch.size(), e);
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+        List<PendingMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, new RuntimeException("消息写入管道已停止"));
+    }
+
+    /**
+     * 一批消息在一个事务中提交；失败时逐条重试
+     */
+    private void commit(List<PendingMessage> batch) {
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (PendingMessage pending : batch) {
+            messages.add(pending.message);
+        }
+        boolean sessionsInTransaction = config.isUpdateSessions() && !messageSessionIndex.isEnabled();
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                messageMapper.batchInsertMessages(messages);
+                if (sessionsInTransaction) {
+                    messageSessionMapper.batchApplyNewMessages(toSessionRows(messages));
+                }
+            }));
+        } catch (Exception e) {
+            log.warn("消息整批提交失败，逐条重试: size={}, error={}", batch.size(), e.getMessage());
+            retry(batch, sessionsInTransaction);
+            return;
+        }
+        batchSizeSummary.record(batch.size());
+        complete(batch);
+        if (config.isUpdateSessions() && !sessionsInTransaction) {
+            applySessions(messages);
+        }
+        for (Message message : messages) {
+            messagePushService.onMessageSent(message);
+        }
+    }
+
+    private void retry(List<PendingMessage> batch, boolean sessionsInTransaction) {
+        for (PendingMessage pending : batch) {
+            retriedCounter.increment();
+            commitOne(pending, sessionsInTransaction);
+        }
+    }
+
+    /**
+     * 单条消息独立事务提交，完成或失败其 Future
+     */
+    private void commitOne(PendingMessage pending, boolean sessionsInTransaction) {
+        Message message = pending.message;
+        message.setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (messageMapper.insert(message) <= 0) {
+                    throw new RuntimeException("消息发送失败");
+                }
+                if (sessionsInTransaction) {
+                    messageSessionMapper.batchApplyNewMessages(toSessionRows(List.of(message)));
+                }
+            });
+        } catch (Exception e) {
+            log.error("消息写入失败: senderId={}, receiverId={}", message.getSenderId(), message.getReceiverId(), e);
+            fail(List.of(pending), e);
+            return;
+        }
+        batchSizeSummary.record(1);
+        complete(List.of(pending));
+        if (config.isUpdateSessions() && !sessionsInTransaction) {
+            applySessions(List.of(message));
+        }
+        messagePushService.onMessageSent(message);
+    }
+
+    /**
+     * 消息提交后写入会话索引；索引不可用的会话变更直接批量写库
+     */
+    private void applySessions(List<Message> messages) {
+        List<MessageSession> fallback = new ArrayList<>();
+        for (PairUpdate update : mergeByPair(messages).values()) {
+            if (!messageSessionIndex.onNewMessages(update.senderId, update.receiverId,
+                    update.last.getId(), update.last.getCreateTime(), update.count)) {
+                fallback.addAll(update.toSessionRows());
+            }
+        }
+        if (fallback.isEmpty()) {
+            return;
+        }
+        try {
+            messageSessionMapper.batchApplyNewMessages(fallback);
+        } catch (Exception e) {
+            // 消息已提交，会话可通过重建会话索引恢复
+            log.error("会话批量更新失败: rows={}", fallback.size(), e);
+        }
+    }
+
+    private List<MessageSession> toSessionRows(List<Message> messages) {
+        List<MessageSession> rows = new ArrayList<>();
+        for (PairUpdate update : mergeByPair(messages).values()) {
+            rows.addAll(update.toSessionRows());
+        }
+        // 按 (用户ID, 对方ID) 排序，多节点并发写入时行锁获取顺序一致
+        rows.sort((a, b) -> a.getUserId().equals(b.getUserId())
+                ? a.getOtherUserId().compareTo(b.getOtherUserId())
+                : a.getUserId().compareTo(b.getUserId()));
+        return rows;
+    }
+
+    private static Map<String, PairUpdate> mergeByPair(List<Message> messages) {
+        Map<String, PairUpdate> updates = new TreeMap<>();
+        for (Message message : messages) {
+            updates.computeIfAbsent(message.getSenderId() + ":" + message.getReceiverId(),
+                    k -> new PairUpdate(message.getSenderId(), message.getReceiverId())).add(message);
+        }
+        return updates;
+    }
+
+    private void complete(List<PendingMessage> batch) {
+        long now = System.nanoTime();
+        for (PendingMessage pending : batch) {
+            commitLatencyTimer.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            pending.future.complete(pending.message);
+        }
+        updateClientKeys(batch, true);
+    }
+
+    private void fail(List<PendingMessage> batch, Throwable error) {
+        // 已完成的消息（提交后的会话更新或推送出错）不算失败，保留其客户端消息键
+        List<PendingMessage> failed = new ArrayList<>();
+        for (PendingMessage pending : batch) {
+            if (pending.future.completeExceptionally(error)) {
+                failedCounter.increment();
+                failed.add(pending);
+            }
+        }
+        updateClientKeys(failed, false);
+    }
+
+    // =================== 客户端消息键去重 ===================
+
+    private String clientKey(Message message) {
+        if (!StringUtils.hasText(message.getClientMsgId()) || message.getSenderId() == null) {
+            return null;
+        }
+        return config.getClientKeyPrefix() + message.getSenderId() + ":" + message.getClientMsgId();
+    }
+
+    /**
+     * 占用客户端消息键
+     *
+     * @return 键已被占用时返回已提交的消息或发送中的消息；成功占用或 Redis 不可用时返回 null，继续写入
+     */
+    private Message claimClientKey(String clientKey, Message message) {
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(clientKey, CLIENT_KEY_PENDING,
+                    config.getClientKeyPendingTtlMs(), TimeUnit.MILLISECONDS))) {
+                return null;
+            }
+            String value = stringRedisTemplate.opsForValue().get(clientKey);
+            if (value == null) {
+                // 占位刚好过期，按新消息写入
+                return null;
+            }
+            if (CLIENT_KEY_PENDING.equals(value)) {
+                return sending(message);
+            }
+            Message committed = messageMapper.selectById(Long.valueOf(value));
+            if (committed != null) {
+                committed.setClientMsgId(message.getClientMsgId());
+                return committed;
+            }
+            return sending(message);
+        } catch (Exception e) {
+            log.warn("客户端消息键去重失败，按新消息写入: key={}, error={}", clientKey, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 提交成功时把客户端消息键改为消息ID，失败时删除以便客户端重试
+     */
+    private void updateClientKeys(List<PendingMessage> batch, boolean committed) {
+        List<PendingMessage> keyed = new ArrayList<>();
+        for (PendingMessage pending : batch) {
+            if (pending.clientKey != null) {
+                keyed.add(pending);
+            }
+        }
+        if (keyed.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (PendingMessage pending : keyed) {
+                        if (committed) {
+                            operations.opsForValue().set(pending.clientKey, String.valueOf(pending.message.getId()),
+                                    config.getClientKeyTtlMs(), TimeUnit.MILLISECONDS);
+                        } else {
+                            operations.delete(pending.clientKey);
+                        }
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("更新客户端消息键失败: size={}, committed={}, error={}", keyed.size(), committed, e.getMessage());
+        }
+    }
+
+    /**
+     * 发送中的消息副本（写入线程仍会修改原对象）
+     */
+    private static Message sending(Message message) {
+        Message copy = new Message();
+        copy.setSenderId(message.getSenderId());
+        copy.setReceiverId(message.getReceiverId());
+        copy.setContent(message.getContent());
+        copy.setMessageType(message.getMessageType());
+        copy.setExtraData(message.getExtraData());
+        copy.setReplyToId(message.getReplyToId());
+        copy.setIsPinned(message.getIsPinned());
+        copy.setCreateTime(message.getCreateTime());
+        copy.setClientMsgId(message.getClientMsgId());
+        copy.setStatus(STATUS_SENDING);
+        return copy;
+    }
+
+    private static final class PendingMessage {
+        final Message message;
+        final String clientKey;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Message> future = new CompletableFuture<>();
+
+        PendingMessage(Message message, String clientKey) {
+            this.message = message;
+            this.clientKey = clientKey;
+        }
+    }
+
+    /**
+     * 同一批内同一 (发送者, 接收者) 的会话变更
+     */
+    private static final class PairUpdate {
+        final Long senderId;
+        final Long receiverId;
+        Message last;
+        int count;
+
+        PairUpdate(Long senderId, Long receiverId) {
+            this.senderId = senderId;
+            this.receiverId = receiverId;
+        }
+
+        void add(Message message) {
+            if (last == null || message.getId() > last.getId()) {
+                last = message;
+            }
+            count++;
+        }
+
+        List<MessageSession> toSessionRows() {
+            return List.of(row(senderId, receiverId, 0), row(receiverId, senderId, count));
+        }
+
+        private MessageSession row(Long userId, Long otherUserId, int unreadCount) {
+            MessageSession session = new MessageSession();
+            session.setUserId(userId);
+            session.setOtherUserId(otherUserId);
+            session.setLastMessageId(last.getId());
+            session.setLastMessageTime(last.getCreateTime());
+            session.setUnreadCount(unreadCount);
+            return session;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.gig.collide.order;
+
+import com.gig.collide.cache.OrderCacheConstant;
+import com.gig.collide.cache.TwoLevelCacheManager;
+import com.gig.collide.config.OrderLifecycleConfig;
+import com.gig.collide.mapper.OrderMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单生命周期调度器
+ * 每个订单在状态变化时登记自己的截止时间，到期后按订单小批量取消或完成，替代定时全表扫描与大事务批量更新
+ *
+ * 实现特性：
+ * - 截止时间保存在 Redis 有序集合中，多节点共享且重启不丢失
+ * - 即将到期的订单装入本地分层时间轮，到期即触发，无需轮询数据库
+ * - 到期后先在 Redis 中认领（将截止时间推后一个租约），多节点不会重复处理；处理节点宕机时租约到期后由其他节点重试
+ * - 状态变更为带前置状态条件的单条批量更新，重复触发或订单已支付、已取消时不产生影响
+ * - 数据库低频兜底补偿，处理 Redis 不可用时未能登记的订单
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderLifecycleScheduler {
+
+    /**
+     * 认领脚本：截止时间已到的订单将分数推后一个租约并返回，未到期、已移除或已被其他节点认领的订单跳过
+     */
+    private static final DefaultRedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local claimed = {} " +
+            "for i = 3, #ARGV do " +
+            "  local score = redis.call('ZSCORE', KEYS[1], ARGV[i]) " +
+            "  if score and tonumber(score) <= tonumber(ARGV[1]) then " +
+            "    redis.call('ZADD', KEYS[1], ARGV[2], ARGV[i]) " +
+            "    claimed[#claimed + 1] = ARGV[i] " +
+            "  end " +
+            "end " +
+            "return claimed", List.class);
+
+    private final OrderLifecycleConfig config;
+    private final OrderMapper orderMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TwoLevelCacheManager twoLevelCacheManager;
+
+    private final ConcurrentLinkedQueue<DeadlineTask> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wheelSize = new AtomicInteger();
+
+    /**
+     * 以下字段仅由调度线程访问
+     */
+    private TimingWheel<DeadlineTask> wheel;
+    private final Map<Deadline, Map<Long, Long>> scheduled = new EnumMap<>(Deadline.class);
+
+    private ScheduledExecutorService ticker;
+    private Map<Deadline, Counter> transitionCounters;
+
+    /**
+     * 截止时间类型
+     */
+    public enum Deadline {
+        /**
+         * 待支付订单超时取消
+         */
+        PAY_TIMEOUT(OrderCacheConstant.CANCEL_DEADLINE_KEY),
+        /**
+         * 已发货订单自动完成
+         */
+        AUTO_COMPLETE(OrderCacheConstant.COMPLETE_DEADLINE_KEY);
+
+        private final String redisKey;
+
+        Deadline(String redisKey) {
+            this.redisKey = redisKey;
+        }
+
+        public String getRedisKey() {
+            return redisKey;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Deadline deadline : Deadline.values()) {
+            scheduled.put(deadline, new HashMap<>());
+        }
+        transitionCounters = new EnumMap<>(Deadline.class);
+        for (Deadline deadline : Deadline.values()) {
+            transitionCounters.put(deadline, Counter.builder("collide.order.lifecycle.transitions")
+                    .tag("deadline", deadline.name().toLowerCase())
+                    .description("到期自动取消或完成的订单数")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("collide.order.lifecycle.wheel.size", wheelSize, AtomicInteger::get)
+                .description("本地时间轮中等待到期的订单数")
+                .register(meterRegistry);
+
+        if (!config.isEnabled()) {
+            log.info("订单生命周期调度未启用");
+            return;
+        }
+        long tickMs = Math.max(10, config.getTickMs());
+        wheel = new TimingWheel<>(tickMs, Math.max(2, config.getWheelSize()), System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        log.info("订单生命周期调度器初始化完成: payTimeoutMinutes={}, autoCompleteDays={}, tickMs={}, wheelSize={}, horizonMs={}",
+                config.getPayTimeoutMinutes(), config.getAutoCompleteDays(), tickMs, config.getWheelSize(), config.getHorizonMs());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // =================== 截止时间登记 ===================
+
+    /**
+     * 登记待支付订单的超时取消时间（存在事务时在提交后执行）
+     *
+     * @param createTime 订单创建时间，为空时按当前时间计算
+     */
+    public void registerPaymentDeadline(Long orderId, LocalDateTime createTime) {
+        register(Deadline.PAY_TIMEOUT, orderId, paymentDeadline(createTime));
+    }
+
+    /**
+     * 计算待支付订单的支付截止时间戳（毫秒）
+     *
+     * @param createTime 订单创建时间，为空时按当前时间计算
+     */
+    public long paymentDeadline(LocalDateTime createTime) {
+        LocalDateTime base = createTime != null ? createTime : LocalDateTime.now();
+        return toEpochMilli(base.plusMinutes(config.getPayTimeoutMinutes()));
+    }
+
+    /**
+     * 登记已发货订单的自动完成时间（存在事务时在提交后执行）
+     */
+    public void registerCompletionDeadline(Long orderId) {
+        register(Deadline.AUTO_COMPLETE, orderId,
+                toEpochMilli(LocalDateTime.now().plusDays(config.getAutoCompleteDays())));
+    }
+
+    /**
+     * 撤销截止时间（订单已支付、已取消或已完成时调用，存在事务时在提交后执行）
+     * 撤销失败不影响正确性：到期处理带前置状态条件，已流转的订单不会被再次修改
+     */
+    public void unregister(Deadline deadline, Long orderId) {
+        if (!config.isEnabled() || orderId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForZSet().remove(deadline.getRedisKey(), String.valueOf(orderId));
+            } catch (Exception e) {
+                log.warn("撤销订单截止时间失败: deadline={}, orderId={}", deadline, orderId, e);
+            }
+        });
+    }
+
+    // =================== 批量处理 ===================
+
+    /**
+     * 按数据库状态分批取消超时未支付订单，每批一条条件更新语句，不持有长事务
+     *
+     * @param timeoutTime 创建时间早于该时间的待支付订单视为超时
+     * @param maxBatches 最多处理的批数
+     * @return 取消的订单数
+     */
+    public int cancelTimeoutOrders(LocalDateTime timeoutTime, int maxBatches) {
+        return drain(Deadline.PAY_TIMEOUT, timeoutTime, maxBatches);
+    }
+
+    /**
+     * 按数据库状态分批完成已发货订单
+     *
+     * @param shippedBefore 发货（最后更新）时间早于该时间的已发货订单视为到期
+     * @param maxBatches 最多处理的批数
+     * @return 完成的订单数
+     */
+    public int completeShippedOrders(LocalDateTime shippedBefore, int maxBatches) {
+        return drain(Deadline.AUTO_COMPLETE, shippedBefore, maxBatches);
+    }
+
+    /**
+     * 从 Redis 装载即将到期的订单到本地时间轮
+     */
+    @Scheduled(fixedDelayString = "${collide.order-lifecycle.load-interval-ms:60000}")
+    public void loadUpcoming() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + config.getHorizonMs();
+        for (Deadline deadline : Deadline.values()) {
+            try {
+                Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                        .rangeByScoreWithScores(deadline.getRedisKey(), Double.NEGATIVE_INFINITY, until,
+                                0, Math.max(1, config.getLoadLimit()));
+                if (CollectionUtils.isEmpty(tuples)) {
+                    continue;
+                }
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    if (tuple.getValue() == null || tuple.getScore() == null) {
+                        continue;
+                    }
+                    inbox.offer(new DeadlineTask(deadline, Long.parseLong(tuple.getValue()), tuple.getScore().longValue()));
+                }
+                log.debug("装载即将到期订单: deadline={}, count={}", deadline, tuples.size());
+            } catch (Exception e) {
+                log.warn("装载即将到期订单失败: deadline={}", deadline, e);
+            }
+        }
+    }
+
+    /**
+     * 数据库兜底补偿：处理 Redis 不可用期间未能登记截止时间的订单
+     */
+    @Scheduled(fixedDelayString = "${collide.order-lifecycle.reconcile-interval-ms:600000}",
+            initialDelayString = "${collide.order-lifecycle.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!config.isEnabled() || config.getReconcileIntervalMs() <= 0) {
+            return;
+        }
+        try {
+            int maxBatches = Math.max(1, config.getReconcileMaxBatches());
+            int cancelled = cancelTimeoutOrders(LocalDateTime.now().minusMinutes(config.getPayTimeoutMinutes()), maxBatches);
+            int completed = completeShippedOrders(LocalDateTime.now().minusDays(config.getAutoCompleteDays()), maxBatches);
+            if (cancelled > 0 || completed > 0) {
+                log.info("订单兜底补偿完成: cancelled={}, completed={}", cancelled, completed);
+            }
+        } catch (Exception e) {
+            log.error("订单兜底补偿失败", e);
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    private void register(Deadline deadline, Long orderId, long deadlineMs) {
+        if (!config.isEnabled() || orderId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForZSet().add(deadline.getRedisKey(), String.valueOf(orderId), deadlineMs);
+            } catch (Exception e) {
+                log.warn("登记订单截止时间失败，由兜底补偿处理: deadline={}, orderId={}", deadline, orderId, e);
+            }
+            if (deadlineMs - System.currentTimeMillis() <= config.getHorizonMs()) {
+                inbox.offer(new DeadlineTask(deadline, orderId, deadlineMs));
+            }
+        });
+    }
+
+    /**
+     * 调度线程：接收新登记的订单、推进时间轮并处理到期订单
+     */
+    private void tick() {
+        try {
+            Map<Deadline, List<Long>> due = new EnumMap<>(Deadline.class);
+            DeadlineTask task;
+            while ((task = inbox.poll()) != null) {
+                Map<Long, Long> pending = scheduled.get(task.deadline());
+                Long existing = pending.get(task.orderId());
+                if (existing != null && existing == task.deadlineMs()) {
+                    continue;
+                }
+                pending.put(task.orderId(), task.deadlineMs());
+                if (!wheel.add(task, task.deadlineMs())) {
+                    fire(task, due);
+                }
+            }
+            wheel.advance(System.currentTimeMillis(), expired -> fire(expired, due));
+            wheelSize.set(wheel.size());
+
+            for (Map.Entry<Deadline, List<Long>> entry : due.entrySet()) {
+                List<Long> orderIds = entry.getValue();
+                int batchSize = Math.max(1, config.getBatchSize());
+                for (int from = 0; from < orderIds.size(); from += batchSize) {
+                    processDue(entry.getKey(), orderIds.subList(from, Math.min(from + batchSize, orderIds.size())));
+                }
+            }
+        } catch (Exception e) {
+            log.error("订单生命周期调度异常", e);
+        }
+    }
+
+    /**
+     * 时间轮中同一订单的旧截止时间被新登记覆盖时，旧任务到期后忽略
+     */
+    private void fire(DeadlineTask task, Map<Deadline, List<Long>> due) {
+        if (scheduled.get(task.deadline()).remove(task.orderId(), task.deadlineMs())) {
+            due.computeIfAbsent(task.deadline(), k -> new ArrayList<>()).add(task.orderId());
+        }
+    }
+
+    /**
+     * 处理一批到期订单：认领、条件更新、移除截止时间
+     * 更新失败时保留认领租约，租约到期后重新装载重试
+     */
+    private void processDue(Deadline deadline, List<Long> orderIds) {
+        long now = System.currentTimeMillis();
+        List<Long> claimed = claim(deadline, orderIds, now);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            int updated = transition(deadline, claimed);
+            transitionCounters.get(deadline).increment(updated);
+            removeDeadlines(deadline, claimed);
+            log.info("订单到期处理完成: deadline={}, claimed={}, updated={}", deadline, claimed.size(), updated);
+        } catch (Exception e) {
+            log.error("订单到期处理失败，租约到期后重试: deadline={}, count={}", deadline, claimed.size(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> claim(Deadline deadline, List<Long> orderIds, long now) {
+        List<String> args = new ArrayList<>(orderIds.size() + 2);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(now + config.getClaimLeaseMs()));
+        for (Long orderId : orderIds) {
+            args.add(String.valueOf(orderId));
+        }
+        try {
+            List<Object> result = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(deadline.getRedisKey()), args.toArray());
+            List<Long> claimed = new ArrayList<>();
+            if (result != null) {
+                for (Object value : result) {
+                    claimed.add(Long.parseLong(String.valueOf(value)));
+                }
+            }
+            return claimed;
+        } catch (Exception e) {
+            // Redis 不可用时直接处理：条件更新保证重复处理无副作用
+            log.warn("认领到期订单失败，直接处理: deadline={}, count={}", deadline, orderIds.size(), e);
+            return new ArrayList<>(orderIds);
+        }
+    }
+
+    /**
+     * 带前置状态条件的批量状态变更，有订单变更时失效所属用户的订单统计缓存
+     */
+    private int transition(Deadline deadline, List<Long> orderIds) {
+        int updated = deadline == Deadline.PAY_TIMEOUT
+                ? orderMapper.cancelUnpaidOrders(orderIds)
+                : orderMapper.completeShippedOrders(orderIds);
+        if (updated > 0) {
+            List<Long> userIds = orderMapper.selectUserIdsByOrderIds(orderIds);
+            if (!CollectionUtils.isEmpty(userIds)) {
+                twoLevelCacheManager.evict(OrderCacheConstant.ORDER_STATISTICS_CACHE,
+                        userIds.stream().map(OrderCacheConstant::buildUserStatisticsKey).toList());
+            }
+        }
+        return updated;
+    }
+
+    private int drain(Deadline deadline, LocalDateTime cutoff, int maxBatches) {
+        int batchSize = Math.max(1, config.getBatchSize());
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> orderIds = deadline == Deadline.PAY_TIMEOUT
+                    ? orderMapper.selectTimeoutOrderIds(cutoff, batchSize)
+                    : orderMapper.selectShippedOrderIds(cutoff, batchSize);
+            if (CollectionUtils.isEmpty(orderIds)) {
+                break;
+            }
+            int updated = transition(deadline, orderIds);
+            transitionCounters.get(deadline).increment(updated);
+            total += updated;
+            if (config.isEnabled()) {
+                removeDeadlines(deadline, orderIds);
+            }
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void removeDeadlines(Deadline deadline, List<Long> orderIds) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(deadline.getRedisKey(),
+                    orderIds.stream().map(String::valueOf).toArray());
+        } catch (Exception e) {
+            log.warn("移除订单截止时间失败: deadline={}, count={}", deadline, orderIds.size(), e);
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 截止时间任务
+     */
+    private record DeadlineTask(Deadline deadline, long orderId, long deadlineMs) {
+    }
+}
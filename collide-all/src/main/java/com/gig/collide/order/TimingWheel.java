@@ -0,0 +1,141 @@
+package com.gig.collide.order;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * 第一层按 tickMs 划分 wheelSize 个槽，超出本层范围的任务放入上一层（槽宽为本层总跨度），
+ * 随时间推进逐层下放，添加与到期均为 O(1)，适合大量定时任务的到期触发
+ *
+ * 任务最晚在截止时间后一个槽宽内到期，不会提前到期。
+ * 由调用方通过 {@link #advance(long, Consumer)} 驱动时间推进；非线程安全，应由单一线程访问。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public class TimingWheel<T> {
+
+    private final Level<T> root;
+
+    private int size;
+
+    /**
+     * @param tickMs 第一层槽宽（毫秒）
+     * @param wheelSize 每层槽数
+     * @param startMs 起始时间戳（毫秒）
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs必须为正数，wheelSize必须大于1");
+        }
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * 添加定时任务
+     *
+     * @param item 任务
+     * @param deadlineMs 到期时间戳（毫秒）
+     * @return 已到期（不足一个槽宽）时返回false，由调用方立即处理
+     */
+    public boolean add(T item, long deadlineMs) {
+        // 向上取整到槽边界：槽在起始时刻触发，取整后任务不会早于截止时间到期
+        long alignedMs = Math.floorDiv(deadlineMs + root.tickMs - 1, root.tickMs) * root.tickMs;
+        if (root.add(new Entry<>(item, alignedMs))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 推进时间到 nowMs，依次回调期间到期的任务
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        root.advance(nowMs, entry -> {
+            size--;
+            expired.accept(entry.item);
+        });
+    }
+
+    /**
+     * 时间轮中等待到期的任务数
+     */
+    public int size() {
+        return size;
+    }
+
+    // =================== 内部结构 ===================
+
+    private static final class Entry<T> {
+        final T item;
+        final long deadlineMs;
+
+        Entry(T item, long deadlineMs) {
+            this.item = item;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+
+    private static final class Level<T> {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;
+        final ArrayDeque<Entry<T>>[] buckets;
+
+        /**
+         * 当前时间（按槽宽取整）
+         */
+        long currentTime;
+
+        Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        boolean add(Entry<T> entry) {
+            if (entry.deadlineMs < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.deadlineMs < currentTime + interval) {
+                buckets[(int) Math.floorMod(entry.deadlineMs / tickMs, (long) wheelSize)].add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advance(long nowMs, Consumer<Entry<T>> expired) {
+            while (currentTime + tickMs <= nowMs) {
+                currentTime += tickMs;
+                // 上层槽到期时先把其中的任务下放到本层，再处理本层当前槽
+                if (overflow != null && Math.floorMod(currentTime, interval) == 0) {
+                    overflow.advance(currentTime, entry -> reinsert(entry, expired));
+                }
+                ArrayDeque<Entry<T>> bucket = buckets[(int) Math.floorMod(currentTime / tickMs, (long) wheelSize)];
+                int count = bucket.size();
+                for (int i = 0; i < count; i++) {
+                    reinsert(bucket.poll(), expired);
+                }
+            }
+        }
+
+        private void reinsert(Entry<T> entry, Consumer<Entry<T>> expired) {
+            if (!add(entry)) {
+                expired.accept(entry);
+            }
+        }
+    }
+}
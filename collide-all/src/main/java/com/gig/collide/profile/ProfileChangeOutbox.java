@@ -0,0 +1,112 @@
+package com.gig.collide.profile;
+
+import com.gig.collide.domain.ProfileChangeEvent;
+import com.gig.collide.mapper.DenormalizedProfileMapper;
+import com.gig.collide.mapper.ProfileChangeEventMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户资料变更发件箱
+ * 修改昵称/头像时写入一条变更事件，由 {@link ProfileSyncWorker} 在后台分块改写冗余字段
+ *
+ * 调用方在修改资料的事务中调用时，事件与资料修改一同提交或回滚；
+ * 新事件同时包含昵称与头像时，同一用户、相同字段组仍在等待的旧事件被置为 SUPERSEDED
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileChangeOutbox {
+
+    private final ProfileChangeEventMapper profileChangeEventMapper;
+    private final DenormalizedProfileMapper denormalizedProfileMapper;
+
+    /**
+     * 发布资料变更，改写全部冗余字段组
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProfileChangeEvent publish(Long userId, String nickname, String avatar) {
+        return publish(userId, nickname, avatar, EnumSet.allOf(ProfileSyncTarget.class));
+    }
+
+    /**
+     * 发布资料变更，返回后台任务将改写的冗余行数，供沿用“影响行数”返回值的 updateUserInfo 接口使用
+     *
+     * @return 字段组所在表中该用户的冗余行数；昵称与头像都为空时返回 0
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int publishAndCountRows(Long userId, String nickname, String avatar, Set<ProfileSyncTarget> targets) {
+        ProfileChangeEvent event = publish(userId, nickname, avatar, targets);
+        if (event == null) {
+            return 0;
+        }
+        int rows = 0;
+        for (ProfileSyncTarget target : targets) {
+            rows += denormalizedProfileMapper.countByUser(target, userId);
+        }
+        return rows;
+    }
+
+    /**
+     * 发布资料变更，只改写指定的冗余字段组
+     *
+     * @param userId 用户ID
+     * @param nickname 新昵称（为空时不改写）
+     * @param avatar 新头像（为空时不改写）
+     * @param targets 冗余字段组
+     * @return 写入的事件；昵称与头像都为空时返回 null
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProfileChangeEvent publish(Long userId, String nickname, String avatar, Set<ProfileSyncTarget> targets) {
+        if (userId == null) {
+            throw new IllegalArgumentException("用户ID不能为空");
+        }
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("冗余字段组不能为空");
+        }
+        if (!StringUtils.hasText(nickname) && !StringUtils.hasText(avatar)) {
+            return null;
+        }
+
+        List<String> names = new ArrayList<>(targets.size());
+        for (ProfileSyncTarget target : EnumSet.copyOf(targets)) {
+            names.add(target.name());
+        }
+
+        ProfileChangeEvent event = new ProfileChangeEvent();
+        event.setUserId(userId);
+        event.setNickname(StringUtils.hasText(nickname) ? nickname : null);
+        event.setAvatar(StringUtils.hasText(avatar) ? avatar : null);
+        event.setTargets(String.join(",", names));
+        event.setStatus(ProfileChangeEvent.STATUS_PENDING);
+        event.setStepIndex(0);
+        event.setCursorId(0L);
+        event.setRowsUpdated(0L);
+        event.setAttempts(0);
+        event.setNextRunTime(LocalDateTime.now());
+        event.setCreateTime(LocalDateTime.now());
+        event.setUpdateTime(LocalDateTime.now());
+        profileChangeEventMapper.insert(event);
+
+        // 新事件包含全部冗余字段的值时，旧事件的改写结果会被完全覆盖，可直接跳过
+        boolean complete = event.getNickname() != null
+                && (event.getAvatar() != null || targets.stream().allMatch(t -> t.getAvatarColumn() == null));
+        int superseded = complete
+                ? profileChangeEventMapper.supersedePending(userId, event.getTargets(), event.getId()) : 0;
+        log.info("资料变更事件已写入: id={}, userId={}, targets={}, superseded={}",
+                event.getId(), userId, event.getTargets(), superseded);
+        return event;
+    }
+}
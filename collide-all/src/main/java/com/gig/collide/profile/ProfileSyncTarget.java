@@ -0,0 +1,62 @@
+package com.gig.collide.profile;
+
+/**
+ * 冗余用户资料字段组
+ * 每组对应一张表中按某个用户ID列冗余保存的昵称/头像列，分块改写语句按这里的表名与列名拼接，只允许使用此处列出的名称
+ * 点赞与内容的 update_time 参与列表排序与游标分页，改写冗余资料时不更新
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public enum ProfileSyncTarget {
+
+    FOLLOW_FOLLOWER("t_follow", "follower_id", "follower_nickname", "follower_avatar", true),
+    FOLLOW_FOLLOWEE("t_follow", "followee_id", "followee_nickname", "followee_avatar", true),
+    COMMENT_USER("t_comment", "user_id", "user_nickname", "user_avatar", true),
+    COMMENT_REPLY_TO("t_comment", "reply_to_user_id", "reply_to_user_nickname", "reply_to_user_avatar", true),
+    FAVORITE_USER("t_favorite", "user_id", "user_nickname", null, true),
+    LIKE_USER("t_like", "user_id", "user_nickname", "user_avatar", false),
+    DYNAMIC_USER("t_social_dynamic", "user_id", "user_nickname", "user_avatar", true),
+    CONTENT_AUTHOR("t_content", "author_id", "author_nickname", "author_avatar", false);
+
+    private final String table;
+    private final String userColumn;
+    private final String nicknameColumn;
+    private final String avatarColumn;
+    private final boolean touchUpdateTime;
+
+    ProfileSyncTarget(String table, String userColumn, String nicknameColumn, String avatarColumn,
+                      boolean touchUpdateTime) {
+        this.table = table;
+        this.userColumn = userColumn;
+        this.nicknameColumn = nicknameColumn;
+        this.avatarColumn = avatarColumn;
+        this.touchUpdateTime = touchUpdateTime;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getUserColumn() {
+        return userColumn;
+    }
+
+    public String getNicknameColumn() {
+        return nicknameColumn;
+    }
+
+    /**
+     * 头像列，表中没有冗余头像时为 null
+     */
+    public String getAvatarColumn() {
+        return avatarColumn;
+    }
+
+    /**
+     * 改写时是否同时更新 update_time
+     */
+    public boolean isTouchUpdateTime() {
+        return touchUpdateTime;
+    }
+}
@@ -0,0 +1,289 @@
+package com.gig.collide.profile;
+
+import com.gig.collide.cache.CommentTreeCache;
+import com.gig.collide.config.ProfileSyncConfig;
+import com.gig.collide.domain.ProfileChangeEvent;
+import com.gig.collide.mapper.DenormalizedProfileMapper;
+import com.gig.collide.mapper.ProfileChangeEventMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户资料冗余字段同步任务
+ * 轮询资料变更发件箱，按事件中的字段组依次改写各业务表的冗余昵称/头像
+ *
+ * 实现特性：
+ * - 按用户ID列索引取主键大于游标的一块行，再按主键改写，每块是一条独立的短语句，不长时间持有大量行锁
+ * - 每块之后保存字段组下标与主键游标并续租，节点退出后其他节点从游标处继续
+ * - 只改写值有变化的行，重复执行同一块不产生额外影响
+ * - 同一用户的事件按ID顺序处理；单个事件一次最多处理固定块数后交还，避免大V事件长期占用
+ * - 块间停顿限速；失败按指数退避重试，达到上限后置为 FAILED
+ * - 处理在独立线程上执行，块间停顿不占用定时任务线程；停机时中断，当前事件交还给其他节点
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileSyncWorker {
+
+    private final ProfileSyncConfig config;
+    private final ProfileChangeEventMapper profileChangeEventMapper;
+    private final DenormalizedProfileMapper denormalizedProfileMapper;
+    private final CommentTreeCache commentTreeCache;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识，作为事件的处理节点
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "profile-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<ProfileSyncTarget, Counter> rowCounters = new EnumMap<>(ProfileSyncTarget.class);
+    private Counter doneCounter;
+    private Counter failedCounter;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    public void init() {
+        for (ProfileSyncTarget target : ProfileSyncTarget.values()) {
+            rowCounters.put(target, Counter.builder("collide.profile.sync.rows")
+                    .tag("target", target.name())
+                    .description("已改写的冗余资料行数")
+                    .register(meterRegistry));
+        }
+        doneCounter = Counter.builder("collide.profile.sync.events")
+                .tag("result", "done")
+                .description("处理结束的资料变更事件数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("collide.profile.sync.events")
+                .tag("result", "failed")
+                .description("处理结束的资料变更事件数")
+                .register(meterRegistry);
+        chunkTimer = Timer.builder("collide.profile.sync.chunk")
+                .description("单块冗余资料改写耗时")
+                .register(meterRegistry);
+        Gauge.builder("collide.profile.sync.backlog", backlog, AtomicLong::get)
+                .description("未结束的资料变更事件数")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    /**
+     * 定时轮询：提交到同步线程执行，上一轮未结束时跳过
+     */
+    @Scheduled(fixedDelayString = "${collide.profile-sync.poll-interval-ms:1000}")
+    public void poll() {
+        if (!config.isEnabled() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            syncExecutor.execute(this::pollOnce);
+        } catch (Exception e) {
+            polling.set(false);
+            log.warn("提交资料变更事件轮询失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时清理已结束的事件
+     */
+    @Scheduled(fixedDelayString = "${collide.profile-sync.cleanup-interval-ms:3600000}",
+            initialDelayString = "${collide.profile-sync.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        LocalDateTime beforeTime = LocalDateTime.now().minusDays(Math.max(1, config.getRetentionDays()));
+        int limit = 1000;
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = profileChangeEventMapper.deleteFinishedBefore(beforeTime, limit);
+                total += deleted;
+            } while (deleted >= limit);
+            if (total > 0) {
+                log.info("清理已结束的资料变更事件: deleted={}", total);
+            }
+        } catch (Exception e) {
+            log.warn("清理资料变更事件失败: deleted={}, error={}", total, e.getMessage());
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 认领并处理一批可执行的事件
+     */
+    private void pollOnce() {
+        try {
+            backlog.set(profileChangeEventMapper.countBacklog());
+            List<ProfileChangeEvent> events = profileChangeEventMapper.selectRunnable(Math.max(1, config.getClaimBatchSize()));
+            for (ProfileChangeEvent event : events) {
+                if (profileChangeEventMapper.claim(event.getId(), nodeId, leaseUntil()) == 0) {
+                    continue;
+                }
+                process(event);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("轮询资料变更事件失败", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void process(ProfileChangeEvent event) {
+        Long id = event.getId();
+        if (profileChangeEventMapper.countUnfinishedBefore(event.getUserId(), id) > 0) {
+            profileChangeEventMapper.release(id, nodeId, ProfileChangeEvent.STATUS_PENDING,
+                    LocalDateTime.now().plusNanos(config.getPollIntervalMs() * 1_000_000));
+            return;
+        }
+
+        List<ProfileSyncTarget> targets;
+        try {
+            targets = parseTargets(event.getTargets());
+        } catch (IllegalArgumentException e) {
+            log.error("资料变更事件字段组无效: id={}, targets={}", id, event.getTargets());
+            profileChangeEventMapper.release(id, nodeId, ProfileChangeEvent.STATUS_FAILED, null);
+            failedCounter.increment();
+            return;
+        }
+
+        int step = event.getStepIndex() != null ? event.getStepIndex() : 0;
+        long cursor = event.getCursorId() != null ? event.getCursorId() : 0L;
+        int chunkSize = Math.max(1, config.getChunkSize());
+        int chunks = 0;
+        try {
+            while (step < targets.size()) {
+                ProfileSyncTarget target = targets.get(step);
+                if (!applicable(event, target)) {
+                    step++;
+                    cursor = 0;
+                    continue;
+                }
+                if (chunks >= config.getMaxChunksPerClaim()) {
+                    profileChangeEventMapper.saveProgress(id, nodeId, step, cursor, 0, leaseUntil());
+                    profileChangeEventMapper.release(id, nodeId, ProfileChangeEvent.STATUS_PENDING, LocalDateTime.now());
+                    return;
+                }
+
+                List<Long> ids = denormalizedProfileMapper.selectIdsAfter(target, event.getUserId(), cursor, chunkSize);
+                int updated = 0;
+                if (!ids.isEmpty()) {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    updated = denormalizedProfileMapper.updateByIds(target, event.getUserId(),
+                            event.getNickname(), event.getAvatar(), ids);
+                    sample.stop(chunkTimer);
+                    rowCounters.get(target).increment(updated);
+                    cursor = ids.get(ids.size() - 1);
+                    chunks++;
+                }
+                if (ids.size() < chunkSize) {
+                    step++;
+                    cursor = 0;
+                }
+                if (profileChangeEventMapper.saveProgress(id, nodeId, step, cursor, updated, leaseUntil()) == 0) {
+                    log.warn("资料变更事件租约已被接管，停止处理: id={}", id);
+                    return;
+                }
+                if (!ids.isEmpty() && !pause()) {
+                    profileChangeEventMapper.release(id, nodeId, ProfileChangeEvent.STATUS_PENDING, LocalDateTime.now());
+                    return;
+                }
+            }
+            profileChangeEventMapper.release(id, nodeId, ProfileChangeEvent.STATUS_DONE, null);
+            doneCounter.increment();
+            // 评论树缓存中带有冗余昵称/头像，改写完成后整体失效
+            if (targets.contains(ProfileSyncTarget.COMMENT_USER) || targets.contains(ProfileSyncTarget.COMMENT_REPLY_TO)) {
+                commentTreeCache.invalidateAll();
+            }
+            log.info("资料变更事件处理完成: id={}, userId={}", id, event.getUserId());
+        } catch (Exception e) {
+            int attempts = (event.getAttempts() != null ? event.getAttempts() : 0) + 1;
+            long backoffMs = config.getRetryBackoffMs() << Math.min(attempts - 1, 10);
+            log.error("资料变更事件处理失败: id={}, userId={}, attempts={}", id, event.getUserId(), attempts, e);
+            String error = String.valueOf(e.getMessage());
+            profileChangeEventMapper.fail(id, nodeId, error.length() > 500 ? error.substring(0, 500) : error,
+                    config.getMaxAttempts(), LocalDateTime.now().plusNanos(backoffMs * 1_000_000));
+            if (attempts >= config.getMaxAttempts()) {
+                failedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 字段组所在表没有需要改写的列时跳过（例如只改头像而表中只冗余了昵称）
+     */
+    private static boolean applicable(ProfileChangeEvent event, ProfileSyncTarget target) {
+        return event.getNickname() != null || (event.getAvatar() != null && target.getAvatarColumn() != null);
+    }
+
+    private static List<ProfileSyncTarget> parseTargets(String targets) {
+        List<ProfileSyncTarget> result = new ArrayList<>();
+        if (targets != null) {
+            for (String name : targets.split(",")) {
+                if (!name.isBlank()) {
+                    result.add(ProfileSyncTarget.valueOf(name.trim()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusNanos(config.getLeaseMs() * 1_000_000);
+    }
+
+    /**
+     * 块间停顿，被中断时返回 false
+     */
+    private boolean pause() {
+        if (config.getChunkPauseMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(config.getChunkPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
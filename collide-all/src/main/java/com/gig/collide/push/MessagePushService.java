@@ -0,0 +1,213 @@
+package com.gig.collide.push;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.gig.collide.config.PushGatewayConfig;
+import com.gig.collide.domain.Message;
+import com.gig.collide.mapper.MessageMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 私信实时推送服务
+ * 消息落库提交后推送给接收者（并同步给发送者的其他设备），帧内附带未读数增量，客户端无需轮询未读数；
+ * 客户端收到消息后批量上报送达回执，按接收者合并后定时写回 delivered 状态
+ *
+ * 推送帧：
+ * - {"type":"message","message":{...},"unread":{"otherUserId":发送者,"delta":1}}
+ * - {"type":"unread","otherUserId":对方或null,"delta":-n}（已读后同步到接收者的其他设备）
+ * - {"type":"read","userId":已读者,"count":n}（已读回执，推送给发送者）
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class MessagePushService {
+
+    private final PushGatewayConfig config;
+    private final PushGateway pushGateway;
+    private final MessageMapper messageMapper;
+    private final Executor pushExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 待写回的送达回执：接收者ID -> 消息ID集合
+     */
+    private final Map<Long, Set<Long>> pendingAcks = new ConcurrentHashMap<>();
+
+    private Counter ackCounter;
+
+    public MessagePushService(PushGatewayConfig config,
+                              PushGateway pushGateway,
+                              MessageMapper messageMapper,
+                              @Qualifier("pushExecutor") Executor pushExecutor,
+                              MeterRegistry meterRegistry) {
+        this.config = config;
+        this.pushGateway = pushGateway;
+        this.messageMapper = messageMapper;
+        this.pushExecutor = pushExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        ackCounter = Counter.builder("collide.push.acks")
+                .description("写回送达状态的消息数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 新消息已写入（在发送事务中调用，提交后推送）
+     */
+    public void onMessageSent(Message message) {
+        if (!config.isEnabled() || message == null || message.getReceiverId() == null) {
+            return;
+        }
+        afterCommit(() -> {
+            JSONObject body = toJson(message);
+
+            JSONObject unread = new JSONObject();
+            unread.put("otherUserId", message.getSenderId());
+            unread.put("delta", 1);
+
+            JSONObject frame = new JSONObject();
+            frame.put("type", "message");
+            frame.put("message", body);
+            frame.put("unread", unread);
+            pushGateway.push(message.getReceiverId(), frame.toJSONString());
+
+            // 发送者的其他设备同步这条消息，不计未读
+            if (message.getSenderId() != null && !message.getSenderId().equals(message.getReceiverId())) {
+                JSONObject echo = new JSONObject();
+                echo.put("type", "message");
+                echo.put("message", body);
+                pushGateway.push(message.getSenderId(), echo.toJSONString());
+            }
+        });
+    }
+
+    /**
+     * 消息已读（在标记已读的事务中调用，提交后推送）
+     *
+     * @param receiverId 已读者
+     * @param senderId 会话对方，按消息ID批量标记时为 null
+     * @param count 新标记为已读的消息数
+     */
+    public void onMessagesRead(Long receiverId, Long senderId, int count) {
+        if (!config.isEnabled() || receiverId == null || count <= 0) {
+            return;
+        }
+        afterCommit(() -> {
+            JSONObject unread = new JSONObject();
+            unread.put("type", "unread");
+            unread.put("otherUserId", senderId);
+            unread.put("delta", -count);
+            pushGateway.push(receiverId, unread.toJSONString());
+
+            if (senderId != null) {
+                JSONObject read = new JSONObject();
+                read.put("type", "read");
+                read.put("userId", receiverId);
+                read.put("count", count);
+                pushGateway.push(senderId, read.toJSONString());
+            }
+        });
+    }
+
+    /**
+     * 记录客户端上报的送达回执，由定时任务批量写回
+     */
+    public int ack(Long receiverId, Collection<Long> messageIds) {
+        if (receiverId == null || messageIds == null || messageIds.isEmpty()) {
+            return 0;
+        }
+        int[] accepted = new int[1];
+        // 在 compute 内追加，与写回时的 remove 互斥，不会写入已被取走的集合
+        pendingAcks.compute(receiverId, (k, pending) -> {
+            Set<Long> ids = pending != null ? pending : new HashSet<>();
+            for (Long messageId : messageIds) {
+                if (messageId != null && ids.add(messageId)) {
+                    accepted[0]++;
+                }
+            }
+            return ids.isEmpty() ? null : ids;
+        });
+        return accepted[0];
+    }
+
+    /**
+     * 定时写回送达回执，每个接收者按批次各执行一条更新语句
+     * 写回失败的批次放回待写回集合，下次定时任务重试（标记送达是幂等的，重复写回无副作用）
+     */
+    @Scheduled(fixedDelayString = "${collide.push.ack-flush-interval-ms:1000}")
+    public void flushAcks() {
+        if (pendingAcks.isEmpty()) {
+            return;
+        }
+        int batchSize = Math.max(1, config.getAckBatchSize());
+        for (Long receiverId : new ArrayList<>(pendingAcks.keySet())) {
+            Set<Long> ids = pendingAcks.remove(receiverId);
+            if (ids == null || ids.isEmpty()) {
+                continue;
+            }
+            List<Long> list = new ArrayList<>(ids);
+            for (int from = 0; from < list.size(); from += batchSize) {
+                List<Long> batch = list.subList(from, Math.min(from + batchSize, list.size()));
+                try {
+                    ackCounter.increment(messageMapper.batchMarkDelivered(batch, receiverId));
+                } catch (Exception e) {
+                    log.warn("写回送达回执失败，放回待写回集合: receiverId={}, size={}, error={}",
+                            receiverId, batch.size(), e.getMessage());
+                    ack(receiverId, new ArrayList<>(batch));
+                }
+            }
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    private JSONObject toJson(Message message) {
+        JSONObject body = new JSONObject();
+        body.put("id", message.getId());
+        body.put("senderId", message.getSenderId());
+        body.put("receiverId", message.getReceiverId());
+        body.put("content", message.getContent());
+        body.put("messageType", message.getMessageType());
+        body.put("extraData", message.getExtraData());
+        body.put("status", message.getStatus());
+        body.put("replyToId", message.getReplyToId());
+        body.put("isPinned", message.getIsPinned());
+        body.put("createTime", message.getCreateTime());
+        body.put("clientMsgId", message.getClientMsgId());
+        return body;
+    }
+
+    /**
+     * 事务提交后在推送线程池执行，不占用请求线程；没有事务时立即提交到线程池
+     */
+    private void afterCommit(Runnable action) {
+        Runnable task = () -> {
+            try {
+                pushExecutor.execute(action);
+            } catch (Exception e) {
+                log.warn("提交推送任务失败: {}", e.getMessage());
+            }
+        };
+        TransactionCallbackUtil.afterCommit(task);
+    }
+}
@@ -0,0 +1,300 @@
+package com.gig.collide.push;
+
+import com.gig.collide.config.PushGatewayConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消息实时推送网关
+ * 客户端通过 WebSocket（或 SSE 降级）连接到任意节点，连接登记在本节点的 {@link PushSessionRegistry}；
+ * 用户所在节点记录在 Redis 在线状态集合中，推送时先投递本节点连接，再经 Redis 发布订阅转发到用户所在的其他节点
+ *
+ * 跨节点消息格式：userId|payload，每个节点只订阅自己的频道
+ * 心跳与在线状态续期在独立的调度线程执行，慢连接的发送等待不会占用共享的 @Scheduled 线程
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushGateway implements MessageListener {
+
+    static final String CONNECTED_FRAME = "{\"type\":\"connected\"}";
+    private static final String PING_FRAME = "{\"type\":\"ping\"}";
+
+    private final PushGatewayConfig config;
+    private final PushSessionRegistry registry;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识，用于在线状态与跨节点路由
+     */
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+    private Counter localCounter;
+    private Counter remoteCounter;
+    private Counter failedCounter;
+
+    /**
+     * 心跳调度线程
+     */
+    private ScheduledExecutorService heartbeatScheduler;
+
+    @PostConstruct
+    public void init() {
+        if (config.isEnabled()) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(config.getChannelPrefix() + nodeId));
+        }
+        Gauge.builder("collide.push.connections", registry, PushSessionRegistry::getConnectionCount)
+                .description("本节点推送连接数")
+                .register(meterRegistry);
+        localCounter = Counter.builder("collide.push.frames")
+                .tag("route", "local")
+                .description("推送帧数")
+                .register(meterRegistry);
+        remoteCounter = Counter.builder("collide.push.frames")
+                .tag("route", "remote")
+                .description("推送帧数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("collide.push.frames")
+                .tag("route", "failed")
+                .description("推送帧数")
+                .register(meterRegistry);
+
+        if (config.isEnabled()) {
+            long intervalMs = Math.max(1000, config.getHeartbeatIntervalMs());
+            heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "push-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("消息推送网关初始化完成: nodeId={}, enabled={}", nodeId, config.isEnabled());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+        }
+        List<Long> userIds = registry.getUserIds();
+        if (!userIds.isEmpty()) {
+            try {
+                stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Object execute(RedisOperations operations) throws DataAccessException {
+                        for (Long userId : userIds) {
+                            operations.opsForSet().remove(presenceKey(userId), nodeId);
+                        }
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("清理推送在线状态失败: {}", e.getMessage());
+            }
+        }
+        registry.forEachSession(PushSession::close);
+    }
+
+    /**
+     * 登记新连接
+     */
+    public void open(PushSession session) {
+        PushSession evicted = registry.register(session);
+        if (evicted != null) {
+            log.info("用户连接数超过上限，关闭最早的连接: userId={}, sessionId={}", evicted.getUserId(), evicted.getId());
+            evicted.close();
+        }
+        try {
+            String key = presenceKey(session.getUserId());
+            stringRedisTemplate.opsForSet().add(key, nodeId);
+            stringRedisTemplate.expire(key, config.getPresenceTtlMs(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("登记推送在线状态失败: userId={}, error={}", session.getUserId(), e.getMessage());
+        }
+        log.debug("推送连接已建立: userId={}, sessionId={}", session.getUserId(), session.getId());
+    }
+
+    /**
+     * 建立 SSE 连接（WebSocket 不可用时的降级通道）
+     */
+    public SseEmitter openSse(Long userId) {
+        SseEmitter emitter = new SseEmitter(config.getSseTimeoutMs());
+        SsePushSession session = new SsePushSession(userId, emitter);
+        Runnable cleanup = () -> {
+            session.markClosed();
+            close(session);
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+        open(session);
+        session.send(CONNECTED_FRAME);
+        return emitter;
+    }
+
+    /**
+     * 注销连接，用户在本节点没有连接时移除在线状态中的本节点
+     */
+    public void close(PushSession session) {
+        if (!registry.unregister(session)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForSet().remove(presenceKey(session.getUserId()), nodeId);
+        } catch (Exception e) {
+            log.warn("移除推送在线状态失败: userId={}, error={}", session.getUserId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 向用户的全部连接推送一帧
+     * 本节点连接直接发送，其他节点经发布订阅转发；用户不在线时丢弃，客户端重连后按游标拉取
+     */
+    public void push(Long userId, String payload) {
+        if (!config.isEnabled() || userId == null) {
+            return;
+        }
+        deliverLocal(userId, payload);
+
+        Set<String> nodes;
+        try {
+            nodes = stringRedisTemplate.opsForSet().members(presenceKey(userId));
+        } catch (Exception e) {
+            log.warn("查询推送在线状态失败: userId={}, error={}", userId, e.getMessage());
+            return;
+        }
+        if (nodes == null || nodes.isEmpty()) {
+            return;
+        }
+        String message = userId + "|" + payload;
+        for (String node : nodes) {
+            if (nodeId.equals(node)) {
+                continue;
+            }
+            try {
+                stringRedisTemplate.convertAndSend(config.getChannelPrefix() + node, message);
+                remoteCounter.increment();
+            } catch (Exception e) {
+                log.warn("跨节点推送失败: userId={}, node={}, error={}", userId, node, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            deliverLocal(Long.parseLong(body.substring(0, separator)), body.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的跨节点推送消息: {}", body.length() > 64 ? body.substring(0, 64) : body);
+        }
+    }
+
+    /**
+     * 定时心跳：续期本节点用户的在线状态，并向全部连接发送心跳帧，清理已断开的连接
+     * 在心跳调度线程执行，异常只记录日志，避免后续心跳被取消
+     */
+    public void heartbeat() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            sendHeartbeat();
+        } catch (Exception e) {
+            log.warn("推送心跳失败: {}", e.getMessage());
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    private void sendHeartbeat() {
+        List<PushSession> dead = new ArrayList<>();
+        registry.forEachSession(session -> {
+            if (!session.send(PING_FRAME)) {
+                dead.add(session);
+            }
+        });
+        for (PushSession session : dead) {
+            close(session);
+        }
+
+        List<Long> userIds = registry.getUserIds();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (Long userId : userIds) {
+                        String key = presenceKey(userId);
+                        operations.opsForSet().add(key, nodeId);
+                        operations.expire(key, config.getPresenceTtlMs(), TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("续期推送在线状态失败: users={}, error={}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private void deliverLocal(Long userId, String payload) {
+        List<PushSession> failed = null;
+        for (PushSession session : registry.getSessions(userId)) {
+            if (session.send(payload)) {
+                localCounter.increment();
+            } else {
+                failedCounter.increment();
+                if (failed == null) {
+                    failed = new ArrayList<>();
+                }
+                failed.add(session);
+            }
+        }
+        if (failed != null) {
+            for (PushSession session : failed) {
+                close(session);
+            }
+        }
+    }
+
+    private String presenceKey(Long userId) {
+        return config.getPresenceKeyPrefix() + userId;
+    }
+}
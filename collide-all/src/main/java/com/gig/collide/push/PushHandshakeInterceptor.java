@@ -0,0 +1,62 @@
+package com.gig.collide.push;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * WebSocket 握手拦截器
+ * 握手阶段识别用户并写入连接属性，无法识别时拒绝握手
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class PushHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String USER_ID_ATTRIBUTE = "pushUserId";
+
+    private final PushUserResolver pushUserResolver;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return false;
+        }
+        String token = servletRequest.getServletRequest().getHeader("Authorization");
+        if (token == null) {
+            token = servletRequest.getServletRequest().getParameter("token");
+        }
+        Long userId = null;
+        String userIdParam = servletRequest.getServletRequest().getParameter("userId");
+        if (userIdParam != null) {
+            try {
+                userId = Long.valueOf(userIdParam);
+            } catch (NumberFormatException ignored) {
+                // 无效的用户ID按未识别处理
+            }
+        }
+
+        Long resolved = pushUserResolver.resolve(token, userId);
+        if (resolved == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(USER_ID_ATTRIBUTE, resolved);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
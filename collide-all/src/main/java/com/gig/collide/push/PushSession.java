@@ -0,0 +1,38 @@
+package com.gig.collide.push;
+
+/**
+ * 推送连接
+ * 屏蔽 WebSocket 与 SSE 的差异，注册表与推送网关只通过该接口发送帧
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public interface PushSession {
+
+    /**
+     * 连接ID，节点内唯一
+     */
+    String getId();
+
+    /**
+     * 连接所属用户
+     */
+    Long getUserId();
+
+    /**
+     * 建立时间（毫秒）
+     */
+    long getOpenedAt();
+
+    /**
+     * 发送一帧 JSON 文本
+     *
+     * @return 发送失败或连接已关闭时返回 false
+     */
+    boolean send(String payload);
+
+    /**
+     * 关闭连接
+     */
+    void close();
+}
@@ -0,0 +1,156 @@
+package com.gig.collide.push;
+
+import com.gig.collide.config.PushGatewayConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 本节点推送连接注册表
+ * 按用户ID分片，每个用户的连接保存为不可变数组，推送时无锁读取；
+ * 注册与注销在分片内按用户原子替换数组，单个用户超过连接上限时挤掉最早的连接
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class PushSessionRegistry {
+
+    private static final PushSession[] EMPTY = new PushSession[0];
+
+    private final PushGatewayConfig config;
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private ConcurrentHashMap<Long, PushSession[]>[] shards;
+    private int mask;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void init() {
+        int size = Integer.highestOneBit(Math.max(1, config.getRegistryShards() - 1)) << 1;
+        shards = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * 注册连接
+     *
+     * @return 因超过单用户连接上限被挤掉的连接，没有时返回 null
+     */
+    public PushSession register(PushSession session) {
+        PushSession[] evicted = new PushSession[1];
+        int max = Math.max(1, config.getMaxConnectionsPerUser());
+        shard(session.getUserId()).compute(session.getUserId(), (userId, sessions) -> {
+            PushSession[] current = sessions != null ? sessions : EMPTY;
+            if (current.length >= max) {
+                // 数组按注册顺序排列，第一个即最早的连接
+                evicted[0] = current[0];
+                current = Arrays.copyOfRange(current, 1, current.length);
+            }
+            PushSession[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = session;
+            return next;
+        });
+        if (evicted[0] == null) {
+            connectionCount.incrementAndGet();
+        }
+        return evicted[0];
+    }
+
+    /**
+     * 注销连接
+     *
+     * @return 注销后该用户在本节点已没有连接时返回 true
+     */
+    public boolean unregister(PushSession session) {
+        boolean[] result = new boolean[2];
+        shard(session.getUserId()).computeIfPresent(session.getUserId(), (userId, sessions) -> {
+            int index = -1;
+            for (int i = 0; i < sessions.length; i++) {
+                if (sessions[i] == session) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return sessions;
+            }
+            result[0] = true;
+            if (sessions.length == 1) {
+                result[1] = true;
+                return null;
+            }
+            PushSession[] next = new PushSession[sessions.length - 1];
+            System.arraycopy(sessions, 0, next, 0, index);
+            System.arraycopy(sessions, index + 1, next, index, sessions.length - index - 1);
+            return next;
+        });
+        if (result[0]) {
+            connectionCount.decrementAndGet();
+        }
+        return result[1];
+    }
+
+    /**
+     * 用户在本节点的连接
+     */
+    public List<PushSession> getSessions(Long userId) {
+        PushSession[] sessions = shard(userId).get(userId);
+        return sessions != null ? Arrays.asList(sessions) : Collections.emptyList();
+    }
+
+    /**
+     * 用户在本节点是否有连接
+     */
+    public boolean hasSessions(Long userId) {
+        return shard(userId).containsKey(userId);
+    }
+
+    /**
+     * 本节点有连接的用户ID
+     */
+    public List<Long> getUserIds() {
+        List<Long> userIds = new ArrayList<>();
+        for (ConcurrentHashMap<Long, PushSession[]> shard : shards) {
+            userIds.addAll(shard.keySet());
+        }
+        return userIds;
+    }
+
+    /**
+     * 遍历本节点全部连接
+     */
+    public void forEachSession(Consumer<PushSession> action) {
+        for (ConcurrentHashMap<Long, PushSession[]> shard : shards) {
+            for (PushSession[] sessions : shard.values()) {
+                for (PushSession session : sessions) {
+                    action.accept(session);
+                }
+            }
+        }
+    }
+
+    /**
+     * 本节点连接数
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private ConcurrentHashMap<Long, PushSession[]> shard(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return shards[(int) (h >>> 32) & mask];
+    }
+}
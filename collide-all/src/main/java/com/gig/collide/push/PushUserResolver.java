@@ -0,0 +1,46 @@
+package com.gig.collide.push;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.gig.collide.config.PushGatewayConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 推送连接用户解析
+ * 浏览器建立 WebSocket/SSE 时无法自定义请求头，token 允许通过查询参数传递
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushUserResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final PushGatewayConfig config;
+
+    /**
+     * 解析连接所属用户
+     *
+     * @param token 登录 token（请求头或查询参数）
+     * @param userId 用户ID参数，仅在开发环境允许时使用
+     * @return 用户ID，无法识别时返回 null
+     */
+    public Long resolve(String token, Long userId) {
+        if (StringUtils.hasText(token)) {
+            String value = token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+            try {
+                Object loginId = StpUtil.getLoginIdByToken(value);
+                return loginId != null ? Long.valueOf(String.valueOf(loginId)) : null;
+            } catch (Exception e) {
+                log.debug("推送连接 token 无效: {}", e.getMessage());
+                return null;
+            }
+        }
+        return config.isAllowUserIdParam() ? userId : null;
+    }
+}
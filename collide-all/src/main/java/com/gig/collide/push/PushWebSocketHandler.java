@@ -0,0 +1,89 @@
+package com.gig.collide.push;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.gig.collide.config.PushGatewayConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * 推送 WebSocket 处理器
+ * 连接建立后登记到推送网关；客户端上行帧只有心跳与批量送达回执：
+ * - {"type":"ping"}
+ * - {"type":"ack","ids":[消息ID,...]}
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SESSION_ATTRIBUTE = "pushSession";
+    private static final String PONG_FRAME = "{\"type\":\"pong\"}";
+
+    private final PushGatewayConfig config;
+    private final PushGateway pushGateway;
+    private final MessagePushService messagePushService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Long userId = (Long) session.getAttributes().get(PushHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        if (userId == null || !config.isEnabled()) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        PushSession pushSession = new WebSocketPushSession(userId, session,
+                config.getSendTimeLimitMs(), config.getSendBufferLimit());
+        session.getAttributes().put(SESSION_ATTRIBUTE, pushSession);
+        pushGateway.open(pushSession);
+        pushSession.send(PushGateway.CONNECTED_FRAME);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        PushSession pushSession = (PushSession) session.getAttributes().get(SESSION_ATTRIBUTE);
+        if (pushSession == null) {
+            return;
+        }
+        JSONObject frame;
+        try {
+            frame = JSON.parseObject(message.getPayload());
+        } catch (Exception e) {
+            log.debug("忽略无效的上行帧: userId={}", pushSession.getUserId());
+            return;
+        }
+        if (frame == null) {
+            return;
+        }
+        String type = frame.getString("type");
+        if ("ping".equals(type)) {
+            pushSession.send(PONG_FRAME);
+        } else if ("ack".equals(type)) {
+            JSONArray ids = frame.getJSONArray("ids");
+            if (ids != null && !ids.isEmpty()) {
+                messagePushService.ack(pushSession.getUserId(), ids.toJavaList(Long.class));
+            }
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("推送连接传输异常: sessionId={}, error={}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        PushSession pushSession = (PushSession) session.getAttributes().get(SESSION_ATTRIBUTE);
+        if (pushSession != null) {
+            pushGateway.close(pushSession);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gig.collide.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * SSE 推送连接
+ * 用于无法建立 WebSocket 的客户端，送达回执通过 HTTP 接口上报
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+class SsePushSession implements PushSession {
+
+    private final String id = "sse-" + UUID.randomUUID().toString().replace("-", "");
+    private final Long userId;
+    private final long openedAt = System.currentTimeMillis();
+    private final SseEmitter emitter;
+    private volatile boolean closed;
+
+    SsePushSession(Long userId, SseEmitter emitter) {
+        this.userId = userId;
+        this.emitter = emitter;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public long getOpenedAt() {
+        return openedAt;
+    }
+
+    @Override
+    public synchronized boolean send(String payload) {
+        if (closed) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event().data(payload));
+            return true;
+        } catch (Exception e) {
+            log.debug("SSE 推送失败: id={}, error={}", id, e.getMessage());
+            closed = true;
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            emitter.complete();
+        } catch (Exception e) {
+            log.debug("关闭 SSE 连接失败: id={}, error={}", id, e.getMessage());
+        }
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+}
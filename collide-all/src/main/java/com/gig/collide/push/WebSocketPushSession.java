@@ -0,0 +1,66 @@
+package com.gig.collide.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+/**
+ * WebSocket 推送连接
+ * 发送经由 {@link ConcurrentWebSocketSessionDecorator} 串行化，慢连接超出发送时限或缓冲上限时被关闭
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+class WebSocketPushSession implements PushSession {
+
+    private final Long userId;
+    private final long openedAt = System.currentTimeMillis();
+    private final WebSocketSession session;
+
+    WebSocketPushSession(Long userId, WebSocketSession session, int sendTimeLimitMs, int sendBufferLimit) {
+        this.userId = userId;
+        this.session = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, sendBufferLimit,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+    }
+
+    @Override
+    public String getId() {
+        return "ws-" + session.getId();
+    }
+
+    @Override
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public long getOpenedAt() {
+        return openedAt;
+    }
+
+    @Override
+    public boolean send(String payload) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        try {
+            session.sendMessage(new TextMessage(payload));
+            return true;
+        } catch (Exception e) {
+            log.debug("WebSocket 推送失败: sessionId={}, error={}", session.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            session.close(CloseStatus.NORMAL);
+        } catch (Exception e) {
+            log.debug("关闭 WebSocket 连接失败: sessionId={}, error={}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,847 @@
+package com.gig.collide.search;
+
+import com.alibaba.fastjson2.JSON;
+import com.gig.collide.config.SearchIndexConfig;
+import com.gig.collide.mapper.VideoSearchMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内容搜索内存索引
+ * 以倒排表 + 过滤位图替代 LIKE '%kw%' 全表扫描
+ *
+ * 实现特性：
+ * - 标题/简介/标签按字段权重分词写入倒排表，关键词查询按 BM25 打分，多个词取交集
+ * - 内容类型、分类、付费类型、VIP、试读等条件预先建立位图，查询时按位与过滤
+ * - 应用启动后从 t_content 全量构建，内容增删改在事务提交后按ID增量更新
+ * - 定时全量重建，刷新排序用的统计数据并回收已删除文档占用的倒排项
+ * - 索引未就绪或关键词无法分词时返回null，由调用方回退数据库查询
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentSearchIndex {
+
+    private static final String STATUS_PUBLISHED = "PUBLISHED";
+    private static final String REVIEW_APPROVED = "APPROVED";
+
+    private final VideoSearchMapper videoSearchMapper;
+    private final SearchIndexConfig searchIndexConfig;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 重建期间发生变更的内容ID，重建完成后重放到新索引
+     */
+    private final Set<Long> pendingDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile Segment segment;
+
+    /**
+     * 索引是否可用于查询
+     */
+    public boolean isReady() {
+        return searchIndexConfig.isEnabled() && segment != null;
+    }
+
+    /**
+     * 执行搜索
+     *
+     * @param query 查询条件
+     * @return 命中结果；索引不可用或关键词无法分词时返回null，由调用方回退数据库
+     */
+    public Hits search(Query query) {
+        if (!isReady()) {
+            return null;
+        }
+        List<String> terms = Collections.emptyList();
+        if (StringUtils.hasText(query.getKeyword())) {
+            terms = SearchTokenizer.tokenizeForQuery(query.getKeyword());
+            if (terms.isEmpty()) {
+                // 纯符号关键词交给数据库 LIKE 处理
+                return null;
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            return segment.search(query, terms, searchIndexConfig);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 内容变更后更新索引（存在事务时在提交后执行）
+     */
+    public void onContentChanged(Long contentId) {
+        if (contentId != null) {
+            onContentsChanged(Collections.singletonList(contentId));
+        }
+    }
+
+    /**
+     * 批量内容变更后更新索引（存在事务时在提交后执行）
+     */
+    public void onContentsChanged(Collection<Long> contentIds) {
+        if (!searchIndexConfig.isEnabled() || contentIds == null || contentIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(contentIds);
+        TransactionCallbackUtil.afterCommit(() -> reindex(ids));
+    }
+
+    /**
+     * 从 t_content 全量重建索引，构建期间旧索引继续提供查询
+     *
+     * @return 新索引中的文档数
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("搜索索引正在重建中");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Segment fresh = new Segment();
+            int batchSize = searchIndexConfig.getLoadBatchSize();
+            long afterId = 0L;
+            while (true) {
+                List<Map<String, Object>> rows = videoSearchMapper.selectIndexDocuments(afterId, batchSize);
+                for (Map<String, Object> row : rows) {
+                    Document document = toDocument(row);
+                    fresh.upsert(document);
+                    afterId = document.contentId;
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("搜索索引重建完成: docs={}, terms={}, cost={}ms",
+                    fresh.liveCount, fresh.postings.size(), System.currentTimeMillis() - start);
+            return fresh.liveCount;
+        } finally {
+            rebuilding.set(false);
+            replayPending();
+        }
+    }
+
+    /**
+     * 应用启动后异步构建索引
+     */
+    @Async("asyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!searchIndexConfig.isEnabled()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("启动构建搜索索引失败，搜索将回退数据库查询", e);
+        }
+    }
+
+    /**
+     * 定时全量重建，在独立线程执行，不占用调度线程
+     */
+    @Scheduled(fixedDelayString = "${collide.search-index.refresh-interval-ms:1800000}",
+            initialDelayString = "${collide.search-index.refresh-interval-ms:1800000}")
+    public void scheduledRebuild() {
+        if (!searchIndexConfig.isEnabled() || rebuilding.get()) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.warn("定时重建搜索索引失败，继续使用旧索引", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // =================== 私有方法 ===================
+
+    private void reindex(List<Long> contentIds) {
+        if (rebuilding.get()) {
+            pendingDuringRebuild.addAll(contentIds);
+        }
+        if (segment == null) {
+            return;
+        }
+        try {
+            Map<Long, Document> documents = new HashMap<>(contentIds.size() * 2);
+            for (Map<String, Object> row : videoSearchMapper.selectIndexDocumentsByIds(contentIds)) {
+                Document document = toDocument(row);
+                documents.put(document.contentId, document);
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Long contentId : contentIds) {
+                    Document document = documents.get(contentId);
+                    if (document != null) {
+                        segment.upsert(document);
+                    } else {
+                        segment.delete(contentId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            // 增量更新失败时等待下一次定时重建修正
+            log.warn("搜索索引增量更新失败: contentIds={}", contentIds, e);
+        }
+    }
+
+    private void replayPending() {
+        if (pendingDuringRebuild.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingDuringRebuild);
+        pendingDuringRebuild.removeAll(ids);
+        reindex(ids);
+    }
+
+    private Document toDocument(Map<String, Object> row) {
+        Document document = new Document();
+        document.contentId = longValue(row, "contentId");
+        document.contentType = upper(stringValue(row, "contentType"));
+        document.categoryId = row.get("categoryId") != null ? longValue(row, "categoryId") : null;
+        document.authorId = longValue(row, "authorId");
+        document.published = STATUS_PUBLISHED.equals(stringValue(row, "status"));
+        document.approved = REVIEW_APPROVED.equals(stringValue(row, "reviewStatus"));
+        document.viewCount = longValue(row, "viewCount");
+        document.likeCount = longValue(row, "likeCount");
+        document.favoriteCount = longValue(row, "favoriteCount");
+        long scoreCount = longValue(row, "scoreCount");
+        document.avgScore = scoreCount > 0 ? (float) longValue(row, "scoreTotal") / scoreCount : 0f;
+        document.createMillis = epochMillis(row.get("createTime"));
+
+        document.paymentType = upper(stringValue(row, "paymentType"));
+        document.hasPayment = document.paymentType != null;
+        document.coinPrice = longValue(row, "price");
+        document.vipFree = booleanValue(row, "vipFree");
+        document.vipOnly = booleanValue(row, "vipOnly");
+        document.trialEnabled = booleanValue(row, "trialEnabled");
+
+        List<String> tags = parseTags(stringValue(row, "tags"));
+        for (String tag : tags) {
+            String normalized = SearchTokenizer.normalizeTag(tag);
+            if (normalized != null) {
+                document.tags.add(normalized);
+            }
+        }
+
+        document.length += addField(document.termFreqs, stringValue(row, "title"), searchIndexConfig.getTitleWeight());
+        document.length += addField(document.termFreqs, stringValue(row, "description"), searchIndexConfig.getDescriptionWeight());
+        for (String tag : tags) {
+            document.length += addField(document.termFreqs, tag, searchIndexConfig.getTagWeight());
+        }
+        return document;
+    }
+
+    private static float addField(Map<String, Float> termFreqs, String text, float weight) {
+        if (text == null || weight <= 0) {
+            return 0f;
+        }
+        List<String> tokens = SearchTokenizer.tokenizeForIndex(text);
+        for (String token : tokens) {
+            termFreqs.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * 标签字段兼容 JSON 数组与逗号分隔两种存储格式
+     */
+    private static List<String> parseTags(String tags) {
+        if (!StringUtils.hasText(tags)) {
+            return Collections.emptyList();
+        }
+        String trimmed = tags.trim();
+        if (trimmed.startsWith("[")) {
+            try {
+                List<String> parsed = JSON.parseArray(trimmed, String.class);
+                return parsed != null ? parsed : Collections.emptyList();
+            } catch (Exception e) {
+                log.debug("标签JSON解析失败，按逗号分隔处理: tags={}", tags);
+            }
+        }
+        return Arrays.asList(trimmed.split(","));
+    }
+
+    private static String stringValue(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static long longValue(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private static boolean booleanValue(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue() == 1;
+        }
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    private static long epochMillis(Object value) {
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).getTime();
+        }
+        return 0L;
+    }
+
+    private static String upper(String value) {
+        return value != null ? value.toUpperCase(Locale.ROOT) : null;
+    }
+
+    // =================== 查询与结果 ===================
+
+    /**
+     * 搜索条件（字段语义与 VideoSearchMapper.searchVideosWithConditions 一致）
+     */
+    @Data
+    public static class Query {
+        private String keyword;
+        private String contentType;
+        private Long categoryId;
+        private Long authorId;
+        private List<String> tags;
+        /**
+         * 价格类型：ALL、FREE、VIP、PAID
+         */
+        private String priceType;
+        /**
+         * 最低金币价格（含）
+         */
+        private Long minPrice;
+        /**
+         * 最高金币价格（含）
+         */
+        private Long maxPrice;
+        private Boolean vipOnly;
+        private Boolean trialEnabled;
+        /**
+         * 创建时间下限
+         */
+        private LocalDateTime createdAfter;
+        private boolean includeOffline;
+        /**
+         * 是否只返回审核通过的内容
+         */
+        private boolean approvedOnly;
+        /**
+         * 排序：relevance、hot、favorite、latest、random
+         */
+        private String sortBy;
+        private String sortDirection;
+        private int offset;
+        private int limit = 20;
+    }
+
+    /**
+     * 搜索结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Hits {
+        /**
+         * 命中总数
+         */
+        private long total;
+        /**
+         * 当前页命中（已按排序规则排列）
+         */
+        private List<Hit> hits;
+    }
+
+    /**
+     * 单条命中
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+        private Long contentId;
+        /**
+         * 相关度：BM25 得分 + 热度分（与数据库相关度公式的热度部分一致）
+         */
+        private Double score;
+    }
+
+    // =================== 索引结构 ===================
+
+    /**
+     * 待写入索引的文档
+     */
+    private static final class Document {
+        long contentId;
+        String contentType;
+        Long categoryId;
+        long authorId;
+        boolean published;
+        boolean approved;
+        long viewCount;
+        long likeCount;
+        long favoriteCount;
+        float avgScore;
+        long createMillis;
+        boolean hasPayment;
+        String paymentType;
+        long coinPrice;
+        boolean vipFree;
+        boolean vipOnly;
+        boolean trialEnabled;
+        final List<String> tags = new ArrayList<>();
+        final Map<String, Float> termFreqs = new HashMap<>();
+        float length;
+    }
+
+    /**
+     * 倒排表：文档号递增追加，天然有序
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] freqs = new float[4];
+        int size;
+
+        void add(int doc, float freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * 从 from 开始查找第一个文档号不小于 target 的位置
+         */
+        int advance(int from, int target) {
+            int low = from;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * 索引段：文档按内部文档号存储，更新时标记旧文档删除并追加新文档
+     * 倒排表中的已删除文档通过 live 位图过滤，df 会略大于实际值，定时重建后恢复精确
+     */
+    private static final class Segment {
+        int maxDoc;
+        int liveCount;
+        double totalLength;
+
+        long[] contentIds = new long[1024];
+        float[] lengths = new float[1024];
+        long[] authorIds = new long[1024];
+        long[] createMillis = new long[1024];
+        long[] viewCounts = new long[1024];
+        long[] likeCounts = new long[1024];
+        long[] favoriteCounts = new long[1024];
+        float[] avgScores = new float[1024];
+        long[] coinPrices = new long[1024];
+
+        final BitSet live = new BitSet();
+        final BitSet published = new BitSet();
+        final BitSet approved = new BitSet();
+        final BitSet hasPayment = new BitSet();
+        final BitSet vipFree = new BitSet();
+        final BitSet vipOnly = new BitSet();
+        final BitSet trialEnabled = new BitSet();
+        final Map<String, BitSet> byContentType = new HashMap<>();
+        final Map<Long, BitSet> byCategory = new HashMap<>();
+        final Map<String, BitSet> byPaymentType = new HashMap<>();
+        final Map<String, BitSet> byTag = new HashMap<>();
+
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<Long, Integer> docByContentId = new HashMap<>();
+
+        void upsert(Document document) {
+            delete(document.contentId);
+
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            contentIds[doc] = document.contentId;
+            lengths[doc] = document.length;
+            authorIds[doc] = document.authorId;
+            createMillis[doc] = document.createMillis;
+            viewCounts[doc] = document.viewCount;
+            likeCounts[doc] = document.likeCount;
+            favoriteCounts[doc] = document.favoriteCount;
+            avgScores[doc] = document.avgScore;
+            coinPrices[doc] = document.coinPrice;
+
+            published.set(doc, document.published);
+            approved.set(doc, document.approved);
+            hasPayment.set(doc, document.hasPayment);
+            vipFree.set(doc, document.vipFree);
+            vipOnly.set(doc, document.vipOnly);
+            trialEnabled.set(doc, document.trialEnabled);
+            if (document.contentType != null) {
+                byContentType.computeIfAbsent(document.contentType, k -> new BitSet()).set(doc);
+            }
+            if (document.categoryId != null) {
+                byCategory.computeIfAbsent(document.categoryId, k -> new BitSet()).set(doc);
+            }
+            if (document.paymentType != null) {
+                byPaymentType.computeIfAbsent(document.paymentType, k -> new BitSet()).set(doc);
+            }
+            for (String tag : document.tags) {
+                byTag.computeIfAbsent(tag, k -> new BitSet()).set(doc);
+            }
+            for (Map.Entry<String, Float> entry : document.termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new Postings()).add(doc, entry.getValue());
+            }
+
+            live.set(doc);
+            liveCount++;
+            totalLength += document.length;
+            docByContentId.put(document.contentId, doc);
+        }
+
+        void delete(long contentId) {
+            Integer doc = docByContentId.remove(contentId);
+            if (doc == null) {
+                return;
+            }
+            live.clear(doc);
+            liveCount--;
+            totalLength -= lengths[doc];
+        }
+
+        Hits search(Query query, List<String> terms, SearchIndexConfig config) {
+            BitSet candidates = filter(query);
+
+            int[] matchDocs = new int[16];
+            double[] matchScores = new double[16];
+            int matched = 0;
+
+            if (terms.isEmpty()) {
+                for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                    if (matched == matchDocs.length) {
+                        matchDocs = Arrays.copyOf(matchDocs, matched * 2);
+                        matchScores = Arrays.copyOf(matchScores, matched * 2);
+                    }
+                    matchDocs[matched] = doc;
+                    matchScores[matched] = popularity(doc);
+                    matched++;
+                }
+            } else {
+                Postings[] lists = new Postings[terms.size()];
+                for (int t = 0; t < terms.size(); t++) {
+                    lists[t] = postings.get(terms.get(t));
+                    if (lists[t] == null) {
+                        return new Hits(0, Collections.emptyList());
+                    }
+                }
+                // 从最短的倒排表开始求交集
+                Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+                double avgLength = liveCount > 0 ? totalLength / liveCount : 1.0;
+                double[] idf = new double[lists.length];
+                for (int t = 0; t < lists.length; t++) {
+                    int df = Math.min(lists[t].size, Math.max(liveCount, 1));
+                    idf[t] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+                }
+                int[] cursors = new int[lists.length];
+
+                Postings lead = lists[0];
+                outer:
+                for (int i = 0; i < lead.size; i++) {
+                    int doc = lead.docs[i];
+                    if (!candidates.get(doc)) {
+                        continue;
+                    }
+                    double score = bm25(idf[0], lead.freqs[i], doc, avgLength, config);
+                    for (int t = 1; t < lists.length; t++) {
+                        Postings list = lists[t];
+                        int pos = list.advance(cursors[t], doc);
+                        cursors[t] = pos;
+                        if (pos >= list.size || list.docs[pos] != doc) {
+                            continue outer;
+                        }
+                        score += bm25(idf[t], list.freqs[pos], doc, avgLength, config);
+                    }
+                    if (matched == matchDocs.length) {
+                        matchDocs = Arrays.copyOf(matchDocs, matched * 2);
+                        matchScores = Arrays.copyOf(matchScores, matched * 2);
+                    }
+                    matchDocs[matched] = doc;
+                    matchScores[matched] = score + popularity(doc);
+                    matched++;
+                }
+            }
+
+            return collect(query, matchDocs, matchScores, matched);
+        }
+
+        private BitSet filter(Query query) {
+            BitSet bits = (BitSet) live.clone();
+            if (!query.isIncludeOffline()) {
+                bits.and(published);
+            }
+            if (query.isApprovedOnly()) {
+                bits.and(approved);
+            }
+            if (StringUtils.hasText(query.getContentType()) && !"ALL".equalsIgnoreCase(query.getContentType())) {
+                andWith(bits, byContentType.get(query.getContentType().toUpperCase(Locale.ROOT)));
+            }
+            if (query.getCategoryId() != null) {
+                andWith(bits, byCategory.get(query.getCategoryId()));
+            }
+            if (query.getPriceType() != null) {
+                switch (query.getPriceType()) {
+                    case "FREE":
+                        andWith(bits, byPaymentType.get("FREE"));
+                        break;
+                    case "VIP":
+                        bits.and(vipFree);
+                        break;
+                    case "PAID":
+                        BitSet paid = new BitSet();
+                        orWith(paid, byPaymentType.get("COIN_PAY"));
+                        orWith(paid, byPaymentType.get("TIME_LIMITED"));
+                        bits.and(paid);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (Boolean.TRUE.equals(query.getVipOnly())) {
+                bits.and(vipOnly);
+            }
+            if (Boolean.TRUE.equals(query.getTrialEnabled())) {
+                bits.and(trialEnabled);
+            }
+            if (query.getTags() != null && !query.getTags().isEmpty()) {
+                BitSet tagged = new BitSet();
+                for (String tag : query.getTags()) {
+                    String normalized = SearchTokenizer.normalizeTag(tag);
+                    if (normalized != null) {
+                        orWith(tagged, byTag.get(normalized));
+                    }
+                }
+                bits.and(tagged);
+            }
+
+            // 无法用位图表达的范围条件逐个检查候选文档
+            boolean priceRange = query.getMinPrice() != null || query.getMaxPrice() != null;
+            if (priceRange) {
+                bits.and(hasPayment);
+            }
+            long createdAfter = query.getCreatedAfter() != null
+                    ? query.getCreatedAfter().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : Long.MIN_VALUE;
+            if (priceRange || query.getAuthorId() != null || query.getCreatedAfter() != null) {
+                for (int doc = bits.nextSetBit(0); doc >= 0; doc = bits.nextSetBit(doc + 1)) {
+                    boolean keep = (query.getAuthorId() == null || authorIds[doc] == query.getAuthorId())
+                            && createMillis[doc] >= createdAfter
+                            && (query.getMinPrice() == null || coinPrices[doc] >= query.getMinPrice())
+                            && (query.getMaxPrice() == null || coinPrices[doc] <= query.getMaxPrice());
+                    if (!keep) {
+                        bits.clear(doc);
+                    }
+                }
+            }
+            return bits;
+        }
+
+        private Hits collect(Query query, int[] matchDocs, double[] matchScores, int matched) {
+            int offset = Math.max(query.getOffset(), 0);
+            int limit = Math.max(query.getLimit(), 0);
+            if (offset >= matched || limit == 0) {
+                return new Hits(matched, Collections.emptyList());
+            }
+            int end = Math.min(offset + limit, matched);
+
+            Integer[] order;
+            if ("random".equals(query.getSortBy())) {
+                order = new Integer[matched];
+                for (int i = 0; i < matched; i++) {
+                    order[i] = i;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = matched - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    Integer swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+            } else {
+                // 只保留前 end 个结果的小顶堆（堆顶为当前最差结果）
+                Comparator<Integer> comparator = comparator(query, matchDocs, matchScores);
+                PriorityQueue<Integer> heap = new PriorityQueue<>(end + 1, comparator.reversed());
+                for (int i = 0; i < matched; i++) {
+                    heap.offer(i);
+                    if (heap.size() > end) {
+                        heap.poll();
+                    }
+                }
+                order = new Integer[heap.size()];
+                for (int i = order.length - 1; i >= 0; i--) {
+                    order[i] = heap.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                int index = order[i];
+                hits.add(new Hit(contentIds[matchDocs[index]], matchScores[index]));
+            }
+            return new Hits(matched, hits);
+        }
+
+        /**
+         * 结果排序规则，与数据库查询的 ORDER BY 保持一致，最后按内容ID倒序保证稳定
+         */
+        private Comparator<Integer> comparator(Query query, int[] matchDocs, double[] matchScores) {
+            String sortBy = query.getSortBy() != null ? query.getSortBy() : "";
+            boolean asc = "ASC".equalsIgnoreCase(query.getSortDirection());
+            Comparator<Integer> primary;
+            switch (sortBy) {
+                case "hot":
+                    primary = Comparator.<Integer>comparingLong(i -> viewCounts[matchDocs[i]])
+                            .thenComparingLong(i -> likeCounts[matchDocs[i]]);
+                    break;
+                case "favorite":
+                    primary = Comparator.<Integer>comparingLong(i -> favoriteCounts[matchDocs[i]])
+                            .thenComparingLong(i -> viewCounts[matchDocs[i]]);
+                    break;
+                case "latest":
+                    primary = Comparator.comparingLong(i -> createMillis[matchDocs[i]]);
+                    break;
+                case "relevance":
+                    primary = Comparator.comparingDouble(i -> matchScores[i]);
+                    break;
+                default:
+                    primary = Comparator.comparingLong(i -> createMillis[matchDocs[i]]);
+                    asc = false;
+                    break;
+            }
+            if (!asc) {
+                primary = primary.reversed();
+            }
+            return primary.thenComparing(Comparator.<Integer>comparingLong(i -> contentIds[matchDocs[i]]).reversed());
+        }
+
+        private double bm25(double idf, float freq, int doc, double avgLength, SearchIndexConfig config) {
+            double k1 = config.getBm25K1();
+            double norm = k1 * (1 - config.getBm25B() + config.getBm25B() * lengths[doc] / avgLength);
+            return idf * freq * (k1 + 1) / (freq + norm);
+        }
+
+        /**
+         * 热度分：浏览量 × 0.0001 + 点赞数 × 0.001 + 平均评分 × 0.1
+         */
+        private double popularity(int doc) {
+            return viewCounts[doc] * 0.0001 + likeCounts[doc] * 0.001 + avgScores[doc] * 0.1;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= contentIds.length) {
+                return;
+            }
+            int capacity = Math.max(required, contentIds.length * 2);
+            contentIds = Arrays.copyOf(contentIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            createMillis = Arrays.copyOf(createMillis, capacity);
+            viewCounts = Arrays.copyOf(viewCounts, capacity);
+            likeCounts = Arrays.copyOf(likeCounts, capacity);
+            favoriteCounts = Arrays.copyOf(favoriteCounts, capacity);
+            avgScores = Arrays.copyOf(avgScores, capacity);
+            coinPrices = Arrays.copyOf(coinPrices, capacity);
+        }
+
+        private static void andWith(BitSet bits, BitSet other) {
+            if (other == null) {
+                bits.clear();
+            } else {
+                bits.and(other);
+            }
+        }
+
+        private static void orWith(BitSet bits, BitSet other) {
+            if (other != null) {
+                bits.or(other);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.gig.collide.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch 频次估计
+ * 以固定大小的 depth × width 计数矩阵估计任意键的出现次数，内存与键的数量无关
+ *
+ * 估计值只会偏大不会偏小；采用保守更新（只增加当前最小的计数器），显著降低热点键之间的相互干扰。
+ * 哈希基于 UTF-8 字节计算，跨进程稳定，计数矩阵可直接快照与恢复。
+ * 非线程安全，由调用方负责并发控制。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth与width必须为正数");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new int[depth * width];
+    }
+
+    /**
+     * 增加键的计数
+     *
+     * @param key 键
+     * @param count 增量（必须为正数）
+     */
+    public void add(String key, int count) {
+        if (key == null || count <= 0) {
+            return;
+        }
+        int[] slots = slots(key);
+        int min = Integer.MAX_VALUE;
+        for (int slot : slots) {
+            min = Math.min(min, counters[slot]);
+        }
+        long target = (long) min + count;
+        int value = target > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) target;
+        for (int slot : slots) {
+            if (counters[slot] < value) {
+                counters[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * 估计键的计数
+     */
+    public int estimate(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int min = Integer.MAX_VALUE;
+        for (int slot : slots(key)) {
+            min = Math.min(min, counters[slot]);
+        }
+        return min;
+    }
+
+    /**
+     * 将另一个同规格草图的计数合并进来
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("草图规格不一致，无法合并");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            long sum = (long) counters[i] + other.counters[i];
+            counters[i] = sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 序列化计数矩阵（大端 int 数组）
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(counters.length * Integer.BYTES);
+        buffer.asIntBuffer().put(counters);
+        return buffer.array();
+    }
+
+    /**
+     * 从序列化的计数矩阵恢复
+     *
+     * @throws IllegalArgumentException 数据长度与规格不一致
+     */
+    public static CountMinSketch fromBytes(int depth, int width, byte[] bytes) {
+        CountMinSketch sketch = new CountMinSketch(depth, width);
+        if (bytes == null || bytes.length != sketch.counters.length * Integer.BYTES) {
+            throw new IllegalArgumentException("草图数据长度与规格不一致");
+        }
+        ByteBuffer.wrap(bytes).asIntBuffer().get(sketch.counters);
+        return sketch;
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 每行一个槽位：两个独立哈希按 h1 + i * h2 组合（Kirsch-Mitzenmacher）
+     */
+    private int[] slots(String key) {
+        long hash = fnv1a64(key.getBytes(StandardCharsets.UTF_8));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int[] slots = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            int combined = h1 + i * h2;
+            slots[i] = i * width + ((combined & Integer.MAX_VALUE) % width);
+        }
+        return slots;
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        // 末端混合，改善低位分布
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,362 @@
+package com.gig.collide.search;
+
+import com.gig.collide.config.SearchRecordConfig;
+import com.gig.collide.domain.SearchHistory;
+import com.gig.collide.mapper.HotSearchMapper;
+import com.gig.collide.mapper.SearchHistoryMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 搜索事件记录器
+ * 将搜索历史与热搜计数从请求线程中剥离，按窗口合并后批量写库
+ *
+ * 实现特性：
+ * - 请求线程只做一次有界队列入队，不再执行 count + insert 与 selectOne + update
+ * - 刷新时按关键词合并热搜次数、按 (用户, 关键词) 合并历史，使用 INSERT ... ON DUPLICATE KEY UPDATE 批量写入
+ * - 热搜计数在数据库内累加，多节点并发写入不再相互覆盖
+ * - 写库失败的批次保留在重试缓冲中，与下次刷新的数据合并后重写；缓冲超出上限时才丢弃并计数
+ * - 队列满时按策略丢弃事件或交由请求线程同步写库，暴露积压、丢弃与写入指标
+ * - 合并后的分类型搜索次数同步计入实时趋势引擎
+ * - 停机时强制刷新剩余事件
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchEventRecorder {
+
+    private static final String POLICY_SYNC = "sync";
+
+    /**
+     * 关键词最大长度（与 t_search_history.keyword、t_hot_search.keyword 一致）
+     */
+    private static final int MAX_KEYWORD_LENGTH = 200;
+
+    private final SearchRecordConfig config;
+    private final SearchHistoryMapper searchHistoryMapper;
+    private final HotSearchMapper hotSearchMapper;
+    private final SearchSuggester searchSuggester;
+    private final TrendingEngine trendingEngine;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 写库失败等待重试的搜索历史与热搜次数，仅在持有 flushLock 时访问
+     */
+    private final Map<String, SearchHistory> retryHistories = new TreeMap<>();
+    private final Map<String, Long> retryHotSearches = new TreeMap<>();
+
+    private BlockingQueue<SearchEvent> queue;
+    private ExecutorService flushExecutor;
+    private volatile int retryPending;
+    private Counter acceptedCounter;
+    private Counter droppedCounter;
+    private Counter overflowSyncCounter;
+    private Counter failedCounter;
+    private Counter retryDroppedCounter;
+    private Counter flushedHistoryCounter;
+    private Counter flushedHotSearchCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        flushExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "search-record-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("collide.search.record.pending", queue, BlockingQueue::size)
+                .description("等待写库的搜索事件数")
+                .register(meterRegistry);
+        acceptedCounter = Counter.builder("collide.search.record.accepted")
+                .description("已入队的搜索事件数")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("collide.search.record.dropped")
+                .description("队列满被丢弃的搜索事件数")
+                .register(meterRegistry);
+        overflowSyncCounter = Counter.builder("collide.search.record.overflow.sync")
+                .description("队列满后由请求线程同步写库的搜索事件数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("collide.search.record.failed.rows")
+                .description("批量写库失败的行数")
+                .register(meterRegistry);
+        retryDroppedCounter = Counter.builder("collide.search.record.retry.dropped.rows")
+                .description("重试缓冲超出上限被丢弃的行数")
+                .register(meterRegistry);
+        Gauge.builder("collide.search.record.retry.pending", this, recorder -> recorder.retryPending)
+                .description("等待重试写库的行数")
+                .register(meterRegistry);
+        flushedHistoryCounter = Counter.builder("collide.search.record.flushed.rows")
+                .tag("table", "t_search_history")
+                .description("已批量写入的行数")
+                .register(meterRegistry);
+        flushedHotSearchCounter = Counter.builder("collide.search.record.flushed.rows")
+                .tag("table", "t_hot_search")
+                .description("已批量写入的行数")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("collide.search.record.flush")
+                .description("搜索事件批量写库耗时")
+                .register(meterRegistry);
+
+        log.info("搜索事件记录器初始化完成: enabled={}, queueCapacity={}, flushIntervalMs={}, overflowPolicy={}",
+                config.isEnabled(), config.getQueueCapacity(), config.getFlushIntervalMs(), config.getOverflowPolicy());
+    }
+
+    /**
+     * 记录一次搜索
+     *
+     * @param userId 用户ID（为空时只统计热搜）
+     * @param keyword 搜索关键词
+     * @param searchType 搜索类型
+     * @param resultCount 结果数量
+     * @return 是否已接管该事件；返回false时调用方需同步写库（未启用或队列满且策略为sync）
+     */
+    public boolean record(Long userId, String keyword, String searchType, int resultCount) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        if (!StringUtils.hasText(keyword)) {
+            return true;
+        }
+        String normalized = keyword.trim();
+        if (normalized.length() > MAX_KEYWORD_LENGTH) {
+            normalized = normalized.substring(0, MAX_KEYWORD_LENGTH);
+        }
+
+        SearchEvent event = new SearchEvent(userId, normalized, searchType, resultCount, LocalDateTime.now());
+        if (queue.offer(event)) {
+            acceptedCounter.increment();
+            if (queue.size() >= config.getFlushThreshold()) {
+                triggerFlush();
+            }
+            return true;
+        }
+
+        triggerFlush();
+        if (POLICY_SYNC.equalsIgnoreCase(config.getOverflowPolicy())) {
+            overflowSyncCounter.increment();
+            return false;
+        }
+        droppedCounter.increment();
+        log.debug("搜索事件队列已满，丢弃事件: keyword={}", normalized);
+        return true;
+    }
+
+    /**
+     * 当前等待写库的事件数
+     */
+    public int getPendingEvents() {
+        return queue.size();
+    }
+
+    /**
+     * 定时刷新
+     */
+    @Scheduled(fixedDelayString = "${collide.search-record.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (config.isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * 取出队列中的全部事件，合并后批量写库
+     * 同一时刻只允许一个刷新过程执行
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<SearchEvent> events = new ArrayList<>(queue.size());
+            queue.drainTo(events);
+            if (events.isEmpty() && retryHistories.isEmpty() && retryHotSearches.isEmpty()) {
+                return;
+            }
+
+            // 关键词有序，多节点并发写入时行锁获取顺序一致
+            Map<String, Long> keywordCounts = new TreeMap<>();
+            Map<String, SearchHistory> histories = new TreeMap<>();
+            Map<String, Map<String, Long>> typeCounts = new HashMap<>();
+            for (SearchEvent event : events) {
+                keywordCounts.merge(event.keyword, 1L, Long::sum);
+                typeCounts.computeIfAbsent(event.searchType, t -> new HashMap<>()).merge(event.keyword, 1L, Long::sum);
+                if (event.userId != null) {
+                    // 同一用户的相同关键词只保留最后一次搜索
+                    SearchHistory history = event.toHistory();
+                    histories.put(historyKey(history), history);
+                }
+            }
+
+            // 合并上次失败的批次：历史以本次较新的记录为准，热搜次数累加
+            retryHistories.forEach(histories::putIfAbsent);
+            retryHotSearches.forEach((keyword, count) -> keywordCounts.merge(keyword, count, Long::sum));
+            retryHistories.clear();
+            retryHotSearches.clear();
+
+            flushTimer.record(() -> {
+                writeHistories(new ArrayList<>(histories.values()));
+                writeHotSearches(keywordCounts);
+            });
+            retryPending = retryHistories.size() + retryHotSearches.size();
+            typeCounts.forEach(trendingEngine::record);
+            log.debug("搜索事件批量写库完成: events={}, keywords={}, histories={}",
+                    events.size(), keywordCounts.size(), histories.size());
+        } catch (Exception e) {
+            log.error("搜索事件批量写库失败", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("停机刷新搜索事件: pending={}", queue.size());
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // =================== 私有方法 ===================
+
+    private void triggerFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flushExecutor.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushScheduled.set(false);
+                }
+            });
+        } catch (Exception e) {
+            flushScheduled.set(false);
+        }
+    }
+
+    private void writeHistories(List<SearchHistory> histories) {
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0; from < histories.size(); from += batchSize) {
+            List<SearchHistory> batch = histories.subList(from, Math.min(from + batchSize, histories.size()));
+            try {
+                searchHistoryMapper.batchUpsertSearchHistory(batch);
+                flushedHistoryCounter.increment(batch.size());
+            } catch (Exception e) {
+                failedCounter.increment(batch.size());
+                log.error("搜索历史批量写入失败，下次刷新重试: rows={}", batch.size(), e);
+                for (SearchHistory history : batch) {
+                    if (retryCapacityLeft() > 0) {
+                        retryHistories.put(historyKey(history), history);
+                    } else {
+                        retryDroppedCounter.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeHotSearches(Map<String, Long> keywordCounts) {
+        int batchSize = Math.max(1, config.getBatchSize());
+        Map<String, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : keywordCounts.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                writeHotSearchBatch(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeHotSearchBatch(batch);
+        }
+    }
+
+    private void writeHotSearchBatch(Map<String, Long> batch) {
+        try {
+            hotSearchMapper.batchUpsertHotSearch(batch);
+            flushedHotSearchCounter.increment(batch.size());
+            batch.forEach(searchSuggester::onSearched);
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("热搜计数批量写入失败，下次刷新重试: rows={}", batch.size(), e);
+            batch.forEach((keyword, count) -> {
+                if (retryHotSearches.containsKey(keyword) || retryCapacityLeft() > 0) {
+                    retryHotSearches.merge(keyword, count, Long::sum);
+                } else {
+                    retryDroppedCounter.increment();
+                }
+            });
+        }
+    }
+
+    private int retryCapacityLeft() {
+        return config.getMaxRetryRows() - retryHistories.size() - retryHotSearches.size();
+    }
+
+    private static String historyKey(SearchHistory history) {
+        return history.getUserId() + "\u0001" + history.getKeyword();
+    }
+
+    /**
+     * 搜索事件
+     */
+    private static final class SearchEvent {
+        final Long userId;
+        final String keyword;
+        final String searchType;
+        final int resultCount;
+        final LocalDateTime time;
+
+        SearchEvent(Long userId, String keyword, String searchType, int resultCount, LocalDateTime time) {
+            this.userId = userId;
+            this.keyword = keyword;
+            this.searchType = searchType;
+            this.resultCount = resultCount;
+            this.time = time;
+        }
+
+        SearchHistory toHistory() {
+            SearchHistory history = new SearchHistory();
+            history.setUserId(userId);
+            history.setKeyword(keyword);
+            history.setSearchType(StringUtils.hasText(searchType) ? searchType : "content");
+            history.setResultCount(resultCount);
+            history.setCreateTime(time);
+            return history;
+        }
+    }
+}
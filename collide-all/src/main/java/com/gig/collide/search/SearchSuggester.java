@@ -0,0 +1,271 @@
+package com.gig.collide.search;
+
+import cn.hutool.extra.pinyin.PinyinUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.gig.collide.config.SearchSuggestConfig;
+import com.gig.collide.domain.Content;
+import com.gig.collide.domain.HotSearch;
+import com.gig.collide.mapper.ContentMapper;
+import com.gig.collide.mapper.HotSearchMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 搜索建议服务
+ * 以内存前缀字典树提供输入联想，不再在每次按键时执行 LIKE 查询
+ *
+ * 实现特性：
+ * - 候选来自热搜关键词（按搜索次数加权）与已发布内容标题（按浏览量加权）
+ * - 中文候选额外建立全拼与拼音首字母键，输入 "zhongguo" 或 "zg" 均可命中 "中国"
+ * - 启动后异步构建，定时全量重建，热搜统计更新后在事务提交后增量加权
+ * - 增量写入时新关键词需通过 Count-Min Sketch 准入阈值，字典树节点数有上限，长尾关键词不会撑大内存
+ * - 字典树未就绪时返回null，由调用方回退数据库查询
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchSuggester {
+
+    private static final String STATUS_PUBLISHED = "PUBLISHED";
+
+    private final HotSearchMapper hotSearchMapper;
+    private final ContentMapper contentMapper;
+    private final SearchSuggestConfig searchSuggestConfig;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private volatile SuggestionTrie trie;
+
+    /**
+     * 新关键词准入计数，随字典树重建一起重置
+     */
+    private CountMinSketch admission;
+
+    /**
+     * 拼音引擎是否可用（首次使用时检测）
+     */
+    private volatile Boolean pinyinAvailable;
+
+    /**
+     * 字典树是否可用于查询
+     */
+    public boolean isReady() {
+        return searchSuggestConfig.isEnabled() && trie != null;
+    }
+
+    /**
+     * 前缀补全
+     *
+     * @param keyword 用户输入
+     * @param limit 返回数量
+     * @return 按权重倒序的建议；字典树不可用时返回null，由调用方回退数据库
+     */
+    public List<String> suggest(String keyword, int limit) {
+        if (!isReady()) {
+            return null;
+        }
+        String prefix = SearchTokenizer.normalizeKeyword(keyword);
+        if (prefix == null) {
+            return new ArrayList<>();
+        }
+        int size = Math.min(limit, searchSuggestConfig.getTopK());
+
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 记录一次搜索，为对应关键词加权（存在事务时在提交后执行）
+     */
+    public void onSearched(String keyword) {
+        onSearched(keyword, 1L);
+    }
+
+    /**
+     * 记录多次搜索，为对应关键词加权（存在事务时在提交后执行）
+     *
+     * @param keyword 关键词
+     * @param times 搜索次数
+     */
+    public void onSearched(String keyword, long times) {
+        if (!isReady() || times <= 0 || SearchTokenizer.normalizeKeyword(keyword) == null) {
+            return;
+        }
+        String text = keyword.trim();
+        TransactionCallbackUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!trie.contains(text)) {
+                    admission.add(text, (int) Math.min(times, Integer.MAX_VALUE));
+                    if (admission.estimate(text) < searchSuggestConfig.getAdmissionMinCount()) {
+                        return;
+                    }
+                }
+                trie.increment(text, buildKeys(text), times * searchSuggestConfig.getSearchCountWeight());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 从热搜表与内容表全量重建字典树，构建期间旧字典树继续提供查询
+     *
+     * @return 候选数量
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("搜索建议正在重建中");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Double> weights = new HashMap<>();
+
+            for (HotSearch hotSearch : hotSearchMapper.selectHotKeywords(searchSuggestConfig.getMaxHotKeywords())) {
+                if (hotSearch.getKeyword() == null || hotSearch.getKeyword().isBlank()) {
+                    continue;
+                }
+                long count = hotSearch.getSearchCount() != null ? hotSearch.getSearchCount() : 0L;
+                weights.merge(hotSearch.getKeyword().trim(), count * searchSuggestConfig.getSearchCountWeight(), Double::sum);
+            }
+
+            LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(Content::getId, Content::getTitle, Content::getViewCount);
+            queryWrapper.eq(Content::getStatus, STATUS_PUBLISHED);
+            queryWrapper.orderByDesc(Content::getViewCount);
+            queryWrapper.last("LIMIT " + searchSuggestConfig.getMaxContentTitles());
+            for (Content content : contentMapper.selectList(queryWrapper)) {
+                if (content.getTitle() == null || content.getTitle().isBlank()) {
+                    continue;
+                }
+                long views = content.getViewCount() != null ? content.getViewCount() : 0L;
+                weights.merge(content.getTitle().trim(), 1 + views * searchSuggestConfig.getContentViewWeight(), Double::sum);
+            }
+
+            // 按权重倒序插入，节点内候选只需追加，无需冒泡
+            List<Map.Entry<String, Double>> sorted = new ArrayList<>(weights.entrySet());
+            sorted.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            SuggestionTrie fresh = new SuggestionTrie(searchSuggestConfig.getTopK(),
+                    searchSuggestConfig.getMaxKeyLength(), searchSuggestConfig.getMaxNodes());
+            for (Map.Entry<String, Double> entry : sorted) {
+                if (entry.getValue() > 0) {
+                    fresh.increment(entry.getKey(), buildKeys(entry.getKey()), entry.getValue());
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                admission = new CountMinSketch(searchSuggestConfig.getAdmissionSketchDepth(),
+                        searchSuggestConfig.getAdmissionSketchWidth());
+                trie = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("搜索建议重建完成: entries={}, nodes={}, cost={}ms",
+                    fresh.size(), fresh.nodeCount(), System.currentTimeMillis() - start);
+            return fresh.size();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 应用启动后异步构建字典树
+     */
+    @Async("asyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!searchSuggestConfig.isEnabled()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("启动构建搜索建议失败，搜索建议将回退数据库查询", e);
+        }
+    }
+
+    /**
+     * 定时全量重建，刷新浏览量权重并剔除下线内容
+     */
+    @Scheduled(fixedDelayString = "${collide.search-suggest.refresh-interval-ms:600000}",
+            initialDelayString = "${collide.search-suggest.refresh-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (!searchSuggestConfig.isEnabled() || rebuilding.get()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("定时重建搜索建议失败，继续使用旧数据", e);
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 候选的匹配键：归一化原文，中文候选追加全拼与拼音首字母
+     */
+    private List<String> buildKeys(String text) {
+        List<String> keys = new ArrayList<>(3);
+        String normalized = SearchTokenizer.normalizeKeyword(text);
+        if (normalized == null) {
+            return keys;
+        }
+        keys.add(normalized);
+        if (containsChinese(normalized) && isPinyinAvailable()) {
+            String compact = normalized.replaceAll("\\s+", "");
+            keys.add(PinyinUtil.getPinyin(compact, "").toLowerCase(Locale.ROOT));
+            keys.add(PinyinUtil.getFirstLetter(compact, "").toLowerCase(Locale.ROOT));
+        }
+        return keys;
+    }
+
+    private boolean containsChinese(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (PinyinUtil.isChinese(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPinyinAvailable() {
+        if (!searchSuggestConfig.isPinyinEnabled()) {
+            return false;
+        }
+        if (pinyinAvailable == null) {
+            try {
+                PinyinUtil.getPinyin("中", "");
+                pinyinAvailable = true;
+            } catch (Exception | LinkageError e) {
+                log.warn("未检测到拼音引擎，搜索建议不支持拼音匹配: {}", e.getMessage());
+                pinyinAvailable = false;
+            }
+        }
+        return pinyinAvailable;
+    }
+
+}
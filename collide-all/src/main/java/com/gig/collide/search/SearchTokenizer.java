@@ -0,0 +1,142 @@
+package com.gig.collide.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索分词器
+ * 面向中英文混排的标题/简介，无需外部词典
+ *
+ * 分词规则：
+ * - 先做 NFKC 归一化并转小写（全角字母数字转半角）
+ * - 连续的字母/数字组成一个词
+ * - 连续的中日韩文字切分为二元组（bigram），单个汉字保留为一元组
+ * - 索引时额外输出汉字一元组，使单字查询也能命中；查询时长度≥2的汉字串只使用二元组
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 单个词的最大长度，超长的字母数字串截断
+     */
+    private static final int MAX_WORD_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 索引分词：保留重复词，用于计算词频
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, true, tokens);
+        return tokens;
+    }
+
+    /**
+     * 查询分词：去重并保持顺序
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, false, tokens);
+        return new ArrayList<>(new LinkedHashSet<>(tokens));
+    }
+
+    /**
+     * 关键词归一化（不做切分），用于标签过滤与前缀补全
+     *
+     * @return 归一化结果；空白串返回null
+     */
+    public static String normalizeKeyword(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String normalized = normalize(keyword).trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * 标签归一化（用于标签过滤，不做切分）
+     */
+    public static String normalizeTag(String tag) {
+        return normalizeKeyword(tag);
+    }
+
+    // =================== 私有方法 ===================
+
+    private static void tokenize(String text, boolean forIndex, List<String> out) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(text);
+
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i < normalized.length()) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, out);
+                cjkRun.add(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, forIndex, out);
+                if (word.length() < MAX_WORD_LENGTH) {
+                    word.appendCodePoint(codePoint);
+                }
+            } else {
+                flushWord(word, out);
+                flushCjk(cjkRun, forIndex, out);
+            }
+        }
+        flushWord(word, out);
+        flushCjk(cjkRun, forIndex, out);
+    }
+
+    private static void flushWord(StringBuilder word, List<String> out) {
+        if (word.length() > 0) {
+            out.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> run, boolean forIndex, List<String> out) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1) {
+            out.add(new String(Character.toChars(run.get(0))));
+        } else {
+            for (int j = 0; j + 1 < run.size(); j++) {
+                out.add(new StringBuilder()
+                        .appendCodePoint(run.get(j))
+                        .appendCodePoint(run.get(j + 1))
+                        .toString());
+            }
+            if (forIndex) {
+                for (Integer codePoint : run) {
+                    out.add(new String(Character.toChars(codePoint)));
+                }
+            }
+        }
+        run.clear();
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
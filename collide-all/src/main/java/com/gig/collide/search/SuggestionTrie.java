@@ -0,0 +1,166 @@
+package com.gig.collide.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 前缀补全字典树
+ * 每个节点缓存其子树中权重最高的 K 个候选，前缀查询只需沿路径走到节点即可返回，与候选总数无关
+ *
+ * 同一候选可以挂在多个键下（原文、全拼、拼音首字母），节点内按候选对象去重。
+ * 权重只允许增加：增量更新时沿路径调整各节点的候选排序，权重下降通过整体重建处理。
+ * 节点总数达到上限后不再创建新节点，新候选只挂到已有的前缀节点上，内存不随增量写入无限增长。
+ * 非线程安全，由调用方负责并发控制。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public class SuggestionTrie {
+
+    private final int topK;
+    private final int maxKeyLength;
+    private final int maxNodes;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private int nodeCount;
+
+    public SuggestionTrie(int topK, int maxKeyLength, int maxNodes) {
+        this.topK = topK;
+        this.maxKeyLength = maxKeyLength;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 增加候选权重，候选不存在时创建
+     *
+     * @param text 候选展示文本
+     * @param keys 可匹配该候选的键（已归一化）
+     * @param delta 权重增量（必须为正数）
+     */
+    public void increment(String text, Collection<String> keys, double delta) {
+        if (text == null || delta <= 0) {
+            return;
+        }
+        Entry entry = entries.get(text);
+        if (entry == null) {
+            entry = new Entry(text);
+            entries.put(text, entry);
+        }
+        entry.weight += delta;
+
+        Collection<String> newKeys = new LinkedHashSet<>(keys);
+        newKeys.removeAll(entry.keys);
+        entry.keys.addAll(newKeys);
+
+        for (String key : entry.keys) {
+            Node node = root;
+            int length = Math.min(key.length(), maxKeyLength);
+            for (int i = 0; i < length; i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    if (nodeCount >= maxNodes) {
+                        break;
+                    }
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                    nodeCount++;
+                }
+                node = child;
+                node.offer(entry, topK);
+            }
+        }
+    }
+
+    /**
+     * 前缀查询
+     *
+     * @param prefix 已归一化的前缀
+     * @param limit 返回数量（不超过 topK）
+     * @return 按权重倒序的候选文本
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null || prefix.isEmpty() || prefix.length() > maxKeyLength || limit <= 0) {
+            // 超出键长度的部分没有建立节点，截断匹配会返回不以该前缀开头的候选
+            return result;
+        }
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return result;
+        }
+        for (Entry entry : node.top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.text);
+        }
+        return result;
+    }
+
+    /**
+     * 候选是否已存在
+     */
+    public boolean contains(String text) {
+        return entries.containsKey(text);
+    }
+
+    /**
+     * 候选数量
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 节点数量（不含根节点）
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private static final class Entry {
+        final String text;
+        final List<String> keys = new ArrayList<>(3);
+        double weight;
+
+        Entry(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        final List<Entry> top = new ArrayList<>(2);
+
+        /**
+         * 候选权重增加后调整本节点的前 K 名
+         */
+        void offer(Entry entry, int topK) {
+            int index = top.indexOf(entry);
+            if (index < 0) {
+                if (top.size() < topK) {
+                    top.add(entry);
+                    index = top.size() - 1;
+                } else if (entry.weight > top.get(top.size() - 1).weight) {
+                    index = top.size() - 1;
+                    top.set(index, entry);
+                } else {
+                    return;
+                }
+            }
+            // 权重只增不减，向前冒泡即可恢复有序
+            while (index > 0 && top.get(index - 1).weight < entry.weight) {
+                top.set(index, top.get(index - 1));
+                index--;
+            }
+            top.set(index, entry);
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package com.gig.collide.search;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.gig.collide.cache.SearchCacheConstant;
+import com.gig.collide.config.TrendingConfig;
+import com.gig.collide.mapper.HotSearchMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 实时热搜趋势引擎
+ * 以滑动窗口内的时间衰减搜索量对关键词排名，取代按 search_count 的 SQL 排序
+ *
+ * 实现特性：
+ * - 每个搜索类型一个通道，另有汇总全部类型的 all 通道
+ * - 通道内每分钟一个 Count-Min Sketch 桶，环形复用，窗口外的桶自动失效
+ * - 趋势分数 = Σ 桶内估计次数 × 2^(-桶龄 / 半衰期)，新近的搜索权重更高
+ * - 候选集合（topK × 倍数）按分数有序维护：搜索到达时只重算该关键词，跨分钟时统一重算候选，查询直接读取前 K 名
+ * - 定时将各通道快照写入 Redis，启动后合并恢复，重启不丢失趋势
+ * - 未启用时返回null，无数据时返回空列表，由调用方回退数据库查询
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingEngine {
+
+    /**
+     * 汇总全部搜索类型的通道
+     */
+    public static final String CHANNEL_ALL = "all";
+
+    private static final int MAX_CHANNEL_NAME_LENGTH = 32;
+
+    /**
+     * t_hot_search.trend_score 为 decimal(10,2)
+     */
+    private static final BigDecimal MAX_TREND_SCORE = new BigDecimal("99999999.99");
+
+    private final TrendingConfig config;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final HotSearchMapper hotSearchMapper;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次搜索
+     *
+     * @param searchType 搜索类型（为空时只计入 all 通道）
+     * @param keyword 关键词
+     * @param times 搜索次数
+     */
+    public void record(String searchType, String keyword, long times) {
+        if (!config.isEnabled() || keyword == null || times <= 0) {
+            return;
+        }
+        Map<String, Long> counts = new HashMap<>(2);
+        counts.put(keyword, times);
+        record(searchType, counts);
+    }
+
+    /**
+     * 批量记录同一搜索类型的搜索次数
+     *
+     * @param searchType 搜索类型（为空时只计入 all 通道）
+     * @param counts 关键词 -> 搜索次数
+     */
+    public void record(String searchType, Map<String, Long> counts) {
+        if (!config.isEnabled() || counts == null || counts.isEmpty()) {
+            return;
+        }
+        long minute = currentMinute();
+        Channel all = channel(CHANNEL_ALL, true);
+        Channel typed = CHANNEL_ALL.equals(channelName(searchType)) ? null : channel(searchType, true);
+
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            String key = SearchTokenizer.normalizeKeyword(entry.getKey());
+            if (key == null || entry.getValue() == null || entry.getValue() <= 0) {
+                continue;
+            }
+            String text = entry.getKey().trim();
+            int count = (int) Math.min(entry.getValue(), Integer.MAX_VALUE);
+            if (all != null) {
+                all.add(key, text, count, minute);
+            }
+            if (typed != null) {
+                typed.add(key, text, count, minute);
+            }
+        }
+    }
+
+    /**
+     * 获取趋势热词
+     *
+     * @param searchType 搜索类型（为空或 all 时返回全站热词）
+     * @param limit 返回数量（不超过 topK）
+     * @return 按趋势分数倒序的热词；未启用时返回null，无数据时返回空列表
+     */
+    public List<TrendingKeyword> top(String searchType, int limit) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        Channel channel = channel(searchType, false);
+        if (channel == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return channel.top(Math.min(limit, config.getTopK()), currentMinute());
+    }
+
+    /**
+     * 将各通道快照写入 Redis
+     *
+     * @return 写入的通道数
+     */
+    public int snapshot() {
+        long minute = currentMinute();
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+            JSONObject snapshot = entry.getValue().snapshot(minute);
+            if (snapshot != null) {
+                fields.put(entry.getKey(), snapshot.toJSONString());
+            }
+        }
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        String key = SearchCacheConstant.TRENDING_SNAPSHOT_KEY;
+        stringRedisTemplate.opsForHash().putAll(key, fields);
+        stringRedisTemplate.expire(key, config.getWindowMinutes() * 2L, TimeUnit.MINUTES);
+        return fields.size();
+    }
+
+    /**
+     * 从 Redis 快照恢复，与启动后已记录的数据合并
+     *
+     * @return 恢复的通道数
+     */
+    public int restore() {
+        Map<Object, Object> fields = stringRedisTemplate.opsForHash().entries(SearchCacheConstant.TRENDING_SNAPSHOT_KEY);
+        long minute = currentMinute();
+        int restored = 0;
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            try {
+                JSONObject snapshot = JSON.parseObject(String.valueOf(entry.getValue()));
+                if (snapshot.getIntValue("depth") != config.getSketchDepth()
+                        || snapshot.getIntValue("width") != config.getSketchWidth()) {
+                    log.info("趋势快照规格与当前配置不一致，跳过: channel={}", entry.getKey());
+                    continue;
+                }
+                Channel channel = channel(String.valueOf(entry.getKey()), true);
+                if (channel != null) {
+                    channel.restore(snapshot, minute);
+                    restored++;
+                }
+            } catch (Exception e) {
+                log.warn("趋势快照解析失败，跳过: channel={}", entry.getKey(), e);
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * 应用启动后异步恢复快照
+     */
+    @Async("asyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOnStartup() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            int restored = restore();
+            log.info("实时趋势快照恢复完成: channels={}", restored);
+        } catch (Exception e) {
+            log.warn("恢复实时趋势快照失败，趋势将从零开始累计", e);
+        }
+    }
+
+    /**
+     * 定时快照，并按配置回写全站趋势分数
+     */
+    @Scheduled(fixedDelayString = "${collide.trending.snapshot-interval-ms:60000}",
+            initialDelayString = "${collide.trending.snapshot-interval-ms:60000}")
+    public void scheduledSnapshot() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.warn("写入实时趋势快照失败", e);
+        }
+        if (config.isPersistTrendScore()) {
+            persistTrendScores();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!config.isEnabled() || channels.isEmpty()) {
+            return;
+        }
+        try {
+            log.info("停机写入实时趋势快照: channels={}", snapshot());
+        } catch (Exception e) {
+            log.warn("停机写入实时趋势快照失败", e);
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 全站趋势前 K 名回写 t_hot_search.trend_score（仅更新已存在的关键词）
+     */
+    private void persistTrendScores() {
+        for (TrendingKeyword keyword : top(CHANNEL_ALL, config.getTopK())) {
+            try {
+                BigDecimal score = BigDecimal.valueOf(keyword.getScore()).setScale(2, RoundingMode.HALF_UP).min(MAX_TREND_SCORE);
+                hotSearchMapper.updateTrendScore(keyword.getKeyword(), score);
+            } catch (Exception e) {
+                log.warn("回写趋势分数失败: keyword={}", keyword.getKeyword(), e);
+            }
+        }
+    }
+
+    private Channel channel(String searchType, boolean create) {
+        String name = channelName(searchType);
+        Channel channel = channels.get(name);
+        if (channel != null || !create) {
+            return channel;
+        }
+        if (channels.size() >= config.getMaxChannels()) {
+            log.debug("实时趋势通道数已达上限，忽略搜索类型: {}", name);
+            return null;
+        }
+        return channels.computeIfAbsent(name, n -> new Channel(config));
+    }
+
+    private String channelName(String searchType) {
+        if (searchType == null || searchType.isBlank()) {
+            return CHANNEL_ALL;
+        }
+        String name = searchType.trim().toLowerCase(Locale.ROOT);
+        return name.length() > MAX_CHANNEL_NAME_LENGTH ? name.substring(0, MAX_CHANNEL_NAME_LENGTH) : name;
+    }
+
+    private long currentMinute() {
+        return System.currentTimeMillis() / 60000L;
+    }
+
+    private static String encode(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("压缩趋势快照失败", e);
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private static byte[] decode(String encoded) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * 趋势热词
+     */
+    @Data
+    public static class TrendingKeyword {
+        /**
+         * 关键词（最近一次搜索时的原文）
+         */
+        private String keyword;
+
+        /**
+         * 时间衰减后的趋势分数
+         */
+        private double score;
+
+        /**
+         * 窗口内的估计搜索次数
+         */
+        private long windowCount;
+    }
+
+    /**
+     * 候选热词
+     */
+    private static final class Candidate {
+        final String key;
+        String text;
+        double score;
+        long windowCount;
+
+        Candidate(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /**
+     * 单个搜索类型的滑动窗口
+     */
+    private static final class Channel {
+
+        private static final Comparator<Candidate> RANKING = Comparator
+                .comparingDouble((Candidate c) -> c.score).reversed()
+                .thenComparing(c -> c.key);
+
+        private final int depth;
+        private final int width;
+        private final int windowMinutes;
+        private final int capacity;
+        private final double[] weights;
+        private final CountMinSketch[] buckets;
+        private final long[] bucketMinutes;
+        private final Map<String, Candidate> candidates = new HashMap<>();
+        private final TreeSet<Candidate> ranking = new TreeSet<>(RANKING);
+
+        private long currentMinute = Long.MIN_VALUE;
+
+        Channel(TrendingConfig config) {
+            this.depth = config.getSketchDepth();
+            this.width = config.getSketchWidth();
+            this.windowMinutes = Math.max(1, config.getWindowMinutes());
+            this.capacity = Math.max(1, config.getTopK() * Math.max(1, config.getCandidateFactor()));
+            this.weights = new double[windowMinutes];
+            double halfLife = config.getHalfLifeMinutes() > 0 ? config.getHalfLifeMinutes() : Double.POSITIVE_INFINITY;
+            for (int age = 0; age < windowMinutes; age++) {
+                weights[age] = Math.pow(0.5, age / halfLife);
+            }
+            this.buckets = new CountMinSketch[windowMinutes];
+            this.bucketMinutes = new long[windowMinutes];
+            Arrays.fill(bucketMinutes, Long.MIN_VALUE);
+        }
+
+        synchronized void add(String key, String text, int count, long minute) {
+            advance(minute);
+            bucket(currentMinute).add(key, count);
+
+            Candidate candidate = candidates.get(key);
+            if (candidate != null) {
+                ranking.remove(candidate);
+                candidate.text = text;
+                rescore(candidate);
+                ranking.add(candidate);
+                return;
+            }
+            candidate = new Candidate(key, text);
+            rescore(candidate);
+            if (candidates.size() >= capacity) {
+                Candidate weakest = ranking.last();
+                if (RANKING.compare(candidate, weakest) >= 0) {
+                    return;
+                }
+                ranking.remove(weakest);
+                candidates.remove(weakest.key);
+            }
+            candidates.put(key, candidate);
+            ranking.add(candidate);
+        }
+
+        synchronized List<TrendingKeyword> top(int limit, long minute) {
+            advance(minute);
+            List<TrendingKeyword> result = new ArrayList<>(Math.min(limit, ranking.size()));
+            Iterator<Candidate> iterator = ranking.iterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                Candidate candidate = iterator.next();
+                TrendingKeyword keyword = new TrendingKeyword();
+                keyword.setKeyword(candidate.text);
+                keyword.setScore(candidate.score);
+                keyword.setWindowCount(candidate.windowCount);
+                result.add(keyword);
+            }
+            return result;
+        }
+
+        synchronized JSONObject snapshot(long minute) {
+            advance(minute);
+            JSONArray bucketArray = new JSONArray();
+            for (int i = 0; i < windowMinutes; i++) {
+                if (isLive(i)) {
+                    JSONObject bucket = new JSONObject();
+                    bucket.put("minute", bucketMinutes[i]);
+                    bucket.put("counters", encode(buckets[i].toBytes()));
+                    bucketArray.add(bucket);
+                }
+            }
+            if (bucketArray.isEmpty()) {
+                return null;
+            }
+            JSONArray candidateArray = new JSONArray();
+            for (Candidate candidate : ranking) {
+                JSONObject item = new JSONObject();
+                item.put("key", candidate.key);
+                item.put("text", candidate.text);
+                candidateArray.add(item);
+            }
+            JSONObject snapshot = new JSONObject();
+            snapshot.put("depth", depth);
+            snapshot.put("width", width);
+            snapshot.put("buckets", bucketArray);
+            snapshot.put("candidates", candidateArray);
+            return snapshot;
+        }
+
+        synchronized void restore(JSONObject snapshot, long minute) throws IOException {
+            advance(minute);
+            JSONArray bucketArray = snapshot.getJSONArray("buckets");
+            for (int i = 0; bucketArray != null && i < bucketArray.size(); i++) {
+                JSONObject item = bucketArray.getJSONObject(i);
+                long bucketMinute = item.getLongValue("minute");
+                if (bucketMinute > currentMinute || currentMinute - bucketMinute >= windowMinutes) {
+                    continue;
+                }
+                CountMinSketch restored = CountMinSketch.fromBytes(depth, width, decode(item.getString("counters")));
+                bucket(bucketMinute).merge(restored);
+            }
+
+            JSONArray candidateArray = snapshot.getJSONArray("candidates");
+            for (int i = 0; candidateArray != null && i < candidateArray.size(); i++) {
+                JSONObject item = candidateArray.getJSONObject(i);
+                String key = item.getString("key");
+                if (key != null && !candidates.containsKey(key)) {
+                    candidates.put(key, new Candidate(key, item.getString("text")));
+                }
+            }
+            rescoreAll();
+        }
+
+        /**
+         * 跨分钟时所有桶龄加一，统一重算候选分数并剔除窗口内已无搜索的候选
+         */
+        private void advance(long minute) {
+            if (minute <= currentMinute) {
+                return;
+            }
+            currentMinute = minute;
+            rescoreAll();
+        }
+
+        private void rescoreAll() {
+            ranking.clear();
+            Iterator<Candidate> iterator = candidates.values().iterator();
+            while (iterator.hasNext()) {
+                Candidate candidate = iterator.next();
+                rescore(candidate);
+                if (candidate.windowCount <= 0) {
+                    iterator.remove();
+                } else {
+                    ranking.add(candidate);
+                }
+            }
+            // 恢复快照后候选可能超出容量，淘汰分数最低的
+            while (ranking.size() > capacity) {
+                candidates.remove(ranking.pollLast().key);
+            }
+        }
+
+        private void rescore(Candidate candidate) {
+            double score = 0;
+            long windowCount = 0;
+            for (int i = 0; i < windowMinutes; i++) {
+                if (!isLive(i)) {
+                    continue;
+                }
+                int count = buckets[i].estimate(candidate.key);
+                if (count > 0) {
+                    score += count * weights[(int) (currentMinute - bucketMinutes[i])];
+                    windowCount += count;
+                }
+            }
+            candidate.score = score;
+            candidate.windowCount = windowCount;
+        }
+
+        private boolean isLive(int index) {
+            return buckets[index] != null
+                    && bucketMinutes[index] <= currentMinute
+                    && currentMinute - bucketMinutes[index] < windowMinutes;
+        }
+
+        /**
+         * 取指定分钟的桶，槽位被更早的分钟占用时清空复用
+         */
+        private CountMinSketch bucket(long minute) {
+            int index = (int) Math.floorMod(minute, (long) windowMinutes);
+            if (buckets[index] == null) {
+                buckets[index] = new CountMinSketch(depth, width);
+                bucketMinutes[index] = minute;
+            } else if (bucketMinutes[index] != minute) {
+                buckets[index].clear();
+                bucketMinutes[index] = minute;
+            }
+            return buckets[index];
+        }
+    }
+}
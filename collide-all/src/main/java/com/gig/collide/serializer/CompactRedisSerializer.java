@@ -0,0 +1,178 @@
+package com.gig.collide.serializer;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.filter.Filter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gig.collide.config.RedisSerializerConfig;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 紧凑 Redis 值序列化器
+ * 以 fastjson2 JSONB 二进制格式写入，较大的值再做 Deflate 压缩，体积明显小于 Jackson JSON 文本
+ *
+ * 数据格式：魔数(1字节) + 版本与标志(1字节) + 内容；压缩时内容为 原始长度(4字节) + 压缩数据
+ * - 按字段名编码并写入类型名，实体增删字段后旧数据仍可读取（缺失字段取默认值，多余字段忽略）
+ * - 不以魔数开头的数据按 Jackson JSON 读取，与 GenericJackson2JsonRedisSerializer 写入的旧数据兼容
+ * - 反序列化只允许配置的类型前缀
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Component
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final String FORMAT_JSONB = "jsonb";
+    public static final String FORMAT_JACKSON = "jackson";
+
+    private static final byte MAGIC = (byte) 0xC7;
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 0x01;
+    private static final int HEADER_LENGTH = 2;
+
+    private static final JSONWriter.Feature[] WRITE_FEATURES = {
+            JSONWriter.Feature.WriteClassName,
+            JSONWriter.Feature.FieldBased,
+            JSONWriter.Feature.ReferenceDetection,
+            JSONWriter.Feature.NotWriteDefaultValue,
+            JSONWriter.Feature.NotWriteHashMapArrayListClassName,
+            JSONWriter.Feature.WriteNameAsSymbol
+    };
+
+    private static final JSONReader.Feature[] READ_FEATURES = {
+            JSONReader.Feature.FieldBased,
+            JSONReader.Feature.UseDefaultConstructorAsPossible,
+            JSONReader.Feature.UseNativeObject
+    };
+
+    private final RedisSerializerConfig config;
+    private final Filter autoTypeFilter;
+    private final GenericJackson2JsonRedisSerializer jacksonSerializer = jacksonSerializer();
+
+    public CompactRedisSerializer(RedisSerializerConfig config) {
+        this.config = config;
+        this.autoTypeFilter = JSONReader.autoTypeFilter(config.getAcceptTypes().toArray(new String[0]));
+    }
+
+    /**
+     * format=jackson 回退与旧数据读取使用的 Jackson 序列化器
+     * 补充 Java 时间类型支持（实体中的 LocalDateTime 等字段），并忽略 isXxx 计算属性写出的多余字段
+     */
+    public static GenericJackson2JsonRedisSerializer jacksonSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        serializer.configure(mapper -> mapper.registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+        return serializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (FORMAT_JACKSON.equalsIgnoreCase(config.getFormat())) {
+            return jacksonSerializer.serialize(value);
+        }
+        byte[] body;
+        try {
+            body = JSONB.toBytes(value, WRITE_FEATURES);
+        } catch (Exception e) {
+            throw new SerializationException("JSONB 序列化失败: " + value.getClass().getName(), e);
+        }
+        if (config.isCompressionEnabled() && body.length > config.getCompressThreshold()) {
+            byte[] compressed = compress(body);
+            if (compressed.length + Integer.BYTES < body.length) {
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + Integer.BYTES + compressed.length);
+                buffer.put(MAGIC).put((byte) (VERSION << 4 | FLAG_COMPRESSED)).putInt(body.length).put(compressed);
+                return buffer.array();
+            }
+        }
+        byte[] bytes = new byte[HEADER_LENGTH + body.length];
+        bytes[0] = MAGIC;
+        bytes[1] = (byte) (VERSION << 4);
+        System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC || bytes.length < HEADER_LENGTH) {
+            return jacksonSerializer.deserialize(bytes);
+        }
+        int version = (bytes[1] & 0xF0) >>> 4;
+        if (version != VERSION) {
+            throw new SerializationException("不支持的序列化版本: " + version);
+        }
+        try {
+            if ((bytes[1] & FLAG_COMPRESSED) != 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+                int length = buffer.getInt();
+                byte[] body = decompress(bytes, HEADER_LENGTH + Integer.BYTES, length);
+                return JSONB.parseObject(body, Object.class, autoTypeFilter, READ_FEATURES);
+            }
+            byte[] body = new byte[bytes.length - HEADER_LENGTH];
+            System.arraycopy(bytes, HEADER_LENGTH, body, 0, body.length);
+            return JSONB.parseObject(body, Object.class, autoTypeFilter, READ_FEATURES);
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("JSONB 反序列化失败", e);
+        }
+    }
+
+    // =================== 压缩 ===================
+
+    private byte[] compress(byte[] body) {
+        Deflater deflater = new Deflater(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, config.getCompressionLevel())));
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] decompress(byte[] bytes, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] body = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(body, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("压缩数据长度不一致: expected=" + length + ", actual=" + read);
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new SerializationException("解压缩失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
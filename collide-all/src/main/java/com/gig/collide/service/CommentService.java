@@ -86,7 +86,7 @@ public interface CommentService {
 
     /**
      * 获取目标对象的评论树
-     * 构建树形结构的评论列表
+     * 按根评论分页，每个根评论附带默认数量的回复（children 嵌套）
      *
      * @param targetId 目标对象ID
      * @param commentType 评论类型
@@ -98,6 +98,34 @@ public interface CommentService {
     IPage<Comment> getCommentTree(Long targetId, String commentType, Integer maxDepth,
                                   Integer currentPage, Integer pageSize);
 
+    /**
+     * 获取目标对象的评论树
+     * 按根评论分页，每个根评论按先序附带前 replyLimit 条回复，更深或更多的回复通过 {@link #getCommentSubtree} 展开
+     * 首页结果按目标对象缓存，评论增删改后失效；返回的评论对象只读
+     *
+     * @param targetId 目标对象ID
+     * @param commentType 评论类型
+     * @param maxDepth 最大层级深度（根评论为0）
+     * @param replyLimit 每个根评论附带的回复数
+     * @param currentPage 当前页码
+     * @param pageSize 页面大小
+     * @return 根评论分页，回复嵌套在 children 中
+     */
+    IPage<Comment> getCommentTree(Long targetId, String commentType, Integer maxDepth, Integer replyLimit,
+                                  Integer currentPage, Integer pageSize);
+
+    /**
+     * 展开评论子树
+     * 按先序返回指定评论的后代，以物化路径作为游标
+     *
+     * @param commentId 子树根评论ID
+     * @param maxDepth 相对子树根评论的展开层级
+     * @param afterPath 上一页最后一条评论的路径，首页为空
+     * @param limit 返回数量
+     * @return 后代评论（扁平、按路径有序）
+     */
+    List<Comment> getCommentSubtree(Long commentId, Integer maxDepth, String afterPath, Integer limit);
+
     /**
      * 获取用户的评论列表
      *
@@ -290,7 +318,7 @@ public interface CommentService {
      * @param userId 用户ID
      * @param nickname 新昵称
      * @param avatar 新头像
-     * @return 影响行数
+     * @return 影响行数（冗余字段由后台任务分块改写）
      */
     int updateUserInfo(Long userId, String nickname, String avatar);
 
@@ -300,7 +328,7 @@ public interface CommentService {
      * @param replyToUserId 回复目标用户ID
      * @param nickname 新昵称
      * @param avatar 新头像
-     * @return 影响行数
+     * @return 影响行数（冗余字段由后台任务分块改写）
      */
     int updateReplyToUserInfo(Long replyToUserId, String nickname, String avatar);
 
@@ -334,4 +362,49 @@ public interface CommentService {
     Result<PageResponse<CommentResponse>> listCommentsForController(
             String commentType, Long targetId, Long userId, Long currentUserId, Long parentId, String status, String keyword,
             String orderBy, String orderDirection, Integer currentPage, Integer pageSize);
+
+    /**
+     * 评论列表游标查询（Controller专用）
+     * 条件与 listCommentsForController 相同，按 (排序时间, id) 定位下一页，不统计总数
+     *
+     * @param orderBy 排序字段，仅支持 createTime / updateTime
+     * @param orderDirection 排序方向
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 页面大小
+     * @return 游标分页响应结果
+     */
+    Result<PageResponse<CommentResponse>> listCommentsByCursorForController(
+            String commentType, Long targetId, Long userId, Long currentUserId, Long parentId, String status, String keyword,
+            String orderBy, String orderDirection, String cursor, Integer pageSize);
+
+    /**
+     * 评论树查询（Controller专用）
+     * 根评论分页，每个根评论嵌套前 replyLimit 条回复，包含当前用户的点赞状态
+     *
+     * @param targetId 目标对象ID
+     * @param commentType 评论类型
+     * @param currentUserId 当前用户ID（用于获取点赞状态）
+     * @param maxDepth 最大层级深度
+     * @param replyLimit 每个根评论附带的回复数
+     * @param currentPage 当前页码
+     * @param pageSize 页面大小
+     * @return 分页响应结果
+     */
+    Result<PageResponse<CommentResponse>> getCommentTreeForController(
+            Long targetId, String commentType, Long currentUserId, Integer maxDepth, Integer replyLimit,
+            Integer currentPage, Integer pageSize);
+
+    /**
+     * 评论子树展开（Controller专用）
+     * 按先序游标分页返回指定评论的后代，页内按父子关系嵌套
+     *
+     * @param commentId 子树根评论ID
+     * @param currentUserId 当前用户ID（用于获取点赞状态）
+     * @param maxDepth 相对子树根评论的展开层级
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 页面大小（按评论条数计）
+     * @return 游标分页响应结果
+     */
+    Result<PageResponse<CommentResponse>> getCommentSubtreeForController(
+            Long commentId, Long currentUserId, Integer maxDepth, String cursor, Integer pageSize);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.gig.collide.domain.ContentPayment;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 内容付费配置业务服务接口
@@ -87,6 +88,13 @@ public interface ContentPaymentService {
      */
     boolean checkAccessPermission(Long userId, Long contentId);
 
+    /**
+     * 批量检查访问权限（整页内容一次校验）
+     *
+     * @return 内容ID -> 是否可访问
+     */
+    Map<Long, Boolean> batchCheckAccessPermission(Long userId, List<Long> contentIds);
+
     // =================== 销售统计功能（1个方法）===================
 
     /**
@@ -114,4 +122,14 @@ public interface ContentPaymentService {
     com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.content.response.ContentPaymentConfigResponse>> listPaymentConfigsForController(
             Long contentId, String configType, String status, Boolean isEnabled, String keyword,
             String orderBy, String orderDirection, Integer currentPage, Integer pageSize);
+
+    /**
+     * 批量检查访问权限（Controller专用）
+     *
+     * @param userId 用户ID（可为空，为空时付费内容均不可访问）
+     * @param contentIds 内容ID列表
+     * @return 内容ID -> 是否可访问
+     */
+    com.gig.collide.Apientry.api.common.response.Result<Map<Long, Boolean>> batchCheckAccessPermissionForController(
+            Long userId, List<Long> contentIds);
 }
\ No newline at end of file
@@ -143,6 +143,20 @@ public interface ContentService {
             String contentType, String status, Long authorId, String authorIds, Long categoryId, String keyword, Boolean isPublished,
             String orderBy, String orderDirection, Integer currentPage, Integer pageSize, Long userId);
 
+    /**
+     * 内容列表游标查询（Controller专用）
+     * 与 listContentsForController 条件相同，按 (排序时间, id) 定位下一页，不统计总数
+     *
+     * @param orderBy 排序字段，仅支持 createTime / updateTime
+     * @param orderDirection 排序方向
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 页面大小
+     * @return 游标分页响应结果
+     */
+    com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.content.response.ContentResponse>> listContentsByCursorForController(
+            String contentType, String status, Long authorId, String authorIds, Long categoryId, String keyword, Boolean isPublished,
+            String orderBy, String orderDirection, String cursor, Integer pageSize, Long userId);
+
     /**
      * 获取用户关注作者的内容（Controller专用）
      *
@@ -156,4 +170,25 @@ public interface ContentService {
      */
     com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.content.response.ContentResponse>> getFollowingContentsForController(
             Long userId, String contentType, String orderBy, String orderDirection, Integer currentPage, Integer pageSize);
+
+    /**
+     * 游标分页获取关注时间线（Controller专用）
+     * 优先读取 Redis 写扩散时间线，不可用时回退数据库游标查询
+     *
+     * @param userId 用户ID
+     * @param contentType 内容类型（可选）
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 页面大小
+     * @return 游标分页响应结果
+     */
+    com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.content.response.ContentResponse>> getFollowingTimelineForController(
+            Long userId, String contentType, String cursor, Integer pageSize);
+
+    /**
+     * 重建关注时间线（Controller专用）
+     *
+     * @param userId 用户ID；为空时重算大V名单并清空全部时间线，按需重建
+     * @return 指定用户时返回写入条目数，否则返回清理的键数量
+     */
+    com.gig.collide.Apientry.api.common.response.Result<Integer> rebuildTimelineForController(Long userId);
 }
\ No newline at end of file
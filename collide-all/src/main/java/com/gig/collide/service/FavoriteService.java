@@ -171,11 +171,11 @@ public interface FavoriteService {
 
     /**
      * 更新用户信息（冗余字段）
-     * 当用户信息变更时，同步更新收藏表中的冗余信息
+     * 当用户信息变更时，写入资料变更事件，由后台任务分块改写收藏表中的冗余信息
      *
      * @param userId 用户ID
      * @param nickname 新昵称
-     * @return 更新成功的记录数
+     * @return 更新成功的记录数（由后台任务分块改写）
      */
     int updateUserInfo(Long userId, String nickname);
 
@@ -150,6 +150,15 @@ public interface FollowService {
      */
     Map<Long, Boolean> batchCheckFollowStatus(Long followerId, List<Long> followeeIds);
 
+    /**
+     * 推荐“好友的好友”：用户关注的人还关注了谁，排除已关注的用户，按共同关注人数降序
+     *
+     * @param userId 用户ID
+     * @param limit 返回数量
+     * @return 推荐用户ID -> 共同关注人数
+     */
+    Map<Long, Integer> getFollowSuggestions(Long userId, Integer limit);
+
     /**
      * 根据昵称搜索关注关系
      *
@@ -165,12 +174,12 @@ public interface FollowService {
 
     /**
      * 更新用户信息（冗余字段）
-     * 当用户信息变更时，同步更新关注表中的冗余信息
+     * 当用户信息变更时，写入资料变更事件，由后台任务分块改写关注表中的冗余信息
      *
      * @param userId 用户ID
      * @param nickname 新昵称
      * @param avatar 新头像
-     * @return 更新成功的记录数
+     * @return 更新成功的记录数（由后台任务分块改写）
      */
     int updateUserInfo(Long userId, String nickname, String avatar);
 
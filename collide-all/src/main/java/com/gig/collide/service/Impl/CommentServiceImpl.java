@@ -4,10 +4,16 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.domain.Comment;
 import com.gig.collide.mapper.CommentMapper;
+import com.gig.collide.profile.ProfileChangeOutbox;
+import com.gig.collide.profile.ProfileSyncTarget;
 import com.gig.collide.service.CommentService;
 import com.gig.collide.service.SocialDynamicService;
 import com.gig.collide.service.LikeService;
+import com.gig.collide.cache.CommentTreeCache;
 import com.gig.collide.cache.LikeCacheConstant;
+import com.gig.collide.config.CommentTreeConfig;
+import com.gig.collide.util.CommentPathUtil;
+import com.gig.collide.util.CursorUtil;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.comment.response.CommentResponse;
@@ -18,9 +24,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.function.Function;
 
 /**
  * 评论业务服务实现 - C端简洁版
@@ -38,6 +47,9 @@ public class CommentServiceImpl implements CommentService {
     private final CommentMapper commentMapper;
     private final SocialDynamicService socialDynamicService;
     private final LikeService likeService;
+    private final CommentTreeCache commentTreeCache;
+    private final CommentTreeConfig commentTreeConfig;
+    private final ProfileChangeOutbox profileChangeOutbox;
 
     // =================== 基础CRUD ===================
 
@@ -58,9 +70,41 @@ public class CommentServiceImpl implements CommentService {
         comment.setCreateTime(LocalDateTime.now());
         comment.setUpdateTime(LocalDateTime.now());
 
+        // 计算层级
+        Comment parent = null;
+        if (comment.getParentCommentId() != null && comment.getParentCommentId() > 0) {
+            parent = commentMapper.selectById(comment.getParentCommentId());
+            if (parent == null) {
+                throw new IllegalArgumentException("父评论不存在");
+            }
+            int parentLevel = parent.getLevel() != null ? parent.getLevel() : 0;
+            if (parentLevel >= CommentPathUtil.MAX_LEVEL) {
+                throw new IllegalArgumentException("评论层级过深");
+            }
+            comment.setLevel(parentLevel + 1);
+        } else {
+            comment.setParentCommentId(0L);
+            comment.setLevel(0);
+        }
+
         // 保存评论
         commentMapper.insert(comment);
 
+        // 回填根评论ID与物化路径（路径包含自身ID，需在插入后计算）
+        if (parent == null) {
+            comment.setRootCommentId(comment.getId());
+            comment.setCommentPath(CommentPathUtil.rootPath(comment.getId()));
+        } else {
+            String parentPath = StringUtils.hasText(parent.getCommentPath())
+                    ? parent.getCommentPath() : CommentPathUtil.rootPath(parent.getId());
+            Long rootCommentId = parent.getRootCommentId() != null && parent.getRootCommentId() > 0
+                    ? parent.getRootCommentId() : parent.getId();
+            comment.setRootCommentId(rootCommentId);
+            comment.setCommentPath(CommentPathUtil.childPath(parentPath, comment.getId()));
+        }
+        commentMapper.updateCommentPath(comment.getId(), comment.getRootCommentId(), comment.getCommentPath());
+        commentTreeCache.invalidate(comment.getTargetId());
+
         // 如果是回复评论，更新父评论的回复数
         if (comment.getParentCommentId() != null && comment.getParentCommentId() > 0) {
             commentMapper.increaseReplyCount(comment.getParentCommentId(), 1);
@@ -104,6 +148,7 @@ public class CommentServiceImpl implements CommentService {
 
         // 更新评论
         commentMapper.updateById(existingComment);
+        commentTreeCache.invalidate(existingComment.getTargetId());
 
         log.info("评论更新成功: {}", comment.getId());
         return existingComment;
@@ -134,6 +179,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setStatus("DELETED");
         comment.setUpdateTime(LocalDateTime.now());
         commentMapper.updateById(comment);
+        commentTreeCache.invalidate(comment.getTargetId());
 
         // 如果是回复评论，减少父评论的回复数
         if (comment.getParentCommentId() != null && comment.getParentCommentId() > 0) {
@@ -228,8 +274,14 @@ public class CommentServiceImpl implements CommentService {
     @Override
     public IPage<Comment> getCommentTree(Long targetId, String commentType, Integer maxDepth,
                                          Integer currentPage, Integer pageSize) {
-        log.info("获取评论树: targetId={}, commentType={}, maxDepth={}, page={}, size={}",
-                targetId, commentType, maxDepth, currentPage, pageSize);
+        return getCommentTree(targetId, commentType, maxDepth, null, currentPage, pageSize);
+    }
+
+    @Override
+    public IPage<Comment> getCommentTree(Long targetId, String commentType, Integer maxDepth, Integer replyLimit,
+                                         Integer currentPage, Integer pageSize) {
+        log.info("获取评论树: targetId={}, commentType={}, maxDepth={}, replyLimit={}, page={}, size={}",
+                targetId, commentType, maxDepth, replyLimit, currentPage, pageSize);
 
         // 参数验证
         if (targetId == null) {
@@ -237,21 +289,69 @@ public class CommentServiceImpl implements CommentService {
         }
 
         // 设置默认值
-        currentPage = currentPage == null ? 1 : currentPage;
-        pageSize = pageSize == null ? 10 : pageSize;
-        maxDepth = maxDepth == null ? 3 : maxDepth;
+        currentPage = currentPage == null || currentPage < 1 ? 1 : currentPage;
+        pageSize = pageSize == null || pageSize < 1 ? 10 : Math.min(pageSize, 100);
+        maxDepth = maxDepth == null ? commentTreeConfig.getDefaultMaxDepth()
+                : Math.max(0, Math.min(maxDepth, CommentPathUtil.MAX_LEVEL));
+        replyLimit = replyLimit == null ? commentTreeConfig.getDefaultReplyLimit()
+                : Math.max(0, Math.min(replyLimit, commentTreeConfig.getMaxReplyLimit()));
+
+        // 首页走缓存
+        String variant = (commentType != null ? commentType.toUpperCase() : "") + ":" + pageSize + ":" + replyLimit + ":" + maxDepth;
+        if (currentPage == 1) {
+            IPage<Comment> cached = commentTreeCache.get(targetId, variant);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long stamp = commentTreeCache.stamp();
+
+        // 根评论分页
+        IPage<Comment> result = commentMapper.selectTreeRootsPage(new Page<>(currentPage, pageSize), targetId, commentType);
+        List<Comment> roots = result.getRecords();
+        roots.forEach(Comment::initChildren);
+
+        // 每个根评论按先序取前 N 条回复，挂到最近的可见祖先下
+        if (!roots.isEmpty() && replyLimit > 0 && maxDepth > 0) {
+            List<Long> rootIds = roots.stream().map(Comment::getId).toList();
+            List<Comment> descendants = commentMapper.selectFirstDescendants(rootIds, maxDepth, replyLimit);
+            Map<Long, Comment> visible = new HashMap<>();
+            roots.forEach(root -> visible.put(root.getId(), root));
+            attachToNearestAncestor(descendants, visible);
+        }
 
-        // 查询评论树
-        List<Comment> treeComments = commentMapper.selectCommentTree(targetId, commentType,
-                maxDepth, "NORMAL", "create_time", "ASC");
+        if (currentPage == 1) {
+            commentTreeCache.put(targetId, variant, result, stamp);
+        }
+        log.info("获取评论树成功: 根评论总数={}, 当前页根评论={}", result.getTotal(), roots.size());
+        return result;
+    }
 
-        // 构建分页结果
-        IPage<Comment> result = new Page<>(currentPage, pageSize);
-        result.setRecords(treeComments);
-        result.setTotal(treeComments.size());
+    @Override
+    public List<Comment> getCommentSubtree(Long commentId, Integer maxDepth, String afterPath, Integer limit) {
+        log.info("展开评论子树: commentId={}, maxDepth={}, afterPath={}, limit={}", commentId, maxDepth, afterPath, limit);
 
-        log.info("获取评论树成功: 总数={}", result.getTotal());
-        return result;
+        // 参数验证
+        if (commentId == null) {
+            throw new IllegalArgumentException("评论ID不能为空");
+        }
+        Comment parent = commentMapper.selectById(commentId);
+        if (parent == null || !"NORMAL".equals(parent.getStatus()) || !StringUtils.hasText(parent.getCommentPath())) {
+            throw new IllegalArgumentException("评论不存在");
+        }
+        if (afterPath != null && (!CommentPathUtil.isValid(afterPath)
+                || !afterPath.startsWith(parent.getCommentPath() + CommentPathUtil.SEPARATOR))) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+
+        // 设置默认值
+        limit = limit == null || limit < 1 ? 20 : Math.min(limit, 100);
+        int depth = maxDepth == null ? commentTreeConfig.getDefaultMaxDepth() : Math.max(1, maxDepth);
+        int parentLevel = parent.getLevel() != null ? parent.getLevel() : 0;
+        int maxLevel = (int) Math.min((long) parentLevel + depth, CommentPathUtil.MAX_LEVEL);
+
+        return commentMapper.selectSubtreeByPath(parent.getRootCommentId(), parent.getCommentPath(),
+                afterPath, maxLevel, limit);
     }
 
     @Override
@@ -548,6 +648,7 @@ public class CommentServiceImpl implements CommentService {
 
         // 批量更新状态
         int result = commentMapper.batchUpdateStatus(commentIds, status);
+        commentTreeCache.invalidateAll();
 
         log.info("批量更新评论状态成功: 影响行数={}", result);
         return result;
@@ -565,6 +666,7 @@ public class CommentServiceImpl implements CommentService {
 
         // 批量删除评论
         int result = commentMapper.batchDeleteTargetComments(targetId, commentType, "DELETED");
+        commentTreeCache.invalidate(targetId);
 
         log.info("批量删除目标评论成功: 影响行数={}", result);
         return result;
@@ -580,10 +682,11 @@ public class CommentServiceImpl implements CommentService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
-        // 更新用户信息
-        int result = commentMapper.updateUserInfo(userId, nickname, avatar);
+        // 冗余字段由后台任务分块改写，这里只写入变更事件
+        int result = profileChangeOutbox.publishAndCountRows(userId, nickname, avatar,
+                EnumSet.of(ProfileSyncTarget.COMMENT_USER));
 
-        log.info("更新用户信息成功: 影响行数={}", result);
+        log.info("更新用户信息已受理: 影响行数={}", result);
         return result;
     }
 
@@ -597,10 +700,11 @@ public class CommentServiceImpl implements CommentService {
             throw new IllegalArgumentException("回复目标用户ID不能为空");
         }
 
-        // 更新回复目标用户信息
-        int result = commentMapper.updateReplyToUserInfo(replyToUserId, nickname, avatar);
+        // 冗余字段由后台任务分块改写，这里只写入变更事件
+        int result = profileChangeOutbox.publishAndCountRows(replyToUserId, nickname, avatar,
+                EnumSet.of(ProfileSyncTarget.COMMENT_REPLY_TO));
 
-        log.info("更新回复目标用户信息成功: 影响行数={}", result);
+        log.info("更新回复目标用户信息已受理: 影响行数={}", result);
         return result;
     }
 
@@ -655,10 +759,8 @@ public class CommentServiceImpl implements CommentService {
             // 调用Mapper查询
             IPage<Comment> commentPage = commentMapper.selectCommentList(page, commentType, targetId, userId, parentId, status, keyword, orderBy, orderDirection);
             
-            // 转换为Response对象，包含点赞状态
-            List<CommentResponse> responses = commentPage.getRecords().stream()
-                    .map(comment -> convertToResponseWithLikeStatus(comment, currentUserId))
-                    .toList();
+            // 转换为Response对象，点赞状态按本页批量查询
+            List<CommentResponse> responses = convertToResponsesWithLikeStatus(commentPage.getRecords(), currentUserId);
             
             // 构建分页响应
             PageResponse<CommentResponse> pageResponse = new PageResponse<>();
@@ -677,6 +779,201 @@ public class CommentServiceImpl implements CommentService {
         }
     }
 
+    @Override
+    public Result<PageResponse<CommentResponse>> listCommentsByCursorForController(
+            String commentType, Long targetId, Long userId, Long currentUserId, Long parentId, String status, String keyword,
+            String orderBy, String orderDirection, String cursor, Integer pageSize) {
+
+        log.info("Controller请求 - 评论列表游标查询: type={}, targetId={}, userId={}, parentId={}, orderBy={}, cursor={}, pageSize={}",
+                commentType, targetId, userId, parentId, orderBy, cursor, pageSize);
+
+        try {
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+            String sortField = CursorUtil.normalizeTimeSort(orderBy);
+            String direction = "ASC".equalsIgnoreCase(orderDirection) ? "ASC" : "DESC";
+            long[] position = CursorUtil.decode(cursor);
+
+            List<Comment> comments = commentMapper.selectCommentListByCursor(commentType, targetId, userId, parentId,
+                    status, keyword, sortField, direction,
+                    position != null ? CursorUtil.toDateTime(position[0]) : null,
+                    position != null ? position[1] : null,
+                    pageSize + 1);
+            Function<Comment, LocalDateTime> sortKey = CursorUtil.SORT_UPDATE_TIME.equals(sortField)
+                    ? Comment::getUpdateTime : Comment::getCreateTime;
+            String nextCursor = CursorUtil.nextCursor(comments, pageSize, sortKey, Comment::getId);
+
+            // 点赞状态批量查询
+            Map<Long, Boolean> likedMap = Map.of();
+            if (currentUserId != null && !comments.isEmpty()) {
+                likedMap = likeService.batchCheckLikeStatus(currentUserId, LikeCacheConstant.LIKE_TYPE_COMMENT,
+                        comments.stream().map(Comment::getId).toList());
+            }
+            List<CommentResponse> responses = new ArrayList<>(comments.size());
+            for (Comment comment : comments) {
+                CommentResponse response = convertToResponse(comment);
+                response.setIsLiked(likedMap.getOrDefault(comment.getId(), false));
+                responses.add(response);
+            }
+
+            return Result.success(PageResponse.ofCursor(responses, pageSize, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("评论列表游标查询失败", e);
+            return Result.error("评论列表查询失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<PageResponse<CommentResponse>> getCommentTreeForController(
+            Long targetId, String commentType, Long currentUserId, Integer maxDepth, Integer replyLimit,
+            Integer currentPage, Integer pageSize) {
+
+        log.info("Controller请求 - 评论树查询: type={}, targetId={}, maxDepth={}, replyLimit={}, page={}/{}",
+                commentType, targetId, maxDepth, replyLimit, currentPage, pageSize);
+
+        try {
+            if (currentPage == null || currentPage < 1) {
+                currentPage = 1;
+            }
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+
+            IPage<Comment> tree = getCommentTree(targetId, commentType, maxDepth, replyLimit, currentPage, pageSize);
+            List<CommentResponse> responses = convertTreeToResponses(tree.getRecords(), currentUserId);
+
+            PageResponse<CommentResponse> pageResponse = new PageResponse<>();
+            pageResponse.setRecords(responses);
+            pageResponse.setTotal(tree.getTotal());
+            pageResponse.setCurrentPage(currentPage);
+            pageResponse.setPageSize(pageSize);
+            pageResponse.setTotalPages((int) Math.ceil((double) tree.getTotal() / pageSize));
+            return Result.success(pageResponse);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("评论树查询失败", e);
+            return Result.error("评论树查询失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<PageResponse<CommentResponse>> getCommentSubtreeForController(
+            Long commentId, Long currentUserId, Integer maxDepth, String cursor, Integer pageSize) {
+
+        log.info("Controller请求 - 评论子树展开: commentId={}, maxDepth={}, cursor={}, pageSize={}",
+                commentId, maxDepth, cursor, pageSize);
+
+        try {
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+            List<Comment> rows = new ArrayList<>(getCommentSubtree(commentId, maxDepth, CursorUtil.decodeKey(cursor), pageSize + 1));
+            String nextCursor = null;
+            if (rows.size() > pageSize) {
+                rows.subList(pageSize, rows.size()).clear();
+                nextCursor = CursorUtil.encodeKey(rows.get(pageSize - 1).getCommentPath());
+            }
+
+            // 页内按父子关系嵌套；父评论不在本页（上一页已返回或已删除）的评论作为本页顶层
+            List<Comment> tops = new ArrayList<>();
+            Map<Long, Comment> visible = new HashMap<>();
+            for (Comment row : rows) {
+                row.initChildren();
+                if (!attachToNearestAncestor(row, visible, commentId)) {
+                    tops.add(row);
+                }
+                visible.put(row.getId(), row);
+            }
+
+            return Result.success(PageResponse.ofCursor(convertTreeToResponses(tops, currentUserId), pageSize, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("评论子树展开失败", e);
+            return Result.error("评论子树展开失败: " + e.getMessage());
+        }
+    }
+
+    // =================== 评论树辅助方法 ===================
+
+    /**
+     * 按先序把后代评论挂到最近的可见祖先下
+     * 先序结果对祖先封闭，祖先已删除（被过滤）时挂到更上一级的可见祖先
+     */
+    private void attachToNearestAncestor(List<Comment> descendants, Map<Long, Comment> visible) {
+        for (Comment descendant : descendants) {
+            descendant.initChildren();
+            if (attachToNearestAncestor(descendant, visible, null)) {
+                visible.put(descendant.getId(), descendant);
+            }
+        }
+    }
+
+    /**
+     * 把评论挂到最近的可见祖先下
+     *
+     * @param stopAt 不再向上查找的祖先ID（子树展开时为子树根评论），为空时查到根评论
+     * @return 是否找到可见祖先
+     */
+    private boolean attachToNearestAncestor(Comment comment, Map<Long, Comment> visible, Long stopAt) {
+        if (!StringUtils.hasText(comment.getCommentPath())) {
+            return false;
+        }
+        long[] ancestorIds = CommentPathUtil.ancestorIds(comment.getCommentPath());
+        for (int i = ancestorIds.length - 1; i >= 0; i--) {
+            if (stopAt != null && ancestorIds[i] == stopAt) {
+                return false;
+            }
+            Comment ancestor = visible.get(ancestorIds[i]);
+            if (ancestor != null) {
+                ancestor.getChildren().add(comment);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将评论树转换为响应对象，批量查询整棵树的点赞状态
+     */
+    private List<CommentResponse> convertTreeToResponses(List<Comment> roots, Long currentUserId) {
+        Map<Long, Boolean> likedMap = Map.of();
+        if (currentUserId != null && !roots.isEmpty()) {
+            List<Long> ids = new ArrayList<>();
+            collectTreeIds(roots, ids);
+            likedMap = likeService.batchCheckLikeStatus(currentUserId, LikeCacheConstant.LIKE_TYPE_COMMENT, ids);
+        }
+        List<CommentResponse> responses = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            responses.add(convertTreeNode(root, likedMap));
+        }
+        return responses;
+    }
+
+    private void collectTreeIds(List<Comment> nodes, List<Long> ids) {
+        for (Comment node : nodes) {
+            ids.add(node.getId());
+            if (node.hasChildren()) {
+                collectTreeIds(node.getChildren(), ids);
+            }
+        }
+    }
+
+    private CommentResponse convertTreeNode(Comment comment, Map<Long, Boolean> likedMap) {
+        CommentResponse response = convertToResponse(comment);
+        response.setIsLiked(likedMap.getOrDefault(comment.getId(), false));
+        if (comment.hasChildren()) {
+            for (Comment child : comment.getChildren()) {
+                response.getChildren().add(convertTreeNode(child, likedMap));
+            }
+        }
+        return response;
+    }
+
     /**
      * 将Comment实体转换为CommentResponse
      */
@@ -703,40 +1000,34 @@ public class CommentServiceImpl implements CommentService {
         response.setCreateTime(comment.getCreateTime());
         response.setUpdateTime(comment.getUpdateTime());
         response.setChildren(new ArrayList<>());
-        response.setLevel(0);
-        response.setCommentPath(String.valueOf(comment.getId()));
+        response.setLevel(comment.getLevel() != null ? comment.getLevel() : 0);
+        response.setCommentPath(StringUtils.hasText(comment.getCommentPath())
+                ? comment.getCommentPath() : String.valueOf(comment.getId()));
         
         return response;
     }
 
     /**
-     * 将Comment实体转换为CommentResponse，包含当前用户的点赞状态
+     * 将一页Comment实体转换为CommentResponse，包含当前用户的点赞状态
+     * 点赞状态按本页评论ID批量查询，未登录时均为false
      */
-    private CommentResponse convertToResponseWithLikeStatus(Comment comment, Long currentUserId) {
-        if (comment == null) {
-            return null;
-        }
-        
-        // 先使用基础转换方法
-        CommentResponse response = convertToResponse(comment);
-        
-        // 如果提供了当前用户ID，则获取点赞状态
-        if (currentUserId != null) {
+    private List<CommentResponse> convertToResponsesWithLikeStatus(List<Comment> comments, Long currentUserId) {
+        Map<Long, Boolean> likedMap = Map.of();
+        if (currentUserId != null && !comments.isEmpty()) {
             try {
-                // 获取点赞状态
-                boolean isLiked = likeService.checkLikeStatus(currentUserId, LikeCacheConstant.LIKE_TYPE_COMMENT, comment.getId());
-                response.setIsLiked(isLiked);
-                log.debug("获取评论点赞状态: commentId={}, userId={}, isLiked={}", comment.getId(), currentUserId, isLiked);
+                likedMap = likeService.batchCheckLikeStatus(currentUserId, LikeCacheConstant.LIKE_TYPE_COMMENT,
+                        comments.stream().map(Comment::getId).toList());
             } catch (Exception e) {
-                log.warn("获取评论点赞状态失败: commentId={}, userId={}, error={}", 
-                        comment.getId(), currentUserId, e.getMessage(), e);
-                response.setIsLiked(false);
+                log.warn("批量获取评论点赞状态失败: userId={}, error={}", currentUserId, e.getMessage(), e);
             }
-        } else {
-            // 如果没有提供当前用户ID（未登录状态），则设置为false
-            response.setIsLiked(false);
         }
         
-        return response;
+        List<CommentResponse> responses = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentResponse response = convertToResponse(comment);
+            response.setIsLiked(likedMap.getOrDefault(comment.getId(), false));
+            responses.add(response);
+        }
+        return responses;
     }
 }
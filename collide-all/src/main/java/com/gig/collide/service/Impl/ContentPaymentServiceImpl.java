@@ -1,8 +1,10 @@
 package com.gig.collide.service.Impl;
 
 
+import com.gig.collide.access.ContentAccessEngine;
 import com.gig.collide.domain.ContentPayment;
 import com.gig.collide.mapper.ContentPaymentMapper;
+import com.gig.collide.search.ContentSearchIndex;
 import com.gig.collide.service.ContentPaymentService;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
@@ -17,6 +19,8 @@ import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * 内容付费配置业务服务实现
@@ -33,6 +37,8 @@ import java.util.List;
 public class ContentPaymentServiceImpl implements ContentPaymentService {
 
     private final ContentPaymentMapper contentPaymentMapper;
+    private final ContentAccessEngine contentAccessEngine;
+    private final ContentSearchIndex contentSearchIndex;
 
     // =================== 核心CRUD功能�?个方法）===================
 
@@ -58,6 +64,8 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
         }
 
         contentPaymentMapper.insert(config);
+        contentAccessEngine.refreshContent(config.getContentId());
+        contentSearchIndex.onContentChanged(config.getContentId());
         log.info("付费配置创建成功: id={}", config.getId());
         return config;
     }
@@ -72,6 +80,7 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
 
         config.setUpdateTime(LocalDateTime.now());
         contentPaymentMapper.updateById(config);
+        onConfigsChanged(List.of(config.getId()));
 
         log.info("付费配置更新成功: id={}", config.getId());
         return config;
@@ -100,6 +109,7 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
             int result = contentPaymentMapper.softDeletePayment(id);
             boolean success = result > 0;
             if (success) {
+                onConfigsChanged(List.of(id));
                 log.info("付费配置删除成功: id={}", id);
             }
             return success;
@@ -152,6 +162,7 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
             int result = contentPaymentMapper.updatePaymentStatus(configId, status);
             boolean success = result > 0;
             if (success) {
+                onConfigsChanged(List.of(configId));
                 log.info("付费配置状态更新成�? configId={}", configId);
             }
             return success;
@@ -174,6 +185,7 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
             int result = contentPaymentMapper.batchUpdatePaymentStatus(ids, status);
             boolean success = result > 0;
             if (success) {
+                onConfigsChanged(ids);
                 log.info("批量更新付费配置状态成�? 影响行数={}", result);
             }
             return success;
@@ -199,6 +211,7 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
                     discountStartTime, discountEndTime);
             boolean success = result > 0;
             if (success) {
+                onConfigsChanged(List.of(configId));
                 log.info("付费配置价格更新成功: configId={}", configId);
             }
             return success;
@@ -212,17 +225,8 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
     public Long calculateActualPrice(Long userId, Long contentId) {
         log.debug("计算实际支付价格: userId={}, contentId={}", userId, contentId);
 
-        // 使用万能查询获取付费配置
-        List<ContentPayment> configs = getPaymentsByConditions(
-                null, "ACTIVE", null, null, null, null, null,
-                null, null, null, null
-        );
-
-        // 简化实现：查找匹配的配�?
-        ContentPayment config = configs.stream()
-                .filter(c -> contentId.equals(c.getContentId()))
-                .findFirst()
-                .orElse(null);
+        // 从访问权限索引获取有效付费配置
+        ContentPayment config = contentAccessEngine.getPaymentConfig(contentId);
 
         if (config == null) {
             return 0L; // 没有付费配置，认为免�?
@@ -245,64 +249,15 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
     public boolean checkAccessPermission(Long userId, Long contentId) {
         log.debug("检查访问权限: userId={}, contentId={}", userId, contentId);
 
-        // 使用万能查询获取付费配置
-        List<ContentPayment> configs = getPaymentsByConditions(
-                null, "ACTIVE", null, null, null, null, null,
-                null, null, null, null
-        );
-
-        // 查找匹配的配置
-        ContentPayment config = configs.stream()
-                .filter(c -> contentId.equals(c.getContentId()))
-                .findFirst()
-                .orElse(null);
-
-        if (config == null) {
-            return true; // 没有付费配置，允许访问
-        }
-
-        // 检查是否是免费内容
-        String paymentType = config.getPaymentType();
-        if ("FREE".equals(paymentType) || "VIP_FREE".equals(paymentType)) {
-            return true;
-        }
-
-        // 付费内容需要检查购买记录
-        if (userId == null) {
-            log.debug("用户未登录，无法访问付费内容: contentId={}", contentId);
-            return false;
-        }
-
-        // 调用UserContentPurchaseService检查购买记录
-        try {
-            // 这里应该注入UserContentPurchaseService，暂时使用简化逻辑
-            // 实际项目中应该注入依赖：private final UserContentPurchaseService userContentPurchaseService;
-            log.debug("检查用户购买记录: userId={}, contentId={}", userId, contentId);
-            
-            // 简化实现：查询购买记录
-            // 实际应该调用：return userContentPurchaseService.checkAccessPermission(userId, contentId);
-            return checkUserPurchaseRecord(userId, contentId);
-            
-        } catch (Exception e) {
-            log.error("检查购买记录失败: userId={}, contentId={}", userId, contentId, e);
-            return false;
-        }
+        // 付费配置索引 + 用户购买集合，无付费配置或免费内容直接放行
+        return contentAccessEngine.canAccess(userId, contentId);
     }
 
-    /**
-     * 检查用户购买记录（简化实现）
-     * 实际项目中应该使用UserContentPurchaseService
-     */
-    private boolean checkUserPurchaseRecord(Long userId, Long contentId) {
-        try {
-            // 这里应该调用UserContentPurchaseMapper查询购买记录
-            // 暂时返回false，表示需要付费
-            log.debug("简化实现：检查购买记录 - userId={}, contentId={}", userId, contentId);
-            return false;
-        } catch (Exception e) {
-            log.error("检查购买记录异常: userId={}, contentId={}", userId, contentId, e);
-            return false;
-        }
+    @Override
+    public Map<Long, Boolean> batchCheckAccessPermission(Long userId, List<Long> contentIds) {
+        log.debug("批量检查访问权限: userId={}, count={}", userId, contentIds != null ? contentIds.size() : 0);
+
+        return contentAccessEngine.canAccess(userId, contentIds);
     }
 
     // =================== 销售统计功能（1个方法）===================
@@ -382,6 +337,21 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
         }
     }
 
+    @Override
+    public Result<Map<Long, Boolean>> batchCheckAccessPermissionForController(Long userId, List<Long> contentIds) {
+        try {
+            log.debug("Controller层 - 批量检查访问权限: userId={}, count={}",
+                    userId, contentIds != null ? contentIds.size() : 0);
+
+            return Result.success(batchCheckAccessPermission(userId, contentIds));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("批量检查访问权限失败: userId={}", userId, e);
+            return Result.error("批量检查访问权限失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 将ContentPayment实体转换为ContentPaymentConfigResponse
      */
@@ -402,4 +372,17 @@ public class ContentPaymentServiceImpl implements ContentPaymentService {
         
         return response;
     }
+
+    /**
+     * 付费配置变更后刷新访问权限索引与搜索索引（搜索的付费类型、试读等筛选位图来自付费配置）
+     */
+    private void onConfigsChanged(List<Long> configIds) {
+        contentAccessEngine.refreshConfigs(configIds);
+        List<Long> contentIds = contentPaymentMapper.selectBatchIds(configIds).stream()
+                .map(ContentPayment::getContentId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        contentSearchIndex.onContentsChanged(contentIds);
+    }
 }
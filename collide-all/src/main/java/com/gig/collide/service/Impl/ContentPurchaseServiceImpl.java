@@ -4,6 +4,7 @@ package com.gig.collide.service.Impl;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.content.response.ContentPurchaseResponse;
+import com.gig.collide.access.ContentAccessEngine;
 import com.gig.collide.converter.ContentPurchaseConverter;
 import com.gig.collide.domain.UserContentPurchase;
 import com.gig.collide.mapper.UserContentPurchaseMapper;
@@ -36,6 +37,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
 
     private final UserContentPurchaseMapper userContentPurchaseMapper;
     private final ContentPurchaseConverter contentPurchaseConverter;
+    private final ContentAccessEngine contentAccessEngine;
 
     // =================== 核心CRUD功能（2个方法）===================
 
@@ -79,6 +81,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
             // 软删除
             int result = userContentPurchaseMapper.softDeletePurchase(id);
             boolean success = result > 0;
+            contentAccessEngine.invalidateUser(entity.getUserId());
 
             if (success) {
                 log.info("购买记录删除成功: id={}", id);
@@ -205,15 +208,8 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
                 return Result.error(Integer.valueOf("INVALID_PARAMS"), "用户ID和内容ID不能为空");
             }
 
-            // 查询购买记录
-            UserContentPurchase entity = userContentPurchaseMapper.selectByUserIdAndContentId(userId, contentId);
-            if (entity == null) {
-                return Result.success(false);
-            }
-
-            // 检查权限
-            boolean hasPermission = entity.hasAccessPermission();
-            return Result.success(hasPermission);
+            // 用户有效购买集合（Redis 缓存，未命中时从数据库加载）
+            return Result.success(contentAccessEngine.hasPurchased(userId, contentId));
         } catch (Exception e) {
             log.error("检查访问权限失败: userId={}, contentId={}", userId, contentId, e);
             return Result.error(Integer.valueOf("CHECK_ACCESS_PERMISSION_FAILED"), "检查访问权限失败: " + e.getMessage());
@@ -231,6 +227,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
                 return Result.error(Integer.valueOf("INVALID_PARAMS"), "购买记录ID和状态不能为空");
             }
 
+            contentAccessEngine.invalidatePurchases(List.of(purchaseId));
             int result = userContentPurchaseMapper.updatePurchaseStatus(purchaseId, status);
             boolean success = result > 0;
 
@@ -256,6 +253,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
                 return Result.error(Integer.valueOf("INVALID_PARAMS"), "购买记录ID列表和状态不能为空");
             }
 
+            contentAccessEngine.invalidatePurchases(ids);
             int result = userContentPurchaseMapper.batchUpdateStatus(ids, status);
             boolean success = result > 0;
 
@@ -329,6 +327,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
             );
 
             userContentPurchaseMapper.insert(entity);
+            contentAccessEngine.invalidateUser(userId);
 
             ContentPurchaseResponse response = contentPurchaseConverter.toResponse(entity);
             log.info("内容购买完成: purchaseId={}", entity.getId());
@@ -359,6 +358,7 @@ public class ContentPurchaseServiceImpl implements ContentPurchaseService {
             // 更新状态为已退款
             int result = userContentPurchaseMapper.updatePurchaseStatus(purchaseId, "REFUNDED");
             boolean success = result > 0;
+            contentAccessEngine.invalidateUser(entity.getUserId());
 
             if (success) {
                 log.info("退款处理成功: purchaseId={}", purchaseId);
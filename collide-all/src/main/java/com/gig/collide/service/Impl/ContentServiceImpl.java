@@ -3,20 +3,22 @@ package com.gig.collide.service.Impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.content.response.ContentResponse;
+import com.gig.collide.converter.ContentPageEnricher;
+import com.gig.collide.counter.UserCounterService;
 import com.gig.collide.domain.Content;
 import com.gig.collide.domain.ContentPayment;
 import com.gig.collide.mapper.ContentMapper;
-import com.gig.collide.mapper.UserMapper;
+import com.gig.collide.search.ContentSearchIndex;
 import com.gig.collide.service.ContentService;
 import com.gig.collide.service.ContentPaymentService;
 import com.gig.collide.service.FollowService;
-import com.gig.collide.service.LikeService;
-import com.gig.collide.service.FavoriteService;
-import com.gig.collide.service.CommentService;
+import com.gig.collide.service.TimelineService;
+import com.gig.collide.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,13 +46,18 @@ import java.util.stream.Collectors;
 @Transactional(rollbackFor = Exception.class)
 public class ContentServiceImpl implements ContentService {
 
+    /**
+     * 时间线读取轮数上限（按内容类型过滤时，单轮可能不足一页）
+     */
+    private static final int TIMELINE_MAX_ROUNDS = 3;
+
     private final ContentMapper contentMapper;
     private final ContentPaymentService contentPaymentService;
     private final FollowService followService;
-    private final LikeService likeService;
-    private final FavoriteService favoriteService;
-    private final CommentService commentService;
-    private final UserMapper userMapper;
+    private final ContentPageEnricher contentPageEnricher;
+    private final UserCounterService userCounterService;
+    private final TimelineService timelineService;
+    private final ContentSearchIndex contentSearchIndex;
 
     // =================== 核心CRUD功能（4个方法）===================
 
@@ -95,13 +103,15 @@ public class ContentServiceImpl implements ContentService {
         // 如果直接发布，更新用户内容统计 +1
         if ("PUBLISHED".equals(content.getStatus())) {
             try {
-                userMapper.updateContentCount(content.getAuthorId(), 1);
-                log.info("用户内容统计更新成功: authorId={} contentCount+1", content.getAuthorId());
+                userCounterService.addContentDelta(content.getAuthorId(), 1);
+                log.info("用户内容统计增量已登记: authorId={} contentCount+1", content.getAuthorId());
             } catch (Exception e) {
                 log.error("更新用户内容统计失败: authorId={}", content.getAuthorId(), e);
                 // 统计更新失败不影响主业务
             }
+            timelineService.onContentPublished(content);
         }
+        contentSearchIndex.onContentChanged(content.getId());
         
         log.info("内容创建成功: id={}, status={}", content.getId(), content.getStatus());
         return content;
@@ -170,13 +180,13 @@ public class ContentServiceImpl implements ContentService {
             try {
                 if ("PUBLISHED".equals(newStatus) && !"PUBLISHED".equals(oldStatus)) {
                     // 从非发布状态变为发布状态：内容数+1
-                    userMapper.updateContentCount(originalContent.getAuthorId(), 1);
-                    log.info("用户内容统计更新成功: authorId={} contentCount+1 ({}->{})", 
+                    userCounterService.addContentDelta(originalContent.getAuthorId(), 1);
+                    log.info("用户内容统计增量已登记: authorId={} contentCount+1 ({}->{})", 
                             originalContent.getAuthorId(), oldStatus, newStatus);
                 } else if ("PUBLISHED".equals(oldStatus) && !"PUBLISHED".equals(newStatus)) {
                     // 从发布状态变为非发布状态：内容数-1
-                    userMapper.updateContentCount(originalContent.getAuthorId(), -1);
-                    log.info("用户内容统计更新成功: authorId={} contentCount-1 ({}->{})", 
+                    userCounterService.addContentDelta(originalContent.getAuthorId(), -1);
+                    log.info("用户内容统计增量已登记: authorId={} contentCount-1 ({}->{})", 
                             originalContent.getAuthorId(), oldStatus, newStatus);
                 }
             } catch (Exception e) {
@@ -184,7 +194,14 @@ public class ContentServiceImpl implements ContentService {
                         originalContent.getAuthorId(), oldStatus, newStatus, e);
                 // 统计更新失败不影响主业务
             }
+
+            if ("PUBLISHED".equals(newStatus)) {
+                timelineService.onContentPublished(originalContent);
+            } else if ("PUBLISHED".equals(oldStatus)) {
+                timelineService.onContentRemoved(originalContent.getId(), originalContent.getAuthorId());
+            }
         }
+        contentSearchIndex.onContentChanged(content.getId());
 
         log.info("内容更新成功: id={}, status: {} -> {}", content.getId(), oldStatus, newStatus);
         return content;
@@ -233,13 +250,15 @@ public class ContentServiceImpl implements ContentService {
                 // 如果删除的是已发布内容，更新用户内容统计 -1
                 if ("PUBLISHED".equals(content.getStatus())) {
                     try {
-                        userMapper.updateContentCount(content.getAuthorId(), -1);
-                        log.info("用户内容统计更新成功: authorId={} contentCount-1 (删除已发布内容)", content.getAuthorId());
+                        userCounterService.addContentDelta(content.getAuthorId(), -1);
+                        log.info("用户内容统计增量已登记: authorId={} contentCount-1 (删除已发布内容)", content.getAuthorId());
                     } catch (Exception e) {
                         log.error("更新用户内容统计失败: authorId={}", content.getAuthorId(), e);
                         // 统计更新失败不影响主业务
                     }
+                    timelineService.onContentRemoved(contentId, content.getAuthorId());
                 }
+                contentSearchIndex.onContentChanged(contentId);
                 
                 log.info("内容软删除成功: contentId={}, status={}", contentId, content.getStatus());
             }
@@ -314,6 +333,10 @@ public class ContentServiceImpl implements ContentService {
             int result = contentMapper.updateContentStatus(contentId, status);
             boolean success = result > 0;
             if (success) {
+                if (timelineService.isEnabled()) {
+                    syncTimeline(contentMapper.selectById(contentId));
+                }
+                contentSearchIndex.onContentChanged(contentId);
                 log.info("内容状态更新成功: contentId={}", contentId);
             }
             return success;
@@ -335,6 +358,7 @@ public class ContentServiceImpl implements ContentService {
             int result = contentMapper.updateReviewStatus(contentId, reviewStatus);
             boolean success = result > 0;
             if (success) {
+                contentSearchIndex.onContentChanged(contentId);
                 log.info("审核状态更新成功: contentId={}", contentId);
             }
             return success;
@@ -357,6 +381,10 @@ public class ContentServiceImpl implements ContentService {
             int result = contentMapper.batchUpdateStatus(ids, status);
             boolean success = result > 0;
             if (success) {
+                if (timelineService.isEnabled()) {
+                    contentMapper.selectBatchIds(ids).forEach(this::syncTimeline);
+                }
+                contentSearchIndex.onContentsChanged(ids);
                 log.info("批量更新内容状态成功: 影响行数={}", result);
             }
             return success;
@@ -442,51 +470,8 @@ public class ContentServiceImpl implements ContentService {
             }
 
             // 构建查询条件
-            LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
-
-            // 动态查询条件
-            if (StringUtils.hasText(contentType)) {
-                queryWrapper.eq(Content::getContentType, contentType);
-            }
-            if (StringUtils.hasText(status)) {
-                queryWrapper.eq(Content::getStatus, status);
-            }
-            // 处理作者ID查询：优先使用多个作者ID，如果没有则使用单个作者ID
-            if (authorIds != null && !authorIds.trim().isEmpty()) {
-                // 解析多个作者ID
-                String[] authorIdArray = authorIds.split(",");
-                List<Long> authorIdList = new ArrayList<>();
-                for (String id : authorIdArray) {
-                    try {
-                        authorIdList.add(Long.parseLong(id.trim()));
-                    } catch (NumberFormatException e) {
-                        log.warn("无效的作者ID: {}", id);
-                    }
-                }
-                if (!authorIdList.isEmpty()) {
-                    queryWrapper.in(Content::getAuthorId, authorIdList);
-                }
-            } else if (authorId != null) {
-                queryWrapper.eq(Content::getAuthorId, authorId);
-            }
-            if (categoryId != null) {
-                queryWrapper.eq(Content::getCategoryId, categoryId);
-            }
-            if (StringUtils.hasText(keyword)) {
-                queryWrapper.and(wrapper -> wrapper
-                        .like(Content::getTitle, keyword)
-                        .or()
-                        .like(Content::getDescription, keyword)
-                        .or()
-                        .like(Content::getContentData, keyword));
-            }
-            if (isPublished != null) {
-                if (isPublished) {
-                    queryWrapper.eq(Content::getStatus, "PUBLISHED");
-                } else {
-                    queryWrapper.ne(Content::getStatus, "PUBLISHED");
-                }
-            }
+            LambdaQueryWrapper<Content> queryWrapper = buildListQuery(
+                    contentType, status, authorId, authorIds, categoryId, keyword, isPublished);
 
             // 排序
             if ("viewCount".equals(orderBy)) {
@@ -552,64 +537,8 @@ public class ContentServiceImpl implements ContentService {
             // 转换为Response对象
             List<Content> contents = result.getRecords();
 
-            // 提前收集ID列表，便于批量查询互动状态
-            List<Long> contentIds = contents.stream().map(Content::getId).collect(Collectors.toList());
-            List<Long> authorIdsInPage = contents.stream().map(Content::getAuthorId).collect(Collectors.toList());
-
-            // 当前用户ID（从参数获取，如果没有则设为null表示未登录状态）
-            Long currentUserId = userId; // 使用传入的userId参数
-
-            // 批量互动状态（若有对应批量接口可替换调用）
-            java.util.Map<Long, Boolean> likedMap = java.util.Collections.emptyMap();
-            java.util.Map<Long, Boolean> favoritedMap = java.util.Collections.emptyMap();
-            java.util.Map<Long, Boolean> followedMap = java.util.Collections.emptyMap();
-
-            // 只有在有用户ID的情况下才查询互动状态
-            if (currentUserId != null) {
-                try {
-                    // 批量点赞状态
-                    likedMap = likeService.batchCheckLikeStatus(currentUserId, "CONTENT", contentIds);
-                    log.debug("批量点赞状态查询成功: userId={}, size={}", currentUserId, likedMap.size());
-                } catch (Exception e) {
-                    log.warn("批量点赞状态查询失败: userId={}, error={}", currentUserId, e.getMessage(), e);
-                    likedMap = java.util.Collections.emptyMap();
-                }
-                try {
-                    // 批量收藏状态
-                    favoritedMap = favoriteService.batchCheckFavoriteStatus(currentUserId, "CONTENT", contentIds);
-                    log.debug("批量收藏状态查询成功: userId={}, size={}", currentUserId, favoritedMap.size());
-                } catch (Exception e) {
-                    log.warn("批量收藏状态查询失败: userId={}, error={}", currentUserId, e.getMessage(), e);
-                    favoritedMap = java.util.Collections.emptyMap();
-                }
-                try {
-                    // 批量关注状态（作者维度）
-                    followedMap = followService.batchCheckFollowStatus(currentUserId, authorIdsInPage);
-                    log.debug("批量关注状态查询成功: userId={}, size={}", currentUserId, followedMap.size());
-                } catch (Exception e) {
-                    log.warn("批量关注状态查询失败: userId={}, error={}", currentUserId, e.getMessage(), e);
-                    followedMap = java.util.Collections.emptyMap();
-                }
-            }
-
-            // 供lambda安全引用的最终变量
-            final java.util.Map<Long, Boolean> likedMapFinal = (likedMap != null) ? likedMap : java.util.Collections.emptyMap();
-            final java.util.Map<Long, Boolean> favoritedMapFinal = (favoritedMap != null) ? favoritedMap : java.util.Collections.emptyMap();
-            final java.util.Map<Long, Boolean> followedMapFinal = (followedMap != null) ? followedMap : java.util.Collections.emptyMap();
-
-            List<ContentResponse> responses = contents.stream()
-                    .map(c -> {
-                        ContentResponse r = convertToResponse(c);
-                        // 作者昵称/头像冗余字段回填
-                        r.setAuthorNickname(c.getAuthorNickname());
-                        r.setAuthorAvatar(c.getAuthorAvatar());
-                        // 互动状态填充
-                        r.setIsLiked(likedMapFinal.getOrDefault(c.getId(), false));
-                        r.setIsFavorited(favoritedMapFinal.getOrDefault(c.getId(), false));
-                        r.setIsFollowed(followedMapFinal.getOrDefault(c.getAuthorId(), false));
-                        return r;
-                    })
-                    .collect(Collectors.toList());
+            // 批量补全评论数、互动状态与作者资料（每个维度一次查询，并发执行）
+            List<ContentResponse> responses = contentPageEnricher.enrich(contents, userId);
 
             // 构建分页响应
             PageResponse<ContentResponse> pageResponse = new PageResponse<>();
@@ -628,36 +557,6 @@ public class ContentServiceImpl implements ContentService {
         }
     }
 
-    /**
-     * 将Content实体转换为ContentResponse
-     */
-    private ContentResponse convertToResponse(Content content) {
-        if (content == null) {
-            return null;
-        }
-
-        ContentResponse response = new ContentResponse();
-        response.setId(content.getId());
-        response.setTitle(content.getTitle());
-        response.setDescription(content.getDescription());
-        response.setContentData(content.getContentData());
-        response.setContentType(content.getContentType());
-        response.setAuthorId(content.getAuthorId());
-        response.setCategoryId(content.getCategoryId());
-        response.setStatus(content.getStatus());
-        response.setReviewStatus(content.getReviewStatus());
-        response.setViewCount(content.getViewCount());
-        response.setLikeCount(content.getLikeCount());
-        // 动态查询评论数量
-        long commentCount = commentService.countTargetComments(content.getId(), "CONTENT");
-        response.setCommentCount(commentCount);
-        response.setFavoriteCount(content.getFavoriteCount());
-        response.setCreateTime(content.getCreateTime());
-        response.setUpdateTime(content.getUpdateTime());
-
-        return response;
-    }
-
     @Override
     public Result<PageResponse<ContentResponse>> getFollowingContentsForController(
             Long userId, String contentType, String orderBy, String orderDirection, Integer currentPage, Integer pageSize) {
@@ -738,10 +637,8 @@ public class ContentServiceImpl implements ContentService {
             Page<Content> page = new Page<>(currentPage, pageSize);
             IPage<Content> result = contentMapper.selectPage(page, queryWrapper);
 
-            // 转换为Response对象
-            List<ContentResponse> responses = result.getRecords().stream()
-                    .map(this::convertToResponse)
-                    .collect(Collectors.toList());
+            // 批量补全评论数、互动状态与作者资料
+            List<ContentResponse> responses = contentPageEnricher.enrich(result.getRecords(), userId);
 
             // 构建分页响应
             PageResponse<ContentResponse> pageResponse = new PageResponse<>();
@@ -759,4 +656,228 @@ public class ContentServiceImpl implements ContentService {
             return Result.error("获取关注内容失败: " + e.getMessage());
         }
     }
+
+    @Override
+    public Result<PageResponse<ContentResponse>> getFollowingTimelineForController(
+            Long userId, String contentType, String cursor, Integer pageSize) {
+        try {
+            log.info("Controller层 - 获取关注时间线: userId={}, contentType={}, cursor={}, pageSize={}",
+                    userId, contentType, cursor, pageSize);
+
+            if (userId == null) {
+                return Result.error("用户ID不能为空");
+            }
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+            long[] position = CursorUtil.decode(cursor);
+            long maxSortKey = position != null ? position[0] : Long.MAX_VALUE;
+            long maxContentId = position != null ? position[1] : Long.MAX_VALUE;
+
+            List<Content> contents = new ArrayList<>(pageSize);
+            String nextCursor = loadTimelinePage(userId, contentType, maxSortKey, maxContentId, pageSize, contents);
+
+            List<ContentResponse> responses = contentPageEnricher.enrich(contents, userId);
+            return Result.success(PageResponse.ofCursor(responses, pageSize, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("Controller层 - 获取关注时间线失败", e);
+            return Result.error("获取关注时间线失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<Integer> rebuildTimelineForController(Long userId) {
+        try {
+            log.info("Controller层 - 重建关注时间线: userId={}", userId);
+            if (!timelineService.isEnabled()) {
+                return Result.error("关注时间线未启用");
+            }
+            int rebuilt = userId != null ? timelineService.rebuildInbox(userId) : timelineService.rebuildAll();
+            return Result.success(rebuilt);
+        } catch (Exception e) {
+            log.error("Controller层 - 重建关注时间线失败: userId={}", userId, e);
+            return Result.error("重建关注时间线失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<PageResponse<ContentResponse>> listContentsByCursorForController(
+            String contentType, String status, Long authorId, String authorIds, Long categoryId, String keyword, Boolean isPublished,
+            String orderBy, String orderDirection, String cursor, Integer pageSize, Long userId) {
+        try {
+            log.info("Controller层 - 内容列表游标查询: type={}, status={}, authorId={}, orderBy={}, cursor={}, pageSize={}",
+                    contentType, status, authorId, orderBy, cursor, pageSize);
+
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+            String sortField = CursorUtil.normalizeTimeSort(orderBy);
+            boolean asc = "ASC".equalsIgnoreCase(orderDirection);
+            long[] position = CursorUtil.decode(cursor);
+
+            LambdaQueryWrapper<Content> queryWrapper = buildListQuery(
+                    contentType, status, authorId, authorIds, categoryId, keyword, isPublished);
+            SFunction<Content, LocalDateTime> sortColumn = CursorUtil.SORT_UPDATE_TIME.equals(sortField)
+                    ? Content::getUpdateTime : Content::getCreateTime;
+            CursorUtil.applySeek(queryWrapper, sortColumn, Content::getId, position, asc, pageSize);
+
+            // 游标模式不执行COUNT查询
+            List<Content> contents = contentMapper.selectList(queryWrapper);
+            String nextCursor = CursorUtil.nextCursor(contents, pageSize, sortColumn, Content::getId);
+
+            List<ContentResponse> responses = contentPageEnricher.enrich(contents, userId);
+            return Result.success(PageResponse.ofCursor(responses, pageSize, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("Controller层 - 内容列表游标查询失败", e);
+            return Result.error("内容列表查询失败: " + e.getMessage());
+        }
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 构建内容列表的筛选条件（偏移分页与游标分页共用）
+     */
+    private LambdaQueryWrapper<Content> buildListQuery(String contentType, String status, Long authorId, String authorIds,
+                                                       Long categoryId, String keyword, Boolean isPublished) {
+        LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
+
+        // 动态查询条件
+        if (StringUtils.hasText(contentType)) {
+            queryWrapper.eq(Content::getContentType, contentType);
+        }
+        if (StringUtils.hasText(status)) {
+            queryWrapper.eq(Content::getStatus, status);
+        }
+        // 处理作者ID查询：优先使用多个作者ID，如果没有则使用单个作者ID
+        if (authorIds != null && !authorIds.trim().isEmpty()) {
+            // 解析多个作者ID
+            String[] authorIdArray = authorIds.split(",");
+            List<Long> authorIdList = new ArrayList<>();
+            for (String id : authorIdArray) {
+                try {
+                    authorIdList.add(Long.parseLong(id.trim()));
+                } catch (NumberFormatException e) {
+                    log.warn("无效的作者ID: {}", id);
+                }
+            }
+            if (!authorIdList.isEmpty()) {
+                queryWrapper.in(Content::getAuthorId, authorIdList);
+            }
+        } else if (authorId != null) {
+            queryWrapper.eq(Content::getAuthorId, authorId);
+        }
+        if (categoryId != null) {
+            queryWrapper.eq(Content::getCategoryId, categoryId);
+        }
+        if (StringUtils.hasText(keyword)) {
+            queryWrapper.and(wrapper -> wrapper
+                    .like(Content::getTitle, keyword)
+                    .or()
+                    .like(Content::getDescription, keyword)
+                    .or()
+                    .like(Content::getContentData, keyword));
+        }
+        if (isPublished != null) {
+            if (isPublished) {
+                queryWrapper.eq(Content::getStatus, "PUBLISHED");
+            } else {
+                queryWrapper.ne(Content::getStatus, "PUBLISHED");
+            }
+        }
+
+        return queryWrapper;
+    }
+
+    /**
+     * 从 Redis 时间线加载一页内容，时间线不可用时回退数据库游标查询
+     *
+     * @return 下一页游标，没有更多数据时返回null
+     */
+    private String loadTimelinePage(Long userId, String contentType, long maxSortKey, long maxContentId,
+                                    int pageSize, List<Content> page) {
+        long sortKey = maxSortKey;
+        long contentId = maxContentId;
+        for (int round = 0; round < TIMELINE_MAX_ROUNDS; round++) {
+            int fetch = (pageSize - page.size()) * 2;
+            List<TimelineService.TimelineEntry> entries =
+                    timelineService.readFollowingTimeline(userId, sortKey, contentId, fetch);
+            if (entries == null) {
+                if (round == 0) {
+                    return loadFollowingPageFromDatabase(userId, contentType, maxSortKey, maxContentId, pageSize, page);
+                }
+                return CursorUtil.encode(sortKey, contentId);
+            }
+
+            if (entries.isEmpty()) {
+                return null;
+            }
+
+            List<Long> contentIds = entries.stream()
+                    .map(TimelineService.TimelineEntry::getContentId)
+                    .collect(Collectors.toList());
+            Map<Long, Content> loaded = contentMapper.selectBatchIds(contentIds).stream()
+                    .collect(Collectors.toMap(Content::getId, Function.identity(), (a, b) -> a));
+            for (TimelineService.TimelineEntry entry : entries) {
+                sortKey = entry.getSortKey();
+                contentId = entry.getContentId();
+                // 收件箱不随下线/删除同步清理，读取时按状态过滤
+                Content content = loaded.get(entry.getContentId());
+                if (content != null && "PUBLISHED".equals(content.getStatus())
+                        && (!StringUtils.hasText(contentType) || contentType.equals(content.getContentType()))) {
+                    page.add(content);
+                    if (page.size() >= pageSize) {
+                        return CursorUtil.encode(sortKey, contentId);
+                    }
+                }
+            }
+            if (entries.size() < fetch) {
+                return null;
+            }
+        }
+        return CursorUtil.encode(sortKey, contentId);
+    }
+
+    /**
+     * 数据库游标查询关注内容：(create_time, id) < 游标
+     */
+    private String loadFollowingPageFromDatabase(Long userId, String contentType, long maxSortKey, long maxContentId,
+                                                 int pageSize, List<Content> page) {
+        List<Long> followingAuthorIds = followService.getFollowingAuthorIds(userId);
+        if (followingAuthorIds == null || followingAuthorIds.isEmpty()) {
+            return null;
+        }
+
+        LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(Content::getAuthorId, followingAuthorIds);
+        queryWrapper.eq(Content::getStatus, "PUBLISHED");
+        if (StringUtils.hasText(contentType)) {
+            queryWrapper.eq(Content::getContentType, contentType);
+        }
+        long[] position = maxSortKey != Long.MAX_VALUE ? new long[]{maxSortKey, maxContentId} : null;
+        CursorUtil.applySeek(queryWrapper, Content::getCreateTime, Content::getId, position, false, pageSize);
+
+        List<Content> rows = contentMapper.selectList(queryWrapper);
+        String nextCursor = CursorUtil.nextCursor(rows, pageSize, Content::getCreateTime, Content::getId);
+        page.addAll(rows);
+        return nextCursor;
+    }
+
+    /**
+     * 状态变更后同步关注时间线：发布则写扩散，否则从作者发件箱移除
+     */
+    private void syncTimeline(Content content) {
+        if (content == null) {
+            return;
+        }
+        if ("PUBLISHED".equals(content.getStatus())) {
+            timelineService.onContentPublished(content);
+        } else {
+            timelineService.onContentRemoved(content.getId(), content.getAuthorId());
+        }
+    }
 }
@@ -15,6 +15,8 @@ import com.gig.collide.domain.Favorite;
 import com.gig.collide.mapper.FavoriteMapper;
 import com.gig.collide.mapper.ContentMapper;
 import com.gig.collide.mapper.GoodsMapper;
+import com.gig.collide.profile.ProfileChangeOutbox;
+import com.gig.collide.profile.ProfileSyncTarget;
 import com.gig.collide.service.FavoriteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,7 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteConverter favoriteConverter;
     private final ContentMapper contentMapper;
     private final GoodsMapper goodsMapper;
+    private final ProfileChangeOutbox profileChangeOutbox;
 
     // =================== 核心业务方法实现 ===================
 
@@ -354,8 +358,10 @@ public class FavoriteServiceImpl implements FavoriteService {
             throw new IllegalArgumentException("昵称不能为空");
         }
 
-        int result = favoriteMapper.updateUserInfo(userId, nickname);
-        log.debug("更新用户信息完成: userId={}, 更新数量={}", userId, result);
+        // 冗余字段由后台任务分块改写，这里只写入变更事件
+        int result = profileChangeOutbox.publishAndCountRows(userId, nickname, null,
+                EnumSet.of(ProfileSyncTarget.FAVORITE_USER));
+        log.debug("更新用户信息已受理: userId={}, 影响行数={}", userId, result);
         return result;
     }
 
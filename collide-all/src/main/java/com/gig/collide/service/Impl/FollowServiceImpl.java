@@ -6,10 +6,15 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.follow.response.FollowResponse;
+import com.gig.collide.config.FollowGraphConfig;
+import com.gig.collide.counter.UserCounterService;
 import com.gig.collide.domain.Follow;
+import com.gig.collide.graph.FollowGraph;
 import com.gig.collide.mapper.FollowMapper;
-import com.gig.collide.mapper.UserMapper;
+import com.gig.collide.profile.ProfileChangeOutbox;
+import com.gig.collide.profile.ProfileSyncTarget;
 import com.gig.collide.service.FollowService;
+import com.gig.collide.service.TimelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +44,11 @@ import java.util.stream.Collectors;
 public class FollowServiceImpl implements FollowService {
 
     private final FollowMapper followMapper;
-    private final UserMapper userMapper;
+    private final UserCounterService userCounterService;
+    private final TimelineService timelineService;
+    private final FollowGraph followGraph;
+    private final FollowGraphConfig followGraphConfig;
+    private final ProfileChangeOutbox profileChangeOutbox;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -86,15 +97,16 @@ public class FollowServiceImpl implements FollowService {
                 if (result > 0) {
                     // 更新用户统计：关注者的关注数+1，被关注者的粉丝数+1
                     try {
-                        userMapper.updateFollowingCount(follow.getFollowerId(), 1);
-                        userMapper.updateFollowerCount(follow.getFolloweeId(), 1);
-                        log.info("用户统计更新成功: followerId={} following+1, followeeId={} follower+1", 
+                        userCounterService.onFollowChanged(follow.getFollowerId(), follow.getFolloweeId(), 1);
+                        log.info("用户统计增量已登记: followerId={} following+1, followeeId={} follower+1", 
                                 follow.getFollowerId(), follow.getFolloweeId());
                     } catch (Exception e) {
                         log.error("更新用户统计失败: followerId={}, followeeId={}", 
                                 follow.getFollowerId(), follow.getFolloweeId(), e);
                         // 统计更新失败不影响主业务
                     }
+                    followGraph.onFollowChanged(follow.getFollowerId(), follow.getFolloweeId(), true);
+                    timelineService.onFollow(follow.getFollowerId(), follow.getFolloweeId());
                     
                     log.info("重新激活关注关系成功: followerId={}, followeeId={}",
                             follow.getFollowerId(), follow.getFolloweeId());
@@ -114,15 +126,16 @@ public class FollowServiceImpl implements FollowService {
         if (result > 0) {
             // 更新用户统计：关注者的关注数+1，被关注者的粉丝数+1
             try {
-                userMapper.updateFollowingCount(follow.getFollowerId(), 1);
-                userMapper.updateFollowerCount(follow.getFolloweeId(), 1);
-                log.info("用户统计更新成功: followerId={} following+1, followeeId={} follower+1", 
+                userCounterService.onFollowChanged(follow.getFollowerId(), follow.getFolloweeId(), 1);
+                log.info("用户统计增量已登记: followerId={} following+1, followeeId={} follower+1", 
                         follow.getFollowerId(), follow.getFolloweeId());
             } catch (Exception e) {
                 log.error("更新用户统计失败: followerId={}, followeeId={}", 
                         follow.getFollowerId(), follow.getFolloweeId(), e);
                 // 统计更新失败不影响主业务
             }
+            followGraph.onFollowChanged(follow.getFollowerId(), follow.getFolloweeId(), true);
+            timelineService.onFollow(follow.getFollowerId(), follow.getFolloweeId());
             
             log.info("关注用户成功: followerId={}, followeeId={}",
                     follow.getFollowerId(), follow.getFolloweeId());
@@ -155,14 +168,15 @@ public class FollowServiceImpl implements FollowService {
         if (success) {
             // 更新用户统计：关注者的关注数-1，被关注者的粉丝数-1
             try {
-                userMapper.updateFollowingCount(followerId, -1);
-                userMapper.updateFollowerCount(followeeId, -1);
-                log.info("用户统计更新成功: followerId={} following-1, followeeId={} follower-1", 
+                userCounterService.onFollowChanged(followerId, followeeId, -1);
+                log.info("用户统计增量已登记: followerId={} following-1, followeeId={} follower-1", 
                         followerId, followeeId);
             } catch (Exception e) {
                 log.error("更新用户统计失败: followerId={}, followeeId={}", followerId, followeeId, e);
                 // 统计更新失败不影响主业务
             }
+            followGraph.onFollowChanged(followerId, followeeId, false);
+            timelineService.onUnfollow(followerId, followeeId);
             
             log.info("取消关注成功: followerId={}, followeeId={}", followerId, followeeId);
         } else {
@@ -182,6 +196,11 @@ public class FollowServiceImpl implements FollowService {
             return false;
         }
         
+        Boolean cached = followGraph.isFollowing(followerId, followeeId);
+        if (cached != null) {
+            return cached;
+        }
+        
         try {
             LambdaQueryWrapper<Follow> queryWrapper = new LambdaQueryWrapper<>();
             queryWrapper.eq(Follow::getFollowerId, followerId)
@@ -275,6 +294,28 @@ public class FollowServiceImpl implements FollowService {
         pageSize = pageSize == null ? 10 : pageSize;
 
         Page<Follow> page = new Page<>(currentPage, pageSize);
+
+        // 关注图求交得到互关ID，数量不大时按ID查询关注记录分页，避免自联表
+        long[] mutualIds = followGraph.getMutualIds(userId);
+        if (mutualIds != null && mutualIds.length == 0) {
+            page.setTotal(0);
+            return page;
+        }
+        if (mutualIds != null && mutualIds.length <= followGraphConfig.getMutualInListLimit()) {
+            List<Long> followeeIds = new ArrayList<>(mutualIds.length);
+            for (long id : mutualIds) {
+                followeeIds.add(id);
+            }
+            LambdaQueryWrapper<Follow> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.eq(Follow::getFollowerId, userId)
+                       .in(Follow::getFolloweeId, followeeIds)
+                       .eq(Follow::getStatus, "active")
+                       .orderByDesc(Follow::getCreateTime);
+            IPage<Follow> result = followMapper.selectPage(page, queryWrapper);
+            log.info("获取互关好友成功（关注图）: 用户={}, 总数={}", userId, result.getTotal());
+            return result;
+        }
+
         IPage<Follow> result = followMapper.findMutualFollows(page, userId, "active");
 
         log.info("获取互关好友成功: 用户={}, 总数={}", userId, result.getTotal());
@@ -299,6 +340,11 @@ public class FollowServiceImpl implements FollowService {
             return List.of();
         }
         
+        List<Long> cached = followGraph.getFollowingIds(followerId);
+        if (cached != null) {
+            return cached;
+        }
+        
         try {
             List<Long> authorIds = followMapper.getFollowingAuthorIds(followerId, "active");
             log.debug("获取关注作者ID列表成功: followerId={}, count={}", followerId, authorIds.size());
@@ -349,8 +395,9 @@ public class FollowServiceImpl implements FollowService {
             return 0;
         }
 
-        // 同时更新作为关注者和被关注者的信息
-        return followMapper.updateUserInfo(userId, nickname, avatar, true, true);
+        // 同时改写作为关注者和被关注者的冗余信息，由后台任务分块执行
+        return profileChangeOutbox.publishAndCountRows(userId, nickname, avatar,
+                EnumSet.of(ProfileSyncTarget.FOLLOW_FOLLOWER, ProfileSyncTarget.FOLLOW_FOLLOWEE));
     }
 
     @Override
@@ -373,6 +420,12 @@ public class FollowServiceImpl implements FollowService {
         if (userIdA == null || userIdB == null) {
             return List.of();
         }
+        // 关注图可判定两个方向均未关注时不再查询数据库
+        Boolean aFollowsB = followGraph.isFollowing(userIdA, userIdB);
+        Boolean bFollowsA = followGraph.isFollowing(userIdB, userIdA);
+        if (Boolean.FALSE.equals(aFollowsB) && Boolean.FALSE.equals(bFollowsA)) {
+            return List.of();
+        }
         return followMapper.findRelationChain(userIdA, userIdB);
     }
 
@@ -433,14 +486,15 @@ public class FollowServiceImpl implements FollowService {
         if (success) {
             // 更新用户统计：关注者的关注数+1，被关注者的粉丝数+1
             try {
-                userMapper.updateFollowingCount(followerId, 1);
-                userMapper.updateFollowerCount(followeeId, 1);
-                log.info("用户统计更新成功: followerId={} following+1, followeeId={} follower+1", 
+                userCounterService.onFollowChanged(followerId, followeeId, 1);
+                log.info("用户统计增量已登记: followerId={} following+1, followeeId={} follower+1", 
                         followerId, followeeId);
             } catch (Exception e) {
                 log.error("更新用户统计失败: followerId={}, followeeId={}", followerId, followeeId, e);
                 // 统计更新失败不影响主业务
             }
+            followGraph.onFollowChanged(followerId, followeeId, true);
+            timelineService.onFollow(followerId, followeeId);
             
             log.info("重新激活关注关系成功: followerId={}, followeeId={}", followerId, followeeId);
         } else {
@@ -485,15 +539,13 @@ public class FollowServiceImpl implements FollowService {
             try {
                 if ("cancelled".equals(oldStatus) && "active".equals(status)) {
                     // 从取消到激活：关注数+1，粉丝数+1
-                    userMapper.updateFollowingCount(followerId, 1);
-                    userMapper.updateFollowerCount(followeeId, 1);
-                    log.info("用户统计更新成功: followerId={} following+1, followeeId={} follower+1", 
+                    userCounterService.onFollowChanged(followerId, followeeId, 1);
+                    log.info("用户统计增量已登记: followerId={} following+1, followeeId={} follower+1", 
                             followerId, followeeId);
                 } else if ("active".equals(oldStatus) && "cancelled".equals(status)) {
                     // 从激活到取消：关注数-1，粉丝数-1
-                    userMapper.updateFollowingCount(followerId, -1);
-                    userMapper.updateFollowerCount(followeeId, -1);
-                    log.info("用户统计更新成功: followerId={} following-1, followeeId={} follower-1", 
+                    userCounterService.onFollowChanged(followerId, followeeId, -1);
+                    log.info("用户统计增量已登记: followerId={} following-1, followeeId={} follower-1", 
                             followerId, followeeId);
                 }
             } catch (Exception e) {
@@ -501,6 +553,13 @@ public class FollowServiceImpl implements FollowService {
                         followerId, followeeId, oldStatus, status, e);
                 // 统计更新失败不影响主业务
             }
+            if ("active".equals(status)) {
+                followGraph.onFollowChanged(followerId, followeeId, true);
+                timelineService.onFollow(followerId, followeeId);
+            } else {
+                followGraph.onFollowChanged(followerId, followeeId, false);
+                timelineService.onUnfollow(followerId, followeeId);
+            }
             
             log.info("更新关注状态成功: followerId={}, followeeId={}, {} -> {}", 
                     followerId, followeeId, oldStatus, status);
@@ -621,6 +680,12 @@ public class FollowServiceImpl implements FollowService {
             return resultMap;
         }
         
+        Map<Long, Boolean> cached = followGraph.batchIsFollowing(followerId, followeeIds);
+        if (cached != null) {
+            followeeIds.forEach(id -> resultMap.put(id, Boolean.TRUE.equals(cached.get(id))));
+            return resultMap;
+        }
+        
         try {
             // 查询用户对这些目标用户的所有关注记录
             LambdaQueryWrapper<Follow> queryWrapper = new LambdaQueryWrapper<>();
@@ -647,6 +712,23 @@ public class FollowServiceImpl implements FollowService {
         return resultMap;
     }
 
+    @Override
+    public Map<Long, Integer> getFollowSuggestions(Long userId, Integer limit) {
+        log.debug("获取关注推荐: userId={}, limit={}", userId, limit);
+
+        if (userId == null) {
+            return Map.of();
+        }
+        limit = limit == null || limit <= 0 ? 20 : Math.min(limit, 100);
+
+        Map<Long, Integer> suggestions = followGraph.suggestFriendsOfFriends(userId, limit);
+        if (suggestions == null) {
+            log.warn("关注图不可用，无法生成关注推荐: userId={}", userId);
+            return Map.of();
+        }
+        return suggestions;
+    }
+
     @Override
     public Follow getFollowRelation(Long followerId, Long followeeId) {
         log.debug("获取关注关系详情: followerId={}, followeeId={}", followerId, followeeId);
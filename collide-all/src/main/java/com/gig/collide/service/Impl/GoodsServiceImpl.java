@@ -8,14 +8,21 @@ import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.goods.request.GoodsCreateRequest;
 import com.gig.collide.Apientry.api.goods.response.GoodsResponse;
+import com.gig.collide.cache.CacheInvalidate;
+import com.gig.collide.cache.Cached;
+import com.gig.collide.cache.GoodsCacheConstant;
 import com.gig.collide.domain.Goods;
 import com.gig.collide.domain.GoodsQuery;
 import com.gig.collide.mapper.GoodsMapper;
 import com.gig.collide.service.GoodsService;
+import com.gig.collide.stock.StockReservationEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -26,11 +33,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 商品业务服务实现类 - 缓存增强版
- * 基于JetCache的高性能商品服务
+ * 详情、列表、统计查询使用两级缓存（本地 Caffeine + Redis），写操作成功后按商品ID与列表维度失效；
+ * 需要修改后写回的查询（内容同步、商品更新）与下单校验直接读库，不经过缓存
  *
  * @author GIG Team
  * @version 2.0.0 (缓存增强版)
@@ -42,14 +49,23 @@ import java.util.concurrent.TimeUnit;
 public class GoodsServiceImpl implements GoodsService {
 
     private final GoodsMapper goodsMapper;
+    private final StockReservationEngine stockReservationEngine;
+
+    /**
+     * 自身代理：类内调用带缓存注解的方法时经由代理，缓存与失效才会生效
+     */
+    @Lazy
+    @Autowired
+    private GoodsService self;
 
     // =================== 基础CRUD操作 ===================
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_STATISTICS_CACHE)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public Long createGoods(Goods goods) {
         log.info("创建商品: name={}, type={}, type={}, sellerId={}",
                 goods.getName(), goods.getGoodsType(), goods.getSellerId());
@@ -75,9 +91,10 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_STATISTICS_CACHE)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public Long createGoods(GoodsCreateRequest request) {
         log.info("创建商品（从请求）: name={}, type={}, sellerId={}",
                 request.getName(), request.getGoodsType(), request.getSellerId());
@@ -93,10 +110,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#id",
-//            expire = GoodsCacheConstant.DETAIL_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#id",
+            expire = GoodsCacheConstant.DETAIL_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.DETAIL_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public Goods getGoodsById(Long id) {
         log.debug("查询商品详情: id={}", id);
 
@@ -115,11 +132,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheUpdate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goods.id",
-//            value = "#goods")
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goods.id")
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean updateGoods(Goods goods) {
         log.info("更新商品: id={}, name={}", goods.getId(), goods.getName());
 
@@ -138,6 +155,9 @@ public class GoodsServiceImpl implements GoodsService {
 
         int result = goodsMapper.updateById(goods);
         if (result > 0) {
+            if (goods.getStock() != null) {
+                stockReservationEngine.evict(goods.getId());
+            }
             log.info("商品更新成功: id={}", goods.getId());
             return true;
         } else {
@@ -148,10 +168,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#id")
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#id")
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean deleteGoods(Long id) {
         log.info("删除商品: id={}", id);
 
@@ -177,8 +198,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#ids", multi = true)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean batchDeleteGoods(List<Long> ids) {
         log.info("批量删除商品: count={}", ids.size());
 
@@ -199,10 +223,10 @@ public class GoodsServiceImpl implements GoodsService {
     // =================== 查询操作 ===================
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_LIST_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildListKey(#goodsType, #status, #page.current, #page.size)",
-//            expire = GoodsCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_LIST_CACHE, key = "#goodsType + ':' + #status + ':' + #page.current + ':' + #page.size",
+            expire = GoodsCacheConstant.LIST_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.LIST_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public IPage<Goods> queryGoods(Page<Goods> page, String goodsType, String status) {
         log.debug("分页查询商品: type={}, status={}, page={}, size={}",
                 goodsType, status, page.getCurrent(), page.getSize());
@@ -211,10 +235,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_CATEGORY_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildCategoryKey(#categoryId, #page.current, #page.size)",
-//            expire = GoodsCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_CATEGORY_CACHE, key = "#categoryId + ':' + #status + ':' + #page.current + ':' + #page.size",
+            expire = GoodsCacheConstant.LIST_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.LIST_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public IPage<Goods> getGoodsByCategory(Page<Goods> page, Long categoryId, String status) {
         log.debug("根据分类查询商品: categoryId={}, status={}, page={}, size={}",
                 categoryId, status, page.getCurrent(), page.getSize());
@@ -223,10 +247,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_SELLER_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildSellerKey(#sellerId, #page.current, #page.size)",
-//            expire = GoodsCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_SELLER_CACHE, key = "#sellerId + ':' + #status + ':' + #page.current + ':' + #page.size",
+            expire = GoodsCacheConstant.LIST_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.LIST_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public IPage<Goods> getGoodsBySeller(Page<Goods> page, Long sellerId, String status) {
         log.debug("根据商家查询商品: sellerId={}, status={}, page={}, size={}",
                 sellerId, status, page.getCurrent(), page.getSize());
@@ -235,10 +259,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_CONTENT_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildContentKey(#contentId, #goodsType)",
-//            expire = GoodsCacheConstant.DETAIL_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_CONTENT_CACHE, key = "#contentId + ':' + #goodsType",
+            expire = GoodsCacheConstant.DETAIL_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.DETAIL_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public Goods getGoodsByContentId(Long contentId, String goodsType) {
         log.debug("根据内容ID查询商品: contentId={}, goodsType={}", contentId, goodsType);
 
@@ -252,10 +276,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_HOT_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildHotKey(#goodsType, #page.current, #page.size)",
-//            expire = GoodsCacheConstant.HOT_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_HOT_CACHE, key = "#goodsType + ':' + #page.current + ':' + #page.size",
+            expire = GoodsCacheConstant.HOT_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.LIST_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public IPage<Goods> getHotGoods(Page<Goods> page, String goodsType) {
         log.debug("查询热门商品: type={}, page={}, size={}",
                 goodsType, page.getCurrent(), page.getSize());
@@ -264,10 +288,10 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_SEARCH_CACHE,
-//            key = "T(com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant).buildSearchKey(#keyword, #page.current, #page.size)",
-//            expire = GoodsCacheConstant.SEARCH_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_SEARCH_CACHE, key = "#keyword + ':' + #status + ':' + #page.current + ':' + #page.size",
+            expire = GoodsCacheConstant.SEARCH_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.LIST_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public IPage<Goods> searchGoods(Page<Goods> page, String keyword, String status) {
         log.debug("搜索商品: keyword={}, status={}, page={}, size={}",
                 keyword, status, page.getCurrent(), page.getSize());
@@ -293,6 +317,12 @@ public class GoodsServiceImpl implements GoodsService {
     public boolean checkStock(Long goodsId, Integer quantity) {
         log.debug("检查库存: goodsId={}, quantity={}", goodsId, quantity);
 
+        if (stockReservationEngine.isEnabled()) {
+            // Redis 可售库存已扣除未同步的扣减与未支付订单的预占，比数据库库存更准确
+            Integer available = stockReservationEngine.getAvailableStock(goodsId);
+            return available != null && (available == StockReservationEngine.UNLIMITED || available >= quantity);
+        }
+
         Goods goods = getGoodsById(goodsId);
         if (goods == null) {
             return false;
@@ -302,9 +332,7 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsId")
     public boolean reduceStock(Long goodsId, Integer quantity) {
         log.info("扣减库存: goodsId={}, quantity={}", goodsId, quantity);
 
@@ -312,6 +340,17 @@ public class GoodsServiceImpl implements GoodsService {
             throw new IllegalArgumentException("参数无效");
         }
 
+        if (stockReservationEngine.isEnabled()) {
+            // Redis 原子扣减，扣减结果由库存引擎异步合并同步到数据库
+            boolean success = stockReservationEngine.deduct(Map.of(goodsId, quantity));
+            if (success) {
+                log.info("库存扣减成功: goodsId={}, quantity={}", goodsId, quantity);
+            } else {
+                log.warn("库存不足: goodsId={}, 需求={}", goodsId, quantity);
+            }
+            return success;
+        }
+
         // 检查库存
         if (!checkStock(goodsId, quantity)) {
             log.warn("库存不足: goodsId={}, 需求={}", goodsId, quantity);
@@ -330,6 +369,7 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#stockMap.keySet()", multi = true)
     public boolean batchReduceStock(Map<Long, Integer> stockMap) {
         log.info("批量扣减库存: count={}", stockMap.size());
 
@@ -337,6 +377,13 @@ public class GoodsServiceImpl implements GoodsService {
             return true;
         }
 
+        if (stockReservationEngine.isEnabled()) {
+            // 多商品在一个 Lua 脚本中全部扣减或全部不扣减
+            boolean success = stockReservationEngine.deduct(stockMap);
+            log.info("批量库存扣减完成: success={}", success);
+            return success;
+        }
+
         // 检查所有商品库存
         for (Map.Entry<Long, Integer> entry : stockMap.entrySet()) {
             if (!checkStock(entry.getKey(), entry.getValue())) {
@@ -350,6 +397,8 @@ public class GoodsServiceImpl implements GoodsService {
         for (Map.Entry<Long, Integer> entry : stockMap.entrySet()) {
             if (!reduceStock(entry.getKey(), entry.getValue())) {
                 allSuccess = false;
+                // 回滚已扣减的商品，保证批量扣减全部成功或全部不扣减
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
                 break;
             }
         }
@@ -359,9 +408,9 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_LOW_STOCK_CACHE,
-//            expire = GoodsCacheConstant.LOW_STOCK_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_LOW_STOCK_CACHE, expire = GoodsCacheConstant.LOW_STOCK_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.STATISTICS_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public List<Goods> getLowStockGoods(Integer threshold) {
         log.debug("查询低库存商品: threshold={}", threshold);
 
@@ -375,9 +424,7 @@ public class GoodsServiceImpl implements GoodsService {
     // =================== 统计操作 ===================
 
     @Override
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsId")
     public boolean increaseSalesCount(Long goodsId, Long count) {
         log.debug("增加销量: goodsId={}, count={}", goodsId, count);
 
@@ -390,8 +437,6 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
     public boolean increaseViewCount(Long goodsId, Long count) {
         log.debug("增加浏览量: goodsId={}, count={}", goodsId, count);
 
@@ -422,9 +467,9 @@ public class GoodsServiceImpl implements GoodsService {
     }
 
     @Override
-//    @Cached(name = GoodsCacheConstant.GOODS_STATISTICS_CACHE,
-//            expire = GoodsCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = GoodsCacheConstant.GOODS_STATISTICS_CACHE, expire = GoodsCacheConstant.STATISTICS_EXPIRE,
+            localExpire = GoodsCacheConstant.LOCAL_EXPIRE, localLimit = GoodsCacheConstant.STATISTICS_LOCAL_LIMIT,
+            nullExpire = GoodsCacheConstant.NULL_CACHE_EXPIRE)
     public List<Map<String, Object>> countByTypeAndStatus() {
         log.debug("按类型和状态统计商品");
         return goodsMapper.countByTypeAndStatus();
@@ -434,7 +479,7 @@ public class GoodsServiceImpl implements GoodsService {
     public List<Map<String, Object>> getGoodsStatistics() {
         log.debug("获取商品统计信息");
         // 调用基础统计方法，可以在此基础上添加更多统计逻辑
-        return countByTypeAndStatus();
+        return self.countByTypeAndStatus();
     }
 
     @Override
@@ -475,9 +520,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsId")
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean publishGoods(Long goodsId) {
         log.info("上架商品: goodsId={}", goodsId);
         return updateGoodsStatus(goodsId, Goods.GoodsStatus.ACTIVE);
@@ -485,9 +532,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE,
-//            key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsId")
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean unpublishGoods(Long goodsId) {
         log.info("下架商品: goodsId={}", goodsId);
         return updateGoodsStatus(goodsId, Goods.GoodsStatus.INACTIVE);
@@ -495,7 +544,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsIds", multi = true)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean batchPublishGoods(List<Long> goodsIds) {
         log.info("批量上架商品: count={}", goodsIds.size());
         return batchUpdateGoodsStatus(goodsIds, Goods.GoodsStatus.ACTIVE);
@@ -503,7 +556,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsIds", multi = true)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public boolean batchUnpublishGoods(List<Long> goodsIds) {
         log.info("批量下架商品: count={}", goodsIds.size());
         return batchUpdateGoodsStatus(goodsIds, Goods.GoodsStatus.INACTIVE);
@@ -511,8 +568,11 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LIST_CACHE)
-//    @CacheInvalidate(name = GoodsCacheConstant.GOODS_HOT_CACHE)
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, key = "#goodsIds", multi = true)
+    @CacheInvalidate(name = {GoodsCacheConstant.GOODS_LIST_CACHE, GoodsCacheConstant.GOODS_HOT_CACHE,
+            GoodsCacheConstant.GOODS_CATEGORY_CACHE, GoodsCacheConstant.GOODS_SELLER_CACHE,
+            GoodsCacheConstant.GOODS_SEARCH_CACHE, GoodsCacheConstant.GOODS_CONTENT_CACHE,
+            GoodsCacheConstant.GOODS_STATISTICS_CACHE})
     public int batchUpdateStatus(List<Long> goodsIds, String status) {
         log.info("批量更新商品状态: count={}, status={}", goodsIds.size(), status);
 
@@ -757,7 +817,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 获取商品详情: id={}", id);
 
-            Goods goods = getGoodsById(id);
+            Goods goods = self.getGoodsById(id);
             if (goods != null) {
                 GoodsResponse response = convertToResponse(goods);
                 return Result.success(response);
@@ -775,7 +835,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 创建商品: name={}, type={}", request.getName(), request.getGoodsType());
 
-            Long goodsId = createGoods(request);
+            Long goodsId = self.createGoods(request);
             if (goodsId != null && goodsId > 0) {
                 log.info("Controller层 - 商品创建成功: id={}", goodsId);
                 return Result.success(null);
@@ -794,7 +854,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 更新商品: id={}, name={}", id, request.getName());
 
             // 获取现有商品
-            Goods existingGoods = getGoodsById(id);
+            Goods existingGoods = self.getGoodsById(id);
             if (existingGoods == null) {
                 return Result.error("商品不存在");
             }
@@ -804,7 +864,7 @@ public class GoodsServiceImpl implements GoodsService {
             updatedGoods.setId(id);
             updatedGoods.setUpdateTime(LocalDateTime.now());
 
-            boolean success = updateGoods(updatedGoods);
+            boolean success = self.updateGoods(updatedGoods);
             if (success) {
                 GoodsResponse response = convertToResponse(updatedGoods);
                 return Result.success(response);
@@ -822,7 +882,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 删除商品: id={}", id);
 
-            boolean success = deleteGoods(id);
+            boolean success = self.deleteGoods(id);
             if (success) {
                 return Result.success(null);
             } else {
@@ -839,7 +899,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 批量删除商品: count={}", ids.size());
 
-            boolean success = batchDeleteGoods(ids);
+            boolean success = self.batchDeleteGoods(ids);
             if (success) {
                 return Result.success(null);
             } else {
@@ -858,7 +918,7 @@ public class GoodsServiceImpl implements GoodsService {
                     request.getGoodsType(), request.getCurrentPage(), request.getPageSize());
 
             Page<Goods> page = new Page<>(request.getCurrentPage(), request.getPageSize());
-            IPage<Goods> goodsPage = queryGoods(page, request.getGoodsType(), request.getStatus());
+            IPage<Goods> goodsPage = self.queryGoods(page, request.getGoodsType(), request.getStatus());
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -893,7 +953,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 根据分类查询商品: categoryId={}, page={}, size={}", categoryId, currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = getGoodsByCategory(page, categoryId, null);
+            IPage<Goods> goodsPage = self.getGoodsByCategory(page, categoryId, null);
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -927,7 +987,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 根据商家查询商品: sellerId={}, page={}, size={}", sellerId, currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = getGoodsBySeller(page, sellerId, null);
+            IPage<Goods> goodsPage = self.getGoodsBySeller(page, sellerId, null);
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -961,7 +1021,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 获取热门商品: type={}, page={}, size={}", goodsType, currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = getHotGoods(page, goodsType);
+            IPage<Goods> goodsPage = self.getHotGoods(page, goodsType);
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -995,7 +1055,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 搜索商品: keyword={}, page={}, size={}", keyword, currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = searchGoods(page, keyword, null);
+            IPage<Goods> goodsPage = self.searchGoods(page, keyword, null);
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -1053,7 +1113,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 上架商品: id={}", goodsId);
 
-            boolean success = publishGoods(goodsId);
+            boolean success = self.publishGoods(goodsId);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1070,7 +1130,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 下架商品: id={}", goodsId);
 
-            boolean success = unpublishGoods(goodsId);
+            boolean success = self.unpublishGoods(goodsId);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1087,7 +1147,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 批量上架商品: count={}", goodsIds.size());
 
-            boolean success = batchPublishGoods(goodsIds);
+            boolean success = self.batchPublishGoods(goodsIds);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1104,7 +1164,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 批量下架商品: count={}", goodsIds.size());
 
-            boolean success = batchUnpublishGoods(goodsIds);
+            boolean success = self.batchUnpublishGoods(goodsIds);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1190,7 +1250,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 获取金币充值包: page={}, size={}", currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = queryGoods(page, "COIN", "ACTIVE");
+            IPage<Goods> goodsPage = self.queryGoods(page, "COIN", "ACTIVE");
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -1214,7 +1274,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 获取订阅服务: page={}, size={}", currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = queryGoods(page, "SUBSCRIPTION", "ACTIVE");
+            IPage<Goods> goodsPage = self.queryGoods(page, "SUBSCRIPTION", "ACTIVE");
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -1238,7 +1298,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 获取付费内容: page={}, size={}", currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = queryGoods(page, "CONTENT", "ACTIVE");
+            IPage<Goods> goodsPage = self.queryGoods(page, "CONTENT", "ACTIVE");
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -1262,7 +1322,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 获取实体商品: page={}, size={}", currentPage, pageSize);
 
             Page<Goods> page = new Page<>(currentPage, pageSize);
-            IPage<Goods> goodsPage = queryGoods(page, "GOODS", "ACTIVE");
+            IPage<Goods> goodsPage = self.queryGoods(page, "GOODS", "ACTIVE");
 
             List<GoodsResponse> responses = goodsPage.getRecords().stream()
                     .map(this::convertToResponse)
@@ -1290,7 +1350,7 @@ public class GoodsServiceImpl implements GoodsService {
             log.info("Controller层 - 根据内容创建商品: contentId={}, title={}", contentId, contentTitle);
 
             // 检查是否已存在对应的商品
-            Goods existingGoods = getGoodsByContentId(contentId, "CONTENT");
+            Goods existingGoods = self.getGoodsByContentId(contentId, "CONTENT");
             if (existingGoods != null) {
                 return Result.error("该内容已存在对应的商品记录");
             }
@@ -1310,7 +1370,7 @@ public class GoodsServiceImpl implements GoodsService {
             request.setCoverUrl(coverUrl);
             request.setStatus("ACTIVE");
 
-            Long goodsId = createGoods(request);
+            Long goodsId = self.createGoods(request);
             if (goodsId != null && goodsId > 0) {
                 log.info("Controller层 - 内容商品创建成功: contentId={}, goodsId={}", contentId, goodsId);
                 return Result.success(null);
@@ -1346,7 +1406,7 @@ public class GoodsServiceImpl implements GoodsService {
             goods.setCoverUrl(coverUrl);
             goods.setUpdateTime(LocalDateTime.now());
 
-            boolean success = updateGoods(goods);
+            boolean success = self.updateGoods(goods);
             if (success) {
                 log.info("Controller层 - 内容信息同步成功: contentId={}", contentId);
                 return Result.success(null);
@@ -1386,7 +1446,7 @@ public class GoodsServiceImpl implements GoodsService {
             goods.setStatus(goodsStatus);
             goods.setUpdateTime(LocalDateTime.now());
 
-            boolean success = updateGoods(goods);
+            boolean success = self.updateGoods(goods);
             if (success) {
                 log.info("Controller层 - 内容状态同步成功: contentId={}, status={}", contentId, contentStatus);
                 return Result.success(null);
@@ -1420,7 +1480,7 @@ public class GoodsServiceImpl implements GoodsService {
 
             goods.setUpdateTime(LocalDateTime.now());
 
-            boolean success = updateGoods(goods);
+            boolean success = self.updateGoods(goods);
             if (success) {
                 log.info("Controller层 - 内容价格同步成功: contentId={}, coinPrice={}", contentId, coinPrice);
                 return Result.success(null);
@@ -1459,12 +1519,12 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 删除内容对应的商品: contentId={}", contentId);
 
-            Goods goods = getGoodsByContentId(contentId, "CONTENT");
+            Goods goods = self.getGoodsByContentId(contentId, "CONTENT");
             if (goods == null) {
                 return Result.error("未找到对应的商品记录");
             }
 
-            boolean success = deleteGoods(goods.getId());
+            boolean success = self.deleteGoods(goods.getId());
             if (success) {
                 log.info("Controller层 - 内容商品删除成功: contentId={}", contentId);
                 return Result.success(null);
@@ -1482,7 +1542,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 根据内容ID获取商品: contentId={}, goodsType={}", contentId, goodsType);
 
-            Goods goods = getGoodsByContentId(contentId, goodsType);
+            Goods goods = self.getGoodsByContentId(contentId, goodsType);
             if (goods != null) {
                 GoodsResponse response = convertToResponse(goods);
                 return Result.success(response);
@@ -1515,7 +1575,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 扣减库存: goodsId={}, quantity={}", goodsId, quantity);
 
-            boolean success = reduceStock(goodsId, quantity);
+            boolean success = self.reduceStock(goodsId, quantity);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1532,7 +1592,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 批量扣减库存: count={}", stockMap.size());
 
-            boolean success = batchReduceStock(stockMap);
+            boolean success = self.batchReduceStock(stockMap);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1549,7 +1609,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 查询低库存商品: threshold={}", threshold);
 
-            List<Goods> goodsList = getLowStockGoods(threshold);
+            List<Goods> goodsList = self.getLowStockGoods(threshold);
             List<GoodsResponse> responses = goodsList.stream()
                     .map(this::convertToResponse)
                     .collect(java.util.stream.Collectors.toList());
@@ -1568,7 +1628,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 增加销量: goodsId={}, count={}", goodsId, count);
 
-            boolean success = increaseSalesCount(goodsId, count);
+            boolean success = self.increaseSalesCount(goodsId, count);
             if (success) {
                 return Result.success(null);
             } else {
@@ -1632,7 +1692,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 按类型和状态统计商品");
 
-            List<Map<String, Object>> statistics = countByTypeAndStatus();
+            List<Map<String, Object>> statistics = self.countByTypeAndStatus();
             return Result.success(statistics);
         } catch (Exception e) {
             log.error("Controller层 - 按类型和状态统计商品失败", e);
@@ -1705,7 +1765,7 @@ public class GoodsServiceImpl implements GoodsService {
         try {
             log.info("Controller层 - 批量更新商品状态: count={}, status={}", goodsIds.size(), status);
 
-            int affectedRows = batchUpdateStatus(goodsIds, status);
+            int affectedRows = self.batchUpdateStatus(goodsIds, status);
             return Result.success(affectedRows);
         } catch (Exception e) {
             log.error("Controller层 - 批量更新商品状态失败", e);
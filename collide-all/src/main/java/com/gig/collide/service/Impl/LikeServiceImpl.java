@@ -6,12 +6,12 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.like.response.LikeResponse;
+import com.gig.collide.cache.LikeCacheConstant;
+import com.gig.collide.cache.LikeStatusIndex;
+import com.gig.collide.counter.LikeCountAggregator;
+import com.gig.collide.counter.UserCounterService;
 import com.gig.collide.domain.Like;
 import com.gig.collide.mapper.LikeMapper;
-import com.gig.collide.mapper.UserMapper;
-import com.gig.collide.mapper.ContentMapper;
-import com.gig.collide.mapper.SocialDynamicMapper;
-import com.gig.collide.mapper.CommentMapper;
 import com.gig.collide.service.LikeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,10 +47,9 @@ import java.util.stream.Collectors;
 public class LikeServiceImpl implements LikeService {
 
     private final LikeMapper likeMapper;
-    private final UserMapper userMapper;
-    private final ContentMapper contentMapper;
-    private final SocialDynamicMapper socialDynamicMapper;
-    private final CommentMapper commentMapper;
+    private final LikeCountAggregator likeCountAggregator;
+    private final UserCounterService userCounterService;
+    private final LikeStatusIndex likeStatusIndex;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -83,19 +82,12 @@ public class LikeServiceImpl implements LikeService {
 
                 likeMapper.updateById(existingLike);
                 
-                // 更新被点赞内容作者的点赞统计 +1
-                if (existingLike.getTargetAuthorId() != null) {
-                    try {
-                        userMapper.updateLikeCount(existingLike.getTargetAuthorId(), 1);
-                        log.info("用户点赞统计更新成功: authorId={} likeCount+1", existingLike.getTargetAuthorId());
-                    } catch (Exception e) {
-                        log.error("更新用户点赞统计失败: authorId={}", existingLike.getTargetAuthorId(), e);
-                        // 统计更新失败不影响主业务
-                    }
-                }
+                // 更新被点赞内容作者的点赞统计 +1（事务提交后分片暂存、批量写回）
+                userCounterService.addLikeDelta(existingLike.getTargetAuthorId(), 1);
                 
                 // 更新内容本身的点赞统计 +1
                 updateTargetLikeCount(existingLike.getLikeType(), existingLike.getTargetId(), 1);
+                likeStatusIndex.onLiked(existingLike.getUserId(), existingLike.getLikeType(), existingLike.getTargetId());
                 
                 log.info("重新激活点赞记录: id={}", existingLike.getId());
                 return existingLike;
@@ -109,19 +101,12 @@ public class LikeServiceImpl implements LikeService {
 
         int result = likeMapper.insert(like);
         if (result > 0) {
-            // 更新被点赞内容作者的点赞统计 +1
-            if (like.getTargetAuthorId() != null) {
-                try {
-                    userMapper.updateLikeCount(like.getTargetAuthorId(), 1);
-                    log.info("用户点赞统计更新成功: authorId={} likeCount+1", like.getTargetAuthorId());
-                } catch (Exception e) {
-                    log.error("更新用户点赞统计失败: authorId={}", like.getTargetAuthorId(), e);
-                    // 统计更新失败不影响主业务
-                }
-            }
+            // 更新被点赞内容作者的点赞统计 +1（事务提交后分片暂存、批量写回）
+            userCounterService.addLikeDelta(like.getTargetAuthorId(), 1);
             
             // 更新内容本身的点赞统计 +1
             updateTargetLikeCount(like.getLikeType(), like.getTargetId(), 1);
+            likeStatusIndex.onLiked(like.getUserId(), like.getLikeType(), like.getTargetId());
             
             log.info("创建点赞记录成功: id={}", like.getId());
             return like;
@@ -148,19 +133,12 @@ public class LikeServiceImpl implements LikeService {
 
         int result = likeMapper.updateById(existingLike);
         if (result > 0) {
-            // 更新被点赞内容作者的点赞统计 -1
-            if (existingLike.getTargetAuthorId() != null) {
-                try {
-                    userMapper.updateLikeCount(existingLike.getTargetAuthorId(), -1);
-                    log.info("用户点赞统计更新成功: authorId={} likeCount-1", existingLike.getTargetAuthorId());
-                } catch (Exception e) {
-                    log.error("更新用户点赞统计失败: authorId={}", existingLike.getTargetAuthorId(), e);
-                    // 统计更新失败不影响主业务
-                }
-            }
+            // 更新被点赞内容作者的点赞统计 -1（事务提交后分片暂存、批量写回）
+            userCounterService.addLikeDelta(existingLike.getTargetAuthorId(), -1);
             
             // 更新内容本身的点赞统计 -1
             updateTargetLikeCount(existingLike.getLikeType(), existingLike.getTargetId(), -1);
+            likeStatusIndex.onUnliked(existingLike.getUserId(), existingLike.getLikeType(), existingLike.getTargetId());
             
             log.info("取消点赞成功: id={}", existingLike.getId());
             return true;
@@ -461,6 +439,12 @@ public class LikeServiceImpl implements LikeService {
         }
         
         try {
+            // 优先查询Redis点赞状态索引
+            Map<Long, Boolean> indexed = likeStatusIndex.batchCheck(userId, likeType, List.of(targetId));
+            if (indexed != null) {
+                return Boolean.TRUE.equals(indexed.get(targetId));
+            }
+
             Boolean isLiked = likeMapper.checkLikeExists(userId, likeType, targetId);
             boolean result = isLiked != null && isLiked;
             log.debug("点赞状态检查结果: userId={}, likeType={}, targetId={}, isLiked={}", 
@@ -514,7 +498,13 @@ public class LikeServiceImpl implements LikeService {
         }
         
         try {
-            // 查询用户对这些目标的所有点赞记录
+            // 优先查询Redis点赞状态索引（一次往返）
+            Map<Long, Boolean> indexed = likeStatusIndex.batchCheck(userId, likeType, targetIds);
+            if (indexed != null) {
+                return indexed;
+            }
+
+            // 索引不可用时回退数据库：查询用户对这些目标的所有点赞记录
             LambdaQueryWrapper<Like> queryWrapper = new LambdaQueryWrapper<>();
             queryWrapper.eq(Like::getUserId, userId)
                        .eq(Like::getLikeType, likeType)
@@ -540,6 +530,23 @@ public class LikeServiceImpl implements LikeService {
         return resultMap;
     }
 
+    @Override
+    public Result<Integer> rebuildLikeStatusIndexForController(Long userId, Integer days) {
+        try {
+            if (userId != null) {
+                log.info("Controller层 - 重建用户点赞状态索引: userId={}", userId);
+                return Result.success(likeStatusIndex.rebuildUser(userId));
+            }
+
+            int warmupDays = days != null && days > 0 ? days : LikeCacheConstant.LIKE_STATUS_WARMUP_DAYS;
+            log.info("Controller层 - 预热点赞状态索引: days={}", warmupDays);
+            return Result.success(likeStatusIndex.warmUp(warmupDays, LikeCacheConstant.LIKE_STATUS_WARMUP_USERS));
+        } catch (Exception e) {
+            log.error("Controller层 - 重建点赞状态索引失败: userId={}", userId, e);
+            return Result.error("重建点赞状态索引失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 将Like实体转换为LikeResponse
      */
@@ -568,48 +575,13 @@ public class LikeServiceImpl implements LikeService {
 
     /**
      * 根据点赞类型更新对应内容的点赞统计
+     * 增量交由 LikeCountAggregator 按目标合并后批量写回，避免热点内容行锁串行
      * 
      * @param likeType 点赞类型：CONTENT、DYNAMIC、COMMENT
      * @param targetId 目标对象ID
      * @param increment 增量（正数增加，负数减少）
      */
     private void updateTargetLikeCount(String likeType, Long targetId, int increment) {
-        if (!StringUtils.hasText(likeType) || targetId == null) {
-            log.warn("无效的点赞类型或目标ID: likeType={}, targetId={}", likeType, targetId);
-            return;
-        }
-        
-        try {
-            switch (likeType.toUpperCase()) {
-                case "CONTENT":
-                    contentMapper.incrementLikeCount(targetId, increment);
-                    log.info("内容点赞统计更新成功: contentId={}, likeCount{}{}", 
-                            targetId, increment > 0 ? "+" : "", increment);
-                    break;
-                    
-                case "DYNAMIC":
-                    if (increment > 0) {
-                        socialDynamicMapper.increaseLikeCount(targetId);
-                    } else {
-                        socialDynamicMapper.decreaseLikeCount(targetId);
-                    }
-                    log.info("动态点赞统计更新成功: dynamicId={}, likeCount{}{}", 
-                            targetId, increment > 0 ? "+" : "", increment);
-                    break;
-                    
-                case "COMMENT":
-                    commentMapper.increaseLikeCount(targetId, increment);
-                    log.info("评论点赞统计更新成功: commentId={}, likeCount{}{}", 
-                            targetId, increment > 0 ? "+" : "", increment);
-                    break;
-                    
-                default:
-                    log.warn("未知的点赞类型: {}", likeType);
-                    break;
-            }
-        } catch (Exception e) {
-            log.error("更新{}点赞统计失败: targetId={}, increment={}", likeType, targetId, increment, e);
-            // 统计更新失败不影响主业务流程
-        }
+        likeCountAggregator.addTargetDelta(likeType, targetId, increment);
     }
 }
@@ -5,12 +5,15 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.domain.Message;
 import com.gig.collide.domain.User;
+import com.gig.collide.loader.RequestBatchLoader;
 import com.gig.collide.mapper.MessageMapper;
+import com.gig.collide.message.MessageWritePipeline;
+import com.gig.collide.push.MessagePushService;
 import com.gig.collide.service.MessageService;
-import com.gig.collide.service.UserService;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.message.response.MessageResponse;
+import com.gig.collide.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,9 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * 消息业务服务实现类 - 简洁版
@@ -38,12 +44,13 @@ import java.util.HashMap;
 public class MessageServiceImpl implements MessageService {
 
     private final MessageMapper messageMapper;
-    private final UserService userService;
+    private final RequestBatchLoader requestBatchLoader;
+    private final MessagePushService messagePushService;
+    private final MessageWritePipeline messageWritePipeline;
 
     // =================== 基础CRUD ===================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Message sendMessage(Message message) {
         log.info("发送消息: senderId={}, receiverId={}, messageType={}",
                 message.getSenderId(), message.getReceiverId(), message.getMessageType());
@@ -57,18 +64,28 @@ public class MessageServiceImpl implements MessageService {
         // 设置默认值
         setMessageDefaults(message);
 
+        // 组提交：入队后等待批量插入完成，推送由写入管道处理（会话更新仅在 update-sessions 开启时由管道处理）
+        // 方法不声明事务，等待期间不占用数据库连接；未启用组提交时的单条插入本身是原子的
+        Message committed = messageWritePipeline.write(message);
+        if (committed != null) {
+            log.info("消息发送成功: messageId={}", committed.getId());
+            return committed;
+        }
+
         // 保存消息
         int result = messageMapper.insert(message);
         if (result <= 0) {
             throw new RuntimeException("消息发送失败");
         }
 
+        // 提交后推送给接收者
+        messagePushService.onMessageSent(message);
+
         log.info("消息发送成功: messageId={}", message.getId());
         return message;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Message replyMessage(Message message) {
         log.info("回复消息: replyToId={}, senderId={}, receiverId={}",
                 message.getReplyToId(), message.getSenderId(), message.getReceiverId());
@@ -88,12 +105,20 @@ public class MessageServiceImpl implements MessageService {
         // 设置默认值
         setMessageDefaults(message);
 
+        Message committed = messageWritePipeline.write(message);
+        if (committed != null) {
+            log.info("回复消息成功: messageId={}, replyToId={}", committed.getId(), committed.getReplyToId());
+            return committed;
+        }
+
         // 保存回复消息
         int result = messageMapper.insert(message);
         if (result <= 0) {
             throw new RuntimeException("回复消息失败");
         }
 
+        messagePushService.onMessageSent(message);
+
         log.info("回复消息成功: messageId={}, replyToId={}", message.getId(), message.getReplyToId());
         return message;
     }
@@ -325,6 +350,7 @@ public class MessageServiceImpl implements MessageService {
 
         LocalDateTime readTime = LocalDateTime.now();
         int result = messageMapper.batchMarkAsRead(messageIds, receiverId, readTime);
+        messagePushService.onMessagesRead(receiverId, null, result);
 
         log.info("批量标记已读完成: 成功数量={}", result);
         return result;
@@ -360,6 +386,7 @@ public class MessageServiceImpl implements MessageService {
 
         LocalDateTime readTime = LocalDateTime.now();
         int result = messageMapper.markSessionMessagesAsRead(receiverId, senderId, readTime);
+        messagePushService.onMessagesRead(receiverId, senderId, result);
 
         log.info("标记会话消息已读完成: 成功数量={}", result);
         return result;
@@ -598,9 +625,7 @@ public class MessageServiceImpl implements MessageService {
             IPage<Message> messagePage = messageMapper.selectMessageList(page, senderId, receiverId, messageType, status, isRead, keyword, orderBy, orderDirection);
             
             // 转换为Response对象，包含用户信息
-            List<MessageResponse> responses = messagePage.getRecords().stream()
-                    .map(this::convertToResponseWithUserInfo)
-                    .toList();
+            List<MessageResponse> responses = convertToResponsesWithUserInfo(messagePage.getRecords());
             
             // 新增逻辑：将相同发送者和接收者的消息合并为对话数组
             List<MessageResponse> mergedResponses = mergeConversations(responses);
@@ -623,6 +648,44 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    @Override
+    public Result<PageResponse<MessageResponse>> listMessagesByCursorForController(
+            Long senderId, Long receiverId, String messageType, String status, Boolean isRead, String keyword,
+            String orderBy, String orderDirection, String cursor, Integer pageSize) {
+
+        log.info("Controller请求 - 消息列表游标查询: senderId={}, receiverId={}, messageType={}, orderBy={}, cursor={}, pageSize={}",
+                senderId, receiverId, messageType, orderBy, cursor, pageSize);
+
+        try {
+            if (pageSize == null || pageSize < 1 || pageSize > 100) {
+                pageSize = 20;
+            }
+            String sortField = CursorUtil.normalizeTimeSort(orderBy);
+            String direction = "ASC".equalsIgnoreCase(orderDirection) ? "ASC" : "DESC";
+            long[] position = CursorUtil.decode(cursor);
+
+            List<Message> messages = messageMapper.selectMessageListByCursor(senderId, receiverId, messageType, status,
+                    isRead, keyword, sortField, direction,
+                    position != null ? CursorUtil.toDateTime(position[0]) : null,
+                    position != null ? position[1] : null,
+                    pageSize + 1);
+            Function<Message, LocalDateTime> sortKey = CursorUtil.SORT_UPDATE_TIME.equals(sortField)
+                    ? Message::getUpdateTime : Message::getCreateTime;
+            String nextCursor = CursorUtil.nextCursor(messages, pageSize, sortKey, Message::getId);
+
+            List<MessageResponse> responses = convertToResponsesWithUserInfo(messages);
+
+            // 与偏移分页一致：将相同发送者和接收者的消息合并为对话数组
+            List<MessageResponse> mergedResponses = mergeConversations(responses);
+            return Result.success(PageResponse.ofCursor(mergedResponses, pageSize, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("消息列表游标查询失败", e);
+            return Result.error("消息列表查询失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 将相同发送者和接收者的消息合并为对话数组
      * A为发送者，B为接收者，将两者的对话（相同的发送者和接收者）合并为一个数组
@@ -819,9 +882,7 @@ public class MessageServiceImpl implements MessageService {
             List<Message> messages = queryMessages(queryCondition, startTime, endTime, currentPage, pageSize);
             
             // 转换为MessageResponse并填充用户信息
-            List<MessageResponse> responses = messages.stream()
-                    .map(this::convertToResponseWithUserInfo)
-                    .toList();
+            List<MessageResponse> responses = convertToResponsesWithUserInfo(messages);
             
             log.info("查询消息并包含用户信息成功: 消息数量={}", responses.size());
             return responses;
@@ -832,10 +893,36 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    /**
+     * 将一页Message实体转换为MessageResponse并填充用户信息
+     * 本页涉及的发送者与接收者去重后批量加载
+     */
+    private List<MessageResponse> convertToResponsesWithUserInfo(List<Message> messages) {
+        Set<Long> userIds = new HashSet<>();
+        for (Message message : messages) {
+            userIds.add(message.getSenderId());
+            userIds.add(message.getReceiverId());
+        }
+        
+        Map<Long, User> users;
+        try {
+            users = requestBatchLoader.loadUsers(userIds);
+        } catch (Exception e) {
+            log.warn("批量获取消息用户信息失败: userIds={}, error={}", userIds, e.getMessage());
+            users = Map.of();
+        }
+        
+        List<MessageResponse> responses = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            responses.add(convertToResponseWithUserInfo(message, users));
+        }
+        return responses;
+    }
+
     /**
      * 将Message实体转换为MessageResponse并填充用户信息
      */
-    private MessageResponse convertToResponseWithUserInfo(Message message) {
+    private MessageResponse convertToResponseWithUserInfo(Message message, Map<Long, User> users) {
         if (message == null) {
             return null;
         }
@@ -843,29 +930,17 @@ public class MessageServiceImpl implements MessageService {
         MessageResponse response = convertToResponse(message);
         
         // 填充发送者信息
-        if (message.getSenderId() != null) {
-            try {
-                User sender = userService.getUserById(message.getSenderId());
-                if (sender != null) {
-                    response.setSenderNickname(sender.getNickname());
-                    response.setSenderAvatar(sender.getAvatar());
-                }
-            } catch (Exception e) {
-                log.warn("获取发送者信息失败: senderId={}, error={}", message.getSenderId(), e.getMessage());
-            }
+        User sender = message.getSenderId() != null ? users.get(message.getSenderId()) : null;
+        if (sender != null) {
+            response.setSenderNickname(sender.getNickname());
+            response.setSenderAvatar(sender.getAvatar());
         }
         
         // 填充接收者信息
-        if (message.getReceiverId() != null) {
-            try {
-                User receiver = userService.getUserById(message.getReceiverId());
-                if (receiver != null) {
-                    response.setReceiverNickname(receiver.getNickname());
-                    response.setReceiverAvatar(receiver.getAvatar());
-                }
-            } catch (Exception e) {
-                log.warn("获取接收者信息失败: receiverId={}, error={}", message.getReceiverId(), e.getMessage());
-            }
+        User receiver = message.getReceiverId() != null ? users.get(message.getReceiverId()) : null;
+        if (receiver != null) {
+            response.setReceiverNickname(receiver.getNickname());
+            response.setReceiverAvatar(receiver.getAvatar());
         }
         
         return response;
@@ -920,9 +995,7 @@ public class MessageServiceImpl implements MessageService {
             IPage<Message> messagePage = messageMapper.selectPage(page, queryWrapper);
             
             // 转换为MessageResponse并填充用户信息
-            List<MessageResponse> responses = messagePage.getRecords().stream()
-                    .map(this::convertToResponseWithUserInfo)
-                    .toList();
+            List<MessageResponse> responses = convertToResponsesWithUserInfo(messagePage.getRecords());
             
             log.info("查询聊天记录成功: 总数={}, 当前页={}, 页面大小={}, 实际返回数量={}", 
                     messagePage.getTotal(), currentPage, pageSize, responses.size());
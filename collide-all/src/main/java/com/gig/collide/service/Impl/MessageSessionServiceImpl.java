@@ -10,8 +10,10 @@ import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.converter.MessageSessionConverter;
 import com.gig.collide.domain.MessageSession;
 import com.gig.collide.mapper.MessageSessionMapper;
+import com.gig.collide.message.MessageSessionIndex;
 import com.gig.collide.service.MessageSessionService;
 import com.gig.collide.Apientry.api.common.response.Result;
+import com.gig.collide.util.TransactionCallbackUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,6 +40,7 @@ public class MessageSessionServiceImpl implements MessageSessionService {
 
     private final MessageSessionMapper messageSessionMapper;
     private final MessageSessionConverter messageSessionConverter;
+    private final MessageSessionIndex messageSessionIndex;
 
     // =================== 基础CRUD ===================
 
@@ -62,6 +65,7 @@ public class MessageSessionServiceImpl implements MessageSessionService {
                 throw new RuntimeException("更新会话失败");
             }
             log.info("会话更新成功: sessionId={}", existingSession.getId());
+            TransactionCallbackUtil.afterCommit(() -> messageSessionIndex.put(existingSession));
             return existingSession;
         } else {
             // 创建新会话
@@ -71,6 +75,7 @@ public class MessageSessionServiceImpl implements MessageSessionService {
                 throw new RuntimeException("创建会话失败");
             }
             log.info("会话创建成功: sessionId={}", messageSession.getId());
+            TransactionCallbackUtil.afterCommit(() -> messageSessionIndex.put(messageSession));
             return messageSession;
         }
     }
@@ -109,6 +114,12 @@ public class MessageSessionServiceImpl implements MessageSessionService {
 
         if (success) {
             log.info("会话归档状态更新成功 sessionId={}, isArchived={}", sessionId, isArchived);
+            MessageSession patch = new MessageSession();
+            patch.setId(sessionId);
+            patch.setUserId(existingSession.getUserId());
+            patch.setOtherUserId(existingSession.getOtherUserId());
+            patch.setIsArchived(isArchived);
+            TransactionCallbackUtil.afterCommit(() -> messageSessionIndex.put(patch));
         } else {
             log.warn("会话归档状态更新失败 sessionId={}, isArchived={}", sessionId, isArchived);
         }
@@ -134,6 +145,15 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         String validOrderDirection = validateAndGetOrderDirection(orderDirection);
 
         Page<MessageSession> page = createPage(currentPage, pageSize);
+
+        // 默认排序（最后消息时间倒序）直接读取会话索引
+        if ("last_message_time".equals(validOrderBy) && "DESC".equals(validOrderDirection)) {
+            Page<MessageSession> cached = messageSessionIndex.findSessions(userId, null, isArchived, hasUnread,
+                    page.getCurrent(), page.getSize());
+            if (cached != null) {
+                return cached;
+            }
+        }
         return messageSessionMapper.findUserSessions(page, userId, isArchived, hasUnread,
                 validOrderBy, validOrderDirection);
     }
@@ -152,6 +172,11 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         LocalDateTime validSinceTime = sinceTime != null ? sinceTime : LocalDateTime.now().minusDays(7);
 
         Page<MessageSession> page = createPage(currentPage, pageSize);
+        Page<MessageSession> cached = messageSessionIndex.findSessions(userId, validSinceTime, null, null,
+                page.getCurrent(), page.getSize());
+        if (cached != null) {
+            return cached;
+        }
         return messageSessionMapper.findActiveSessions(page, userId, validSinceTime);
     }
 
@@ -165,6 +190,10 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
+        long[] badge = messageSessionIndex.badge(userId);
+        if (badge != null) {
+            return badge[1];
+        }
         return messageSessionMapper.countUnreadSessions(userId);
     }
 
@@ -176,6 +205,17 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
+        if (isArchived == null) {
+            long[] badge = messageSessionIndex.badge(userId);
+            if (badge != null && badge[2] >= 0) {
+                return badge[2];
+            }
+        } else {
+            Page<MessageSession> cached = messageSessionIndex.findSessions(userId, null, isArchived, null, 1, 0);
+            if (cached != null) {
+                return cached.getTotal();
+            }
+        }
         return messageSessionMapper.countUserSessions(userId, isArchived);
     }
 
@@ -191,8 +231,10 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("参数不能为空");
         }
 
-        int result = messageSessionMapper.updateLastMessage(userId, otherUserId, lastMessageId, lastMessageTime);
-        boolean success = result > 0;
+        Boolean indexed = messageSessionIndex.touchSession(userId, otherUserId, lastMessageId, lastMessageTime, true);
+        boolean success = indexed != null
+                ? indexed
+                : messageSessionMapper.updateLastMessage(userId, otherUserId, lastMessageId, lastMessageTime) > 0;
 
         if (success) {
             log.info("会话最后消息更新成功 userId={}, otherUserId={}", userId, otherUserId);
@@ -212,8 +254,10 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
-        int result = messageSessionMapper.incrementUnreadCount(userId, otherUserId);
-        boolean success = result > 0;
+        Boolean indexed = messageSessionIndex.incrementUnread(userId, otherUserId);
+        boolean success = indexed != null
+                ? indexed
+                : messageSessionMapper.incrementUnreadCount(userId, otherUserId) > 0;
 
         if (success) {
             log.info("会话未读计数增加成功: userId={}, otherUserId={}", userId, otherUserId);
@@ -233,8 +277,8 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
-        int result = messageSessionMapper.clearUnreadCount(userId, otherUserId);
-        boolean success = result > 0;
+        Long cleared = messageSessionIndex.clearUnread(userId, otherUserId);
+        boolean success = cleared != null || messageSessionMapper.clearUnreadCount(userId, otherUserId) > 0;
 
         if (success) {
             log.info("会话未读计数清零成功: userId={}, otherUserId={}", userId, otherUserId);
@@ -254,8 +298,12 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
-        int result = messageSessionMapper.insertOrUpdate(userId, otherUserId, lastMessageId, lastMessageTime);
-        boolean success = result > 0;
+        Boolean indexed = lastMessageId != null && lastMessageTime != null
+                ? messageSessionIndex.touchSession(userId, otherUserId, lastMessageId, lastMessageTime, false)
+                : null;
+        boolean success = indexed != null
+                ? indexed
+                : messageSessionMapper.insertOrUpdate(userId, otherUserId, lastMessageId, lastMessageTime) > 0;
 
         if (success) {
             log.info("会话信息创建或更新成功 userId={}, otherUserId={}", userId, otherUserId);
@@ -305,6 +353,12 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("参数不能为空");
         }
 
+        // 一次脚本同时更新双方会话与接收者未读数，会话行由索引批量写回
+        if (messageSessionIndex.onNewMessage(senderId, receiverId, messageId, messageTime)) {
+            log.debug("新消息已写入会话索引: senderId={}, receiverId={}, messageId={}", senderId, receiverId, messageId);
+            return true;
+        }
+
         try {
             // 更新发送者的会话（不增加未读数）
             boolean senderResult = insertOrUpdate(senderId, receiverId, messageId, messageTime);
@@ -341,10 +395,13 @@ public class MessageSessionServiceImpl implements MessageSessionService {
             throw new IllegalArgumentException("用户ID不能为空");
         }
 
-        // 通过统计所有未读会话数来实�?
-        // 这里可以根据实际需求优化，比如直接在数据库层面求和
-        Long unreadSessionCount = countUnreadSessions(userId);
-        return unreadSessionCount != null ? unreadSessionCount : 0L;
+        // 优先读取会话索引中的未读总数，索引不可用时在数据库层面求和
+        long[] badge = messageSessionIndex.badge(userId);
+        if (badge != null) {
+            return badge[0];
+        }
+        Long unreadCount = messageSessionMapper.sumUnreadCount(userId);
+        return unreadCount != null ? unreadCount : 0L;
     }
 
     // =================== 私有方法 ===================
@@ -818,14 +875,27 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         try {
             log.info("Controller层 - 重建会话索引: userId={}", userId);
 
-            // 这里需要实现重建索引逻辑，暂时返回成功
-            return Result.success("索引重建完成");
+            if (userId != null) {
+                int sessions = messageSessionIndex.rebuild(userId);
+                return Result.success("索引重建完成: 会话数=" + sessions);
+            }
+            // 全量重建耗时较长，在后台执行，返回任务ID供查询进度
+            return Result.success(messageSessionIndex.submitRebuildAll());
         } catch (Exception e) {
             log.error("Controller层 - 重建会话索引失败", e);
             return Result.error("重建会话索引失败: " + e.getMessage());
         }
     }
 
+    @Override
+    public Result<MessageSessionIndex.RebuildJob> getRebuildJobForController(String jobId) {
+        MessageSessionIndex.RebuildJob job = messageSessionIndex.getRebuildJob(jobId);
+        if (job == null) {
+            return Result.error("重建任务不存在: " + jobId);
+        }
+        return Result.success(job);
+    }
+
     @Override
     public Result<String> healthCheckForController() {
         try {
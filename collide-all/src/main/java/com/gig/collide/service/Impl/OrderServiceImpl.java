@@ -10,13 +10,22 @@ import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.order.request.OrderCreateRequest;
 import com.gig.collide.Apientry.api.order.request.OrderQueryRequest;
 import com.gig.collide.Apientry.api.order.response.OrderResponse;
+import com.gig.collide.cache.Cached;
+import com.gig.collide.cache.OrderCacheConstant;
+import com.gig.collide.cache.TwoLevelCacheManager;
 import com.gig.collide.converter.OrderConverter;
 import com.gig.collide.domain.Order;
+import com.gig.collide.id.IdGenerator;
 import com.gig.collide.mapper.OrderMapper;
+import com.gig.collide.order.OrderLifecycleScheduler;
 import com.gig.collide.service.OrderService;
+import com.gig.collide.stock.StockReservationEngine;
+import com.gig.collide.util.CursorUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -31,7 +40,9 @@ import java.util.stream.Collectors;
 
 /**
  * 订单业务服务实现类 - 缓存增强版
- * 基于JetCache的高性能订单服务
+ * 统计、热门商品、营收等聚合查询使用两级缓存（本地 Caffeine + Redis），在过期时间内允许滞后；
+ * 用户订单统计在订单创建、取消、支付、状态变更及生命周期调度后按用户失效；
+ * 订单详情与列表由支付回调、生命周期定时任务等以条件更新直接修改，始终直接读库
  *
  * @author GIG Team
  * @version 2.0.0 (缓存增强版)
@@ -44,14 +55,22 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
     private final OrderConverter orderConverter;
+    private final IdGenerator idGenerator;
+    private final OrderLifecycleScheduler orderLifecycleScheduler;
+    private final StockReservationEngine stockReservationEngine;
+    private final TwoLevelCacheManager twoLevelCacheManager;
+
+    /**
+     * 自身代理：类内调用带缓存注解的方法时经由代理，缓存才会生效
+     */
+    @Lazy
+    @Autowired
+    private OrderService self;
 
     // =================== 订单创建和管理 ===================
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_STATISTICS_CACHE)
     public Long createOrder(Order order) {
         log.info("创建订单: orderNo={}, userId={}, goodsId={}, goodsType={}",
                 order.getOrderNo(), order.getUserId(), order.getGoodsId(), order.getGoodsType());
@@ -59,10 +78,17 @@ public class OrderServiceImpl implements OrderService {
         // 设置默认值
         setDefaultValues((OrderCreateRequest) order);
 
+        // 预占库存（待支付订单）或直接扣减库存（已支付订单），库存不足时不创建订单
+        reserveStock(order);
+
         // 保存订单
         int result = orderMapper.insert(order);
         if (result > 0) {
             log.info("订单创建成功: id={}, orderNo={}", order.getId(), order.getOrderNo());
+            if (order.getPayStatus() == Order.PayStatus.UNPAID) {
+                orderLifecycleScheduler.registerPaymentDeadline(order.getId(), order.getCreateTime());
+            }
+            evictUserStatistics(order.getUserId());
             return order.getId();
         } else {
             throw new RuntimeException("订单创建失败");
@@ -70,10 +96,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#id",
-//            expire = OrderCacheConstant.DETAIL_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public Order getOrderById(Long id) {
         log.debug("查询订单详情: id={}", id);
 
@@ -91,10 +113,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_NO_KEY + "#orderNo",
-//            expire = OrderCacheConstant.DETAIL_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public Order getOrderByOrderNo(String orderNo) {
         log.debug("根据订单号查询订单: orderNo={}", orderNo);
 
@@ -113,11 +131,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheUpdate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#order.id",
-//            value = "#order")
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean updateOrder(Order order) {
         log.info("更新订单: id={}, orderNo={}", order.getId(), order.getOrderNo());
 
@@ -131,6 +144,7 @@ public class OrderServiceImpl implements OrderService {
         int result = orderMapper.updateById(order);
         if (result > 0) {
             log.info("订单更新成功: id={}", order.getId());
+            evictUserStatisticsOfOrders(List.of(order.getId()));
             return true;
         } else {
             log.warn("订单更新失败: id={}", order.getId());
@@ -140,10 +154,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean cancelOrder(Long orderId, String reason) {
         log.info("取消订单: orderId={}, reason={}", orderId, reason);
 
@@ -166,6 +176,16 @@ public class OrderServiceImpl implements OrderService {
         int result = orderMapper.update(null, updateWrapper);
         if (result > 0) {
             log.info("订单取消成功: orderId={}", orderId);
+            orderLifecycleScheduler.unregister(OrderLifecycleScheduler.Deadline.PAY_TIMEOUT, orderId);
+            Order cancelled = (Order) validation.get("order");
+            if (cancelled != null && stockReservationEngine.isEnabled()) {
+                stockReservationEngine.releaseAfterCommit(cancelled.getOrderNo());
+            }
+            if (cancelled != null) {
+                evictUserStatistics(cancelled.getUserId());
+            } else {
+                evictUserStatisticsOfOrders(List.of(orderId));
+            }
             return true;
         } else {
             log.warn("订单取消失败: orderId={}", orderId);
@@ -175,8 +195,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean batchCancelOrders(List<Long> orderIds, String reason) {
         log.info("批量取消订单: count={}, reason={}", orderIds.size(), reason);
 
@@ -186,16 +204,15 @@ public class OrderServiceImpl implements OrderService {
 
         int result = orderMapper.batchUpdateStatus(orderIds, Order.OrderStatus.CANCELLED.getCode());
         log.info("批量取消订单完成: 目标={}, 实际={}", orderIds.size(), result);
+        if (result > 0) {
+            evictUserStatisticsOfOrders(orderIds);
+        }
         return result > 0;
     }
 
     // =================== 订单查询 ===================
 
     @Override
-//    @Cached(name = OrderCacheConstant.USER_ORDER_CACHE,
-//            key = "T(com.gig.collide.order.infrastructure.cache.OrderCacheConstant).buildUserOrderKey(#userId, #status, #page.current, #page.size)",
-//            expire = OrderCacheConstant.USER_ORDER_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public IPage<Order> getOrdersByUserId(Page<Order> page, Long userId, String status) {
         log.debug("根据用户查询订单: userId={}, status={}, page={}, size={}",
                 userId, status, page.getCurrent(), page.getSize());
@@ -204,9 +221,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_LIST_CACHE,
-//            expire = OrderCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public IPage<Order> getOrdersByGoodsType(Page<Order> page, String goodsType, String status) {
         log.debug("根据商品类型查询订单: goodsType={}, status={}, page={}, size={}",
                 goodsType, status, page.getCurrent(), page.getSize());
@@ -268,9 +282,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_LIST_CACHE,
-//            expire = OrderCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public IPage<Order> getOrdersByPaymentMode(Page<Order> page, String paymentMode, String payStatus) {
         log.debug("根据支付模式查询订单: paymentMode={}, payStatus={}, page={}, size={}",
                 paymentMode, payStatus, page.getCurrent(), page.getSize());
@@ -279,10 +290,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_LIST_CACHE,
-//            key = "T(com.gig.collide.order.infrastructure.cache.OrderCacheConstant).buildSellerOrderKey(#sellerId, #page.current, #page.size)",
-//            expire = OrderCacheConstant.LIST_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public IPage<Order> getOrdersBySellerId(Page<Order> page, Long sellerId, String status) {
         log.debug("根据商家查询订单: sellerId={}, status={}, page={}, size={}",
                 sellerId, status, page.getCurrent(), page.getSize());
@@ -503,9 +510,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean confirmPayment(Long orderId, String payMethod) {
         log.info("确认支付成功: orderId={}, payMethod={}", orderId, payMethod);
 
@@ -535,9 +539,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean confirmPayment(Long orderId, String payMethod, Long userId) {
         log.info("确认支付成功（带用户验证）: orderId={}, payMethod={}, userId={}", orderId, payMethod, userId);
 
@@ -566,9 +567,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean updatePaymentStatus(Long orderId, String payStatus, String payMethod) {
         log.info("更新订单支付状态: orderId={}, payStatus={}, payMethod={}", orderId, payStatus, payMethod);
 
@@ -589,6 +587,8 @@ public class OrderServiceImpl implements OrderService {
                         // 处理支付成功后的业务逻辑
                         handlePaymentSuccess(order);
                     }
+                } else {
+                    evictUserStatisticsOfOrders(List.of(orderId));
                 }
 
                 log.info("订单支付状态更新成功: orderId={}, payStatus={}", orderId, payStatus);
@@ -605,9 +605,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean updatePaymentInfo(Long orderId, String payStatus, String payMethod, LocalDateTime payTime) {
         log.info("更新订单支付信息: orderId={}, payStatus={}, payMethod={}, payTime={}",
                 orderId, payStatus, payMethod, payTime);
@@ -627,6 +624,8 @@ public class OrderServiceImpl implements OrderService {
                         // 处理支付成功后的业务逻辑
                         handlePaymentSuccess(order);
                     }
+                } else {
+                    evictUserStatisticsOfOrders(List.of(orderId));
                 }
 
                 log.info("订单支付信息更新成功: orderId={}", orderId);
@@ -733,9 +732,6 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE,
-//            key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean updateOrderStatus(Long orderId, String newStatus) {
         log.info("更新订单状态: orderId={}, newStatus={}", orderId, newStatus);
 
@@ -745,13 +741,14 @@ public class OrderServiceImpl implements OrderService {
                 .set(Order::getUpdateTime, LocalDateTime.now());
 
         int result = orderMapper.update(null, updateWrapper);
+        if (result > 0) {
+            evictUserStatisticsOfOrders(List.of(orderId));
+        }
         return result > 0;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-//    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
-//    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public boolean batchUpdateStatus(List<Long> orderIds, String newStatus) {
         log.info("批量更新订单状态: count={}, newStatus={}", orderIds.size(), newStatus);
 
@@ -760,6 +757,9 @@ public class OrderServiceImpl implements OrderService {
         }
 
         int result = orderMapper.batchUpdateStatus(orderIds, newStatus);
+        if (result > 0) {
+            evictUserStatisticsOfOrders(orderIds);
+        }
         return result > 0;
     }
 
@@ -774,6 +774,7 @@ public class OrderServiceImpl implements OrderService {
         if (success) {
             // 处理物流信息（可以扩展到物流表）
             log.info("订单发货成功: orderId={}", orderId);
+            orderLifecycleScheduler.registerCompletionDeadline(orderId);
         }
 
         return success;
@@ -848,6 +849,7 @@ public class OrderServiceImpl implements OrderService {
         boolean success = updateOrderStatus(orderId, Order.OrderStatus.COMPLETED.getCode());
 
         if (success) {
+            orderLifecycleScheduler.unregister(OrderLifecycleScheduler.Deadline.AUTO_COMPLETE, orderId);
             // 处理订单完成后的业务逻辑
             handleOrderComplete(orderId);
         }
@@ -906,29 +908,22 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public int autoCancelTimeoutOrders(Integer timeoutMinutes) {
         log.info("自动取消超时订单: timeoutMinutes={}", timeoutMinutes);
 
-        List<Order> timeoutOrders = getTimeoutOrders(timeoutMinutes);
-        if (CollectionUtils.isEmpty(timeoutOrders)) {
-            return 0;
+        if (timeoutMinutes == null || timeoutMinutes <= 0) {
+            timeoutMinutes = 30; // 默认30分钟
         }
 
-        List<Long> orderIds = timeoutOrders.stream()
-                .map(Order::getId)
-                .collect(Collectors.toList());
-
-        boolean success = batchCancelOrders(orderIds, "系统自动取消（支付超时）");
-
-        int cancelCount = success ? orderIds.size() : 0;
+        // 分批条件更新，每批独立提交，避免一次性加载并在单个大事务中取消全部订单
+        int cancelCount = orderLifecycleScheduler.cancelTimeoutOrders(
+                LocalDateTime.now().minusMinutes(timeoutMinutes), Integer.MAX_VALUE);
         log.info("自动取消超时订单完成: count={}", cancelCount);
 
         return cancelCount;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public int autoCompleteShippedOrders(Integer days) {
         log.info("自动完成已发货订单: days={}", days);
 
@@ -936,25 +931,9 @@ public class OrderServiceImpl implements OrderService {
             days = 7; // 默认7天
         }
 
-        // 查询超过指定天数的已发货订单
-        LocalDateTime completionTime = LocalDateTime.now().minusDays(days);
-
-        LambdaQueryWrapper<Order> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Order::getStatus, Order.OrderStatus.SHIPPED.getCode())
-                .le(Order::getUpdateTime, completionTime);
-
-        List<Order> shippedOrders = orderMapper.selectList(queryWrapper);
-        if (CollectionUtils.isEmpty(shippedOrders)) {
-            return 0;
-        }
-
-        List<Long> orderIds = shippedOrders.stream()
-                .map(Order::getId)
-                .collect(Collectors.toList());
-
-        boolean success = batchUpdateStatus(orderIds, Order.OrderStatus.COMPLETED.getCode());
-
-        int completeCount = success ? orderIds.size() : 0;
+        // 分批条件更新超过指定天数的已发货订单
+        int completeCount = orderLifecycleScheduler.completeShippedOrders(
+                LocalDateTime.now().minusDays(days), Integer.MAX_VALUE);
         log.info("自动完成已发货订单完成: count={}", completeCount);
 
         return completeCount;
@@ -1013,6 +992,33 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    public PageResponse<OrderResponse> getUserOrdersByCursor(Long userId, String status, String cursor, Integer pageSize) {
+        log.info("游标查询用户订单: userId={}, status={}, cursor={}, size={}", userId, status, cursor, pageSize);
+
+        if (pageSize == null || pageSize <= 0) {
+            pageSize = 10;
+        }
+        if (pageSize > 100) {
+            pageSize = 100; // 限制最大页面大小
+        }
+        long[] position = CursorUtil.decode(cursor);
+
+        // 按 (create_time, id) 倒序定位下一页，使用 idx_user_create_time 索引，不执行COUNT
+        LambdaQueryWrapper<Order> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Order::getUserId, userId);
+        if (StringUtils.hasText(status)) {
+            wrapper.eq(Order::getStatus, status);
+        }
+        CursorUtil.applySeek(wrapper, Order::getCreateTime, Order::getId, position, false, pageSize);
+
+        List<Order> orders = orderMapper.selectList(wrapper);
+        String nextCursor = CursorUtil.nextCursor(orders, pageSize, Order::getCreateTime, Order::getId);
+
+        List<OrderResponse> responses = orderConverter.toResponseList(orders);
+        return PageResponse.ofCursor(responses, pageSize, nextCursor);
+    }
+
     @Override
     public PageResponse<OrderResponse> getSellerOrders(Long sellerId, String status, Integer currentPage, Integer pageSize) {
         try {
@@ -1207,38 +1213,39 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE,
-//            key = OrderCacheConstant.USER_STATS_KEY + "#userId",
-//            expire = OrderCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE, key = "T(com.gig.collide.cache.OrderCacheConstant).buildUserStatisticsKey(#userId)",
+            expire = OrderCacheConstant.STATISTICS_EXPIRE,
+            localExpire = OrderCacheConstant.LOCAL_EXPIRE, localLimit = OrderCacheConstant.STATISTICS_LOCAL_LIMIT,
+            nullExpire = OrderCacheConstant.NULL_CACHE_EXPIRE)
     public Map<String, Object> getUserOrderStatistics(Long userId) {
         log.debug("统计用户订单数据: userId={}", userId);
         return orderMapper.selectUserOrderStatistics(userId);
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE,
-//            key = OrderCacheConstant.GOODS_STATS_KEY + "#goodsId",
-//            expire = OrderCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE, key = "'goods:' + #goodsId",
+            expire = OrderCacheConstant.STATISTICS_EXPIRE,
+            localExpire = OrderCacheConstant.LOCAL_EXPIRE, localLimit = OrderCacheConstant.STATISTICS_LOCAL_LIMIT,
+            nullExpire = OrderCacheConstant.NULL_CACHE_EXPIRE)
     public Map<String, Object> getGoodsSalesStatistics(Long goodsId) {
         log.debug("统计商品销售数据: goodsId={}", goodsId);
         return orderMapper.selectGoodsSalesStatistics(goodsId);
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE,
-//            expire = OrderCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE, key = "'type'",
+            expire = OrderCacheConstant.STATISTICS_EXPIRE,
+            localExpire = OrderCacheConstant.LOCAL_EXPIRE, localLimit = OrderCacheConstant.STATISTICS_LOCAL_LIMIT,
+            nullExpire = OrderCacheConstant.NULL_CACHE_EXPIRE)
     public List<Map<String, Object>> getOrderStatisticsByType() {
         log.debug("按商品类型统计订单");
         return orderMapper.selectOrderStatisticsByType();
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.HOT_GOODS_CACHE,
-//            expire = OrderCacheConstant.HOT_GOODS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = OrderCacheConstant.HOT_GOODS_CACHE, expire = OrderCacheConstant.HOT_GOODS_EXPIRE,
+            localExpire = OrderCacheConstant.LOCAL_EXPIRE, localLimit = OrderCacheConstant.SUMMARY_LOCAL_LIMIT,
+            nullExpire = OrderCacheConstant.NULL_CACHE_EXPIRE)
     public List<Map<String, Object>> getHotGoods(Integer limit) {
         log.debug("查询热门商品: limit={}", limit);
 
@@ -1250,19 +1257,16 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.REVENUE_CACHE,
-//            key = "T(com.gig.collide.order.infrastructure.cache.OrderCacheConstant).buildRevenueKey(#startDate, #endDate)",
-//            expire = OrderCacheConstant.REVENUE_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
+    @Cached(name = OrderCacheConstant.REVENUE_CACHE, key = "#startDate + ':' + #endDate",
+            expire = OrderCacheConstant.REVENUE_EXPIRE,
+            localExpire = OrderCacheConstant.LOCAL_EXPIRE, localLimit = OrderCacheConstant.SUMMARY_LOCAL_LIMIT,
+            nullExpire = OrderCacheConstant.NULL_CACHE_EXPIRE)
     public List<Map<String, Object>> getDailyRevenue(String startDate, String endDate) {
         log.debug("查询日营收统计: start={}, end={}", startDate, endDate);
         return orderMapper.selectDailyRevenue(startDate, endDate);
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.USER_PURCHASE_CACHE,
-//            expire = OrderCacheConstant.PURCHASE_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public List<Order> getUserRecentOrders(Long userId, Integer limit) {
         log.debug("查询用户最近购买记录: userId={}, limit={}", userId, limit);
 
@@ -1734,70 +1738,13 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public String generateOrderNo(Long userId) {
-        // 使用雪花算法生成唯一订单号，确保在分布式环境下的唯一性
-        long snowflakeId = generateSnowflakeId();
-        return "ORD" + snowflakeId;
-    }
-
-    /**
-     * 雪花算法生成唯一ID
-     * 64位ID：1位符号位 + 41位时间戳 + 10位工作机器ID + 12位序列号
-     */
-    private static final long EPOCH = 1640995200000L; // 2022-01-01 00:00:00 作为起始时间
-    private static final long WORKER_ID_BITS = 5L;
-    private static final long DATACENTER_ID_BITS = 5L;
-    private static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
-    private static final long MAX_DATACENTER_ID = ~(-1L << DATACENTER_ID_BITS);
-    private static final long SEQUENCE_BITS = 12L;
-    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
-    private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
-    private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
-    private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS);
-
-    private static long workerId = 1L; // 工作机器ID，可以从配置获取
-    private static long datacenterId = 1L; // 数据中心ID，可以从配置获取
-    private static long sequence = 0L;
-    private static long lastTimestamp = -1L;
-
-    private synchronized long generateSnowflakeId() {
-        long timestamp = System.currentTimeMillis();
-
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException("Clock moved backwards. Refusing to generate id");
-        }
-
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
-            }
-        } else {
-            sequence = 0L;
-        }
-
-        lastTimestamp = timestamp;
-
-        return ((timestamp - EPOCH) << TIMESTAMP_LEFT_SHIFT)
-                | (datacenterId << DATACENTER_ID_SHIFT)
-                | (workerId << WORKER_ID_SHIFT)
-                | sequence;
-    }
-
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
-        while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
-        }
-        return timestamp;
+        // 分布式ID生成器保证多节点下的唯一性，订单号随时间递增
+        return idGenerator.nextNo("ORD");
     }
 
     // =================== 计数统计 ===================
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE,
-//            key = "T(com.gig.collide.order.infrastructure.cache.OrderCacheConstant).buildGoodsCountKey(#goodsId, #status)",
-//            expire = OrderCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public Long countOrdersByGoodsId(Long goodsId, String status) {
         log.debug("统计商品订单数: goodsId={}, status={}", goodsId, status);
 
@@ -1809,10 +1756,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-//    @Cached(name = OrderCacheConstant.ORDER_STATISTICS_CACHE,
-//            key = "T(com.gig.collide.order.infrastructure.cache.OrderCacheConstant).buildUserCountKey(#userId, #status)",
-//            expire = OrderCacheConstant.STATISTICS_EXPIRE,
-//            timeUnit = TimeUnit.MINUTES)
     public Long countOrdersByUserId(Long userId, String status) {
         log.debug("统计用户订单数: userId={}, status={}", userId, status);
 
@@ -1825,6 +1768,27 @@ public class OrderServiceImpl implements OrderService {
 
     // =================== 私有方法 ===================
 
+    /**
+     * 失效用户订单统计缓存（事务中时在提交后执行）
+     */
+    private void evictUserStatistics(Long userId) {
+        if (userId != null) {
+            twoLevelCacheManager.evict(OrderCacheConstant.ORDER_STATISTICS_CACHE,
+                    OrderCacheConstant.buildUserStatisticsKey(userId));
+        }
+    }
+
+    /**
+     * 按订单ID查出所属用户后失效其订单统计缓存
+     */
+    private void evictUserStatisticsOfOrders(List<Long> orderIds) {
+        List<Long> userIds = orderMapper.selectUserIdsByOrderIds(orderIds);
+        if (!CollectionUtils.isEmpty(userIds)) {
+            twoLevelCacheManager.evict(OrderCacheConstant.ORDER_STATISTICS_CACHE,
+                    userIds.stream().map(OrderCacheConstant::buildUserStatisticsKey).collect(Collectors.toList()));
+        }
+    }
+
     /**
      * 设置订单默认值
      */
@@ -1910,6 +1874,9 @@ public class OrderServiceImpl implements OrderService {
         // 更新支付状态为已退款
         int result = orderMapper.updatePaymentInfo(order.getId(),
                 Order.PayStatus.REFUNDED.getCode(), order.getPayMethod(), LocalDateTime.now());
+        if (result > 0) {
+            evictUserStatistics(order.getUserId());
+        }
 
         return result > 0;
     }
@@ -1920,6 +1887,9 @@ public class OrderServiceImpl implements OrderService {
     private void handlePaymentSuccess(Order order) {
         log.info("处理支付成功后续逻辑: orderId={}, goodsType={}", order.getId(), order.getGoodsType());
 
+        orderLifecycleScheduler.unregister(OrderLifecycleScheduler.Deadline.PAY_TIMEOUT, order.getId());
+        confirmStock(order);
+
         // 根据商品类型处理不同的业务逻辑
         switch (order.getGoodsType()) {
             case COIN:
@@ -1949,6 +1919,47 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    /**
+     * 下单时占用库存：待支付订单预占到支付截止时间，其他订单直接扣减
+     */
+    private void reserveStock(Order order) {
+        if (!stockReservationEngine.isEnabled() || order.getGoodsId() == null) {
+            return;
+        }
+        if (stockReservationEngine.getAvailableStock(order.getGoodsId()) == null) {
+            log.warn("订单关联的商品不存在，跳过库存占用: orderNo={}, goodsId={}", order.getOrderNo(), order.getGoodsId());
+            return;
+        }
+        Map<Long, Integer> items = Map.of(order.getGoodsId(), order.getQuantity());
+        boolean success;
+        if (order.getPayStatus() == Order.PayStatus.UNPAID) {
+            success = stockReservationEngine.reserve(order.getOrderNo(), items,
+                    orderLifecycleScheduler.paymentDeadline(order.getCreateTime()));
+            if (success) {
+                stockReservationEngine.releaseOnRollback(order.getOrderNo());
+            }
+        } else {
+            success = stockReservationEngine.deduct(items);
+        }
+        if (!success) {
+            throw new IllegalStateException("库存不足: goodsId=" + order.getGoodsId());
+        }
+    }
+
+    /**
+     * 支付成功后确认库存预占；预占已超时释放时重新扣减，库存不足仅记录告警，不影响已完成的支付
+     */
+    private void confirmStock(Order order) {
+        if (!stockReservationEngine.isEnabled() || order.getGoodsId() == null) {
+            return;
+        }
+        int quantity = order.getQuantity() != null && order.getQuantity() > 0 ? order.getQuantity() : 1;
+        if (!stockReservationEngine.confirm(order.getOrderNo(), Map.of(order.getGoodsId(), quantity))) {
+            log.error("订单支付成功但库存已售罄，需人工处理: orderId={}, goodsId={}, quantity={}",
+                    order.getId(), order.getGoodsId(), quantity);
+        }
+    }
+
     /**
      * 处理订单完成后的业务逻辑
      */
@@ -2191,7 +2202,7 @@ public class OrderServiceImpl implements OrderService {
      * 生成订单号
      */
     private String generateOrderNo() {
-        return "ORD" + System.currentTimeMillis() + String.format("%04d", (int)(Math.random() * 10000));
+        return idGenerator.nextNo("ORD");
     }
 
     @Override
@@ -2477,6 +2488,19 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    public Result<PageResponse<OrderResponse>> getUserOrdersByCursorForController(Long userId, String status, String cursor, Integer pageSize) {
+        try {
+            log.info("游标获取用户订单（控制器层）: userId={}, status={}, cursor={}, pageSize={}", userId, status, cursor, pageSize);
+            return Result.success(getUserOrdersByCursor(userId, status, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标获取用户订单失败: userId={}", userId, e);
+            return Result.error("获取用户订单失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public Result<Map<String, Object>> processPaymentForController(Long id, String payMethod, Long userId) {
         try {
@@ -2496,7 +2520,7 @@ public class OrderServiceImpl implements OrderService {
         try {
             log.info("获取用户订单统计（控制器层）: userId={}", userId);
 
-            Map<String, Object> statistics = getUserOrderStatistics(userId);
+            Map<String, Object> statistics = self.getUserOrderStatistics(userId);
             return Result.success(statistics);
 
         } catch (Exception e) {
@@ -2703,7 +2727,7 @@ public class OrderServiceImpl implements OrderService {
         try {
             log.info("获取商品销售统计（控制器层）: goodsId={}", goodsId);
 
-            Map<String, Object> statistics = getGoodsSalesStatistics(goodsId);
+            Map<String, Object> statistics = self.getGoodsSalesStatistics(goodsId);
             return Result.success(statistics);
 
         } catch (Exception e) {
@@ -2717,7 +2741,7 @@ public class OrderServiceImpl implements OrderService {
         try {
             log.info("获取订单类型统计（控制器层）");
 
-            List<Map<String, Object>> statistics = getOrderStatisticsByType();
+            List<Map<String, Object>> statistics = self.getOrderStatisticsByType();
             return Result.success(statistics);
 
         } catch (Exception e) {
@@ -2731,7 +2755,7 @@ public class OrderServiceImpl implements OrderService {
         try {
             log.info("获取热门商品（控制器层）: limit={}", limit);
 
-            List<Map<String, Object>> hotGoods = getHotGoods(limit);
+            List<Map<String, Object>> hotGoods = self.getHotGoods(limit);
             return Result.success(hotGoods);
 
         } catch (Exception e) {
@@ -2749,7 +2773,7 @@ public class OrderServiceImpl implements OrderService {
             String startDateStr = startDate != null ? startDate.toString() : null;
             String endDateStr = endDate != null ? endDate.toString() : null;
 
-            List<Map<String, Object>> revenue = getDailyRevenue(startDateStr, endDateStr);
+            List<Map<String, Object>> revenue = self.getDailyRevenue(startDateStr, endDateStr);
             return Result.success(revenue);
 
         } catch (Exception e) {
@@ -7,6 +7,7 @@ import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.Apientry.api.payment.response.PaymentResponse;
 import com.gig.collide.domain.Payment;
+import com.gig.collide.id.IdGenerator;
 import com.gig.collide.mapper.PaymentMapper;
 import com.gig.collide.service.PaymentService;
 import lombok.extern.slf4j.Slf4j;
@@ -17,9 +18,7 @@ import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 /**
@@ -35,7 +34,8 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentMapper paymentMapper;
 
-    private final Random random = new Random();
+    @Autowired
+    private IdGenerator idGenerator;
 
     @Override
     @Transactional
@@ -189,9 +189,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public String generatePaymentNo() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.format("%06d", random.nextInt(1000000));
-        return "PAY" + timestamp + randomSuffix;
+        return idGenerator.nextNo("PAY");
     }
 
     @Override
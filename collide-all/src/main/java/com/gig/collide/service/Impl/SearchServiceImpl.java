@@ -12,11 +12,17 @@ import com.gig.collide.Apientry.api.search.response.HotSearchResponse;
 import com.gig.collide.Apientry.api.search.response.SearchHistoryResponse;
 import com.gig.collide.Apientry.api.search.response.SearchResponse;
 import com.gig.collide.Apientry.api.search.response.VideoSearchResponse;
+import com.gig.collide.domain.Content;
 import com.gig.collide.domain.HotSearch;
 import com.gig.collide.domain.SearchHistory;
+import com.gig.collide.mapper.ContentMapper;
 import com.gig.collide.mapper.HotSearchMapper;
 import com.gig.collide.mapper.SearchHistoryMapper;
 import com.gig.collide.mapper.VideoSearchMapper;
+import com.gig.collide.search.ContentSearchIndex;
+import com.gig.collide.search.SearchEventRecorder;
+import com.gig.collide.search.SearchSuggester;
+import com.gig.collide.search.TrendingEngine;
 import com.gig.collide.service.SearchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,8 +31,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -51,6 +59,21 @@ public class SearchServiceImpl implements SearchService {
     @Autowired
     private VideoSearchMapper videoSearchMapper;
 
+    @Autowired
+    private ContentMapper contentMapper;
+
+    @Autowired
+    private ContentSearchIndex contentSearchIndex;
+
+    @Autowired
+    private SearchSuggester searchSuggester;
+
+    @Autowired
+    private SearchEventRecorder searchEventRecorder;
+
+    @Autowired
+    private TrendingEngine trendingEngine;
+
     @Override
     @Transactional
     public Result<SearchResponse> search(SearchRequest request) {
@@ -83,11 +106,12 @@ public class SearchServiceImpl implements SearchService {
                     log.warn("未知搜索类型: {}", searchType);
             }
 
-            // 记录搜索历史
-            recordSearchHistory(userId, keyword, searchType, results.size());
-
-            // 更新热搜统计
-            updateHotSearchStats(keyword);
+            // 记录搜索历史与热搜统计：异步合并写入，未接管时同步写库
+            if (!searchEventRecorder.record(userId, keyword, searchType, results.size())) {
+                recordSearchHistory(userId, keyword, searchType, results.size());
+                updateHotSearchStats(keyword);
+                trendingEngine.record(searchType, keyword, 1L);
+            }
 
             // 创建SearchResponse对象
             SearchResponse searchResponse = new SearchResponse();
@@ -236,6 +260,12 @@ public class SearchServiceImpl implements SearchService {
     @Override
     public Result<List<HotSearchResponse>> getHotSearchKeywords(Integer limit) {
         try {
+            // 优先使用实时趋势排名，无数据时回退按搜索次数排序
+            List<TrendingEngine.TrendingKeyword> trending = trendingEngine.top(TrendingEngine.CHANNEL_ALL, limit != null ? limit : 10);
+            if (trending != null && !trending.isEmpty()) {
+                return Result.success(convertToHotSearchResponses(trending));
+            }
+
             LambdaQueryWrapper<HotSearch> queryWrapper = new LambdaQueryWrapper<>();
             queryWrapper.orderByDesc(HotSearch::getSearchCount);
             queryWrapper.last("LIMIT " + (limit != null ? limit : 10));
@@ -255,9 +285,12 @@ public class SearchServiceImpl implements SearchService {
     @Override
     public Result<List<String>> getSearchSuggestions(String keyword, Integer limit) {
         try {
-            // 这里应该实现搜索建议逻辑
-            // 可以从搜索历史、热门搜索等数据源获取建议
-            List<String> suggestions = new ArrayList<>();
+            // 优先使用内存前缀补全
+            List<String> suggestions = searchSuggester.suggest(keyword, limit != null ? limit : 5);
+            if (suggestions != null) {
+                return Result.success(suggestions);
+            }
+            suggestions = new ArrayList<>();
 
             // 从搜索历史获取建议
             LambdaQueryWrapper<SearchHistory> queryWrapper = new LambdaQueryWrapper<>();
@@ -281,6 +314,11 @@ public class SearchServiceImpl implements SearchService {
     @Override
     public Result<List<HotSearchResponse>> getHotKeywordsByType(String searchType, Integer limit) {
         try {
+            List<TrendingEngine.TrendingKeyword> trending = trendingEngine.top(searchType, limit != null ? limit : 10);
+            if (trending != null && !trending.isEmpty()) {
+                return Result.success(convertToHotSearchResponses(trending));
+            }
+
             // HotSearch实体没有searchType字段，需要通过关联查询或使用Mapper的专用方法
             // 这里使用Mapper的专用方法
             List<HotSearch> hotSearches = hotSearchMapper.selectHotKeywordsByType(searchType, limit);
@@ -360,6 +398,7 @@ public class SearchServiceImpl implements SearchService {
                 hotSearch.setTrendScore(BigDecimal.valueOf(1.0));
                 hotSearchMapper.insert(hotSearch);
             }
+            searchSuggester.onSearched(keyword);
             return Result.success(null);
         } catch (Exception e) {
             log.error("更新热搜统计失败", e);
@@ -367,15 +406,74 @@ public class SearchServiceImpl implements SearchService {
         }
     }
 
+    @Override
+    public Result<Integer> rebuildSearchIndex() {
+        try {
+            int indexed = contentSearchIndex.rebuild();
+            return Result.success(indexed);
+        } catch (Exception e) {
+            log.error("重建搜索索引失败", e);
+            return Result.error("重建搜索索引失败: " + e.getMessage());
+        }
+    }
+
     // =================== 私有方法 ===================
 
     /**
      * 搜索内容
      */
     private List<Object> searchContent(String keyword, Integer pageNum, Integer pageSize, String sortBy) {
-        // 这里应该调用内容模块的搜索接口
         log.debug("搜索内容: keyword={}, page={}, size={}", keyword, pageNum, pageSize);
-        return new ArrayList<>();
+        int page = pageNum != null && pageNum > 0 ? pageNum : 1;
+        int size = pageSize != null && pageSize > 0 ? pageSize : 20;
+
+        ContentSearchIndex.Query query = new ContentSearchIndex.Query();
+        query.setKeyword(keyword);
+        query.setApprovedOnly(true);
+        query.setSortBy(StringUtils.hasText(sortBy) ? sortBy : "relevance");
+        query.setSortDirection("DESC");
+        query.setOffset((page - 1) * size);
+        query.setLimit(size);
+
+        List<Object> results = new ArrayList<>();
+        ContentSearchIndex.Hits hits = contentSearchIndex.search(query);
+        if (hits == null) {
+            // 索引不可用时回退数据库全文检索
+            for (Content content : contentMapper.searchContents(keyword, null, null, (page - 1) * size, size)) {
+                results.add(toSearchResultMap(content, null));
+            }
+            return results;
+        }
+
+        if (hits.getHits().isEmpty()) {
+            return results;
+        }
+        List<Long> contentIds = hits.getHits().stream()
+                .map(ContentSearchIndex.Hit::getContentId)
+                .collect(Collectors.toList());
+        Map<Long, Content> contents = contentMapper.selectBatchIds(contentIds).stream()
+                .collect(Collectors.toMap(Content::getId, content -> content, (a, b) -> a));
+        for (ContentSearchIndex.Hit hit : hits.getHits()) {
+            Content content = contents.get(hit.getContentId());
+            if (content != null) {
+                results.add(toSearchResultMap(content, hit.getScore()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 将内容转换为通用搜索结果Map
+     */
+    private Map<String, Object> toSearchResultMap(Content content, Double score) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", content.getId());
+        map.put("title", content.getTitle());
+        map.put("description", content.getDescription());
+        map.put("type", "content");
+        map.put("imageUrl", content.getCoverUrl());
+        map.put("score", score);
+        return map;
     }
 
     /**
@@ -449,7 +547,7 @@ public class SearchServiceImpl implements SearchService {
                 item.setContent((String) map.get("description"));
                 item.setType((String) map.get("type")); // 例如 "content", "goods", "user"
                 item.setThumbnail((String) map.get("imageUrl"));
-                item.setScore(null); // 暂时设置为null，实际应该从搜索结果中获取
+                item.setScore(map.get("score") instanceof Number ? ((Number) map.get("score")).doubleValue() : null);
                 item.setHighlight(null); // 暂时设置为null，实际应该从搜索结果中获取
             } else {
                 // 处理非Map类型的结果，例如直接的String或Object
@@ -479,6 +577,23 @@ public class SearchServiceImpl implements SearchService {
         return response;
     }
 
+    /**
+     * 将实时趋势热词转换为HotSearchResponse（搜索次数为窗口内估计值）
+     */
+    private List<HotSearchResponse> convertToHotSearchResponses(List<TrendingEngine.TrendingKeyword> trending) {
+        List<HotSearchResponse> responses = new ArrayList<>(trending.size());
+        for (TrendingEngine.TrendingKeyword keyword : trending) {
+            HotSearchResponse response = new HotSearchResponse();
+            response.setKeyword(keyword.getKeyword());
+            response.setSearchCount(keyword.getWindowCount());
+            response.setTrendScore(BigDecimal.valueOf(keyword.getScore()).setScale(2, RoundingMode.HALF_UP));
+            response.setStatus("active");
+            response.setRank(responses.size() + 1);
+            responses.add(response);
+        }
+        return responses;
+    }
+
     // =================== 视频混合搜索功能 ===================
 
     @Override
@@ -488,6 +603,14 @@ public class SearchServiceImpl implements SearchService {
         try {
             // 构建搜索条件
             VideoSearchCondition condition = buildVideoSearchCondition(request);
+
+            // 优先使用内存索引，只回表当前页
+            PageResponse<VideoSearchResponse> indexedResponse = searchVideosByIndex(condition, request);
+            if (indexedResponse != null) {
+                log.info("视频混合搜索完成(索引): 总数={}, 当前页={}, 页面大小={}",
+                        indexedResponse.getTotal(), request.getCurrentPage(), request.getPageSize());
+                return Result.success(indexedResponse);
+            }
             
             // 执行搜索
             List<VideoSearchResponse> results = executeVideoSearch(condition);
@@ -525,8 +648,11 @@ public class SearchServiceImpl implements SearchService {
             List<String> suggestions = new ArrayList<>();
             
             if (StringUtils.hasText(keyword)) {
-                // 从数据库获取搜索建议
-                suggestions = videoSearchMapper.getVideoSearchSuggestions(keyword, limit);
+                // 优先使用内存前缀补全，未就绪时从数据库获取搜索建议
+                List<String> indexed = searchSuggester.suggest(keyword, limit != null ? limit : 10);
+                suggestions = indexed != null
+                        ? new ArrayList<>(indexed)
+                        : videoSearchMapper.getVideoSearchSuggestions(keyword, limit);
             }
             
             // 如果数据库没有返回足够的结果，添加一些默认建议
@@ -644,6 +770,89 @@ public class SearchServiceImpl implements SearchService {
         return condition;
     }
 
+    /**
+     * 通过内存索引执行视频搜索
+     *
+     * @return 分页结果；索引不可用时返回null，由调用方回退数据库查询
+     */
+    private PageResponse<VideoSearchResponse> searchVideosByIndex(VideoSearchCondition condition, VideoSearchRequest request) {
+        int currentPage = request.getCurrentPage() != null && request.getCurrentPage() > 0 ? request.getCurrentPage() : 1;
+        int pageSize = request.getPageSize() != null && request.getPageSize() > 0 ? request.getPageSize() : 20;
+
+        ContentSearchIndex.Query query = new ContentSearchIndex.Query();
+        query.setKeyword(condition.keyword);
+        query.setContentType(condition.contentType);
+        query.setCategoryId(condition.categoryId);
+        query.setAuthorId(condition.authorId);
+        query.setTags(condition.tags);
+        query.setPriceType("ALL".equals(condition.priceType) ? null : condition.priceType);
+        // 金币价格为整数，区间边界向内取整
+        query.setMinPrice(condition.minPrice != null ? condition.minPrice.setScale(0, RoundingMode.CEILING).longValue() : null);
+        query.setMaxPrice(condition.maxPrice != null ? condition.maxPrice.setScale(0, RoundingMode.FLOOR).longValue() : null);
+        query.setVipOnly(condition.vipOnly);
+        query.setTrialEnabled(condition.trialEnabled);
+        query.setCreatedAfter(resolveCreatedAfter(condition.timeRange, condition.customDays));
+        query.setIncludeOffline(Boolean.TRUE.equals(condition.includeOffline));
+        query.setSortBy(condition.sortBy);
+        query.setSortDirection(condition.sortDirection);
+        query.setOffset((currentPage - 1) * pageSize);
+        query.setLimit(pageSize);
+
+        ContentSearchIndex.Hits hits = contentSearchIndex.search(query);
+        if (hits == null) {
+            return null;
+        }
+
+        List<VideoSearchResponse> records = new ArrayList<>(hits.getHits().size());
+        if (!hits.getHits().isEmpty()) {
+            List<Long> contentIds = hits.getHits().stream()
+                    .map(ContentSearchIndex.Hit::getContentId)
+                    .collect(Collectors.toList());
+            Map<Long, VideoSearchResponse> videos = new HashMap<>(contentIds.size() * 2);
+            for (Map<String, Object> row : videoSearchMapper.selectVideosByIds(contentIds)) {
+                VideoSearchResponse video = convertMapToVideoSearchResponse(row);
+                videos.put(video.getContentId(), video);
+            }
+            for (ContentSearchIndex.Hit hit : hits.getHits()) {
+                VideoSearchResponse video = videos.get(hit.getContentId());
+                if (video != null) {
+                    video.setRelevanceScore(hit.getScore());
+                    records.add(video);
+                }
+            }
+        }
+
+        PageResponse<VideoSearchResponse> pageResponse = new PageResponse<>();
+        pageResponse.setRecords(records);
+        pageResponse.setTotal(hits.getTotal());
+        pageResponse.setCurrentPage(currentPage);
+        pageResponse.setPageSize(pageSize);
+        pageResponse.setTotalPages((int) Math.ceil((double) hits.getTotal() / pageSize));
+        return pageResponse;
+    }
+
+    /**
+     * 将时间范围条件换算为创建时间下限（与 searchVideosWithConditions 一致）
+     */
+    private LocalDateTime resolveCreatedAfter(String timeRange, Integer customDays) {
+        if (timeRange == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        switch (timeRange) {
+            case "THIS_WEEK":
+                return now.minusDays(7);
+            case "THIS_MONTH":
+                return now.minusDays(30);
+            case "HALF_YEAR":
+                return now.minusDays(180);
+            case "CUSTOM":
+                return customDays != null ? now.minusDays(customDays) : null;
+            default:
+                return null;
+        }
+    }
+
     /**
      * 执行视频搜索
      */
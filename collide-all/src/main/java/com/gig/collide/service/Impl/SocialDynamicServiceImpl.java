@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.domain.SocialDynamic;
 import com.gig.collide.domain.Like;
 import com.gig.collide.mapper.SocialDynamicMapper;
+import com.gig.collide.profile.ProfileChangeOutbox;
+import com.gig.collide.profile.ProfileSyncTarget;
 import com.gig.collide.service.SocialDynamicService;
 import com.gig.collide.service.LikeService;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -33,6 +36,9 @@ public class SocialDynamicServiceImpl implements SocialDynamicService {
     @Autowired
     private LikeService likeService;
 
+    @Autowired
+    private ProfileChangeOutbox profileChangeOutbox;
+
     // =================== 动态创建方法（对应Mapper1个） ===================
 
     @Override
@@ -347,9 +353,11 @@ public class SocialDynamicServiceImpl implements SocialDynamicService {
     @Transactional
     public int updateUserInfo(Long userId, String userNickname, String userAvatar, Long operatorId) {
         log.debug("更新用户信息: 用户ID={}, 昵称={}, 操作者ID={}", userId, userNickname, operatorId);
-        int result = socialDynamicMapper.updateUserInfo(userId, userNickname, userAvatar);
+        // 冗余字段由后台任务分块改写，这里只写入变更事件
+        int result = profileChangeOutbox.publishAndCountRows(userId, userNickname, userAvatar,
+                EnumSet.of(ProfileSyncTarget.DYNAMIC_USER));
         if (result > 0) {
-            log.info("用户信息更新成功: 用户ID={}, 操作者ID={}", userId, operatorId);
+            log.info("用户信息更新已受理: 用户ID={}, 影响行数={}, 操作者ID={}", userId, result, operatorId);
         }
         return result;
     }
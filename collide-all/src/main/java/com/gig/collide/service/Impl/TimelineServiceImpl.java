@@ -0,0 +1,549 @@
+package com.gig.collide.service.Impl;
+
+import com.gig.collide.cache.FollowCacheConstant;
+import com.gig.collide.config.TimelineConfig;
+import com.gig.collide.domain.Content;
+import com.gig.collide.domain.User;
+import com.gig.collide.hotkey.HotKeyDetector;
+import com.gig.collide.mapper.ContentMapper;
+import com.gig.collide.mapper.FollowMapper;
+import com.gig.collide.mapper.UserMapper;
+import com.gig.collide.service.TimelineService;
+import com.gig.collide.util.CursorUtil;
+import com.gig.collide.util.TransactionCallbackUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 关注时间线服务实现
+ *
+ * Redis 结构：
+ * - 收件箱 timeline:inbox:{userId}：ZSET，score 为内容创建时间毫秒，member 为内容ID，保留最近 inboxSize 条
+ * - 发件箱 timeline:outbox:{authorId}：ZSET，作者最近发布的内容，用于大V拉取与关注回填
+ * - 大V名单 timeline:celebrities：粉丝数超过阈值的作者，发布时不写扩散
+ * - 大V关注集合 timeline:celeb-follows:{userId}：用户关注的大V，读取时合并其发件箱
+ *
+ * 收件箱/发件箱均包含 score 为0的占位成员，键存在即代表已从数据库完整加载；
+ * 增量写入只作用于已存在的键，缺失的键在下次读取时从数据库重建。
+ * 分页读取经由 {@link HotKeyDetector}，大V发件箱被大量粉丝同时拉取时由本地短期副本承接。
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class TimelineServiceImpl implements TimelineService {
+
+    /**
+     * 占位成员（内容ID均为正数，不会冲突）
+     */
+    private static final String PLACEHOLDER = "0";
+
+    /**
+     * 相同排序值的条目在游标处可能被截断，读取时多取的余量
+     */
+    private static final int TIE_MARGIN = 16;
+
+    private static final String ACTIVE = "active";
+
+    /**
+     * 仅在ZSET已加载时写入条目并截断到容量上限
+     * KEYS[1]=ZSET键，ARGV[1]=容量，ARGV[2..]=score/member 成对出现
+     */
+    private static final DefaultRedisScript<Long> ZADD_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  for i = 2, #ARGV, 2 do " +
+            "    redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+            "  end " +
+            "  return redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[1]) - 1) " +
+            "end " +
+            "return -1", Long.class);
+
+    /**
+     * 仅在收件箱已加载时记录用户关注的大V
+     * KEYS[1]=收件箱，KEYS[2]=大V关注集合，ARGV[1]=大V作者ID，ARGV[2]=过期秒数
+     */
+    private static final DefaultRedisScript<Long> SADD_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  redis.call('SADD', KEYS[2], ARGV[1]) " +
+            "  redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "return -1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final FollowMapper followMapper;
+    private final ContentMapper contentMapper;
+    private final UserMapper userMapper;
+    private final TimelineConfig timelineConfig;
+    private final Executor timelineExecutor;
+    private final HotKeyDetector hotKeyDetector;
+
+    public TimelineServiceImpl(StringRedisTemplate stringRedisTemplate,
+                               FollowMapper followMapper,
+                               ContentMapper contentMapper,
+                               UserMapper userMapper,
+                               TimelineConfig timelineConfig,
+                               @Qualifier("timelineExecutor") Executor timelineExecutor,
+                               HotKeyDetector hotKeyDetector) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.followMapper = followMapper;
+        this.contentMapper = contentMapper;
+        this.userMapper = userMapper;
+        this.timelineConfig = timelineConfig;
+        this.timelineExecutor = timelineExecutor;
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return timelineConfig.isEnabled();
+    }
+
+    // =================== 写入路径 ===================
+
+    @Override
+    public void onContentPublished(Content content) {
+        if (!isEnabled() || content == null || content.getId() == null || content.getAuthorId() == null) {
+            return;
+        }
+        Long contentId = content.getId();
+        Long authorId = content.getAuthorId();
+        long sortKey = CursorUtil.toSortKey(content.getCreateTime());
+        afterCommitAsync("发布扩散", () -> fanOut(contentId, authorId, sortKey));
+    }
+
+    @Override
+    public void onContentRemoved(Long contentId, Long authorId) {
+        if (!isEnabled() || contentId == null || authorId == null) {
+            return;
+        }
+        String outboxKey = FollowCacheConstant.buildTimelineOutboxKey(authorId);
+        afterCommitAsync("发件箱移除", () -> {
+            stringRedisTemplate.opsForZSet().remove(outboxKey, String.valueOf(contentId));
+            hotKeyDetector.invalidate(List.of(outboxKey));
+        });
+    }
+
+    @Override
+    public void onFollow(Long followerId, Long followeeId) {
+        if (!isEnabled() || followerId == null || followeeId == null) {
+            return;
+        }
+        afterCommitAsync("关注回填", () -> backfill(followerId, followeeId));
+    }
+
+    @Override
+    public void onUnfollow(Long followerId, Long followeeId) {
+        if (!isEnabled() || followerId == null || followeeId == null) {
+            return;
+        }
+        afterCommitAsync("取关移除", () -> purge(followerId, followeeId));
+    }
+
+    // =================== 读取路径 ===================
+
+    @Override
+    public List<TimelineEntry> readFollowingTimeline(Long userId, long maxSortKey, long maxContentId, int limit) {
+        if (!isEnabled() || userId == null || limit <= 0) {
+            return null;
+        }
+        String inboxKey = FollowCacheConstant.buildTimelineInboxKey(userId);
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(inboxKey))) {
+                rebuildInbox(userId);
+            }
+
+            int fetch = limit + TIE_MARGIN;
+            List<TimelineEntry> candidates = new ArrayList<>();
+            collectBefore(inboxKey, () -> { }, maxSortKey, maxContentId, fetch, candidates);
+
+            // 大V内容不写扩散，读取时合并其发件箱
+            Set<String> celebrities = stringRedisTemplate.opsForSet()
+                    .members(FollowCacheConstant.buildTimelineCelebrityFollowsKey(userId));
+            if (celebrities != null) {
+                for (String celebrityId : celebrities) {
+                    Long authorId = Long.valueOf(celebrityId);
+                    collectBefore(FollowCacheConstant.buildTimelineOutboxKey(authorId), () -> ensureOutbox(authorId),
+                            maxSortKey, maxContentId, fetch, candidates);
+                }
+            }
+
+            candidates.sort(Comparator.comparing(TimelineEntry::getSortKey)
+                    .thenComparing(TimelineEntry::getContentId)
+                    .reversed());
+            Set<Long> seen = new HashSet<>();
+            List<TimelineEntry> result = new ArrayList<>(limit);
+            for (TimelineEntry entry : candidates) {
+                if (seen.add(entry.getContentId())) {
+                    result.add(entry);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } catch (DataAccessException e) {
+            log.warn("读取关注时间线失败，回退数据库: userId={}", userId, e);
+            return null;
+        }
+    }
+
+    // =================== 重建 ===================
+
+    @Override
+    public int rebuildInbox(Long userId) {
+        List<Long> followingIds = followMapper.getFollowingAuthorIds(userId, ACTIVE);
+
+        List<String> celebrityIds = new ArrayList<>();
+        List<Long> regularIds = new ArrayList<>();
+        if (!followingIds.isEmpty()) {
+            Object[] members = followingIds.stream().map(String::valueOf).toArray();
+            Map<Object, Boolean> membership = stringRedisTemplate.opsForSet()
+                    .isMember(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY, members);
+            for (Long authorId : followingIds) {
+                String member = String.valueOf(authorId);
+                if (membership != null && Boolean.TRUE.equals(membership.get(member))) {
+                    celebrityIds.add(member);
+                } else {
+                    regularIds.add(authorId);
+                }
+            }
+        }
+
+        List<Content> entries = regularIds.isEmpty()
+                ? Collections.emptyList()
+                : contentMapper.selectTimelineEntries(regularIds, timelineConfig.getInboxSize());
+
+        String inboxKey = FollowCacheConstant.buildTimelineInboxKey(userId);
+        String celebrityKey = FollowCacheConstant.buildTimelineCelebrityFollowsKey(userId);
+        Set<ZSetOperations.TypedTuple<String>> tuples = toTuples(entries);
+        long expireHours = timelineConfig.getInboxExpireHours();
+
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                operations.delete(inboxKey);
+                operations.delete(celebrityKey);
+                operations.opsForZSet().add(inboxKey, tuples);
+                operations.expire(inboxKey, expireHours, TimeUnit.HOURS);
+                if (!celebrityIds.isEmpty()) {
+                    operations.opsForSet().add(celebrityKey, celebrityIds.toArray());
+                    operations.expire(celebrityKey, expireHours, TimeUnit.HOURS);
+                }
+                return operations.exec();
+            }
+        });
+
+        log.debug("关注时间线收件箱已重建: userId={}, entries={}, celebrities={}",
+                userId, entries.size(), celebrityIds.size());
+        return entries.size();
+    }
+
+    @Override
+    public int rebuildAll() {
+        List<Long> celebrityIds = userMapper.selectIdsByMinFollowerCount(timelineConfig.getCelebrityFollowerThreshold());
+        Object[] members = celebrityIds.stream().map(String::valueOf).toArray();
+
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                operations.delete(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY);
+                if (members.length > 0) {
+                    operations.opsForSet().add(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY, members);
+                }
+                return operations.exec();
+            }
+        });
+
+        int deleted = deleteByPrefix(FollowCacheConstant.TIMELINE_INBOX_PREFIX)
+                + deleteByPrefix(FollowCacheConstant.TIMELINE_CELEBRITY_FOLLOWS_PREFIX)
+                + deleteByPrefix(FollowCacheConstant.TIMELINE_OUTBOX_PREFIX);
+        log.info("关注时间线已重置: celebrities={}, deletedKeys={}", celebrityIds.size(), deleted);
+        return deleted;
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 写入作者发件箱，并写扩散到粉丝收件箱；大V只登记名单，由粉丝读取时拉取
+     */
+    private void fanOut(Long contentId, Long authorId, long sortKey) {
+        String member = String.valueOf(contentId);
+        String score = String.valueOf(sortKey);
+        String outboxKey = FollowCacheConstant.buildTimelineOutboxKey(authorId);
+        stringRedisTemplate.execute(ZADD_IF_LOADED_SCRIPT, Collections.singletonList(outboxKey),
+                String.valueOf(timelineConfig.getOutboxSize()), score, member);
+        hotKeyDetector.invalidate(List.of(outboxKey));
+
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForSet()
+                .isMember(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY, String.valueOf(authorId)))) {
+            return;
+        }
+        User author = userMapper.selectById(authorId);
+        if (author != null && author.getFollowerCount() != null
+                && author.getFollowerCount() >= timelineConfig.getCelebrityFollowerThreshold()) {
+            promoteCelebrity(authorId);
+            return;
+        }
+
+        String inboxSize = String.valueOf(timelineConfig.getInboxSize());
+        int fanned = forEachFollowerBatch(authorId, followerIds -> {
+            List<String[]> calls = new ArrayList<>(followerIds.size());
+            for (Long followerId : followerIds) {
+                calls.add(new String[]{FollowCacheConstant.buildTimelineInboxKey(followerId), inboxSize, score, member});
+            }
+            evalPipelined(ZADD_IF_LOADED_SCRIPT, 1, calls);
+        });
+        log.debug("关注时间线写扩散完成: contentId={}, authorId={}, followers={}", contentId, authorId, fanned);
+    }
+
+    /**
+     * 作者升级为大V：登记名单，并把作者记入已加载粉丝的大V关注集合（仅执行一次）
+     */
+    private void promoteCelebrity(Long authorId) {
+        String member = String.valueOf(authorId);
+        Long added = stringRedisTemplate.opsForSet().add(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY, member);
+        if (added == null || added == 0) {
+            return;
+        }
+        String expireSeconds = String.valueOf(TimeUnit.HOURS.toSeconds(timelineConfig.getInboxExpireHours()));
+        int followers = forEachFollowerBatch(authorId, followerIds -> {
+            List<String[]> calls = new ArrayList<>(followerIds.size());
+            for (Long followerId : followerIds) {
+                calls.add(new String[]{
+                        FollowCacheConstant.buildTimelineInboxKey(followerId),
+                        FollowCacheConstant.buildTimelineCelebrityFollowsKey(followerId),
+                        member, expireSeconds});
+            }
+            evalPipelined(SADD_IF_LOADED_SCRIPT, 2, calls);
+        });
+        log.info("作者升级为时间线大V，改为读时拉取: authorId={}, followers={}", authorId, followers);
+    }
+
+    /**
+     * 关注后回填：大V只记入大V关注集合，普通作者回填最近内容到收件箱
+     */
+    private void backfill(Long followerId, Long followeeId) {
+        String inboxKey = FollowCacheConstant.buildTimelineInboxKey(followerId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(inboxKey))) {
+            // 收件箱未加载，下次读取时重建即包含新关注的作者
+            return;
+        }
+
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForSet()
+                .isMember(FollowCacheConstant.TIMELINE_CELEBRITIES_KEY, String.valueOf(followeeId)))) {
+            stringRedisTemplate.execute(SADD_IF_LOADED_SCRIPT,
+                    List.of(inboxKey, FollowCacheConstant.buildTimelineCelebrityFollowsKey(followerId)),
+                    String.valueOf(followeeId),
+                    String.valueOf(TimeUnit.HOURS.toSeconds(timelineConfig.getInboxExpireHours())));
+            return;
+        }
+
+        ensureOutbox(followeeId);
+        Set<ZSetOperations.TypedTuple<String>> recent = stringRedisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(FollowCacheConstant.buildTimelineOutboxKey(followeeId),
+                        1, Double.MAX_VALUE, 0, timelineConfig.getBackfillSize());
+        if (recent == null || recent.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(recent.size() * 2 + 1);
+        args.add(String.valueOf(timelineConfig.getInboxSize()));
+        for (ZSetOperations.TypedTuple<String> tuple : recent) {
+            args.add(String.valueOf(tuple.getScore().longValue()));
+            args.add(tuple.getValue());
+        }
+        stringRedisTemplate.execute(ZADD_IF_LOADED_SCRIPT, Collections.singletonList(inboxKey), args.toArray());
+        hotKeyDetector.invalidate(List.of(inboxKey));
+        log.debug("关注回填完成: followerId={}, followeeId={}, entries={}", followerId, followeeId, recent.size());
+    }
+
+    /**
+     * 取消关注后移除：按收件箱容量查出被取关作者的最近内容并从收件箱删除
+     */
+    private void purge(Long followerId, Long followeeId) {
+        String inboxKey = FollowCacheConstant.buildTimelineInboxKey(followerId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(inboxKey))) {
+            return;
+        }
+        stringRedisTemplate.opsForSet().remove(
+                FollowCacheConstant.buildTimelineCelebrityFollowsKey(followerId), String.valueOf(followeeId));
+
+        List<Content> entries = contentMapper.selectTimelineEntries(
+                Collections.singletonList(followeeId), timelineConfig.getInboxSize());
+        if (entries.isEmpty()) {
+            return;
+        }
+        Object[] members = entries.stream().map(content -> String.valueOf(content.getId())).toArray();
+        stringRedisTemplate.opsForZSet().remove(inboxKey, members);
+        hotKeyDetector.invalidate(List.of(inboxKey));
+        log.debug("取关移除完成: followerId={}, followeeId={}, entries={}", followerId, followeeId, members.length);
+    }
+
+    /**
+     * 发件箱不存在时从数据库加载
+     */
+    private void ensureOutbox(Long authorId) {
+        String outboxKey = FollowCacheConstant.buildTimelineOutboxKey(authorId);
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(outboxKey))) {
+            return;
+        }
+        List<Content> entries = contentMapper.selectTimelineEntries(
+                Collections.singletonList(authorId), timelineConfig.getOutboxSize());
+        Set<ZSetOperations.TypedTuple<String>> tuples = toTuples(entries);
+        long expireHours = timelineConfig.getInboxExpireHours();
+
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                operations.delete(outboxKey);
+                operations.opsForZSet().add(outboxKey, tuples);
+                operations.expire(outboxKey, expireHours, TimeUnit.HOURS);
+                return operations.exec();
+            }
+        });
+    }
+
+    /**
+     * 收集游标之前的条目（排序值 score 从 maxSortKey 向下，占位成员的 score 为0不会被取到）
+     * 热点键的同一分页由本地副本承接，副本有效期内不再访问 Redis（包括 ensureLoaded 中的存在性检查）
+     */
+    private void collectBefore(String key, Runnable ensureLoaded, long maxSortKey, long maxContentId, int fetch,
+                               List<TimelineEntry> into) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = hotKeyDetector.read(key, maxSortKey + ":" + fetch, () -> {
+            ensureLoaded.run();
+            return stringRedisTemplate.opsForZSet().reverseRangeByScoreWithScores(key, 1, (double) maxSortKey, 0, fetch);
+        });
+        if (tuples == null) {
+            return;
+        }
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            if (tuple.getValue() == null || tuple.getScore() == null) {
+                continue;
+            }
+            long sortKey = tuple.getScore().longValue();
+            long contentId = Long.parseLong(tuple.getValue());
+            if (sortKey < maxSortKey || (sortKey == maxSortKey && contentId < maxContentId)) {
+                into.add(new TimelineEntry(contentId, sortKey));
+            }
+        }
+    }
+
+    private Set<ZSetOperations.TypedTuple<String>> toTuples(List<Content> entries) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>(entries.size() + 1);
+        tuples.add(new DefaultTypedTuple<>(PLACEHOLDER, 0D));
+        for (Content content : entries) {
+            tuples.add(new DefaultTypedTuple<>(String.valueOf(content.getId()),
+                    (double) CursorUtil.toSortKey(content.getCreateTime())));
+        }
+        return tuples;
+    }
+
+    /**
+     * 按粉丝ID分批遍历有效粉丝
+     *
+     * @return 遍历的粉丝总数
+     */
+    private int forEachFollowerBatch(Long authorId, Consumer<List<Long>> action) {
+        int batchSize = timelineConfig.getFanoutBatchSize();
+        long afterFollowerId = 0L;
+        int total = 0;
+        while (true) {
+            List<Long> followerIds = followMapper.findActiveFollowerIdsAfter(authorId, afterFollowerId, batchSize);
+            if (followerIds.isEmpty()) {
+                return total;
+            }
+            action.accept(followerIds);
+            total += followerIds.size();
+            if (followerIds.size() < batchSize) {
+                return total;
+            }
+            afterFollowerId = followerIds.get(followerIds.size() - 1);
+        }
+    }
+
+    /**
+     * 以管道批量执行同一脚本，每个调用的参数为 keys 在前、args 在后
+     */
+    private void evalPipelined(DefaultRedisScript<Long> script, int numKeys, List<String[]> calls) {
+        byte[] body = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String[] call : calls) {
+                byte[][] keysAndArgs = new byte[call.length][];
+                for (int i = 0; i < call.length; i++) {
+                    keysAndArgs[i] = call[i].getBytes(StandardCharsets.UTF_8);
+                }
+                connection.scriptingCommands().eval(body, ReturnType.INTEGER, numKeys, keysAndArgs);
+            }
+            return null;
+        });
+    }
+
+    private int deleteByPrefix(String prefix) {
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(1000).build();
+        List<String> keys = stringRedisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> found = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    found.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+            }
+            return found;
+        });
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        int deleted = 0;
+        for (int from = 0; from < keys.size(); from += 500) {
+            Long count = stringRedisTemplate.delete(keys.subList(from, Math.min(from + 500, keys.size())));
+            deleted += count != null ? count.intValue() : 0;
+        }
+        return deleted;
+    }
+
+    /**
+     * 事务提交后提交到时间线执行器；失败只记录日志，缺失的数据在重建时补齐
+     */
+    private void afterCommitAsync(String action, Runnable task) {
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("关注时间线维护失败: action={}", action, e);
+            }
+        };
+        TransactionCallbackUtil.afterCommit(timelineExecutor, guarded);
+    }
+}
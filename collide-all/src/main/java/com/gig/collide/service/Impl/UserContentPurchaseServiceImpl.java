@@ -1,6 +1,7 @@
 package com.gig.collide.service.Impl;
 
 
+import com.gig.collide.access.ContentAccessEngine;
 import com.gig.collide.domain.UserContentPurchase;
 import com.gig.collide.mapper.UserContentPurchaseMapper;
 import com.gig.collide.service.UserContentPurchaseService;
@@ -28,6 +29,7 @@ import java.util.List;
 public class UserContentPurchaseServiceImpl implements UserContentPurchaseService {
 
     private final UserContentPurchaseMapper userContentPurchaseMapper;
+    private final ContentAccessEngine contentAccessEngine;
 
     // =================== 核心CRUD功能�?个方法）===================
 
@@ -65,6 +67,7 @@ public class UserContentPurchaseServiceImpl implements UserContentPurchaseServic
         }
 
         userContentPurchaseMapper.insert(purchase);
+        contentAccessEngine.invalidateUser(purchase.getUserId());
         log.info("购买记录创建成功: id={}", purchase.getId());
         return purchase;
     }
@@ -130,29 +133,8 @@ public class UserContentPurchaseServiceImpl implements UserContentPurchaseServic
     public boolean checkAccessPermission(Long userId, Long contentId) {
         log.debug("检查访问权�? userId={}, contentId={}", userId, contentId);
 
-        // 使用万能查询检查购买记�?
-        List<UserContentPurchase> purchases = getPurchasesByConditions(
-                userId, contentId, null, null, null, null,
-                null, null, null, null, null, null, null, 1
-        );
-
-        if (purchases.isEmpty()) {
-            return false;
-        }
-
-        UserContentPurchase purchase = purchases.get(0);
-
-        // 检查状�?
-        if (!"ACTIVE".equals(purchase.getStatus())) {
-            return false;
-        }
-
-        // 检查是否过�?
-        if (purchase.getExpireTime() != null && purchase.getExpireTime().isBefore(LocalDateTime.now())) {
-            return false;
-        }
-
-        return true;
+        // 用户有效购买集合（Redis 缓存，未命中时从数据库加载）
+        return contentAccessEngine.hasPurchased(userId, contentId);
     }
 
     // =================== 状态管理功能（4个方法）===================
@@ -166,6 +148,7 @@ public class UserContentPurchaseServiceImpl implements UserContentPurchaseServic
         }
 
         try {
+            contentAccessEngine.invalidatePurchases(List.of(purchaseId));
             int result = userContentPurchaseMapper.updatePurchaseStatus(purchaseId, status);
             boolean success = result > 0;
             if (success) {
@@ -188,6 +171,7 @@ public class UserContentPurchaseServiceImpl implements UserContentPurchaseServic
         }
 
         try {
+            contentAccessEngine.invalidatePurchases(ids);
             int result = userContentPurchaseMapper.batchUpdateStatus(ids, status);
             boolean success = result > 0;
             if (success) {
@@ -227,6 +211,7 @@ public class UserContentPurchaseServiceImpl implements UserContentPurchaseServic
         }
 
         try {
+            contentAccessEngine.invalidatePurchases(List.of(purchaseId));
             int result = userContentPurchaseMapper.softDeletePurchase(purchaseId);
             boolean success = result > 0;
             if (success) {
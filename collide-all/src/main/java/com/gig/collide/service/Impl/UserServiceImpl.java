@@ -1,9 +1,11 @@
 package com.gig.collide.service.Impl;
 
+import com.gig.collide.counter.UserCounterService;
 import com.gig.collide.domain.User;
 import com.gig.collide.domain.UserRole;
 import com.gig.collide.mapper.UserMapper;
 import com.gig.collide.mapper.UserRoleMapper;
+import com.gig.collide.profile.ProfileChangeOutbox;
 import com.gig.collide.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +25,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
+    private final UserCounterService userCounterService;
+    private final ProfileChangeOutbox profileChangeOutbox;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -57,20 +61,26 @@ public class UserServiceImpl implements UserService {
     @Override
     public User getUserById(Long id) {
         log.info("根据ID查询用户: id={}", id);
-        return userMapper.selectUserById(id);
+        return userCounterService.applyPending(userMapper.selectUserById(id));
     }
 
     @Override
     public User getUserByUsername(String username) {
         log.info("根据用户名查询用户: username={}", username);
-        return userMapper.selectUserByUsername(username);
+        return userCounterService.applyPending(userMapper.selectUserByUsername(username));
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public User updateUser(User user) {
         log.info("更新用户信息: id={}", user.getId());
         userMapper.updateUserById(user);
-        return userMapper.selectUserById(user.getId());
+        User updated = userMapper.selectUserById(user.getId());
+        // 昵称/头像变更时写入资料变更事件，各业务表的冗余字段由后台任务分块改写
+        if (updated != null && (user.getNickname() != null || user.getAvatar() != null)) {
+            profileChangeOutbox.publish(updated.getId(), updated.getNickname(), updated.getAvatar());
+        }
+        return userCounterService.applyPending(updated);
     }
 
     @Override
@@ -80,7 +90,7 @@ public class UserServiceImpl implements UserService {
         // 计算偏移量
         int offset = (currentPage - 1) * pageSize;
         
-        return userMapper.selectUserList(condition, offset, pageSize);
+        return userCounterService.applyPending(userMapper.selectUserList(condition, offset, pageSize));
     }
 
     @Override
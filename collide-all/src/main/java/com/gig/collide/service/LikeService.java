@@ -210,4 +210,14 @@ public interface LikeService {
     com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.like.response.LikeResponse>> listLikesForController(
             Long userId, Long targetId, String likeType, String targetType, String status,
             String orderBy, String orderDirection, Integer currentPage, Integer pageSize);
+
+    /**
+     * 重建点赞状态索引（Controller专用）
+     * 指定用户时重建该用户的全部索引，否则为近期活跃用户预热索引
+     *
+     * @param userId 用户ID（可选）
+     * @param days 预热回溯天数（可选）
+     * @return 重建的索引数或预热的用户数
+     */
+    com.gig.collide.Apientry.api.common.response.Result<Integer> rebuildLikeStatusIndexForController(Long userId, Integer days);
 }
\ No newline at end of file
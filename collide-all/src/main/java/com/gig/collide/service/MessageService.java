@@ -272,6 +272,20 @@ public interface MessageService {
             Long senderId, Long receiverId, String messageType, String status, Boolean isRead, String keyword,
             String orderBy, String orderDirection, Integer currentPage, Integer pageSize);
 
+    /**
+     * 消息列表游标查询（Controller专用）
+     * 条件与 listMessagesForController 相同，按 (排序时间, id) 定位下一页，不统计总数
+     *
+     * @param orderBy 排序字段，仅支持 createTime / updateTime
+     * @param orderDirection 排序方向
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 页面大小
+     * @return 游标分页响应结果
+     */
+    com.gig.collide.Apientry.api.common.response.Result<com.gig.collide.Apientry.api.common.response.PageResponse<com.gig.collide.Apientry.api.message.response.MessageResponse>> listMessagesByCursorForController(
+            Long senderId, Long receiverId, String messageType, String status, Boolean isRead, String keyword,
+            String orderBy, String orderDirection, String cursor, Integer pageSize);
+
     /**
      * 查询t_message表数据
      * 提供基础的消息查询功能
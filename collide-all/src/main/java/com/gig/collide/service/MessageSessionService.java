@@ -8,6 +8,7 @@ import com.gig.collide.Apientry.api.message.response.MessageSessionResponse;
 import com.gig.collide.Apientry.api.common.response.PageResponse;
 import com.gig.collide.Apientry.api.common.response.Result;
 import com.gig.collide.domain.MessageSession;
+import com.gig.collide.message.MessageSessionIndex;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -181,6 +182,7 @@ public interface MessageSessionService {
 
     /**
      * 获取用户所有会话的未读总数
+     * 各会话未读消息数之和，优先读取 Redis 会话索引
      *
      * @param userId 用户ID
      * @return 未读总数
@@ -367,12 +369,21 @@ public interface MessageSessionService {
 
     /**
      * 重建会话索引（Controller专用）
+     * 按 t_message 重新统计会话写回 t_message_session，并重新加载 Redis 会话索引
      *
-     * @param userId 用户ID（可选）
-     * @return 处理结果
+     * @param userId 用户ID（可选，为空时在后台重建全部有会话的用户）
+     * @return 指定用户时为处理结果；全量重建时为任务ID
      */
     Result<String> rebuildSessionIndexForController(Long userId);
 
+    /**
+     * 查询会话索引全量重建任务（Controller专用）
+     *
+     * @param jobId 任务ID
+     * @return 任务进度
+     */
+    Result<MessageSessionIndex.RebuildJob> getRebuildJobForController(String jobId);
+
     /**
      * 会话系统健康检查（Controller专用）
      *
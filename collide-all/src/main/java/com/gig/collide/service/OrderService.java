@@ -384,6 +384,17 @@ public interface OrderService {
      */
     PageResponse<OrderResponse> getUserOrders(Long userId, String status, Integer currentPage, Integer pageSize);
 
+    /**
+     * 游标查询用户订单列表（按创建时间倒序，不统计总数）
+     *
+     * @param userId   用户ID
+     * @param status   订单状态（可选）
+     * @param cursor   上一页返回的游标，首页为空
+     * @param pageSize 每页大小
+     * @return 游标分页结果
+     */
+    PageResponse<OrderResponse> getUserOrdersByCursor(Long userId, String status, String cursor, Integer pageSize);
+
     /**
      * 查询商家订单列表（分页）
      *
@@ -665,6 +676,11 @@ public interface OrderService {
      */
     Result<PageResponse<OrderResponse>> getUserOrdersForController(Long userId, String status, Integer currentPage, Integer pageSize);
 
+    /**
+     * 游标获取用户订单（Controller专用）
+     */
+    Result<PageResponse<OrderResponse>> getUserOrdersByCursorForController(Long userId, String status, String cursor, Integer pageSize);
+
     /**
      * 处理订单支付（Controller专用）
      */
@@ -77,6 +77,11 @@ public interface SearchService {
      */
     Result<Void> updateHotSearchStats(String keyword);
 
+    /**
+     * 从内容表全量重建内存搜索索引，返回索引的文档数
+     */
+    Result<Integer> rebuildSearchIndex();
+
     /**
      * Tag混合搜索 - 同时搜索用户和内容
      */
@@ -170,7 +170,7 @@ public interface SocialDynamicService {
 
     /**
      * 更新用户信息
-     * 对应Mapper: updateUserInfo
+     * 写入资料变更事件，冗余字段由后台任务分块改写，返回影响行数
      */
     int updateUserInfo(Long userId, String userNickname, String userAvatar, Long operatorId);
 
@@ -0,0 +1,91 @@
+package com.gig.collide.service;
+
+import com.gig.collide.domain.Content;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 关注时间线服务接口
+ * 写扩散：内容发布时写入粉丝收件箱；大V作者改为读时拉取其发件箱
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public interface TimelineService {
+
+    /**
+     * 时间线是否启用
+     */
+    boolean isEnabled();
+
+    /**
+     * 内容发布后写扩散（事务提交后异步执行）
+     *
+     * @param content 已发布内容（需包含 id、authorId、createTime）
+     */
+    void onContentPublished(Content content);
+
+    /**
+     * 内容下线/删除后从作者发件箱移除（收件箱中的条目在读取时按状态过滤）
+     *
+     * @param contentId 内容ID
+     * @param authorId 作者ID
+     */
+    void onContentRemoved(Long contentId, Long authorId);
+
+    /**
+     * 关注后回填被关注者最近内容（事务提交后异步执行）
+     */
+    void onFollow(Long followerId, Long followeeId);
+
+    /**
+     * 取消关注后移除被关注者的内容（事务提交后异步执行）
+     */
+    void onUnfollow(Long followerId, Long followeeId);
+
+    /**
+     * 读取关注时间线，合并收件箱与所关注大V的发件箱
+     *
+     * @param userId 用户ID
+     * @param maxSortKey 游标排序值（不含），首页传 Long.MAX_VALUE
+     * @param maxContentId 游标内容ID，排序值相同时只返回更小的ID
+     * @param limit 条数
+     * @return 按 (排序值, 内容ID) 倒序的条目；Redis 不可用时返回null，由调用方回退数据库
+     */
+    List<TimelineEntry> readFollowingTimeline(Long userId, long maxSortKey, long maxContentId, int limit);
+
+    /**
+     * 从数据库重建单个用户的收件箱
+     *
+     * @param userId 用户ID
+     * @return 写入收件箱的条目数
+     */
+    int rebuildInbox(Long userId);
+
+    /**
+     * 重算大V名单并清空全部收件箱/发件箱，之后按需从数据库重建
+     *
+     * @return 清理的键数量
+     */
+    int rebuildAll();
+
+    /**
+     * 时间线条目
+     */
+    @Data
+    @AllArgsConstructor
+    class TimelineEntry {
+
+        /**
+         * 内容ID
+         */
+        private Long contentId;
+
+        /**
+         * 排序值（内容创建时间毫秒）
+         */
+        private Long sortKey;
+    }
+}
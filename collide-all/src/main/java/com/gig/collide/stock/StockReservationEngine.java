@@ -0,0 +1,577 @@
+package com.gig.collide.stock;
+
+import com.gig.collide.cache.GoodsCacheConstant;
+import com.gig.collide.cache.TwoLevelCacheManager;
+import com.gig.collide.config.StockReservationConfig;
+import com.gig.collide.domain.Goods;
+import com.gig.collide.mapper.GoodsMapper;
+import com.gig.collide.util.TransactionCallbackUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 商品库存预占引擎
+ * 可售库存预加载到 Redis，下单时通过 Lua 脚本原子预占多个商品，支付后确认、取消或超时后归还，
+ * 确认的扣减按商品合并后定时同步到数据库，秒杀期间请求不再竞争 t_goods 行锁
+ *
+ * 实现特性：
+ * - 多商品预占全部成功或全部失败，库存不会被扣成负数
+ * - 预占单以订单号为ID，重复预占幂等；预占到期时间跟随订单支付截止时间，到期后由定时任务归还库存
+ * - 库存键不存在时从数据库加载，扣除尚未同步的扣减与未确认的预占；加载前后比对纪元号，期间发生同步或失效时重试
+ * - 同步通过租约锁保证同一时刻只有一个节点写库，失败时保留待同步数据下次重试；写库成功但清理失败时数据库库存只会偏少，不会超卖
+ * - 无限库存（-1）商品不占用预占与同步
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationEngine {
+
+    /**
+     * 无限库存
+     */
+    public static final int UNLIMITED = -1;
+
+    /**
+     * 加载库存时纪元号已变化
+     */
+    private static final long EPOCH_CHANGED = -2;
+
+    /**
+     * 同步锁租约（毫秒）
+     */
+    private static final long SYNC_LOCK_LEASE_MS = 30000;
+
+    private static final String SYNC_LOCK_KEY = GoodsCacheConstant.STOCK_SYNCING_KEY + ":lock";
+
+    /**
+     * 预占脚本：先检查全部商品库存，再统一扣减并记录预占明细
+     * 返回 1 成功（含重复预占），0 库存不足，-i 第 i 个商品库存未加载
+     */
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 1 end " +
+            "local n = #KEYS - 3 " +
+            "for i = 1, n do " +
+            "  local stock = redis.call('GET', KEYS[i + 3]) " +
+            "  if not stock then return -i end " +
+            "  stock = tonumber(stock) " +
+            "  if stock >= 0 and stock < tonumber(ARGV[2 * i + 3]) then return 0 end " +
+            "end " +
+            "local tracked = 0 " +
+            "for i = 1, n do " +
+            "  if tonumber(redis.call('GET', KEYS[i + 3])) >= 0 then " +
+            "    redis.call('DECRBY', KEYS[i + 3], ARGV[2 * i + 3]) " +
+            "    redis.call('HINCRBY', KEYS[3], ARGV[2 * i + 2], ARGV[2 * i + 3]) " +
+            "    redis.call('HSET', KEYS[1], ARGV[2 * i + 2], ARGV[2 * i + 3]) " +
+            "    tracked = tracked + 1 " +
+            "  end " +
+            "end " +
+            "if tracked > 0 then " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "  redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * 直接扣减脚本：检查并扣减全部商品库存，扣减数量计入待同步
+     * 返回 1 成功，0 库存不足，-i 第 i 个商品库存未加载
+     */
+    private static final DefaultRedisScript<Long> DEDUCT_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS - 1 " +
+            "for i = 1, n do " +
+            "  local stock = redis.call('GET', KEYS[i + 1]) " +
+            "  if not stock then return -i end " +
+            "  stock = tonumber(stock) " +
+            "  if stock >= 0 and stock < tonumber(ARGV[2 * i]) then return 0 end " +
+            "end " +
+            "for i = 1, n do " +
+            "  if tonumber(redis.call('GET', KEYS[i + 1])) >= 0 then " +
+            "    redis.call('DECRBY', KEYS[i + 1], ARGV[2 * i]) " +
+            "    redis.call('HINCRBY', KEYS[1], ARGV[2 * i - 1], ARGV[2 * i]) " +
+            "  end " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * 确认脚本：预占转为待同步扣减，库存保持已扣减状态；预占单不存在（已释放或已确认）时返回 0
+     */
+    private static final DefaultRedisScript<Long> CONFIRM_SCRIPT = new DefaultRedisScript<>(
+            "local items = redis.call('HGETALL', KEYS[1]) " +
+            "if #items == 0 then return 0 end " +
+            "for i = 1, #items, 2 do " +
+            "  if redis.call('HINCRBY', KEYS[3], items[i], -tonumber(items[i + 1])) <= 0 then " +
+            "    redis.call('HDEL', KEYS[3], items[i]) " +
+            "  end " +
+            "  redis.call('HINCRBY', KEYS[4], items[i], items[i + 1]) " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+            "return 1", Long.class);
+
+    /**
+     * 释放脚本：预占数量归还到可售库存；预占单不存在时返回 0
+     * KEYS[3 + i] 为商品 ARGV[1 + i] 的库存键，调用方按预占单明细传入；明细中有未传入的商品时不做修改，返回 -1
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+            "local items = redis.call('HGETALL', KEYS[1]) " +
+            "if #items == 0 then return 0 end " +
+            "local stockKeys = {} " +
+            "for i = 2, #ARGV do stockKeys[ARGV[i]] = KEYS[i + 2] end " +
+            "for i = 1, #items, 2 do " +
+            "  if not stockKeys[items[i]] then return -1 end " +
+            "end " +
+            "for i = 1, #items, 2 do " +
+            "  local stockKey = stockKeys[items[i]] " +
+            "  local stock = redis.call('GET', stockKey) " +
+            "  if stock and tonumber(stock) >= 0 then " +
+            "    redis.call('INCRBY', stockKey, items[i + 1]) " +
+            "  end " +
+            "  if redis.call('HINCRBY', KEYS[3], items[i], -tonumber(items[i + 1])) <= 0 then " +
+            "    redis.call('HDEL', KEYS[3], items[i]) " +
+            "  end " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return 1", Long.class);
+
+    /**
+     * 加载脚本：库存键已存在时返回当前值；纪元号变化时返回 -2；否则按数据库库存扣除待同步与未确认预占后写入
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then return tonumber(current) end " +
+            "if (redis.call('GET', KEYS[5]) or '') ~= ARGV[3] then return -2 end " +
+            "local stock = tonumber(ARGV[2]) " +
+            "if stock >= 0 then " +
+            "  stock = stock - tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0') " +
+            "    - tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0') " +
+            "    - tonumber(redis.call('HGET', KEYS[4], ARGV[1]) or '0') " +
+            "  if stock < 0 then stock = 0 end " +
+            "else " +
+            "  stock = -1 " +
+            "end " +
+            "redis.call('SET', KEYS[1], stock) " +
+            "return stock", Long.class);
+
+    private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            "return redis.call('INCR', KEYS[2])", Long.class);
+
+    /**
+     * 取出待同步扣减：上次同步未完成时重新返回上次的数据，否则将待同步数据整体转入同步中
+     */
+    private static final DefaultRedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>(
+            "if not redis.call('SET', KEYS[3], ARGV[1], 'NX', 'PX', ARGV[2]) then return {} end " +
+            "if redis.call('EXISTS', KEYS[2]) == 0 then " +
+            "  if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "    redis.call('DEL', KEYS[3]) " +
+            "    return {} " +
+            "  end " +
+            "  redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "end " +
+            "return redis.call('HGETALL', KEYS[2])", List.class);
+
+    /**
+     * 同步结束：写库成功时清理同步中数据并递增纪元号，随后释放同步锁（仅锁持有者可执行）
+     */
+    private static final DefaultRedisScript<Long> FINISH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "if ARGV[2] == '1' then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  redis.call('INCR', KEYS[3]) " +
+            "end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "return 1", Long.class);
+
+    private final StockReservationConfig config;
+    private final GoodsMapper goodsMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TwoLevelCacheManager twoLevelCacheManager;
+
+    private Counter reservedCounter;
+    private Counter rejectedCounter;
+    private Counter expiredCounter;
+    private Counter syncedCounter;
+
+    @PostConstruct
+    public void init() {
+        reservedCounter = Counter.builder("collide.stock.reservations")
+                .tag("result", "reserved")
+                .description("库存预占与直接扣减次数")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("collide.stock.reservations")
+                .tag("result", "insufficient")
+                .description("库存预占与直接扣减次数")
+                .register(meterRegistry);
+        expiredCounter = Counter.builder("collide.stock.reservations.expired")
+                .description("超时释放的预占单数")
+                .register(meterRegistry);
+        syncedCounter = Counter.builder("collide.stock.synced")
+                .description("同步到数据库的扣减件数")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // =================== 预占与扣减 ===================
+
+    /**
+     * 预占库存
+     *
+     * @param reservationId 预占单ID（订单号），重复预占幂等
+     * @param items         商品ID -> 数量
+     * @param expireAtMs    订单支付截止时间戳（毫秒），预占在其后保留 reservationGraceMs；小于等于0时按默认有效期
+     * @return 全部商品预占成功返回true；任一商品库存不足或不存在返回false，且不预占任何商品
+     */
+    public boolean reserve(String reservationId, Map<Long, Integer> items, long expireAtMs) {
+        if (!StringUtils.hasText(reservationId)) {
+            throw new IllegalArgumentException("预占单ID不能为空");
+        }
+        Map<Long, Integer> normalized = normalize(items);
+        long now = System.currentTimeMillis();
+        long deadline = expireAtMs > 0
+                ? expireAtMs + config.getReservationGraceMs()
+                : now + config.getDefaultReservationTtlMs();
+        long ttl = Math.max(deadline - now, 0) + config.getReservationRetentionMs();
+
+        List<Long> goodsIds = new ArrayList<>(normalized.keySet());
+        List<String> keys = new ArrayList<>(goodsIds.size() + 3);
+        keys.add(GoodsCacheConstant.buildStockReservationKey(reservationId));
+        keys.add(GoodsCacheConstant.STOCK_RESERVATION_DEADLINE_KEY);
+        keys.add(GoodsCacheConstant.STOCK_RESERVED_KEY);
+        List<String> args = new ArrayList<>(goodsIds.size() * 2 + 3);
+        args.add(reservationId);
+        args.add(String.valueOf(deadline));
+        args.add(String.valueOf(ttl));
+        appendItems(normalized, keys, args);
+
+        boolean success = executeWithLoad(RESERVE_SCRIPT, keys, args, goodsIds);
+        log.debug("库存预占: reservationId={}, items={}, success={}", reservationId, normalized, success);
+        return success;
+    }
+
+    /**
+     * 直接扣减库存（无预占环节），扣减结果异步同步到数据库
+     *
+     * @return 全部商品扣减成功返回true；任一商品库存不足或不存在返回false，且不扣减任何商品
+     */
+    public boolean deduct(Map<Long, Integer> items) {
+        Map<Long, Integer> normalized = normalize(items);
+        List<Long> goodsIds = new ArrayList<>(normalized.keySet());
+        List<String> keys = new ArrayList<>(goodsIds.size() + 1);
+        keys.add(GoodsCacheConstant.STOCK_PENDING_KEY);
+        List<String> args = new ArrayList<>(goodsIds.size() * 2);
+        appendItems(normalized, keys, args);
+
+        return executeWithLoad(DEDUCT_SCRIPT, keys, args, goodsIds);
+    }
+
+    /**
+     * 确认预占，预占数量计入已售并异步同步到数据库
+     * 预占单已不存在（超时释放）时按 items 重新直接扣减
+     *
+     * @param items 预占时的商品明细，用于预占单已释放时补扣；为空时不补扣
+     * @return 库存最终扣减成功返回true
+     */
+    public boolean confirm(String reservationId, Map<Long, Integer> items) {
+        Long result = stringRedisTemplate.execute(CONFIRM_SCRIPT,
+                List.of(GoodsCacheConstant.buildStockReservationKey(reservationId),
+                        GoodsCacheConstant.STOCK_RESERVATION_DEADLINE_KEY,
+                        GoodsCacheConstant.STOCK_RESERVED_KEY,
+                        GoodsCacheConstant.STOCK_PENDING_KEY),
+                reservationId);
+        if (result != null && result > 0) {
+            return true;
+        }
+        if (CollectionUtils.isEmpty(items)) {
+            return false;
+        }
+        // 预占已释放（或全部为无限库存商品，未产生预占单），按明细重新扣减
+        boolean deducted = deduct(items);
+        if (!deducted) {
+            log.warn("预占单已释放且库存不足，无法补扣: reservationId={}, items={}", reservationId, items);
+        }
+        return deducted;
+    }
+
+    /**
+     * 释放预占，归还库存
+     *
+     * @return 预占单存在并已释放返回true
+     */
+    public boolean release(String reservationId) {
+        if (!StringUtils.hasText(reservationId)) {
+            return false;
+        }
+        String reservationKey = GoodsCacheConstant.buildStockReservationKey(reservationId);
+        // 预占单明细创建后不再修改，先读出商品ID，库存键全部经 KEYS 传入脚本
+        Set<Object> goodsIds = stringRedisTemplate.opsForHash().keys(reservationKey);
+        List<String> keys = new ArrayList<>(goodsIds.size() + 3);
+        keys.add(reservationKey);
+        keys.add(GoodsCacheConstant.STOCK_RESERVATION_DEADLINE_KEY);
+        keys.add(GoodsCacheConstant.STOCK_RESERVED_KEY);
+        List<String> args = new ArrayList<>(goodsIds.size() + 1);
+        args.add(reservationId);
+        for (Object goodsId : goodsIds) {
+            keys.add(GoodsCacheConstant.buildStockKey(Long.valueOf(String.valueOf(goodsId))));
+            args.add(String.valueOf(goodsId));
+        }
+        Long result = stringRedisTemplate.execute(RELEASE_SCRIPT, keys, args.toArray());
+        if (result != null && result < 0) {
+            throw new IllegalStateException("预占单明细与库存键不一致: reservationId=" + reservationId);
+        }
+        boolean released = result != null && result > 0;
+        if (released) {
+            log.debug("库存预占已释放: reservationId={}", reservationId);
+        }
+        return released;
+    }
+
+    /**
+     * 释放预占（存在事务时在提交后执行）
+     */
+    public void releaseAfterCommit(String reservationId) {
+        TransactionCallbackUtil.afterCommit(() -> release(reservationId));
+    }
+
+    /**
+     * 当前事务回滚时释放预占，避免订单未落库而库存被占用到超时
+     */
+    public void releaseOnRollback(String reservationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        release(reservationId);
+                    } catch (Exception e) {
+                        log.warn("事务回滚后释放库存预占失败，等待超时释放: reservationId={}", reservationId, e);
+                    }
+                }
+            }
+        });
+    }
+
+    // =================== 库存查询与失效 ===================
+
+    /**
+     * 查询可售库存（已扣除预占）
+     *
+     * @return 可售数量，-1 表示无限库存；商品不存在时返回null
+     */
+    public Integer getAvailableStock(Long goodsId) {
+        if (goodsId == null) {
+            return null;
+        }
+        String value = stringRedisTemplate.opsForValue().get(GoodsCacheConstant.buildStockKey(goodsId));
+        if (value != null) {
+            return Integer.valueOf(value);
+        }
+        Long loaded = load(goodsId);
+        return loaded != null ? loaded.intValue() : null;
+    }
+
+    /**
+     * 失效商品库存键（存在事务时在提交后执行），下次访问时按数据库库存重新加载
+     * 用于后台直接修改商品库存
+     */
+    public void evict(Long goodsId) {
+        if (goodsId == null) {
+            return;
+        }
+        TransactionCallbackUtil.afterCommit(() -> stringRedisTemplate.execute(EVICT_SCRIPT,
+                List.of(GoodsCacheConstant.buildStockKey(goodsId), GoodsCacheConstant.STOCK_EPOCH_KEY)));
+    }
+
+    // =================== 后台任务 ===================
+
+    /**
+     * 释放已到期的预占
+     */
+    @Scheduled(fixedDelayString = "${collide.stock-reservation.expire-interval-ms:5000}")
+    public void releaseExpired() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            Set<String> expired = stringRedisTemplate.opsForZSet().rangeByScore(
+                    GoodsCacheConstant.STOCK_RESERVATION_DEADLINE_KEY,
+                    Double.NEGATIVE_INFINITY, System.currentTimeMillis(), 0, Math.max(1, config.getExpireBatchSize()));
+            if (CollectionUtils.isEmpty(expired)) {
+                return;
+            }
+            int released = 0;
+            for (String reservationId : expired) {
+                if (release(reservationId)) {
+                    released++;
+                }
+            }
+            expiredCounter.increment(released);
+            log.info("超时库存预占释放完成: 到期={}, 释放={}", expired.size(), released);
+        } catch (Exception e) {
+            log.error("超时库存预占释放失败", e);
+        }
+    }
+
+    /**
+     * 已确认扣减同步到数据库，按商品合并为一条批量更新
+     */
+    @Scheduled(fixedDelayString = "${collide.stock-reservation.sync-interval-ms:1000}")
+    public void syncToDatabase() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        List<String> takeKeys = List.of(GoodsCacheConstant.STOCK_PENDING_KEY,
+                GoodsCacheConstant.STOCK_SYNCING_KEY, SYNC_LOCK_KEY);
+        List<String> finishKeys = List.of(GoodsCacheConstant.STOCK_SYNCING_KEY,
+                SYNC_LOCK_KEY, GoodsCacheConstant.STOCK_EPOCH_KEY);
+        List<Object> taken;
+        try {
+            taken = stringRedisTemplate.execute(TAKE_SCRIPT, takeKeys, token, String.valueOf(SYNC_LOCK_LEASE_MS));
+        } catch (Exception e) {
+            log.error("读取待同步库存扣减失败", e);
+            return;
+        }
+        if (CollectionUtils.isEmpty(taken)) {
+            return;
+        }
+
+        boolean success = false;
+        try {
+            Map<Long, Integer> deductions = new LinkedHashMap<>();
+            long units = 0;
+            for (int i = 0; i + 1 < taken.size(); i += 2) {
+                int quantity = Integer.parseInt(String.valueOf(taken.get(i + 1)));
+                if (quantity > 0) {
+                    deductions.put(Long.valueOf(String.valueOf(taken.get(i))), quantity);
+                    units += quantity;
+                }
+            }
+            if (!deductions.isEmpty()) {
+                goodsMapper.batchDeductStock(deductions);
+                twoLevelCacheManager.evict(GoodsCacheConstant.GOODS_DETAIL_CACHE, deductions.keySet());
+            }
+            success = true;
+            syncedCounter.increment(units);
+            log.debug("库存扣减同步完成: goods={}, units={}", deductions.size(), units);
+        } catch (Exception e) {
+            log.error("库存扣减同步到数据库失败，下次重试", e);
+        } finally {
+            try {
+                stringRedisTemplate.execute(FINISH_SCRIPT, finishKeys, token, success ? "1" : "0");
+            } catch (Exception e) {
+                log.error("库存同步收尾失败，同步锁将在租约到期后释放", e);
+            }
+        }
+    }
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 执行预占/扣减脚本，遇到未加载的库存键时从数据库加载后重试
+     */
+    private boolean executeWithLoad(DefaultRedisScript<Long> script, List<String> keys, List<String> args, List<Long> goodsIds) {
+        Object[] argv = args.toArray();
+        for (int attempt = 0; attempt <= goodsIds.size(); attempt++) {
+            Long result = stringRedisTemplate.execute(script, keys, argv);
+            if (result == null) {
+                throw new IllegalStateException("库存脚本执行失败");
+            }
+            if (result > 0) {
+                reservedCounter.increment();
+                return true;
+            }
+            if (result == 0) {
+                rejectedCounter.increment();
+                return false;
+            }
+            Long goodsId = goodsIds.get((int) (-result - 1));
+            if (load(goodsId) == null) {
+                log.warn("商品不存在，无法扣减库存: goodsId={}", goodsId);
+                rejectedCounter.increment();
+                return false;
+            }
+        }
+        throw new IllegalStateException("库存加载后仍未就绪");
+    }
+
+    /**
+     * 从数据库加载商品库存到 Redis
+     *
+     * @return 当前可售库存；商品不存在时返回null
+     */
+    private Long load(Long goodsId) {
+        List<String> keys = List.of(GoodsCacheConstant.buildStockKey(goodsId),
+                GoodsCacheConstant.STOCK_RESERVED_KEY,
+                GoodsCacheConstant.STOCK_PENDING_KEY,
+                GoodsCacheConstant.STOCK_SYNCING_KEY,
+                GoodsCacheConstant.STOCK_EPOCH_KEY);
+        for (int attempt = 0; attempt <= Math.max(0, config.getLoadMaxRetries()); attempt++) {
+            String epoch = stringRedisTemplate.opsForValue().get(GoodsCacheConstant.STOCK_EPOCH_KEY);
+            Goods goods = goodsMapper.selectById(goodsId);
+            if (goods == null) {
+                return null;
+            }
+            int dbStock = goods.getStock() != null ? goods.getStock() : 0;
+            Long stock = stringRedisTemplate.execute(LOAD_SCRIPT, keys,
+                    String.valueOf(goodsId), String.valueOf(dbStock), epoch != null ? epoch : "");
+            if (stock != null && stock != EPOCH_CHANGED) {
+                log.debug("商品库存已加载: goodsId={}, dbStock={}, available={}", goodsId, dbStock, stock);
+                return stock;
+            }
+        }
+        throw new IllegalStateException("商品库存加载冲突，请稍后重试: goodsId=" + goodsId);
+    }
+
+    private Map<Long, Integer> normalize(Map<Long, Integer> items) {
+        if (CollectionUtils.isEmpty(items)) {
+            throw new IllegalArgumentException("商品明细不能为空");
+        }
+        if (items.size() > config.getMaxItemsPerReservation()) {
+            throw new IllegalArgumentException("单次最多扣减" + config.getMaxItemsPerReservation() + "个商品");
+        }
+        Map<Long, Integer> normalized = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : items.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("参数无效");
+            }
+            normalized.put(entry.getKey(), entry.getValue());
+        }
+        return normalized;
+    }
+
+    private static void appendItems(Map<Long, Integer> items, List<String> keys, List<String> args) {
+        for (Map.Entry<Long, Integer> entry : items.entrySet()) {
+            keys.add(GoodsCacheConstant.buildStockKey(entry.getKey()));
+            args.add(String.valueOf(entry.getKey()));
+            args.add(String.valueOf(entry.getValue()));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.gig.collide.util;
+
+/**
+ * 评论物化路径工具类
+ * 路径由各级评论ID（含自身）的13位定长36进制编码以 '/' 连接，
+ * 定长编码保证字典序与ID顺序一致，因此按路径排序即为子评论按时间先后的先序遍历
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public final class CommentPathUtil {
+
+    /**
+     * 路径分隔符
+     */
+    public static final char SEPARATOR = '/';
+
+    /**
+     * 单级编码长度（36^13 大于 Long.MAX_VALUE）
+     */
+    public static final int SEGMENT_LENGTH = 13;
+
+    /**
+     * 最大层级（根评论为0），受 comment_path 列长度 700 限制
+     */
+    public static final int MAX_LEVEL = 49;
+
+    private CommentPathUtil() {
+    }
+
+    /**
+     * 根评论路径
+     */
+    public static String rootPath(long id) {
+        return segment(id);
+    }
+
+    /**
+     * 子评论路径
+     *
+     * @param parentPath 父评论路径
+     * @param id 子评论ID
+     */
+    public static String childPath(String parentPath, long id) {
+        return parentPath + SEPARATOR + segment(id);
+    }
+
+    /**
+     * 解析祖先评论ID（不含自身），按根评论到直接父评论的顺序
+     */
+    public static long[] ancestorIds(String path) {
+        int levels = (path.length() + 1) / (SEGMENT_LENGTH + 1);
+        long[] ids = new long[Math.max(0, levels - 1)];
+        for (int i = 0; i < ids.length; i++) {
+            int start = i * (SEGMENT_LENGTH + 1);
+            ids[i] = Long.parseLong(path.substring(start, start + SEGMENT_LENGTH), 36);
+        }
+        return ids;
+    }
+
+    /**
+     * 校验路径格式（用于游标解码后的校验）
+     */
+    public static boolean isValid(String path) {
+        if (path == null || path.isEmpty() || (path.length() + 1) % (SEGMENT_LENGTH + 1) != 0) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            boolean separatorPosition = (i + 1) % (SEGMENT_LENGTH + 1) == 0;
+            if (separatorPosition ? c != SEPARATOR : !(c >= '0' && c <= '9' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单级编码：36进制大写，左侧补0至定长（与迁移脚本中的 LPAD(CONV(id, 10, 36), 13, '0') 一致）
+     */
+    private static String segment(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("评论ID不能为负数");
+        }
+        String encoded = Long.toString(id, 36).toUpperCase();
+        StringBuilder builder = new StringBuilder(SEGMENT_LENGTH);
+        for (int i = encoded.length(); i < SEGMENT_LENGTH; i++) {
+            builder.append('0');
+        }
+        return builder.append(encoded).toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.gig.collide.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页工具类
+ * 游标由 "排序值:主键" 组成，Base64URL 编码后对客户端不透明
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public final class CursorUtil {
+
+    /**
+     * 按创建时间排序
+     */
+    public static final String SORT_CREATE_TIME = "createTime";
+
+    /**
+     * 按更新时间排序
+     */
+    public static final String SORT_UPDATE_TIME = "updateTime";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param sortKey 排序值（如创建时间毫秒）
+     * @param id 主键，排序值相同时用于确定先后
+     * @return 游标字符串
+     */
+    public static String encode(long sortKey, long id) {
+        String raw = sortKey + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @return [排序值, 主键]；游标为空时返回null（表示第一页）
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static long[] decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            return new long[]{
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            };
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 与 Base64 解码异常均为 IllegalArgumentException
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 编码字符串游标，用于按字符串键（如评论物化路径）有序分页
+     *
+     * @param key 上一页最后一条的排序键
+     * @return 游标字符串
+     */
+    public static String encodeKey(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码字符串游标
+     *
+     * @param cursor 游标字符串
+     * @return 排序键；游标为空时返回null（表示第一页）
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static String decodeKey(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 时间转换为排序值（毫秒时间戳，按系统时区解释）
+     */
+    public static long toSortKey(LocalDateTime time) {
+        if (time == null) {
+            return System.currentTimeMillis();
+        }
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 排序值还原为时间
+     */
+    public static LocalDateTime toDateTime(long sortKey) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(sortKey), ZoneId.systemDefault());
+    }
+
+    /**
+     * 规范化游标分页的排序字段
+     * 游标分页只支持时间列排序，数值列（点赞数等）会随时变化，无法稳定定位
+     *
+     * @param orderBy 排序字段（支持驼峰与下划线写法，为空时按创建时间）
+     * @return {@link #SORT_CREATE_TIME} 或 {@link #SORT_UPDATE_TIME}
+     * @throws IllegalArgumentException 不支持的排序字段
+     */
+    public static String normalizeTimeSort(String orderBy) {
+        if (!StringUtils.hasText(orderBy) || SORT_CREATE_TIME.equals(orderBy) || "create_time".equals(orderBy)) {
+            return SORT_CREATE_TIME;
+        }
+        if (SORT_UPDATE_TIME.equals(orderBy) || "update_time".equals(orderBy)) {
+            return SORT_UPDATE_TIME;
+        }
+        throw new IllegalArgumentException("游标分页仅支持按创建时间或更新时间排序");
+    }
+
+    /**
+     * 追加游标条件与排序：(排序列, 主键) 严格位于游标之后，并多取一条用于判断是否有下一页
+     *
+     * @param wrapper 查询条件
+     * @param sortColumn 时间排序列
+     * @param idColumn 主键列
+     * @param position 解码后的游标，首页为null
+     * @param asc 是否升序
+     * @param pageSize 页面大小
+     */
+    public static <T> void applySeek(LambdaQueryWrapper<T> wrapper, SFunction<T, ?> sortColumn, SFunction<T, ?> idColumn,
+                                     long[] position, boolean asc, int pageSize) {
+        if (position != null) {
+            LocalDateTime cursorTime = toDateTime(position[0]);
+            long cursorId = position[1];
+            if (asc) {
+                wrapper.and(w -> w.gt(sortColumn, cursorTime)
+                        .or(o -> o.eq(sortColumn, cursorTime).gt(idColumn, cursorId)));
+            } else {
+                wrapper.and(w -> w.lt(sortColumn, cursorTime)
+                        .or(o -> o.eq(sortColumn, cursorTime).lt(idColumn, cursorId)));
+            }
+        }
+        wrapper.orderBy(true, asc, sortColumn);
+        wrapper.orderBy(true, asc, idColumn);
+        wrapper.last("LIMIT " + (pageSize + 1));
+    }
+
+    /**
+     * 截掉多取的一条并生成下一页游标
+     *
+     * @param rows 按 pageSize + 1 条查询的结果（可修改的列表）
+     * @param pageSize 页面大小
+     * @param sortKey 时间排序值
+     * @param id 主键
+     * @return 下一页游标，没有更多数据时返回null
+     */
+    public static <T> String nextCursor(List<T> rows, int pageSize,
+                                        Function<T, LocalDateTime> sortKey, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return null;
+        }
+        rows.subList(pageSize, rows.size()).clear();
+        T last = rows.get(pageSize - 1);
+        return encode(toSortKey(sortKey.apply(last)), id.apply(last));
+    }
+}
@@ -0,0 +1,85 @@
+package com.gig.collide.util;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按时间列定位的查询条件，用于多个有序来源合并分页时各来源的 seek 查询
+ * 在 Mapper XML 中以 ${seek.column}、${seek.operator}、${seek.direction} 拼接，取值均为固定常量
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Getter
+public final class TimeSeek {
+
+    /**
+     * 定位时间，为null表示从头开始
+     */
+    private final LocalDateTime time;
+
+    /**
+     * 定位主键：不为空时取 (时间, 主键) 严格位于其后的记录；为空时只比较时间
+     */
+    private final Long id;
+
+    /**
+     * 主键为空时是否包含与定位时间相同的记录
+     */
+    private final boolean inclusive;
+
+    private final boolean asc;
+
+    private final boolean updateTime;
+
+    private TimeSeek(LocalDateTime time, Long id, boolean inclusive, boolean asc, boolean updateTime) {
+        this.time = time;
+        this.id = id;
+        this.inclusive = inclusive;
+        this.asc = asc;
+        this.updateTime = updateTime;
+    }
+
+    /**
+     * 从头开始
+     */
+    public static TimeSeek first(boolean asc, boolean updateTime) {
+        return new TimeSeek(null, null, false, asc, updateTime);
+    }
+
+    /**
+     * (时间, 主键) 严格位于定位点之后
+     */
+    public static TimeSeek after(LocalDateTime time, long id, boolean asc, boolean updateTime) {
+        return new TimeSeek(time, id, false, asc, updateTime);
+    }
+
+    /**
+     * 时间位于定位点之后，inclusive 为true时包含同一时间
+     */
+    public static TimeSeek afterTime(LocalDateTime time, boolean inclusive, boolean asc, boolean updateTime) {
+        return new TimeSeek(time, null, inclusive, asc, updateTime);
+    }
+
+    /**
+     * 排序时间列
+     */
+    public String getColumn() {
+        return updateTime ? "update_time" : "create_time";
+    }
+
+    /**
+     * 位于定位点之后的比较符
+     */
+    public String getOperator() {
+        return asc ? ">" : "<";
+    }
+
+    /**
+     * 排序方向
+     */
+    public String getDirection() {
+        return asc ? "ASC" : "DESC";
+    }
+}
@@ -0,0 +1,42 @@
+package com.gig.collide.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 事务回调工具类
+ * 缓存、索引、计数等旁路状态只在数据库事务提交后更新，回滚的修改不会泄露到 Redis 或本地缓存
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+public final class TransactionCallbackUtil {
+
+    private TransactionCallbackUtil() {
+    }
+
+    /**
+     * 事务提交后执行；不在事务中时立即执行
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 事务提交后提交到指定执行器；不在事务中时立即提交
+     */
+    public static void afterCommit(Executor executor, Runnable action) {
+        afterCommit(() -> executor.execute(action));
+    }
+}
@@ -0,0 +1,153 @@
+package com.gig.collide.writebehind;
+
+import com.gig.collide.config.WriteBehindConfig;
+import com.gig.collide.mapper.WriteBehindBatchMapper;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis 暂存写回公共流程
+ * 点赞计数、用户计数、会话索引等把变更暂存在 Redis 键中，定时取走后批量写回数据库，这里统一取走与完成的步骤
+ *
+ * 流程：
+ * - 取走：暂存键原子改名为写回中的键（源键加 :flushing），同时生成批次ID；上次中途退出遗留的写回中键优先返回，批次ID不变
+ * - 写回：增量类数据按子批次调用 {@link #applyOnce}，子批次ID与数据库更新在同一事务中登记，重试同一批次时已提交的子批次被跳过；
+ *   绝对值类数据重复写回没有影响，失败时可直接回填到源键
+ * - 完成：全部子批次写回后删除写回中的键；有子批次失败时保留，下次取走时原样重试
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisWriteBehind {
+
+    public static final String FLUSHING_SUFFIX = ":flushing";
+    private static final String BATCH_SUFFIX = ":batch";
+
+    /**
+     * 取走暂存键
+     * KEYS[1] 源键, KEYS[2] 写回中的键, KEYS[3] 批次ID键；ARGV[1] 新批次ID
+     * 返回批次ID，没有待写回数据时返回空
+     */
+    private static final DefaultRedisScript<String> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then " +
+            "  local id = redis.call('GET', KEYS[3]) " +
+            "  if not id then " +
+            "    redis.call('SET', KEYS[3], ARGV[1]) " +
+            "    id = ARGV[1] " +
+            "  end " +
+            "  return id " +
+            "end " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return false end " +
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "redis.call('SET', KEYS[3], ARGV[1]) " +
+            "return ARGV[1]", String.class);
+
+    /**
+     * 完成批次：批次ID未变化时删除写回中的键与批次ID
+     * KEYS[1] 写回中的键, KEYS[2] 批次ID键；ARGV[1] 批次ID
+     */
+    private static final DefaultRedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1], KEYS[2]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final WriteBehindConfig config;
+    private final WriteBehindBatchMapper writeBehindBatchMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 取走暂存键
+     *
+     * @param sourceKey 暂存键
+     * @return 取走的批次；没有待写回数据时返回 null
+     */
+    public Batch claim(String sourceKey) {
+        String flushingKey = sourceKey + FLUSHING_SUFFIX;
+        String batchKey = flushingKey + BATCH_SUFFIX;
+        String batchId = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(sourceKey, flushingKey, batchKey),
+                UUID.randomUUID().toString());
+        return batchId != null ? new Batch(sourceKey, flushingKey, batchId) : null;
+    }
+
+    /**
+     * 在一个事务中登记子批次并写回；子批次已登记过时跳过
+     *
+     * @param batch 取走的批次
+     * @param part 子批次序号（同一批次重试时相同的数据必须得到相同的序号）
+     * @param apply 数据库写回
+     * @return 是否执行了写回
+     */
+    public boolean applyOnce(Batch batch, int part, Runnable apply) {
+        String partId = batch.getBatchId() + ":" + part;
+        Boolean applied = transactionTemplate.execute(status -> {
+            if (writeBehindBatchMapper.insertIgnore(partId) == 0) {
+                return false;
+            }
+            apply.run();
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            log.info("写回子批次已提交过，跳过: batchId={}", partId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 完成批次，删除写回中的键
+     */
+    public void complete(Batch batch) {
+        stringRedisTemplate.execute(COMPLETE_SCRIPT,
+                List.of(batch.getFlushingKey(), batch.getFlushingKey() + BATCH_SUFFIX), batch.getBatchId());
+    }
+
+    /**
+     * 清理过期的批次登记记录
+     */
+    @Scheduled(fixedDelayString = "${collide.write-behind.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime beforeTime = LocalDateTime.now().minusDays(Math.max(1, config.getBatchRetentionDays()));
+        int limit = Math.max(1, config.getCleanupBatchSize());
+        try {
+            int deleted;
+            long total = 0;
+            do {
+                deleted = writeBehindBatchMapper.deleteBefore(beforeTime, limit);
+                total += deleted;
+            } while (deleted >= limit);
+            if (total > 0) {
+                log.info("清理写回批次登记记录: deleted={}", total);
+            }
+        } catch (Exception e) {
+            log.warn("清理写回批次登记记录失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 取走的批次
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Batch {
+        private final String sourceKey;
+        private final String flushingKey;
+        private final String batchId;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gig.collide.serializer;
+
+import com.gig.collide.config.RedisSerializerConfig;
+import com.gig.collide.domain.Content;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 紧凑 Redis 值序列化器测试
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(new RedisSerializerConfig());
+
+    @Test
+    void roundTripsEntity() {
+        Content content = content(1);
+
+        assertEquals(content, serializer.deserialize(serializer.serialize(content)));
+    }
+
+    @Test
+    void roundTripsEntityList() {
+        List<Content> contents = contents(20);
+
+        assertEquals(contents, serializer.deserialize(serializer.serialize(contents)));
+    }
+
+    @Test
+    void compressesLargeValuesOnly() {
+        List<Content> contents = contents(200);
+        byte[] large = serializer.serialize(contents);
+        byte[] small = serializer.serialize(Map.of("id", 1L));
+
+        // 第2字节低位为压缩标志
+        assertEquals(1, large[1] & 0x01);
+        assertEquals(0, small[1] & 0x01);
+        assertEquals(contents, serializer.deserialize(large));
+    }
+
+    @Test
+    void jacksonFormatHandlesTimeFields() {
+        RedisSerializerConfig config = new RedisSerializerConfig();
+        config.setFormat(CompactRedisSerializer.FORMAT_JACKSON);
+        CompactRedisSerializer jacksonFormat = new CompactRedisSerializer(config);
+        Content content = content(1);
+
+        byte[] bytes = jacksonFormat.serialize(content);
+
+        assertEquals(content, jacksonFormat.deserialize(bytes));
+        assertEquals(content, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void readsValuesWrittenByJackson() {
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("title", "旧格式缓存值");
+        legacy.put("status", "PUBLISHED");
+
+        byte[] bytes = new GenericJackson2JsonRedisSerializer().serialize(legacy);
+
+        assertEquals(legacy, serializer.deserialize(bytes));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test
+    void isSmallerThanJackson() {
+        GenericJackson2JsonRedisSerializer jackson = jackson();
+        Content content = content(1);
+        List<Content> page = contents(20);
+
+        int entityCompact = serializer.serialize(content).length;
+        int entityJackson = jackson.serialize(content).length;
+        int pageCompact = serializer.serialize(page).length;
+        int pageJackson = jackson.serialize(page).length;
+
+        assertTrue(entityCompact < entityJackson,
+                "单个实体: compact=" + entityCompact + ", jackson=" + entityJackson);
+        assertTrue(pageCompact < pageJackson,
+                "20 条列表: compact=" + pageCompact + ", jackson=" + pageJackson);
+    }
+
+    /**
+     * 与原 redisTemplate 相同的 Jackson 序列化器，补充 Java 时间类型支持并忽略计算属性
+     */
+    static GenericJackson2JsonRedisSerializer jackson() {
+        return CompactRedisSerializer.jacksonSerializer();
+    }
+
+    static List<Content> contents(int count) {
+        List<Content> contents = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            contents.add(content(i));
+        }
+        return contents;
+    }
+
+    static Content content(long id) {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15).plusMinutes(id);
+        Content content = new Content();
+        content.setId(id);
+        content.setTitle("关注时间线里的第" + id + "篇内容");
+        content.setDescription("内容简介，长度与线上常见的摘要接近，用于比较编码后的体积" + id);
+        content.setContentType("ARTICLE");
+        content.setCoverUrl("https://cdn.example.com/cover/" + id + ".jpg");
+        content.setTags("生活,旅行,摄影");
+        content.setAuthorId(10000L + id % 7);
+        content.setAuthorNickname("作者" + id % 7);
+        content.setAuthorAvatar("https://cdn.example.com/avatar/" + id % 7 + ".png");
+        content.setCategoryId(3L);
+        content.setCategoryName("生活");
+        content.setStatus("PUBLISHED");
+        content.setReviewStatus("APPROVED");
+        content.setViewCount(1200L + id);
+        content.setLikeCount(87L + id);
+        content.setCommentCount(12L);
+        content.setFavoriteCount(9L);
+        content.setShareCount(3L);
+        content.setScoreCount(0L);
+        content.setScoreTotal(0L);
+        content.setPublishTime(time);
+        content.setCreateTime(time);
+        content.setUpdateTime(time);
+        return content;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gig.collide.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 评论物化路径工具类测试
+ *
+ * @author GIG Team
+ * @since 1.0.0
+ */
+class CommentPathUtilTest {
+
+    @Test
+    void pathOrderIsPreOrderWithSiblingsById() {
+        // 1
+        // ├─ 9
+        // │  └─ 36
+        // └─ 10
+        // 2
+        String root1 = CommentPathUtil.rootPath(1);
+        String child9 = CommentPathUtil.childPath(root1, 9);
+        String grandChild36 = CommentPathUtil.childPath(child9, 36);
+        String child10 = CommentPathUtil.childPath(root1, 10);
+        String root2 = CommentPathUtil.rootPath(2);
+
+        List<String> paths = new ArrayList<>(List.of(root2, child10, grandChild36, root1, child9));
+        paths.sort(String::compareTo);
+
+        assertEquals(List.of(root1, child9, grandChild36, child10, root2), paths);
+    }
+
+    @Test
+    void segmentsAreFixedWidthAcrossIdMagnitudes() {
+        assertEquals(CommentPathUtil.SEGMENT_LENGTH, CommentPathUtil.rootPath(0).length());
+        assertEquals(CommentPathUtil.SEGMENT_LENGTH, CommentPathUtil.rootPath(Long.MAX_VALUE).length());
+        assertTrue(CommentPathUtil.rootPath(35).compareTo(CommentPathUtil.rootPath(36)) < 0);
+        assertThrows(IllegalArgumentException.class, () -> CommentPathUtil.rootPath(-1));
+    }
+
+    @Test
+    void ancestorIdsExcludeSelf() {
+        String path = CommentPathUtil.childPath(CommentPathUtil.childPath(CommentPathUtil.rootPath(7), 123456789L), 42);
+
+        assertArrayEquals(new long[]{7, 123456789L}, CommentPathUtil.ancestorIds(path));
+        assertArrayEquals(new long[0], CommentPathUtil.ancestorIds(CommentPathUtil.rootPath(7)));
+    }
+
+    @Test
+    void isValidRejectsMalformedPaths() {
+        String path = CommentPathUtil.childPath(CommentPathUtil.rootPath(35), 8);
+
+        assertTrue(CommentPathUtil.isValid(path));
+        assertFalse(CommentPathUtil.isValid(null));
+        assertFalse(CommentPathUtil.isValid(""));
+        assertFalse(CommentPathUtil.isValid(path.substring(1)));
+        assertFalse(CommentPathUtil.isValid(path.replace('/', '-')));
+        assertFalse(CommentPathUtil.isValid(path.toLowerCase()));
+    }
+}